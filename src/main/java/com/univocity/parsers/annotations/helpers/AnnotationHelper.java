@@ -22,6 +22,7 @@ import com.univocity.parsers.common.beans.*;
 import com.univocity.parsers.conversions.*;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.*;
 import java.lang.reflect.*;
 import java.math.*;
 import java.text.*;
@@ -34,10 +35,47 @@ import java.util.*;
  */
 public class AnnotationHelper {
 
+	private static final Object NOT_FOUND = new Object();
+
+	private static final Map<Class<?>, SoftReference<ClassMetadata>> metadata = new WeakHashMap<Class<?>, SoftReference<ClassMetadata>>();
+
 	private AnnotationHelper() {
 
 	}
 
+	/**
+	 * The annotation metadata of a class, shared by all processors that handle it. Each entry is computed once and never modified afterwards.
+	 * Instances are held in a map with weak keys and soft values, so the metadata of classes that are no longer used can be discarded.
+	 */
+	private static final class ClassMetadata {
+		Map<Field, PropertyWrapper> allFields;
+		final Map<MethodFilter, List<Method>> annotatedMethods = new HashMap<MethodFilter, List<Method>>();
+		final Map<String, List<TransformedHeader>> fieldSequences = new HashMap<String, List<TransformedHeader>>();
+		final Map<AnnotatedElement, Map<Class<?>, Object>> annotations = new HashMap<AnnotatedElement, Map<Class<?>, Object>>();
+		final Map<AnnotatedElement, Map<Package, List<Annotation>>> annotationsInPackage = new HashMap<AnnotatedElement, Map<Package, List<Annotation>>>();
+	}
+
+	private static ClassMetadata getMetadata(Class<?> type) {
+		synchronized (metadata) {
+			SoftReference<ClassMetadata> reference = metadata.get(type);
+			ClassMetadata out = reference == null ? null : reference.get();
+			if (out == null) {
+				out = new ClassMetadata();
+				metadata.put(type, new SoftReference<ClassMetadata>(out));
+			}
+			return out;
+		}
+	}
+
+	private static ClassMetadata getMetadata(AnnotatedElement element) {
+		if (element instanceof Member) {
+			return getMetadata(((Member) element).getDeclaringClass());
+		} else if (element instanceof Class) {
+			return getMetadata((Class<?>) element);
+		}
+		return null;
+	}
+
 	/**
 	 * Converts the special "null" strings that might be provided by {@link Parsed#defaultNullRead() and  Parsed#defaultNullWrite()}
 	 *
@@ -674,6 +712,25 @@ public class AnnotationHelper {
 	 * @return a list of fields ordered by their processing sequence
 	 */
 	public static List<TransformedHeader> getFieldSequence(Class beanClass, boolean processNested, HeaderTransformer transformer, MethodFilter filter) {
+		if (transformer != null) {
+			return buildFieldSequence(beanClass, processNested, transformer, filter);
+		}
+		ClassMetadata classMetadata = getMetadata((Class<?>) beanClass);
+		String key = processNested + "/" + filter;
+		List<TransformedHeader> out;
+		synchronized (classMetadata) {
+			out = classMetadata.fieldSequences.get(key);
+		}
+		if (out == null) {
+			out = Collections.unmodifiableList(buildFieldSequence(beanClass, processNested, null, filter));
+			synchronized (classMetadata) {
+				classMetadata.fieldSequences.put(key, out);
+			}
+		}
+		return new ArrayList<TransformedHeader>(out);
+	}
+
+	private static List<TransformedHeader> buildFieldSequence(Class beanClass, boolean processNested, HeaderTransformer transformer, MethodFilter filter) {
 		List<Integer> indexes = new ArrayList<Integer>();
 		List<TransformedHeader> tmp = getFieldSequence(beanClass, processNested, indexes, transformer, filter);
 
@@ -742,7 +799,21 @@ public class AnnotationHelper {
 	 * @return a map of {@link Field} and the corresponding {@link PropertyWrapper}
 	 */
 	public static Map<Field, PropertyWrapper> getAllFields(Class<?> beanClass) {
+		ClassMetadata classMetadata = getMetadata(beanClass);
+		Map<Field, PropertyWrapper> out;
+		synchronized (classMetadata) {
+			out = classMetadata.allFields;
+		}
+		if (out == null) {
+			out = Collections.unmodifiableMap(findAllFields(beanClass));
+			synchronized (classMetadata) {
+				classMetadata.allFields = out;
+			}
+		}
+		return new LinkedHashMap<Field, PropertyWrapper>(out);
+	}
 
+	private static Map<Field, PropertyWrapper> findAllFields(Class<?> beanClass) {
 		Map<String, PropertyWrapper> properties = new LinkedHashMap<String, PropertyWrapper>();
 		try {
 			for (PropertyWrapper property : BeanHelper.getPropertyDescriptors(beanClass)) {
@@ -785,7 +856,21 @@ public class AnnotationHelper {
 	 * @return a map of {@link Method} and the corresponding {@link PropertyWrapper}
 	 */
 	public static List<Method> getAnnotatedMethods(Class<?> beanClass, MethodFilter filter) {
+		ClassMetadata classMetadata = getMetadata(beanClass);
+		List<Method> out;
+		synchronized (classMetadata) {
+			out = classMetadata.annotatedMethods.get(filter);
+		}
+		if (out == null) {
+			out = Collections.unmodifiableList(findAnnotatedMethods(beanClass, filter));
+			synchronized (classMetadata) {
+				classMetadata.annotatedMethods.put(filter, out);
+			}
+		}
+		return new ArrayList<Method>(out);
+	}
 
+	private static List<Method> findAnnotatedMethods(Class<?> beanClass, MethodFilter filter) {
 		List<Method> out = new ArrayList<Method>();
 
 		Class clazz = beanClass;
@@ -810,10 +895,6 @@ public class AnnotationHelper {
 		return out;
 	}
 
-	private static AnnotatedElement lastProcessedElement;
-	private static Class<? extends Annotation> lastProcessedAnnotationType;
-	private static Annotation lastAnnotationFound;
-
 	/**
 	 * Searches for an annotation of a given type that's been applied to an element either directly (as a regular annotation)
 	 * or indirectly (as a meta-annotations, i.e. an annotation that has annotations).
@@ -829,21 +910,37 @@ public class AnnotationHelper {
 			return null;
 		}
 
-		if (annotatedElement.equals(lastProcessedElement) && annotationType == lastProcessedAnnotationType) {
-			return (A) lastAnnotationFound;
+		ClassMetadata classMetadata = getMetadata(annotatedElement);
+		Map<Class<?>, Object> found = null;
+		if (classMetadata != null) {
+			synchronized (classMetadata) {
+				found = classMetadata.annotations.get(annotatedElement);
+				if (found == null) {
+					found = new HashMap<Class<?>, Object>();
+					classMetadata.annotations.put(annotatedElement, found);
+				} else {
+					Object cached = found.get(annotationType);
+					if (cached != null) {
+						return cached == NOT_FOUND ? null : (A) cached;
+					}
+				}
+			}
 		}
 
-		lastProcessedElement = annotatedElement;
-		lastProcessedAnnotationType = annotationType;
-
 		Stack<Annotation> path = new Stack<Annotation>();
 
 		A annotation = findAnnotation(annotatedElement, annotationType, new HashSet<Annotation>(), path);
 		if (annotation == null || path.isEmpty()) {
-			lastAnnotationFound = annotation;
+			if (found != null) {
+				synchronized (classMetadata) {
+					found.put(annotationType, annotation == null ? NOT_FOUND : annotation);
+				}
+			}
 			return annotation;
 		}
 
+		//meta-annotations are shared between elements, so the values copied into them must be applied on every lookup.
+
 		while (!path.isEmpty()) {
 			Annotation parent = path.pop();
 			Annotation target = path.isEmpty() ? annotation : path.peek();
@@ -866,7 +963,6 @@ public class AnnotationHelper {
 				}
 			}
 		}
-		lastAnnotationFound = annotation;
 		return annotation;
 	}
 
@@ -951,9 +1047,32 @@ public class AnnotationHelper {
 	 * @return the list of annotation elements applied to the given element, that are also members of the given package.
 	 */
 	public static List<Annotation> findAllAnnotationsInPackage(AnnotatedElement annotatedElement, Package aPackage) {
-		final ArrayList<Annotation> found = new ArrayList<Annotation>();
-		findAllAnnotationsInPackage(annotatedElement, aPackage, found, new HashSet<Annotation>());
-		return found;
+		ClassMetadata classMetadata = getMetadata(annotatedElement);
+		if (classMetadata == null) {
+			final ArrayList<Annotation> found = new ArrayList<Annotation>();
+			findAllAnnotationsInPackage(annotatedElement, aPackage, found, new HashSet<Annotation>());
+			return found;
+		}
+
+		List<Annotation> out;
+		synchronized (classMetadata) {
+			Map<Package, List<Annotation>> byPackage = classMetadata.annotationsInPackage.get(annotatedElement);
+			out = byPackage == null ? null : byPackage.get(aPackage);
+		}
+		if (out == null) {
+			final ArrayList<Annotation> found = new ArrayList<Annotation>();
+			findAllAnnotationsInPackage(annotatedElement, aPackage, found, new HashSet<Annotation>());
+			out = Collections.unmodifiableList(found);
+			synchronized (classMetadata) {
+				Map<Package, List<Annotation>> byPackage = classMetadata.annotationsInPackage.get(annotatedElement);
+				if (byPackage == null) {
+					byPackage = new HashMap<Package, List<Annotation>>();
+					classMetadata.annotationsInPackage.put(annotatedElement, byPackage);
+				}
+				byPackage.put(aPackage, out);
+			}
+		}
+		return new ArrayList<Annotation>(out);
 	}
 
 	private static void findAllAnnotationsInPackage(AnnotatedElement annotatedElement, Package aPackage, ArrayList<? super Annotation> found, Set<Annotation> visited) {
@@ -36,7 +36,8 @@ public class FieldMapping {
 	private final Class<?> beanClass;
 	private final Method readMethod;
 	private final Method writeMethod;
-	private boolean accessible;
+	private final PropertyAccessor reader;
+	private final PropertyAccessor writer;
 	private final boolean primitive;
 	private final Object defaultPrimitiveValue;
 	private Boolean applyDefault = null;
@@ -79,6 +80,9 @@ public class FieldMapping {
 			}
 		}
 
+		reader = readMethod != null ? PropertyAccessor.getAccessor(readMethod) : target instanceof Field ? PropertyAccessor.getAccessor(target) : null;
+		writer = writeMethod != null ? PropertyAccessor.getAccessor(writeMethod) : target instanceof Field ? PropertyAccessor.getAccessor(target) : null;
+
 		primitive = typeToSet.isPrimitive();
 		defaultPrimitiveValue = getDefaultPrimitiveValue(typeToSet);
 		determineFieldMapping(transformer, headers);
@@ -226,17 +230,6 @@ public class FieldMapping {
 		return target;
 	}
 
-	private void setAccessible() {
-		if (!accessible) {
-			if (target instanceof Field) {
-				((Field) target).setAccessible(true);
-			} else {
-				((Method) target).setAccessible(true);
-			}
-			accessible = true;
-		}
-	}
-
 	/**
 	 * Returns the parent class that contains the mapped field.
 	 *
@@ -286,13 +279,8 @@ public class FieldMapping {
 	}
 
 	private Object read(Object instance, boolean ignoreErrors) {
-		setAccessible();
 		try {
-			if (readMethod != null) {
-				return readMethod.invoke(instance);
-			} else {
-				return ((Field)target).get(instance);
-			}
+			return reader.get(instance);
 		} catch (Throwable e) {
 			if (!ignoreErrors) {
 				throw new DataProcessingException("Unable to get value from field " + toString(), e);
@@ -308,7 +296,6 @@ public class FieldMapping {
 	 * @param value    the value to set on the given object's field.
 	 */
 	public void write(Object instance, Object value) {
-		setAccessible();
 		try {
 			if (value == null && primitive) {
 				if (applyDefault == null) {
@@ -321,11 +308,7 @@ public class FieldMapping {
 					return;
 				}
 			}
-			if (writeMethod != null) {
-				writeMethod.invoke(instance, value);
-			} else {
-				((Field) target).set(instance, value);
-			}
+			writer.set(instance, value);
 		} catch (Throwable e) {
 			if (e instanceof DataProcessingException) {
 				throw (DataProcessingException) e;
@@ -0,0 +1,694 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.common.input.*;
+import com.univocity.parsers.common.processor.core.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * The base class for parsers that process a single {@link File} in parallel.
+ *
+ * <p> The file is split into chunks of bytes, which are realigned to start at the beginning of a record. Each chunk is then parsed
+ * on a thread pool by an independent parser, built from a copy of the given settings. Parsed rows are delivered to the
+ * {@link Processor} defined in {@link CommonParserSettings#getProcessor()} from the thread that invoked the parsing process, either in
+ * the same order they appear in the file (the default) or in the order their chunks finish parsing.</p>
+ *
+ * <p> As the input is split at line separators, the encoding of the file must represent line separator characters with single bytes,
+ * which is the case of UTF-8, US-ASCII, ISO-8859-* and most other encodings (UTF-16 and UTF-32 are not supported).</p>
+ *
+ * <p> The {@link ParsingContext} provided to the {@link Processor} reports the headers of the input and the number of records
+ * delivered so far. Information that depends on the position of the parser in the input, such as the current line or character, is
+ * not available.</p>
+ *
+ * @param <T> The specific parser settings configuration class, which can potentially provide additional configuration options supported by the parser implementation.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractParser
+ */
+public abstract class AbstractParallelParser<T extends CommonParserSettings<?>> {
+
+	/**
+	 * The default maximum number of bytes processed by each parallel parser.
+	 */
+	public static final long DEFAULT_CHUNK_SIZE = 8L * 1024L * 1024L;
+
+	private static final int SCAN_BUFFER_SIZE = 8192;
+
+	protected final T settings;
+	private final int threadCount;
+	private boolean orderPreserved = true;
+	private long chunkSize = DEFAULT_CHUNK_SIZE;
+
+	/**
+	 * Creates a parallel parser that uses the given configuration and one thread per available processor.
+	 *
+	 * @param settings the parser configuration
+	 */
+	public AbstractParallelParser(T settings) {
+		this(settings, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a parallel parser that uses the given configuration and number of threads.
+	 *
+	 * @param settings    the parser configuration
+	 * @param threadCount the number of threads used to parse chunks of the input in parallel.
+	 */
+	public AbstractParallelParser(T settings, int threadCount) {
+		ArgumentUtils.noNulls("Parser settings", settings);
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("Number of threads must be at least 1. Got " + threadCount);
+		}
+		settings.autoConfigure();
+		this.settings = settings;
+		this.threadCount = threadCount;
+	}
+
+	/**
+	 * Creates a new parser to process a chunk of the input. Invoked concurrently, each time with a distinct copy of the original settings.
+	 *
+	 * @param settings the configuration of the parser that will process a chunk of the input.
+	 *
+	 * @return a new parser instance.
+	 */
+	protected abstract AbstractParser<T> createParser(T settings);
+
+	/**
+	 * Returns the number of threads used to parse chunks of the input in parallel.
+	 *
+	 * @return the number of parsing threads.
+	 */
+	public final int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Indicates whether rows are delivered to the {@link Processor} in the same order they appear in the input (defaults to {@code true}).
+	 * When disabled, the rows of each chunk are delivered as soon as the chunk is parsed, which reduces the memory required to
+	 * hold parsed rows that are waiting for slower chunks to be finished.
+	 *
+	 * @return a flag indicating whether the original order of the rows is preserved.
+	 */
+	public final boolean isOrderPreserved() {
+		return orderPreserved;
+	}
+
+	/**
+	 * Defines whether rows are delivered to the {@link Processor} in the same order they appear in the input (defaults to {@code true}).
+	 * When disabled, the rows of each chunk are delivered as soon as the chunk is parsed, which reduces the memory required to
+	 * hold parsed rows that are waiting for slower chunks to be finished.
+	 *
+	 * @param orderPreserved a flag indicating whether the original order of the rows should be preserved.
+	 */
+	public final void setOrderPreserved(boolean orderPreserved) {
+		this.orderPreserved = orderPreserved;
+	}
+
+	/**
+	 * Returns the maximum number of bytes of the input processed by each parallel parser (defaults to {@link #DEFAULT_CHUNK_SIZE}).
+	 * Smaller files are split evenly among the available threads.
+	 *
+	 * @return the maximum size of each chunk of the input, in bytes.
+	 */
+	public final long getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Defines the maximum number of bytes of the input processed by each parallel parser (defaults to {@link #DEFAULT_CHUNK_SIZE}).
+	 * Smaller files are split evenly among the available threads. The rows of a chunk are held in memory until delivered to the {@link Processor}.
+	 *
+	 * @param chunkSize the maximum size of each chunk of the input, in bytes.
+	 */
+	public final void setChunkSize(long chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("Chunk size must be a positive number. Got " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Parses the given file in parallel, delivering each parsed row to the {@link Processor} provided by the parser settings.
+	 * The encoding of the file will be determined from its Byte Order Mark (BOM), if available, or the default encoding of the JVM will be used.
+	 *
+	 * @param file the file to be parsed.
+	 */
+	public final void parse(File file) {
+		parse(file, (Charset) null);
+	}
+
+	/**
+	 * Parses the given file in parallel, delivering each parsed row to the {@link Processor} provided by the parser settings.
+	 *
+	 * @param file     the file to be parsed.
+	 * @param encoding the encoding of the file
+	 */
+	public final void parse(File file, String encoding) {
+		parse(file, encoding == null ? null : Charset.forName(encoding));
+	}
+
+	/**
+	 * Parses the given file in parallel, delivering each parsed row to the {@link Processor} provided by the parser settings.
+	 *
+	 * @param file     the file to be parsed.
+	 * @param encoding the encoding of the file. If {@code null} the encoding will be determined from the Byte Order Mark (BOM) of the file, if available.
+	 */
+	public final void parse(File file, Charset encoding) {
+		parse(file, encoding, null);
+	}
+
+	/**
+	 * Parses all records of the given file in parallel and returns them in a list.
+	 * The encoding of the file will be determined from its Byte Order Mark (BOM), if available, or the default encoding of the JVM will be used.
+	 *
+	 * @param file the file to be parsed.
+	 *
+	 * @return the list of all records parsed from the file.
+	 */
+	public final List<String[]> parseAll(File file) {
+		return parseAll(file, (Charset) null);
+	}
+
+	/**
+	 * Parses all records of the given file in parallel and returns them in a list.
+	 *
+	 * @param file     the file to be parsed.
+	 * @param encoding the encoding of the file
+	 *
+	 * @return the list of all records parsed from the file.
+	 */
+	public final List<String[]> parseAll(File file, String encoding) {
+		return parseAll(file, encoding == null ? null : Charset.forName(encoding));
+	}
+
+	/**
+	 * Parses all records of the given file in parallel and returns them in a list.
+	 *
+	 * @param file     the file to be parsed.
+	 * @param encoding the encoding of the file. If {@code null} the encoding will be determined from the Byte Order Mark (BOM) of the file, if available.
+	 *
+	 * @return the list of all records parsed from the file.
+	 */
+	public final List<String[]> parseAll(File file, Charset encoding) {
+		List<String[]> out = new ArrayList<String[]>(10000);
+		parse(file, encoding, out);
+		return out;
+	}
+
+	private void parse(File file, Charset encoding, List<String[]> out) {
+		ArgumentUtils.noNulls("File to parse", file);
+		if (encoding == null) {
+			encoding = detectEncoding(file);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "unVocity-parsers parallel parsing thread");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		try {
+			ParallelContext context = startInput(file, encoding);
+			long[] boundaries;
+			if (context.lineSeparator[0] == '\0') { //no line separator detected, the file is processed by a single parser.
+				boundaries = new long[]{context.firstRecordOffset, file.length()};
+			} else {
+				boundaries = findChunkBoundaries(file, encoding, context.firstRecordOffset, context.lineSeparatorBytes(encoding), context.chunkSettings, executor);
+			}
+			process(file, encoding, boundaries, context, executor, out);
+		} catch (IOException e) {
+			throw new IllegalStateException("Error reading file '" + file.getAbsolutePath() + "'", e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Determines the encoding of a file from its Byte Order Mark (BOM). If no BOM is available, the default encoding of the JVM is returned.
+	 *
+	 * @param file the input file
+	 *
+	 * @return the encoding of the given file
+	 */
+	protected static Charset detectEncoding(File file) {
+		BomInput input = new BomInput(ArgumentUtils.newInputStream(file));
+		try {
+			Charset encoding = input.getCharset();
+			return encoding == null ? Charset.defaultCharset() : encoding;
+		} finally {
+			try {
+				input.close();
+			} catch (IOException e) {
+				//ignore
+			}
+		}
+	}
+
+	/**
+	 * Parses the beginning of the file to skip the rows defined by {@link CommonParserSettings#getNumberOfRowsToSkip()}, to extract headers
+	 * and to identify the line separator in use. The position of the first byte after the skipped rows and headers is where the
+	 * chunks of the input start. The stopped context of this parser is wrapped and used as the context of the parallel parsing process.
+	 */
+	private ParallelContext startInput(File file, Charset encoding) {
+		AbstractParser<T> parser = createParser(newChunkSettings());
+		parser.beginParsing(file, encoding, null);
+		try {
+			ParsingContext context = parser.getContext();
+			String[] headers = context.headers();
+			char[] lineSeparator = context.lineSeparator();
+			long firstRecordOffset = parser.checkpoint().getByteOffset();
+
+			T chunkSettings = newChunkSettings();
+			chunkSettings.setNumberOfRowsToSkip(0);
+			if (headers != null && headers.length > 0 && chunkSettings.getHeaders() == null) {
+				chunkSettings.setHeaders(headers);
+			}
+			chunkSettings.setHeaderExtractionEnabled(false);
+
+			prepareChunkSettings(chunkSettings, parser, lineSeparator);
+
+			return new ParallelContext(context, lineSeparator, firstRecordOffset, chunkSettings);
+		} finally {
+			parser.stopParsing();
+		}
+	}
+
+	/**
+	 * Returns the configuration used to parse chunks of the given file that start after its first record. Headers extracted from the
+	 * input, and any format details detected automatically, are obtained by parsing the beginning of the file.
+	 *
+	 * @param file     the input file
+	 * @param encoding the encoding of the file
+	 *
+	 * @return a new configuration object for parsers that process a portion of the given file.
+	 */
+	protected final T getChunkSettings(File file, Charset encoding) {
+		return startInput(file, encoding).chunkSettings;
+	}
+
+	private void prepareChunkSettings(T settings, AbstractParser<T> parser, char[] lineSeparator) {
+		if (settings.isLineSeparatorDetectionEnabled() && lineSeparator[0] != '\0') {
+			//a detected line separator is always normalized to the default normalized newline.
+			char normalizedNewline = settings.getFormat().getNormalizedNewline();
+			settings.setLineSeparatorDetectionEnabled(false);
+			settings.getFormat().setLineSeparator(lineSeparator);
+			settings.getFormat().setNormalizedNewline(normalizedNewline);
+		}
+		initializeChunkSettings(settings, parser);
+	}
+
+	/**
+	 * Adjusts the configuration used by the parsers of each chunk of the input, based on the state of a parser that processed the beginning of the file.
+	 * Used to propagate any format details detected automatically, so all chunks are parsed consistently.
+	 *
+	 * @param settings the configuration of the parsers that will process chunks of the input.
+	 * @param parser   the parser that processed the beginning of the input.
+	 */
+	protected void initializeChunkSettings(T settings, AbstractParser<T> parser) {
+
+	}
+
+	private T newChunkSettings() {
+		T out = copySettings();
+		out.setReadInputOnSeparateThread(false);
+		out.setNumberOfRecordsToRead(-1);
+		return out;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T copySettings() {
+		T out = (T) settings.clone();
+		out.setProcessor(new ColumnOrderProcessor(settings.getProcessor()));
+		return out;
+	}
+
+	private long[] findChunkBoundaries(File file, Charset encoding, long start, byte[] lineSeparator, T settings, ExecutorService executor) throws IOException {
+		long fileSize = file.length();
+		long length = fileSize - start;
+		long size = Math.max(1L, Math.min(chunkSize, (length + threadCount - 1) / threadCount));
+		int chunks = (int) Math.max(1L, Math.min(Integer.MAX_VALUE - 1, (length + size - 1) / size));
+
+		long[] splits = new long[chunks + 1];
+		splits[0] = start;
+		for (int i = 1; i < chunks; i++) {
+			splits[i] = start + i * size;
+		}
+		splits[chunks] = fileSize;
+
+		return findRecordBoundaries(file, encoding, splits, lineSeparator, settings, executor);
+	}
+
+	/**
+	 * Realigns the positions where the input is split to the beginning of a record. The default implementation moves each position to the byte
+	 * following the next line separator. Implementations for formats that allow line separators inside values must override this method.
+	 *
+	 * @param file          the input file
+	 * @param encoding      the encoding of the file
+	 * @param splits        the approximate positions where the input is split, in ascending order. The first position is where the first
+	 *                      record starts, after any rows to skip and headers, and the last is the length of the file.
+	 * @param lineSeparator the bytes of the line separator of the input.
+	 * @param settings      the configuration of the parsers that will process each chunk of the input.
+	 * @param executor      the thread pool of the parallel parsing process, which can be used to scan the input in parallel.
+	 *
+	 * @return the positions where each chunk of the input starts, in ascending order and without duplicates, followed by the length of the file.
+	 *
+	 * @throws IOException if the file can't be read
+	 */
+	protected long[] findRecordBoundaries(File file, Charset encoding, long[] splits, byte[] lineSeparator, T settings, ExecutorService executor) throws IOException {
+		long fileSize = splits[splits.length - 1];
+		long[] boundaries = new long[splits.length];
+		boundaries[0] = splits[0];
+		int count = 1;
+
+		RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+			for (int i = 1; i < splits.length - 1; i++) {
+				long position = Math.max(splits[i], boundaries[count - 1] + 1);
+				if (position >= fileSize) {
+					break;
+				}
+				long boundary = nextLineStart(input, position, lineSeparator, buffer);
+				if (boundary < fileSize) {
+					boundaries[count++] = boundary;
+				}
+			}
+		} finally {
+			input.close();
+		}
+		boundaries[count++] = fileSize;
+		return Arrays.copyOf(boundaries, count);
+	}
+
+	/**
+	 * Finds the position of the first byte after the next line separator that ends at or after the given position.
+	 *
+	 * @param file          the input file
+	 * @param position      the position where the search starts.
+	 * @param lineSeparator the bytes of the line separator of the input.
+	 * @param buffer        a buffer to read bytes from the file.
+	 *
+	 * @return the position following the next line separator, or the length of the file if no line separator is found.
+	 *
+	 * @throws IOException if the file can't be read
+	 */
+	protected static long nextLineStart(RandomAccessFile file, long position, byte[] lineSeparator, byte[] buffer) throws IOException {
+		final byte last = lineSeparator[lineSeparator.length - 1];
+		final int previous = lineSeparator.length - 1;
+
+		long start = Math.max(0L, position - lineSeparator.length);
+		file.seek(start);
+
+		int matched = 0;
+		int read;
+		while ((read = file.read(buffer, 0, buffer.length)) != -1) {
+			for (int i = 0; i < read; i++) {
+				byte b = buffer[i];
+				if (matched == previous && b == last) {
+					long next = start + i + 1;
+					if (next >= position) {
+						return next;
+					}
+				}
+				if (previous > 0) {
+					matched = matched < previous && b == lineSeparator[matched] ? matched + 1 : (b == lineSeparator[0] ? 1 : 0);
+				}
+			}
+			start += read;
+		}
+		return file.length();
+	}
+
+	private void process(File file, Charset encoding, long[] boundaries, ParallelContext context, ExecutorService executor, List<String[]> out) {
+		Processor<ParsingContext> processor = settings.getProcessor();
+		ProcessorErrorHandler<ParsingContext> errorHandler = settings.getProcessorErrorHandler();
+		long recordsToRead = settings.getNumberOfRecordsToRead();
+
+		if (processor instanceof DefaultConversionProcessor) {
+			DefaultConversionProcessor conversionProcessor = ((DefaultConversionProcessor) processor);
+			conversionProcessor.errorHandler = errorHandler;
+			conversionProcessor.context = context;
+		}
+
+		int chunks = boundaries.length - 1;
+		int maxPending = threadCount * 2;
+		LinkedList<Future<List<String[]>>> pending = new LinkedList<Future<List<String[]>>>();
+		CompletionService<List<String[]>> completion = new ExecutorCompletionService<List<String[]>>(executor);
+
+		processor.processStarted(context);
+		try {
+			int next = 0;
+			while (next < chunks || !pending.isEmpty()) {
+				while (next < chunks && pending.size() < maxPending) {
+					ChunkParser task = new ChunkParser(file, encoding, boundaries[next], boundaries[next + 1], context.chunkSettings);
+					pending.add(orderPreserved ? executor.submit(task) : completion.submit(task));
+					next++;
+				}
+
+				Future<List<String[]>> result;
+				if (orderPreserved) {
+					result = pending.removeFirst();
+				} else {
+					result = completion.take();
+					pending.remove(result);
+				}
+
+				for (String[] row : getRows(result)) {
+					if (context.isStopped() || (recordsToRead >= 0 && context.records >= recordsToRead)) {
+						return;
+					}
+					context.records++;
+					Internal.process(row, processor, context, errorHandler);
+					if (out != null) {
+						out.add(row);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Parallel parsing process interrupted", e);
+		} finally {
+			for (Future<List<String[]>> result : pending) {
+				result.cancel(true);
+			}
+			context.stop();
+			processor.processEnded(context);
+		}
+	}
+
+	private static List<String[]> getRows(Future<List<String[]>> result) throws InterruptedException {
+		try {
+			return result.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException("Error parsing input in parallel", cause);
+		}
+	}
+
+	private final class ChunkParser implements Callable<List<String[]>> {
+		private final File file;
+		private final Charset encoding;
+		private final long start;
+		private final long end;
+		private final T settings;
+
+		ChunkParser(File file, Charset encoding, long start, long end, T settings) {
+			this.file = file;
+			this.encoding = encoding;
+			this.start = start;
+			this.end = end;
+			this.settings = settings;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public List<String[]> call() {
+			AbstractParser<T> parser = createParser((T) settings.clone());
+			return parser.parseAll(new RangeInputStream(file, start, end), encoding);
+		}
+	}
+
+	/**
+	 * Prevents the reordering of columns in the parsers of each chunk whenever the original {@link Processor} does, without
+	 * processing any rows.
+	 */
+	private static final class ColumnOrderProcessor extends AbstractProcessor<ParsingContext> implements ColumnOrderDependent {
+		private final boolean preventColumnReordering;
+
+		ColumnOrderProcessor(Processor<?> processor) {
+			this.preventColumnReordering = processor instanceof ColumnOrderDependent && ((ColumnOrderDependent) processor).preventColumnReordering();
+		}
+
+		@Override
+		public boolean preventColumnReordering() {
+			return preventColumnReordering;
+		}
+	}
+
+	/**
+	 * The context of a parallel parsing process, which reports the number of records delivered to the {@link Processor}
+	 * and holds the configuration of the parsers of each chunk.
+	 */
+	private final class ParallelContext extends ParsingContextWrapper {
+		private final char[] lineSeparator;
+		private final long firstRecordOffset;
+		private final T chunkSettings;
+		private long records;
+		private volatile boolean stopped;
+
+		ParallelContext(ParsingContext context, char[] lineSeparator, long firstRecordOffset, T chunkSettings) {
+			super(context);
+			this.lineSeparator = lineSeparator;
+			this.firstRecordOffset = firstRecordOffset;
+			this.chunkSettings = chunkSettings;
+		}
+
+		byte[] lineSeparatorBytes(Charset encoding) {
+			byte[] out = new byte[lineSeparator.length];
+			for (int i = 0; i < lineSeparator.length; i++) {
+				byte[] bytes = String.valueOf(lineSeparator[i]).getBytes(encoding);
+				if (bytes.length != 1 || bytes[0] != lineSeparator[i]) {
+					throw new IllegalArgumentException("Unable to parse input in parallel. Encoding " + encoding.name() + " does not represent line separator characters with a single byte.");
+				}
+				out[i] = bytes[0];
+			}
+			return out;
+		}
+
+		@Override
+		public long currentRecord() {
+			return records;
+		}
+
+		@Override
+		public long currentLine() {
+			return -1L;
+		}
+
+		@Override
+		public long currentChar() {
+			return -1L;
+		}
+
+		@Override
+		public int currentColumn() {
+			return -1;
+		}
+
+		@Override
+		public String currentParsedContent() {
+			return null;
+		}
+
+		@Override
+		public String fieldContentOnError() {
+			return null;
+		}
+
+		@Override
+		public void skipLines(long lines) {
+			throw new UnsupportedOperationException("Can't skip lines of an input parsed in parallel");
+		}
+
+		@Override
+		public char[] lineSeparator() {
+			return lineSeparator.clone();
+		}
+
+		@Override
+		public void stop() {
+			stopped = true;
+		}
+
+		@Override
+		public boolean isStopped() {
+			return stopped;
+		}
+	}
+
+	/**
+	 * Reads a range of bytes of a file.
+	 */
+	private static final class RangeInputStream extends InputStream {
+		private final File file;
+		private final long start;
+		private RandomAccessFile input;
+		private long remaining;
+
+		RangeInputStream(File file, long start, long end) {
+			this.file = file;
+			this.start = start;
+			this.remaining = end - start;
+		}
+
+		private RandomAccessFile input() throws IOException {
+			if (input == null) {
+				input = new RandomAccessFile(file, "r");
+				input.seek(start);
+			}
+			return input;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int out = input().read();
+			if (out != -1) {
+				remaining--;
+			}
+			return out;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			if (len > remaining) {
+				len = (int) remaining;
+			}
+			int read = input().read(b, off, len);
+			if (read > 0) {
+				remaining -= read;
+			}
+			return read;
+		}
+
+		@Override
+		public void close() throws IOException {
+			remaining = 0;
+			if (input != null) {
+				input.close();
+				input = null;
+			}
+		}
+	}
+}
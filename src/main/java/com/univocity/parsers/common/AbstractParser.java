@@ -66,8 +66,15 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	private Record firstRecord;
 	private final int errorContentLength;
 	private boolean extractingHeaders = false;
+	private boolean fieldViews = false;
 	private final boolean extractHeaders;
 	protected final int whitespaceRangeStart;
+	private ByteOffsetReader byteOffsetReader;
+	private Charset checkpointEncoding;
+	private long recordEndChar;
+	private long recordEndLine;
+	private volatile FollowingInputStream followedInput;
+	private DefaultCharInputReader reusableInput;
 
 	/**
 	 * All parsers must support, at the very least, the settings provided by {@link CommonParserSettings}. The AbstractParser requires its configuration to be properly initialized.
@@ -110,6 +117,12 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 */
 	public final void parse(Reader reader) {
 		beginParsing(reader);
+		parseInput();
+	}
+
+	private void parseInput() {
+		fieldViews = processor instanceof CharSequenceRowProcessor;
+		output.setFieldViewsEnabled(fieldViews);
 		try {
 			while (!context.isStopped()) {
 				input.markRecordStart();
@@ -119,8 +132,11 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 					continue;
 				}
 				parseRecord();
+				if (byteOffsetReader != null) {
+					recordEnded();
+				}
 
-				String[] row = output.rowParsed();
+				CharSequence[] row = output.valuesParsed();
 				if (row != null) {
 					if (recordsToRead >= 0 && context.currentRecord() >= recordsToRead) {
 						context.stop();
@@ -138,7 +154,9 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 			stopParsing();
 		} catch (EOFException ex) {
 			try {
-				handleEOF();
+				if (followedInput == null) {
+					handleEOF();
+				}
 			} finally {
 				stopParsing();
 			}
@@ -184,8 +202,8 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 		return false;
 	}
 
-	private String[] handleEOF() {
-		String[] row = null;
+	private CharSequence[] handleEOF() {
+		CharSequence[] row = null;
 		try {
 			boolean consumeValueOnEOF = consumeValueOnEOF();
 			if (output.column != 0 || consumeValueOnEOF) {
@@ -194,10 +212,10 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 				} else {
 					output.emptyParsed();
 				}
-				row = output.rowParsed();
+				row = output.valuesParsed();
 			} else if (output.appender.length() > 0) {
 				output.valueParsed();
-				row = output.rowParsed();
+				row = output.valuesParsed();
 			}
 		} catch (ArrayIndexOutOfBoundsException e) {
 			throw handleException(e);
@@ -216,14 +234,136 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param reader The input to be parsed.
 	 */
 	public final void beginParsing(Reader reader) {
-		output.reset();
-
 		if (reader instanceof LineReader) {
-			input = new DefaultCharInputReader(settings.getFormat().getLineSeparator(), settings.getFormat().getNormalizedNewline(), settings.getInputBufferSize(), whitespaceRangeStart);
+			prepareInput(new DefaultCharInputReader(settings.getFormat().getLineSeparator(), settings.getFormat().getNormalizedNewline(), settings.getInputBufferSize(), whitespaceRangeStart));
+		} else {
+			prepareInput(newCharInputReader());
+		}
+
+		try {
+			input.start(reader);
+		} catch (Throwable t) {
+			throw handleException(t);
+		}
+
+		inputStarted();
+	}
+
+	/**
+	 * Starts an iterator-style parsing cycle over a file mapped into memory, as enabled by {@link CommonParserSettings#isMemoryMappedInputEnabled()}.
+	 *
+	 * @param file     The file to be parsed.
+	 * @param encoding the encoding of the file. If {@code null} the encoding will be determined from the Byte Order Mark (BOM) of the file, if available.
+	 */
+	private void beginParsingMappedFile(File file, Charset encoding) {
+		MappedCharInputReader mappedInput = settings.newMappedCharInputReader(whitespaceRangeStart);
+		prepareInput(mappedInput);
+
+		try {
+			mappedInput.start(file, encoding);
+		} catch (Throwable t) {
+			throw handleException(t);
+		}
+
+		inputStarted();
+	}
+
+	/**
+	 * Starts an iterator-style parsing cycle over an input stream whose bytes are decoded by a {@link ByteInputReader}, as enabled by {@link CommonParserSettings#isByteInputEnabled()}.
+	 * If the encoding of the input is not supported by the {@link ByteInputReader}, the input will be read with a {@link java.io.Reader}.
+	 *
+	 * @param input    The input to be parsed.
+	 * @param encoding the encoding of the input stream. If {@code null} the encoding will be determined from the Byte Order Mark (BOM) of the input, if available.
+	 */
+	private void beginParsingBytes(InputStream input, Charset encoding) {
+		if (encoding == null) {
+			BomInput bomInput = new BomInput(input);
+			encoding = bomInput.getCharset();
+			if (encoding == null) {
+				encoding = Charset.defaultCharset();
+			}
+			if (bomInput.hasBytesStored()) {
+				input = bomInput;
+			}
+		}
+
+		if (!ByteInputReader.isSupported(encoding)) {
+			beginParsing(ArgumentUtils.newReader(input, encoding));
+			return;
+		}
+
+		ByteInputReader byteInput = settings.newByteInputReader(whitespaceRangeStart);
+		prepareInput(byteInput);
+
+		try {
+			byteInput.start(input, encoding);
+		} catch (Throwable t) {
+			throw handleException(t);
+		}
+
+		inputStarted();
+	}
+
+	/**
+	 * Creates the {@link CharInputReader} for an input given to {@link #beginParsing(Reader)}. The reader used to read input sequentially
+	 * is reused by subsequent parsing processes, along with its buffer.
+	 */
+	private CharInputReader newCharInputReader() {
+		if (settings.getReadInputOnSeparateThread()) {
+			return settings.newCharInputReader(whitespaceRangeStart);
+		}
+		if (reusableInput == null) {
+			reusableInput = (DefaultCharInputReader) settings.newCharInputReader(whitespaceRangeStart);
 		} else {
-			input = settings.newCharInputReader(whitespaceRangeStart);
+			reusableInput.reset();
+		}
+		return reusableInput;
+	}
+
+	/**
+	 * Stops the parsing process in progress, if any, and clears all state associated with the last input parsed, releasing any references
+	 * to it. The parser can then be reused to parse another input, without the cost of creating a new parser from its settings. Used by
+	 * {@link ParserPool} to reuse parsers.
+	 *
+	 * <p>Headers and field selections derived from the last input are discarded and determined again from the next input. The input buffer
+	 * used to read input sequentially is kept for the next parsing process, unless a {@link CommonSettings#getBufferPool()} is defined.</p>
+	 */
+	public final void reset() {
+		if (context != null && !context.isStopped()) {
+			stopParsing();
+		}
+		context = null;
+		firstRecord = null;
+		lastComment = null;
+		comments.clear();
+		byteOffsetReader = null;
+		checkpointEncoding = null;
+		followedInput = null;
+		recordEndChar = 0L;
+		recordEndLine = 0L;
+		output.reset();
+		output.releaseBuffers();
+		if (reusableInput != null) {
+			reusableInput.reset();
 		}
+		input = reusableInput;
+	}
+
+	private void prepareInput(CharInputReader input) {
+		prepareInput(input, true);
+	}
+
+	private void prepareInput(CharInputReader input, boolean analyzeInput) {
+		output.reset();
+		fieldViews = false;
+		byteOffsetReader = null;
+		followedInput = null;
+
+		this.input = input;
 		input.enableNormalizeLineEndings(true);
+		if (input instanceof DefaultCharInputReader) {
+			((DefaultCharInputReader) input).setBufferPool(settings.getBufferPool());
+		}
 
 		context = createParsingContext();
 
@@ -233,17 +373,17 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 			conversionProcessor.context = context;
 		}
 
-		if (input instanceof AbstractCharInputReader) {
+		if (analyzeInput && input instanceof AbstractCharInputReader) {
 			((AbstractCharInputReader) input).addInputAnalysisProcess(getInputAnalysisProcess());
 		}
+	}
 
-		try {
-			input.start(reader);
-		} catch (Throwable t) {
-			throw handleException(t);
-		}
+	private void inputStarted() {
 		input.skipLines(rowsToSkip);
+		inputReady();
+	}
 
+	private void inputReady() {
 		recordFactory = new RecordFactory(context);
 		initialize();
 
@@ -282,6 +422,26 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 		return null;
 	}
 
+	/**
+	 * Returns the format detected from the input, if the configuration of the parser enabled the automatic detection of any format details.
+	 *
+	 * @return the detected format, or {@code null} if no detection has been enabled or if the parsing process has not been started yet.
+	 * By default, {@code null} is returned.
+	 */
+	public Format getDetectedFormat() {
+		return null;
+	}
+
+	/**
+	 * Applies a format returned by {@link #getDetectedFormat()} when the parsing of an input is resumed from a {@link Checkpoint}, as
+	 * the input is not analyzed again. Implementations that detect format details other than the line separator must override this method.
+	 *
+	 * @param detectedFormat the format detected from the beginning of the input.
+	 */
+	protected void applyDetectedFormat(Format detectedFormat) {
+
+	}
+
 	private String getParsedContent(CharSequence tmp) {
 		return "Parsed content: " + AbstractException.restrictContent(errorContentLength, tmp);
 	}
@@ -420,7 +580,11 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 					processor.processEnded(context);
 				} finally {
 					output.appender.reset();
-					input.stop();
+					try {
+						input.stop();
+					} finally {
+						output.releaseBuffers();
+					}
 				}
 			}
 		} catch (Throwable error) {
@@ -436,8 +600,12 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<String[]> parseAll(Reader reader) {
-		List<String[]> out = new ArrayList<String[]>(10000);
 		beginParsing(reader);
+		return parseAllRemaining();
+	}
+
+	private List<String[]> parseAllRemaining() {
+		List<String[]> out = new ArrayList<String[]>(10000);
 		String[] row;
 		while ((row = parseNext()) != null) {
 			out.add(row);
@@ -471,6 +639,9 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 					continue;
 				}
 				parseRecord();
+				if (byteOffsetReader != null) {
+					recordEnded();
+				}
 				String[] row = output.rowParsed();
 				if (row != null) {
 					if (recordsToRead >= 0 && context.currentRecord() >= recordsToRead) {
@@ -491,7 +662,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 			stopParsing();
 			return null;
 		} catch (EOFException ex) {
-			String[] row = handleEOF();
+			String[] row = followedInput == null ? (String[]) handleEOF() : null;
 			stopParsing();
 			return row;
 		} catch (NullPointerException ex) {
@@ -576,7 +747,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 			}
 			return null;
 		} catch (EOFException ex) {
-			return handleEOF();
+			return (String[]) handleEOF();
 		} catch (NullPointerException ex) {
 			if (input != null) {
 				stopParsing(null);
@@ -596,13 +767,21 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 		Internal.process(row, processor, context, errorHandler);
 	}
 
+	private void rowProcessed(CharSequence[] row) {
+		if (fieldViews) {
+			Internal.process(row, (CharSequenceRowProcessor) processor, context, errorHandler);
+		} else {
+			Internal.process((String[]) row, processor, context, errorHandler);
+		}
+	}
+
 	/**
 	 * Parses the entirety of a given file and delegates each parsed row to an instance of {@link RowProcessor}, defined by {@link CommonParserSettings#getRowProcessor()}.
 	 *
 	 * @param file The file to be parsed.
 	 */
 	public final void parse(File file) {
-		parse(ArgumentUtils.newReader(file));
+		parse(file, (Charset) null);
 	}
 
 	/**
@@ -612,17 +791,19 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the file
 	 */
 	public final void parse(File file, String encoding) {
-		parse(ArgumentUtils.newReader(file, encoding));
+		parse(file, Charset.forName(encoding));
 	}
 
 	/**
 	 * Parses the entirety of a given file and delegates each parsed row to an instance of {@link RowProcessor}, defined by {@link CommonParserSettings#getRowProcessor()}.
+	 * <p>If {@link CommonParserSettings#isMemoryMappedInputEnabled()} evaluates to {@code true}, the file will be mapped into memory and read by a {@link MappedCharInputReader}.
 	 *
 	 * @param file     The file to be parsed.
 	 * @param encoding the encoding of the file
 	 */
 	public final void parse(File file, Charset encoding) {
-		parse(ArgumentUtils.newReader(file, encoding));
+		beginParsing(file, encoding);
+		parseInput();
 	}
 
 	/**
@@ -631,7 +812,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param input The input to be parsed. The input stream will be closed automatically.
 	 */
 	public final void parse(InputStream input) {
-		parse(ArgumentUtils.newReader(input));
+		parse(input, (Charset) null);
 	}
 
 	/**
@@ -641,17 +822,19 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the input stream
 	 */
 	public final void parse(InputStream input, String encoding) {
-		parse(ArgumentUtils.newReader(input, encoding));
+		parse(input, encoding == null ? (Charset) null : Charset.forName(encoding));
 	}
 
 	/**
 	 * Parses the entirety of a given input and delegates each parsed row to an instance of {@link RowProcessor}, defined by {@link CommonParserSettings#getRowProcessor()}.
+	 * <p>If {@link CommonParserSettings#isByteInputEnabled()} evaluates to {@code true} and the input is encoded in UTF-8 or US-ASCII, its bytes will be decoded by a {@link ByteInputReader}.
 	 *
 	 * @param input    The input to be parsed. The input stream will be closed automatically.
 	 * @param encoding the encoding of the input stream
 	 */
 	public final void parse(InputStream input, Charset encoding) {
-		parse(ArgumentUtils.newReader(input, encoding));
+		beginParsing(input, encoding);
+		parseInput();
 	}
 
 	/**
@@ -662,7 +845,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param file The file to be parsed.
 	 */
 	public final void beginParsing(File file) {
-		beginParsing(ArgumentUtils.newReader(file));
+		beginParsing(file, (Charset) null);
 	}
 
 	/**
@@ -674,19 +857,184 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the file
 	 */
 	public final void beginParsing(File file, String encoding) {
-		beginParsing(ArgumentUtils.newReader(file, encoding));
+		beginParsing(file, Charset.forName(encoding));
 	}
 
 	/**
 	 * Starts an iterator-style parsing cycle. If a {@link RowProcessor} is provided in the configuration, it will be used to perform additional processing.
 	 * The parsed records must be read one by one with the invocation of {@link AbstractParser#parseNext()}.
 	 * The user may invoke @link {@link AbstractParser#stopParsing()} to stop reading from the input.
+	 * <p>If {@link CommonParserSettings#isMemoryMappedInputEnabled()} evaluates to {@code true}, the file will be mapped into memory and read by a {@link MappedCharInputReader}.
+	 * <p>If {@link CommonParserSettings#isFileFollowingEnabled()} evaluates to {@code true}, the file will be followed as it grows, as if it were given
+	 * to {@link #beginParsing(File, Charset, Checkpoint)}.
 	 *
 	 * @param file     The file to be parsed.
 	 * @param encoding the encoding of the file
 	 */
 	public final void beginParsing(File file, Charset encoding) {
-		beginParsing(ArgumentUtils.newReader(file, encoding));
+		if (settings.isFileFollowingEnabled()) {
+			beginParsing(file, encoding, null);
+		} else if (settings.isMemoryMappedInputEnabled()) {
+			beginParsingMappedFile(file, encoding);
+		} else if (settings.isByteInputEnabled()) {
+			beginParsing(ArgumentUtils.newInputStream(file), encoding);
+		} else {
+			beginParsing(ArgumentUtils.newReader(file, encoding));
+		}
+	}
+
+	/**
+	 * Starts an iterator-style parsing cycle over a file, from the record following a {@link Checkpoint}. If a {@link RowProcessor} is provided
+	 * in the configuration, it will be used to perform additional processing. The parsed records must be read one by one with the invocation of
+	 * {@link AbstractParser#parseNext()}. The user may invoke @link {@link AbstractParser#stopParsing()} to stop reading from the input.
+	 *
+	 * <p> The parser keeps track of the position of each record in the file, so {@link #checkpoint()} can be invoked at any time.</p>
+	 *
+	 * @param file       The file to be parsed.
+	 * @param checkpoint the checkpoint created by {@link #checkpoint()} when the file was previously parsed. If {@code null} the parsing
+	 *                   process starts from the beginning of the file, decoded with the encoding identified by its Byte Order Mark (BOM),
+	 *                   or with the default encoding.
+	 */
+	public final void beginParsing(File file, Checkpoint checkpoint) {
+		beginParsing(file, null, checkpoint);
+	}
+
+	/**
+	 * Starts an iterator-style parsing cycle over a file, from the record following a {@link Checkpoint}. If a {@link RowProcessor} is provided
+	 * in the configuration, it will be used to perform additional processing. The parsed records must be read one by one with the invocation of
+	 * {@link AbstractParser#parseNext()}. The user may invoke @link {@link AbstractParser#stopParsing()} to stop reading from the input.
+	 *
+	 * <p> The parser keeps track of the position of each record in the file, so {@link #checkpoint()} can be invoked at any time.
+	 * Positions are derived from the characters read, so the input is always read by a {@link java.io.Reader} on the current thread,
+	 * regardless of the settings that enable other types of input.</p>
+	 *
+	 * <p> When resuming from a checkpoint, the headers, line separator and format detected in the beginning of the file, and the record and line
+	 * counts are restored from the checkpoint. Rows to skip as defined by {@link CommonParserSettings#getNumberOfRowsToSkip()} are not skipped again.</p>
+	 *
+	 * @param file       The file to be parsed.
+	 * @param encoding   the encoding of the file. If {@code null} the encoding of the checkpoint will be used, or, if no checkpoint
+	 *                   is given, the encoding identified by the Byte Order Mark (BOM) of the file, or the default encoding.
+	 * @param checkpoint the checkpoint created by {@link #checkpoint()} when the file was previously parsed. If {@code null} the parsing
+	 *                   process starts from the beginning of the file.
+	 */
+	public final void beginParsing(File file, Charset encoding, Checkpoint checkpoint) {
+		ArgumentUtils.noNulls("File to parse", file);
+		Format format = settings.getFormat();
+		char[] lineSeparator = settings.isLineSeparatorDetectionEnabled() ? null : format.getLineSeparator();
+		long byteOffset = 0L;
+		long charOffset = 0L;
+
+		if (checkpoint == null) {
+			encoding = getCheckpointEncoding(file, encoding);
+		} else {
+			if (encoding == null) {
+				encoding = checkpoint.getEncoding();
+			}
+			byteOffset = checkpoint.getByteOffset();
+			charOffset = checkpoint.getCharOffset();
+			if (lineSeparator == null) {
+				lineSeparator = checkpoint.getLineSeparator();
+			}
+		}
+
+		DefaultCharInputReader charInput;
+		if (lineSeparator == null || lineSeparator.length == 0 || lineSeparator[0] == '\0') {
+			charInput = new DefaultCharInputReader(format.getNormalizedNewline(), settings.getInputBufferSize(), whitespaceRangeStart);
+		} else {
+			charInput = new DefaultCharInputReader(lineSeparator, format.getNormalizedNewline(), settings.getInputBufferSize(), whitespaceRangeStart);
+		}
+		charInput.setReloadOnDemand(settings.isFileFollowingEnabled());
+		prepareInput(charInput, checkpoint == null);
+
+		try {
+			FileInputStream in = new FileInputStream(file);
+			if (byteOffset > 0) {
+				in.getChannel().position(byteOffset);
+			}
+			if (settings.isFileFollowingEnabled()) {
+				followedInput = new FollowingInputStream(in, settings.getFileFollowingPollInterval(), settings.getFileFollowingTimeout());
+				byteOffsetReader = new ByteOffsetReader(followedInput, encoding, byteOffset, charOffset);
+			} else {
+				byteOffsetReader = new ByteOffsetReader(in, encoding, byteOffset, charOffset);
+			}
+			checkpointEncoding = encoding;
+			input.start(byteOffsetReader);
+		} catch (Throwable t) {
+			throw handleException(t);
+		}
+
+		if (checkpoint == null) {
+			inputStarted();
+			recordEnded();
+		} else {
+			charInput.offsetCounts(charOffset, checkpoint.getLineCount());
+			Format detectedFormat = checkpoint.getDetectedFormat();
+			if (detectedFormat != null) {
+				applyDetectedFormat(detectedFormat);
+			}
+			output.resume(extractHeaders ? checkpoint.getHeaders() : null, checkpoint.getRecordCount());
+			recordEnded();
+			inputReady();
+		}
+	}
+
+	private void recordEnded() {
+		recordEndChar = input.charCount();
+		recordEndLine = input.lineCount();
+		byteOffsetReader.byteOffset(recordEndChar);
+	}
+
+	/**
+	 * Stops following a file that is being parsed while {@link CommonParserSettings#isFileFollowingEnabled()} evaluates to {@code true}.
+	 * The records already written to the file are still parsed, after which the end of the input is reached. This method may be invoked from
+	 * any thread, including while another thread waits in {@link #parseNext()} for the file to grow.
+	 */
+	public final void stopFollowing() {
+		FollowingInputStream followedInput = this.followedInput;
+		if (followedInput != null) {
+			followedInput.stopFollowing();
+		}
+	}
+
+	/**
+	 * Identifies the encoding of a file. As positions in bytes are determined from the characters decoded, the Byte Order Mark (BOM)
+	 * of the file must be decoded into a character, which only happens with encodings that specify the byte order.
+	 */
+	private static Charset getCheckpointEncoding(File file, Charset encoding) {
+		BomInput bomInput = new BomInput(ArgumentUtils.newInputStream(file));
+		try {
+			Charset bomEncoding = bomInput.getCharset();
+			if (bomEncoding != null && (encoding == null || bomEncoding.name().startsWith(encoding.name()))) {
+				return bomEncoding;
+			}
+			return encoding == null ? Charset.defaultCharset() : encoding;
+		} finally {
+			try {
+				bomInput.close();
+			} catch (IOException e) {
+				//ignore
+			}
+		}
+	}
+
+	/**
+	 * Creates a {@link Checkpoint} with the state of the parsing process, from which the parsing of the current file can be resumed
+	 * with {@link #beginParsing(File, Checkpoint)}. The checkpoint refers to the end of the last record parsed, so it must be created
+	 * after {@link #parseNext()} returns, or from a {@link Processor} while it processes a record.
+	 *
+	 * <p> Checkpoints are only available when the parsing process was started by {@link #beginParsing(File, Charset, Checkpoint)}, or when
+	 * a file is followed as enabled by {@link CommonParserSettings#isFileFollowingEnabled()}. Checkpoints remain available after the parsing
+	 * process ends.</p>
+	 *
+	 * @return a serializable snapshot of the state of the parsing process.
+	 */
+	public final Checkpoint checkpoint() {
+		if (byteOffsetReader == null) {
+			throw new IllegalStateException("Checkpoints are only available when parsing a file started with beginParsing(File, Checkpoint)");
+		}
+		String[] headers = output.getHeaders();
+		long byteOffset = byteOffsetReader.byteOffset(recordEndChar);
+		return new Checkpoint(byteOffset, recordEndChar, recordEndLine, output.getCurrentRecord(), checkpointEncoding, headers, input.getLineSeparator(), getDetectedFormat());
 	}
 
 	/**
@@ -697,7 +1045,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param input The input to be parsed. The input stream will be closed automatically in case of errors.
 	 */
 	public final void beginParsing(InputStream input) {
-		beginParsing(ArgumentUtils.newReader(input));
+		beginParsing(input, (Charset) null);
 	}
 
 	/**
@@ -709,19 +1057,24 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the input stream
 	 */
 	public final void beginParsing(InputStream input, String encoding) {
-		beginParsing(ArgumentUtils.newReader(input, encoding));
+		beginParsing(input, encoding == null ? (Charset) null : Charset.forName(encoding));
 	}
 
 	/**
 	 * Starts an iterator-style parsing cycle. If a {@link RowProcessor} is provided in the configuration, it will be used to perform additional processing.
 	 * The parsed records must be read one by one with the invocation of {@link AbstractParser#parseNext()}.
 	 * The user may invoke @link {@link AbstractParser#stopParsing()} to stop reading from the input.
+	 * <p>If {@link CommonParserSettings#isByteInputEnabled()} evaluates to {@code true} and the input is encoded in UTF-8 or US-ASCII, its bytes will be decoded by a {@link ByteInputReader}.
 	 *
 	 * @param input    The input to be parsed. The input stream will be closed automatically in case of errors.
 	 * @param encoding the encoding of the input stream
 	 */
 	public final void beginParsing(InputStream input, Charset encoding) {
-		beginParsing(ArgumentUtils.newReader(input, encoding));
+		if (settings.isByteInputEnabled()) {
+			beginParsingBytes(input, encoding);
+		} else {
+			beginParsing(ArgumentUtils.newReader(input, encoding));
+		}
 	}
 
 	/**
@@ -732,7 +1085,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<String[]> parseAll(File file) {
-		return parseAll(ArgumentUtils.newReader(file));
+		return parseAll(file, (Charset) null);
 	}
 
 	/**
@@ -744,7 +1097,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<String[]> parseAll(File file, String encoding) {
-		return parseAll(ArgumentUtils.newReader(file, encoding));
+		return parseAll(file, Charset.forName(encoding));
 	}
 
 	/**
@@ -756,7 +1109,8 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<String[]> parseAll(File file, Charset encoding) {
-		return parseAll(ArgumentUtils.newReader(file, encoding));
+		beginParsing(file, encoding);
+		return parseAllRemaining();
 	}
 
 	/**
@@ -767,7 +1121,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<String[]> parseAll(InputStream input) {
-		return parseAll(ArgumentUtils.newReader(input));
+		return parseAll(input, (Charset) null);
 	}
 
 	/**
@@ -779,7 +1133,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<String[]> parseAll(InputStream input, String encoding) {
-		return parseAll(ArgumentUtils.newReader(input, encoding));
+		return parseAll(input, encoding == null ? (Charset) null : Charset.forName(encoding));
 	}
 
 	/**
@@ -791,7 +1145,8 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<String[]> parseAll(InputStream input, Charset encoding) {
-		return parseAll(ArgumentUtils.newReader(input, encoding));
+		beginParsing(input, encoding);
+		return parseAllRemaining();
 	}
 
 	/**
@@ -802,7 +1157,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<Record> parseAllRecords(File file) {
-		return parseAllRecords(ArgumentUtils.newReader(file));
+		return parseAllRecords(file, (Charset) null);
 	}
 
 	/**
@@ -814,7 +1169,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<Record> parseAllRecords(File file, String encoding) {
-		return parseAllRecords(ArgumentUtils.newReader(file, encoding));
+		return parseAllRecords(file, Charset.forName(encoding));
 	}
 
 	/**
@@ -826,7 +1181,8 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<Record> parseAllRecords(File file, Charset encoding) {
-		return parseAllRecords(ArgumentUtils.newReader(file, encoding));
+		beginParsing(file, encoding);
+		return parseAllRecordsRemaining();
 	}
 
 	/**
@@ -837,7 +1193,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<Record> parseAllRecords(InputStream input) {
-		return parseAllRecords(ArgumentUtils.newReader(input));
+		return parseAllRecords(input, (Charset) null);
 	}
 
 	/**
@@ -849,7 +1205,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<Record> parseAllRecords(InputStream input, String encoding) {
-		return parseAllRecords(ArgumentUtils.newReader(input, encoding));
+		return parseAllRecords(input, encoding == null ? (Charset) null : Charset.forName(encoding));
 	}
 
 	/**
@@ -861,7 +1217,8 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<Record> parseAllRecords(InputStream input, Charset encoding) {
-		return parseAllRecords(ArgumentUtils.newReader(input, encoding));
+		beginParsing(input, encoding);
+		return parseAllRecordsRemaining();
 	}
 
 	/**
@@ -872,8 +1229,12 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<Record> parseAllRecords(Reader reader) {
-		List<Record> out = new ArrayList<Record>(10000);
 		beginParsing(reader);
+		return parseAllRecordsRemaining();
+	}
+
+	private List<Record> parseAllRecordsRemaining() {
+		List<Record> out = new ArrayList<Record>(10000);
 		Record record;
 		while ((record = parseNextRecord()) != null) {
 			out.add(record);
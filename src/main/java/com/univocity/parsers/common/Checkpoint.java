@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import java.io.*;
+import java.nio.charset.*;
+
+/**
+ * The state of a parser at the end of a record, created with {@link AbstractParser#checkpoint()} while parsing a file. A checkpoint is
+ * {@link Serializable} and can be used later, even by another process, to resume parsing the same file from the record following the
+ * checkpoint using {@link AbstractParser#beginParsing(File, Checkpoint)}, without parsing the records that precede it.
+ *
+ * <p> Besides the position in the file, a checkpoint holds the information that is only available from the beginning of the input:
+ * its headers, line separator and any format details detected automatically by the parser. Record and line counts are restored as well,
+ * so the {@link ParsingContext} of a resumed parser reports the same positions a parser that never stopped would.</p>
+ *
+ * <p> A checkpoint is only valid for the file it was created from, and for parsers configured in the same way as the parser that created it.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractParser#checkpoint()
+ * @see AbstractParser#beginParsing(File, Charset, Checkpoint)
+ */
+public final class Checkpoint implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long byteOffset;
+	private final long charOffset;
+	private final long lineCount;
+	private final long recordCount;
+	private final String encoding;
+	private final String[] headers;
+	private final char[] lineSeparator;
+	private final Format detectedFormat;
+
+	Checkpoint(long byteOffset, long charOffset, long lineCount, long recordCount, Charset encoding, String[] headers, char[] lineSeparator, Format detectedFormat) {
+		this.byteOffset = byteOffset;
+		this.charOffset = charOffset;
+		this.lineCount = lineCount;
+		this.recordCount = recordCount;
+		this.encoding = encoding.name();
+		this.headers = headers == null ? null : headers.clone();
+		this.lineSeparator = lineSeparator == null ? null : lineSeparator.clone();
+		this.detectedFormat = detectedFormat;
+	}
+
+	/**
+	 * Returns the position, in bytes, where the record following this checkpoint starts.
+	 *
+	 * @return the byte offset of the next record in the file.
+	 */
+	public long getByteOffset() {
+		return byteOffset;
+	}
+
+	/**
+	 * Returns the position, in characters, where the record following this checkpoint starts, as given by {@link ParsingContext#currentChar()}.
+	 *
+	 * @return the character offset of the next record in the file.
+	 */
+	public long getCharOffset() {
+		return charOffset;
+	}
+
+	/**
+	 * Returns the number of lines read up to this checkpoint, as given by {@link ParsingContext#currentLine()}.
+	 *
+	 * @return the number of lines read before the next record.
+	 */
+	public long getLineCount() {
+		return lineCount;
+	}
+
+	/**
+	 * Returns the number of records parsed up to this checkpoint, as given by {@link ParsingContext#currentRecord()}.
+	 *
+	 * @return the number of records parsed before the next record.
+	 */
+	public long getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Returns the encoding of the file.
+	 *
+	 * @return the encoding used to read the file.
+	 */
+	public Charset getEncoding() {
+		return Charset.forName(encoding);
+	}
+
+	/**
+	 * Returns the headers of the file, if any.
+	 *
+	 * @return the headers of the file, or {@code null} if no headers were available.
+	 */
+	public String[] getHeaders() {
+		return headers == null ? null : headers.clone();
+	}
+
+	/**
+	 * Returns the line separator used in the file.
+	 *
+	 * @return the line separator sequence of the file.
+	 */
+	public char[] getLineSeparator() {
+		return lineSeparator == null ? null : lineSeparator.clone();
+	}
+
+	/**
+	 * Returns the format detected automatically by the parser that created this checkpoint, if any.
+	 *
+	 * @return the format detected in the file, or {@code null} if the parser did not detect any format.
+	 */
+	public Format getDetectedFormat() {
+		return detectedFormat == null ? null : detectedFormat.clone();
+	}
+
+	@Override
+	public String toString() {
+		return "Checkpoint at byte " + byteOffset + " (record " + recordCount + ", line " + lineCount + ")";
+	}
+}
@@ -44,6 +44,17 @@ import java.util.*;
  * <li><b>numberOfRecordsToRead <i>(defaults to -1)</i>:</b> Defines how many (valid) records are to be parsed before the process is stopped. A negative value indicates there's no limit.</li>
  * <li><b>lineSeparatorDetectionEnabled <i>(defaults to false)</i>:</b> Attempts to identify what is the line separator being used in the input.
  * The first row of the input will be read until a sequence of '\r\n', or characters '\r' or '\n' is found. If a match is found, then it will be used as the line separator to use to parse the input</li>
+ * <li><b>memoryMappedInputEnabled <i>(defaults to false)</i>:</b> Indicates whether files given to the parser should be mapped into memory
+ * and decoded directly into the parser's buffer (in {@link MappedCharInputReader}) instead of being read through a {@link java.io.Reader}.</li>
+ * <li><b>byteInputEnabled <i>(defaults to false)</i>:</b> Indicates whether UTF-8 and US-ASCII input streams and files should have their bytes
+ * decoded inline (in {@link ByteInputReader}) instead of being read through a {@link java.io.Reader}.</li>
+ * <li><b>fileFollowingEnabled <i>(defaults to false)</i>:</b> Indicates whether the parser should wait for files to grow when their end is reached
+ * (in {@link FollowingInputStream}) so that records appended to a file can be parsed as they are written.</li>
+ * <li><b>fileFollowingPollInterval <i>(defaults to 500)</i>:</b> The time, in milliseconds, to wait before checking again whether a followed file grew.</li>
+ * <li><b>fileFollowingTimeout <i>(defaults to -1)</i>:</b> The time, in milliseconds, to wait for a followed file to grow before
+ * the parsing process ends. A negative value indicates the file is followed until {@link AbstractParser#stopFollowing()} is invoked.</li>
+ * <li><b>deduplicationCacheSize <i>(defaults to 128)</i>:</b> The maximum number of distinct values cached (in {@link StringCache}) for each column
+ * whose values are deduplicated with {@link #deduplicateValuesOf(String...)} or {@link #deduplicateValuesOf(Integer...)}.</li>
  * </ul>
  *
  * @param <F> the format supported by this parser.
@@ -64,6 +75,14 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 	private boolean lineSeparatorDetectionEnabled = false;
 	private long numberOfRowsToSkip = 0L;
 	private boolean commentCollectionEnabled = false;
+	private boolean memoryMappedInputEnabled = false;
+	private boolean byteInputEnabled = false;
+	private boolean fileFollowingEnabled = false;
+	private long fileFollowingPollInterval = 500L;
+	private long fileFollowingTimeout = -1L;
+	private Map<Object, FieldFilter> fieldFilters;
+	private Set<Object> deduplicatedFields;
+	private int deduplicationCacheSize = 128;
 
 	/**
 	 * Indicates whether or not a separate thread will be used to read characters from the input while parsing (defaults true if the number of available
@@ -218,6 +237,301 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 		}
 	}
 
+	/**
+	 * An implementation of {@link CharInputReader} which maps the contents of files into memory, used when the memoryMappedInputEnabled property is enabled.
+	 *
+	 * @param whitespaceRangeStart starting range of characters considered to be whitespace.
+	 *
+	 * @return a {@link MappedCharInputReader} configured with the line separator and buffer size defined in this settings object.
+	 */
+	MappedCharInputReader newMappedCharInputReader(int whitespaceRangeStart) {
+		if (lineSeparatorDetectionEnabled) {
+			return new MappedCharInputReader(getFormat().getNormalizedNewline(), this.getInputBufferSize(), whitespaceRangeStart);
+		} else {
+			return new MappedCharInputReader(getFormat().getLineSeparator(), getFormat().getNormalizedNewline(), this.getInputBufferSize(), whitespaceRangeStart);
+		}
+	}
+
+	/**
+	 * Indicates whether files provided to the parser (e.g. through {@link AbstractParser#parse(java.io.File, java.nio.charset.Charset)}) should be
+	 * mapped into memory and have their bytes decoded directly into the parser's buffer by a {@link MappedCharInputReader} (defaults to false).
+	 * <p>This avoids reading files through an {@link java.io.InputStreamReader}, which copies bytes into an intermediate buffer and performs a system call
+	 * every time this buffer is exhausted. Input provided through a {@link java.io.Reader} or {@link java.io.InputStream} is not affected by this setting.
+	 * <p>When enabled, the readInputOnSeparateThread property is ignored for files.
+	 *
+	 * @return a flag indicating whether files should be mapped into memory for parsing.
+	 */
+	public boolean isMemoryMappedInputEnabled() {
+		return memoryMappedInputEnabled;
+	}
+
+	/**
+	 * Defines whether files provided to the parser (e.g. through {@link AbstractParser#parse(java.io.File, java.nio.charset.Charset)}) should be
+	 * mapped into memory and have their bytes decoded directly into the parser's buffer by a {@link MappedCharInputReader} (defaults to false).
+	 * <p>This avoids reading files through an {@link java.io.InputStreamReader}, which copies bytes into an intermediate buffer and performs a system call
+	 * every time this buffer is exhausted. Input provided through a {@link java.io.Reader} or {@link java.io.InputStream} is not affected by this setting.
+	 * <p>When enabled, the readInputOnSeparateThread property is ignored for files.
+	 *
+	 * @param memoryMappedInputEnabled flag indicating whether files should be mapped into memory for parsing.
+	 */
+	public void setMemoryMappedInputEnabled(boolean memoryMappedInputEnabled) {
+		this.memoryMappedInputEnabled = memoryMappedInputEnabled;
+	}
+
+	/**
+	 * An implementation of {@link CharInputReader} which decodes UTF-8 and US-ASCII bytes inline, used when the byteInputEnabled property is enabled.
+	 *
+	 * @param whitespaceRangeStart starting range of characters considered to be whitespace.
+	 *
+	 * @return a {@link ByteInputReader} configured with the line separator and buffer size defined in this settings object.
+	 */
+	ByteInputReader newByteInputReader(int whitespaceRangeStart) {
+		if (lineSeparatorDetectionEnabled) {
+			return new ByteInputReader(getFormat().getNormalizedNewline(), this.getInputBufferSize(), whitespaceRangeStart);
+		} else {
+			return new ByteInputReader(getFormat().getLineSeparator(), getFormat().getNormalizedNewline(), this.getInputBufferSize(), whitespaceRangeStart);
+		}
+	}
+
+	/**
+	 * Indicates whether input streams and files encoded in UTF-8 or US-ASCII should have their bytes decoded inline by a {@link ByteInputReader} (defaults to false).
+	 * <p>This removes the {@link java.nio.charset.CharsetDecoder} used by {@link java.io.InputStreamReader} from the parsing process: ASCII bytes are
+	 * simply widened to characters, and multi-byte UTF-8 sequences are decoded only when found.
+	 * <p>Inputs in any other encoding, or provided through a {@link java.io.Reader}, are not affected by this setting.
+	 * When enabled, the readInputOnSeparateThread property is ignored for UTF-8 and US-ASCII inputs. Files read with
+	 * {@link #isMemoryMappedInputEnabled()} are not affected by this setting.
+	 *
+	 * @return a flag indicating whether UTF-8 and US-ASCII input should be decoded inline.
+	 */
+	public boolean isByteInputEnabled() {
+		return byteInputEnabled;
+	}
+
+	/**
+	 * Defines whether input streams and files encoded in UTF-8 or US-ASCII should have their bytes decoded inline by a {@link ByteInputReader} (defaults to false).
+	 * <p>This removes the {@link java.nio.charset.CharsetDecoder} used by {@link java.io.InputStreamReader} from the parsing process: ASCII bytes are
+	 * simply widened to characters, and multi-byte UTF-8 sequences are decoded only when found.
+	 * <p>Inputs in any other encoding, or provided through a {@link java.io.Reader}, are not affected by this setting.
+	 * When enabled, the readInputOnSeparateThread property is ignored for UTF-8 and US-ASCII inputs. Files read with
+	 * {@link #isMemoryMappedInputEnabled()} are not affected by this setting.
+	 *
+	 * @param byteInputEnabled flag indicating whether UTF-8 and US-ASCII input should be decoded inline.
+	 */
+	public void setByteInputEnabled(boolean byteInputEnabled) {
+		this.byteInputEnabled = byteInputEnabled;
+	}
+
+	/**
+	 * Indicates whether files provided to the parser through {@link AbstractParser#beginParsing(java.io.File)} and similar methods should be followed
+	 * as they grow (defaults to false). When enabled, the parser waits for more data when the end of a file is reached, and
+	 * {@link AbstractParser#parseNext()} only returns once the next record has been fully written.
+	 * <p>A record is only produced once the line separator that follows it is written. If the parsing process ends while
+	 * following a file, the incomplete record at the end of the file is discarded, and {@link AbstractParser#checkpoint()}
+	 * can be used to resume parsing from it later.
+	 * <p>When enabled, files are read as if they were given to {@link AbstractParser#beginParsing(java.io.File, Checkpoint)}, therefore the
+	 * memoryMappedInputEnabled, byteInputEnabled and readInputOnSeparateThread properties are ignored for files.
+	 *
+	 * @return a flag indicating whether files should be followed as they grow.
+	 */
+	public boolean isFileFollowingEnabled() {
+		return fileFollowingEnabled;
+	}
+
+	/**
+	 * Defines whether files provided to the parser through {@link AbstractParser#beginParsing(java.io.File)} and similar methods should be followed
+	 * as they grow (defaults to false). When enabled, the parser waits for more data when the end of a file is reached, and
+	 * {@link AbstractParser#parseNext()} only returns once the next record has been fully written.
+	 * <p>A record is only produced once the line separator that follows it is written. If the parsing process ends while
+	 * following a file, the incomplete record at the end of the file is discarded, and {@link AbstractParser#checkpoint()}
+	 * can be used to resume parsing from it later.
+	 * <p>When enabled, files are read as if they were given to {@link AbstractParser#beginParsing(java.io.File, Checkpoint)}, therefore the
+	 * memoryMappedInputEnabled, byteInputEnabled and readInputOnSeparateThread properties are ignored for files.
+	 *
+	 * @param fileFollowingEnabled flag indicating whether files should be followed as they grow.
+	 */
+	public void setFileFollowingEnabled(boolean fileFollowingEnabled) {
+		this.fileFollowingEnabled = fileFollowingEnabled;
+	}
+
+	/**
+	 * Returns the time, in milliseconds, to wait before checking again whether a followed file grew (defaults to 500).
+	 *
+	 * @return the interval between checks for new data in files followed when {@link #isFileFollowingEnabled()} evaluates to {@code true}.
+	 */
+	public long getFileFollowingPollInterval() {
+		return fileFollowingPollInterval;
+	}
+
+	/**
+	 * Defines the time, in milliseconds, to wait before checking again whether a followed file grew (defaults to 500).
+	 *
+	 * @param fileFollowingPollInterval the interval between checks for new data in files followed when {@link #isFileFollowingEnabled()} evaluates to {@code true}.
+	 */
+	public void setFileFollowingPollInterval(long fileFollowingPollInterval) {
+		if (fileFollowingPollInterval <= 0) {
+			throw new IllegalArgumentException("File following poll interval must be positive");
+		}
+		this.fileFollowingPollInterval = fileFollowingPollInterval;
+	}
+
+	/**
+	 * Returns the time, in milliseconds, to wait for a followed file to grow before the parsing process ends (defaults to -1).
+	 * A negative value indicates the file is followed until {@link AbstractParser#stopFollowing()} is invoked or the thread is interrupted.
+	 *
+	 * @return the maximum time to wait for new data in files followed when {@link #isFileFollowingEnabled()} evaluates to {@code true}.
+	 */
+	public long getFileFollowingTimeout() {
+		return fileFollowingTimeout;
+	}
+
+	/**
+	 * Defines the time, in milliseconds, to wait for a followed file to grow before the parsing process ends (defaults to -1).
+	 * A negative value indicates the file is followed until {@link AbstractParser#stopFollowing()} is invoked or the thread is interrupted.
+	 *
+	 * @param fileFollowingTimeout the maximum time to wait for new data in files followed when {@link #isFileFollowingEnabled()} evaluates to {@code true}.
+	 */
+	public void setFileFollowingTimeout(long fileFollowingTimeout) {
+		this.fileFollowingTimeout = fileFollowingTimeout;
+	}
+
+	/**
+	 * Adds a {@link FieldFilter} to be applied over the values parsed for a given column. Records whose value is rejected by the filter
+	 * are discarded as soon as the value is parsed: their remaining values are not collected, and the record is not sent to the
+	 * {@link Processor}. Multiple filters added to the same column must all accept a value for the record to be kept.
+	 *
+	 * @param columnIndex the position of the column in the input, starting from 0.
+	 * @param filter      the filter to apply over the values of the given column.
+	 */
+	public void addFieldFilter(int columnIndex, FieldFilter filter) {
+		if (columnIndex < 0) {
+			throw new IllegalArgumentException("Column index cannot be negative. Got " + columnIndex);
+		}
+		addFieldFilter((Object) columnIndex, filter);
+	}
+
+	/**
+	 * Adds a {@link FieldFilter} to be applied over the values parsed for a given column. Records whose value is rejected by the filter
+	 * are discarded as soon as the value is parsed: their remaining values are not collected, and the record is not sent to the
+	 * {@link Processor}. Multiple filters added to the same column must all accept a value for the record to be kept.
+	 *
+	 * <p>The header name is matched against the headers of the input as done by {@link #selectFields(String...)}.</p>
+	 *
+	 * @param headerName the name of the column in the input headers
+	 * @param filter     the filter to apply over the values of the given column.
+	 */
+	public void addFieldFilter(String headerName, FieldFilter filter) {
+		if (headerName == null || headerName.trim().isEmpty()) {
+			throw new IllegalArgumentException("Header name cannot be null or empty");
+		}
+		addFieldFilter((Object) headerName, filter);
+	}
+
+	private void addFieldFilter(Object column, final FieldFilter filter) {
+		if (filter == null) {
+			throw new IllegalArgumentException("Field filter cannot be null");
+		}
+		if (fieldFilters == null) {
+			fieldFilters = new LinkedHashMap<Object, FieldFilter>();
+		}
+		final FieldFilter previous = fieldFilters.get(column);
+		if (previous == null) {
+			fieldFilters.put(column, filter);
+		} else {
+			fieldFilters.put(column, new FieldFilter() {
+				@Override
+				public boolean accept(CharSequence value) {
+					return previous.accept(value) && filter.accept(value);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Returns the field filters added with {@link #addFieldFilter(int, FieldFilter)} and {@link #addFieldFilter(String, FieldFilter)},
+	 * associated with their column index or header name.
+	 *
+	 * @return the field filters to apply over the values of each column, or {@code null} if no filter was added.
+	 */
+	Map<Object, FieldFilter> getFieldFilters() {
+		return fieldFilters;
+	}
+
+	/**
+	 * Deduplicates the values parsed for the given columns: repeated occurrences of a value will share the same {@link String} instance,
+	 * which is obtained from a {@link StringCache} without allocating new {@link String}s. Use this for columns with few distinct values
+	 * (e.g. country codes, status flags or currencies) to reduce the memory retained by the parsed rows. Columns that turn out to have too
+	 * many distinct values have their caches discarded during the parsing process.
+	 *
+	 * <p>The header names are matched against the headers of the input as done by {@link #selectFields(String...)}.</p>
+	 *
+	 * @param headerNames the names of the columns in the input headers
+	 */
+	public void deduplicateValuesOf(String... headerNames) {
+		ArgumentUtils.noNulls("Header names", headerNames);
+		for (String headerName : headerNames) {
+			if (headerName.trim().isEmpty()) {
+				throw new IllegalArgumentException("Header name cannot be empty");
+			}
+			addDeduplicatedField(headerName);
+		}
+	}
+
+	/**
+	 * Deduplicates the values parsed for the given columns: repeated occurrences of a value will share the same {@link String} instance,
+	 * which is obtained from a {@link StringCache} without allocating new {@link String}s. Use this for columns with few distinct values
+	 * (e.g. country codes, status flags or currencies) to reduce the memory retained by the parsed rows. Columns that turn out to have too
+	 * many distinct values have their caches discarded during the parsing process.
+	 *
+	 * @param columnIndexes the positions of the columns in the input, starting from 0.
+	 */
+	public void deduplicateValuesOf(Integer... columnIndexes) {
+		ArgumentUtils.noNulls("Column indexes", columnIndexes);
+		for (Integer columnIndex : columnIndexes) {
+			if (columnIndex < 0) {
+				throw new IllegalArgumentException("Column index cannot be negative. Got " + columnIndex);
+			}
+			addDeduplicatedField(columnIndex);
+		}
+	}
+
+	private void addDeduplicatedField(Object column) {
+		if (deduplicatedFields == null) {
+			deduplicatedFields = new LinkedHashSet<Object>();
+		}
+		deduplicatedFields.add(column);
+	}
+
+	/**
+	 * Returns the columns whose values are deduplicated, identified by their index or header name.
+	 *
+	 * @return the columns added with {@link #deduplicateValuesOf(String...)} and {@link #deduplicateValuesOf(Integer...)},
+	 * or {@code null} if no column has its values deduplicated.
+	 */
+	Set<Object> getDeduplicatedFields() {
+		return deduplicatedFields;
+	}
+
+	/**
+	 * Returns the maximum number of distinct values cached for each column whose values are deduplicated (defaults to 128).
+	 *
+	 * @return the maximum number of distinct values to cache for each deduplicated column.
+	 */
+	public int getDeduplicationCacheSize() {
+		return deduplicationCacheSize;
+	}
+
+	/**
+	 * Defines the maximum number of distinct values cached for each column whose values are deduplicated (defaults to 128).
+	 *
+	 * @param deduplicationCacheSize the maximum number of distinct values to cache for each deduplicated column.
+	 */
+	public void setDeduplicationCacheSize(int deduplicationCacheSize) {
+		if (deduplicationCacheSize <= 0) {
+			throw new IllegalArgumentException("Deduplication cache size must be positive. Got " + deduplicationCacheSize);
+		}
+		this.deduplicationCacheSize = deduplicationCacheSize;
+	}
+
 	/**
 	 * The number of valid records to be parsed before the process is stopped. A negative value indicates there's no limit (defaults to -1).
 	 *
@@ -307,7 +621,7 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 	protected CharAppender newCharAppender() {
 		int chars = getMaxCharsPerColumn();
 		if (chars != -1) {
-			return new DefaultCharAppender(chars, getNullValue(), getWhitespaceRangeStart());
+			return new DefaultCharAppender(chars, getNullValue(), getWhitespaceRangeStart(), getBufferPool());
 		} else {
 			return new ExpandingCharAppender(getNullValue(), getWhitespaceRangeStart());
 		}
@@ -362,6 +676,14 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 		out.put("Input reading on separate thread", readInputOnSeparateThread);
 		out.put("Number of records to read", numberOfRecordsToRead == -1 ? "all" : numberOfRecordsToRead);
 		out.put("Line separator detection enabled", lineSeparatorDetectionEnabled);
+		out.put("Memory mapped input enabled", memoryMappedInputEnabled);
+		out.put("Byte input enabled", byteInputEnabled);
+		out.put("File following enabled", fileFollowingEnabled);
+		out.put("File following poll interval", fileFollowingPollInterval);
+		out.put("File following timeout", fileFollowingTimeout);
+		out.put("Field filters", fieldFilters == null ? "none" : fieldFilters.keySet());
+		out.put("Deduplicated fields", deduplicatedFields == null ? "none" : deduplicatedFields);
+		out.put("Deduplication cache size", deduplicationCacheSize);
 	}
 
 	private boolean preventReordering() {
@@ -447,8 +769,15 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 	}
 
 	@Override
-	protected CommonParserSettings clone(boolean clearInputSpecificSettings) {
-		return (CommonParserSettings) super.clone(clearInputSpecificSettings);
+	protected CommonParserSettings<?> clone(boolean clearInputSpecificSettings) {
+		CommonParserSettings<?> out = (CommonParserSettings<?>) super.clone(clearInputSpecificSettings);
+		if (out.fieldFilters != null) {
+			out.fieldFilters = new LinkedHashMap<Object, FieldFilter>(out.fieldFilters);
+		}
+		if (out.deduplicatedFields != null) {
+			out.deduplicatedFields = new LinkedHashSet<Object>(out.deduplicatedFields);
+		}
+		return out;
 	}
 
 	@Override
@@ -462,5 +791,7 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 		processor = null;
 		numberOfRecordsToRead = -1L;
 		numberOfRowsToSkip = 0L;
+		fieldFilters = null;
+		deduplicatedFields = null;
 	}
 }
@@ -17,6 +17,7 @@ package com.univocity.parsers.common;
 
 import com.univocity.parsers.annotations.*;
 import com.univocity.parsers.common.fields.*;
+import com.univocity.parsers.common.input.*;
 import com.univocity.parsers.common.processor.*;
 
 import java.util.*;
@@ -48,6 +49,7 @@ import java.util.Map.*;
  * <li><b>field selection <i>(defaults to none)</i>:</b> a selection of fields for reading and writing. Fields can be selected by their name or their position.
  * <p>when reading, the selected fields only will be parsed and the remaining fields will be discarded.
  * <p>when writing, the selected fields only will be written and the remaining fields will be discarded</li>
+ * <li><b>bufferPool <i>(defaults to null)</i>:</b> a {@link BufferPool} from which parsers lease their character buffers, instead of allocating them</li>
  * </ul>
  *
  * @param <F> the format supported by this settings class.
@@ -75,6 +77,7 @@ public abstract class CommonSettings<F extends Format> implements Cloneable {
 	private ProcessorErrorHandler<? extends Context> errorHandler;
 	private int errorContentLength = -1;
 	private boolean skipBitsAsWhitespace = true;
+	private BufferPool bufferPool;
 
 	private String[] headers;
 
@@ -599,6 +602,35 @@ public abstract class CommonSettings<F extends Format> implements Cloneable {
 		this.skipBitsAsWhitespace = skipBitsAsWhitespace;
 	}
 
+	/**
+	 * Returns the {@link BufferPool} from which parsers lease the buffers used to read characters from the input and to accumulate
+	 * the characters of each value. Buffers are leased when the parsing process starts and released when it is stopped.
+	 *
+	 * <p>defaults to {@code null}, in which case every parser allocates its own buffers.</p>
+	 *
+	 * @return the pool of buffers shared among parsers, or {@code null} if buffers are not pooled.
+	 */
+	public BufferPool getBufferPool() {
+		return bufferPool;
+	}
+
+	/**
+	 * Defines a {@link BufferPool} from which parsers lease the buffers used to read characters from the input and to accumulate
+	 * the characters of each value. Buffers are leased when the parsing process starts and released when it is stopped, which
+	 * avoids allocating buffers for every parser or input when many small inputs are parsed.
+	 *
+	 * <p>Only parsers that read their input sequentially pool their input buffer, i.e. when
+	 * {@link CommonParserSettings#getReadInputOnSeparateThread()} evaluates to {@code false}. Values are accumulated in pooled buffers
+	 * when {@link #getMaxCharsPerColumn()} is not {@code -1}.</p>
+	 *
+	 * <p>defaults to {@code null}, in which case every parser allocates its own buffers.</p>
+	 *
+	 * @param bufferPool the pool of buffers shared among parsers, or {@code null} if buffers should not be pooled.
+	 */
+	public void setBufferPool(BufferPool bufferPool) {
+		this.bufferPool = bufferPool;
+	}
+
 	/**
 	 * Returns the starting decimal range for {@code characters <= ' '} that should be skipped as whitespace, as
 	 * determined by {@link #getSkipBitsAsWhitespace()}
@@ -642,6 +674,7 @@ public abstract class CommonSettings<F extends Format> implements Cloneable {
 		out.put("Length of content displayed on error", errorContentLength);
 		out.put("Restricting data in exceptions", errorContentLength == 0);
 		out.put("Skip bits as whitespace", skipBitsAsWhitespace);
+		out.put("Buffer pool", bufferPool == null ? "none" : bufferPool.getClass().getName());
 	}
 
 
@@ -28,6 +28,8 @@ import java.util.*;
  */
 final class DummyFormat extends Format {
 
+	private static final long serialVersionUID = 1L;
+
 	static final DummyFormat instance = new DummyFormat();
 
 	private DummyFormat() {
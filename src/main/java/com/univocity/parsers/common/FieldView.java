@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+/**
+ * A reusable {@link CharSequence} over a range of characters of a record, produced by {@link ParserOutput} when field views are enabled.
+ * The characters of a view are only valid until the next record is parsed.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see ParserOutput
+ * @see com.univocity.parsers.common.processor.CharSequenceRowProcessor
+ */
+final class FieldView implements CharSequence {
+
+	char[] chars;
+	int start;
+	int length;
+
+	void set(char[] chars, int start, int length) {
+		this.chars = chars;
+		this.start = start;
+		this.length = length;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds of field view with length " + length);
+		}
+		return chars[start + index];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end) {
+			throw new IndexOutOfBoundsException("Invalid range [" + start + ", " + end + ") of field view with length " + length);
+		}
+		return new String(chars, this.start + start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		return new String(chars, start, length);
+	}
+}
@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.univocity.parsers.common;
 
+import java.io.*;
 import java.util.Map.*;
 import java.util.*;
 
@@ -49,7 +50,9 @@ import java.util.*;
  * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
  */
 
-public abstract class Format implements Cloneable{
+public abstract class Format implements Cloneable, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private static final String systemLineSeparatorString;
 	private static final char[] systemLineSeparator;
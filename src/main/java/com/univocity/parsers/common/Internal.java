@@ -6,6 +6,7 @@
 
 package com.univocity.parsers.common;
 
+import com.univocity.parsers.common.processor.*;
 import com.univocity.parsers.common.processor.core.*;
 
 import java.util.*;
@@ -17,23 +18,31 @@ import java.util.*;
  */
 class Internal {
 	public static final <C extends Context> void process(String[] row, Processor<C> processor, C context, ProcessorErrorHandler<C> errorHandler) {
+		process(row, false, processor, context, errorHandler);
+	}
+
+	public static final void process(CharSequence[] row, CharSequenceRowProcessor processor, ParsingContext context, ProcessorErrorHandler<ParsingContext> errorHandler) {
+		process(row, true, processor, context, errorHandler);
+	}
+
+	private static <C extends Context> void process(CharSequence[] row, boolean views, Processor<C> processor, C context, ProcessorErrorHandler<C> errorHandler) {
 		try {
-			processor.rowProcessed(row, context);
+			invoke(row, views, processor, context);
 		} catch (DataProcessingException ex) {
 			ex.setContext(context);
 
 			if (!ex.isFatal() && !ex.isHandled() && ex.getColumnIndex() > -1 && errorHandler instanceof RetryableErrorHandler) {
 				RetryableErrorHandler retry = ((RetryableErrorHandler) errorHandler);
 				ex.markAsHandled(errorHandler);
-				retry.handleError(ex, row, context);
+				retry.handleError(ex, toStrings(row, views), context);
 				if (!retry.isRecordSkipped()) {
 					try {
-						processor.rowProcessed(row, context);
+						invoke(row, views, processor, context);
 						return;
 					} catch (DataProcessingException e) {
 						ex = e;
 					} catch (Throwable t) {
-						throwDataProcessingException(processor, t, row, context.errorContentLength());
+						throwDataProcessingException(processor, t, toStrings(row, views), context.errorContentLength());
 					}
 				}
 			}
@@ -43,10 +52,32 @@ class Internal {
 				throw ex;
 			}
 			ex.markAsHandled(errorHandler);
-			errorHandler.handleError(ex, row, context);
+			errorHandler.handleError(ex, toStrings(row, views), context);
 		} catch (Throwable t) {
-			throwDataProcessingException(processor, t, row, context.errorContentLength());
+			throwDataProcessingException(processor, t, toStrings(row, views), context.errorContentLength());
+		}
+	}
+
+	private static <C extends Context> void invoke(CharSequence[] row, boolean views, Processor<C> processor, C context) {
+		if (views) {
+			((CharSequenceRowProcessor) processor).rowProcessed(row, (ParsingContext) context);
+		} else {
+			processor.rowProcessed((String[]) row, context);
+		}
+	}
+
+	/**
+	 * Field views are only valid until the next record is parsed. Errors must hold a copy of their values.
+	 */
+	private static String[] toStrings(CharSequence[] row, boolean views) {
+		if (!views) {
+			return (String[]) row;
+		}
+		String[] out = new String[row.length];
+		for (int i = 0; i < row.length; i++) {
+			out[i] = row[i] == null ? null : row[i].toString();
 		}
+		return out;
 	}
 
 	private static final void throwDataProcessingException(Processor processor, Throwable t, String[] row, int errorContentLength) throws DataProcessingException {
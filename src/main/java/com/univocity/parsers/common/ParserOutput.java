@@ -90,6 +90,22 @@ public class ParserOutput {
 
 	private final AbstractParser<?> parser;
 
+	private boolean fieldViewsEnabled;
+	private boolean viewing;
+	private CharSequence[] parsedViews;
+	private FieldView[] views;
+	private CharSequence[] viewRow = ArgumentUtils.EMPTY_STRING_ARRAY;
+	private char[] viewChars;
+	private int viewLength;
+
+	private FieldFilter[] filters;
+	private StringCache[] valueCaches;
+	private int[] filteredColumns;
+	private boolean[] filterOnly;
+	private boolean rejected;
+	private CharAppender[] activeAppenders;
+	private CharAppender[] noopAppenders;
+
 	/**
 	 * Initializes the ParserOutput with the configuration specified in {@link CommonParserSettings}
 	 *
@@ -112,6 +128,7 @@ public class ParserOutput {
 		this.parsedValues = new String[settings.getMaxColumns()];
 		this.appenders = new CharAppender[settings.getMaxColumns() + 1];
 		Arrays.fill(appenders, appender);
+		this.activeAppenders = appenders;
 		this.settings = settings;
 		this.skipEmptyLines = settings.getSkipEmptyLines();
 		this.nullValue = settings.getNullValue();
@@ -124,6 +141,7 @@ public class ParserOutput {
 
 	protected void initializeHeaders() {
 		columnsToExtractInitialized = true;
+		viewing = fieldViewsEnabled;
 		columnsReordered = false;
 		selectedIndexes = null;
 		this.appender = appenderInstance;
@@ -133,6 +151,8 @@ public class ParserOutput {
 		if (headers != null) {
 			headers = headers.clone();
 			initializeColumnsToExtract(headers);
+			initializeFilters(headers);
+			initializeValueCaches(headers);
 		} else if (column > 0) { //we only initialize headers from a parsed row if it is not empty
 			initializeColumnsToExtract(Arrays.copyOf(parsedValues, column));
 			parsedHeaders = new String[column];
@@ -140,9 +160,176 @@ public class ParserOutput {
 			if (settings.isHeaderExtractionEnabled()) {
 				headers = parsedHeaders.clone();
 			}
+			initializeFilters(parsedHeaders);
+			initializeValueCaches(parsedHeaders);
+		} else {
+			initializeFilters(null);
+			initializeValueCaches(null);
 		}
 	}
 
+	/**
+	 * Creates a {@link StringCache} for each column whose values should be deduplicated, as defined by
+	 * {@link CommonParserSettings#deduplicateValuesOf(String...)} and {@link CommonParserSettings#deduplicateValuesOf(Integer...)}.
+	 *
+	 * @param headers the headers of the input. May be null if the input has no headers.
+	 */
+	private void initializeValueCaches(String[] headers) {
+		Set<Object> fields = settings.getDeduplicatedFields();
+		if (fields == null || fields.isEmpty()) {
+			valueCaches = null;
+			return;
+		}
+
+		String[] normalizedHeaders = headers == null ? null : ArgumentUtils.normalize(headers);
+		StringCache[] caches = new StringCache[appenders.length];
+		for (Object field : fields) {
+			int index;
+			if (field instanceof Integer) {
+				index = (Integer) field;
+			} else {
+				index = normalizedHeaders == null ? -1 : ArgumentUtils.indexOf(normalizedHeaders, ArgumentUtils.normalize((String) field));
+				if (index == -1) {
+					throw new IllegalStateException("Unable to deduplicate values of field '" + field + "'. Field not found in headers " + Arrays.toString(headers));
+				}
+			}
+			if (index >= caches.length) {
+				caches = Arrays.copyOf(caches, index + 1);
+			}
+			caches[index] = new StringCache(settings.getDeduplicationCacheSize());
+		}
+		valueCaches = caches;
+	}
+
+	/**
+	 * Indicates whether the value being parsed for the current column is to be deduplicated with a {@link StringCache}.
+	 * Parsers should avoid creating {@link String}s for values sent to {@link #valueParsed(String)} when this is {@code true},
+	 * and accumulate the value in the {@link #appender} instead.
+	 *
+	 * @return {@code true} if the value of the current column is deduplicated, otherwise {@code false}
+	 */
+	public final boolean isDeduplicatingValue() {
+		return valueCaches != null && column < valueCaches.length && valueCaches[column] != null;
+	}
+
+	/**
+	 * Associates each {@link FieldFilter} defined in {@link CommonParserSettings#addFieldFilter(String, FieldFilter)} and
+	 * {@link CommonParserSettings#addFieldFilter(int, FieldFilter)} to the position of its column in the input. Columns that
+	 * are filtered but not selected still have their values collected, so they can be tested.
+	 *
+	 * @param headers the headers of the input. May be null if the input has no headers.
+	 */
+	private void initializeFilters(String[] headers) {
+		Map<Object, FieldFilter> fieldFilters = settings.getFieldFilters();
+		if (fieldFilters == null || fieldFilters.isEmpty()) {
+			filters = null;
+			return;
+		}
+
+		String[] normalizedHeaders = headers == null ? null : ArgumentUtils.normalize(headers);
+		TreeMap<Integer, FieldFilter> filtersByIndex = new TreeMap<Integer, FieldFilter>();
+		for (Map.Entry<Object, FieldFilter> e : fieldFilters.entrySet()) {
+			int index;
+			if (e.getKey() instanceof Integer) {
+				index = (Integer) e.getKey();
+			} else {
+				index = normalizedHeaders == null ? -1 : ArgumentUtils.indexOf(normalizedHeaders, ArgumentUtils.normalize((String) e.getKey()));
+				if (index == -1) {
+					throw new IllegalStateException("Unable to filter records by field '" + e.getKey() + "'. Field not found in headers " + Arrays.toString(headers));
+				}
+			}
+			final FieldFilter filter = e.getValue();
+			final FieldFilter previous = filtersByIndex.get(index);
+			if (previous == null) {
+				filtersByIndex.put(index, filter);
+			} else {
+				filtersByIndex.put(index, new FieldFilter() {
+					@Override
+					public boolean accept(CharSequence value) {
+						return previous.accept(value) && filter.accept(value);
+					}
+				});
+			}
+		}
+
+		int lastIndex = filtersByIndex.lastKey();
+		filters = new FieldFilter[Math.max(appenders.length, lastIndex + 1)];
+		filteredColumns = new int[filtersByIndex.size()];
+		filterOnly = new boolean[appenders.length];
+		if (noopAppenders == null) {
+			noopAppenders = new CharAppender[appenders.length];
+			Arrays.fill(noopAppenders, NoopCharAppender.getInstance());
+		}
+
+		int i = 0;
+		for (Map.Entry<Integer, FieldFilter> e : filtersByIndex.entrySet()) {
+			int index = e.getKey();
+			filters[index] = e.getValue();
+			filteredColumns[i++] = index;
+			if (index < appenders.length && appenders[index] instanceof NoopCharAppender) {
+				filterOnly[index] = true;
+				appenders[index] = appenderInstance;
+			}
+		}
+		this.appender = appenders[0];
+	}
+
+	/**
+	 * Tests a value parsed for the current column with its {@link FieldFilter}. Moves to the next column if the value is rejected, or if
+	 * it is only collected to be tested.
+	 *
+	 * @param value the parsed value
+	 *
+	 * @return {@code true} if the value was discarded, or {@code false} if it must be stored in the current column.
+	 */
+	private boolean discardFilteredValue(CharSequence value) {
+		boolean accepted = filters[column].accept(value);
+		if (accepted && !filterOnly[column]) {
+			return false;
+		}
+		appender.reset();
+		if (viewing) {
+			parsedViews[column] = null;
+		} else {
+			parsedValues[column] = null;
+		}
+		column++;
+		if (!accepted) {
+			rejected = true;
+			activeAppenders = noopAppenders;
+		}
+		this.appender = activeAppenders[column];
+		return true;
+	}
+
+	/**
+	 * Tests whether the current record was rejected by a {@link FieldFilter}, applying filters of columns absent from the record.
+	 *
+	 * @param testParsedValues flag indicating whether the filters must also be applied over the parsed values, which happens when the
+	 *                         record was parsed before the filters were initialized.
+	 *
+	 * @return {@code true} if the record must be discarded.
+	 */
+	private boolean isRecordRejected(boolean testParsedValues) {
+		if (rejected) {
+			return true;
+		}
+		if (filters == null) {
+			return false;
+		}
+		for (int i = 0; i < filteredColumns.length; i++) {
+			int index = filteredColumns[i];
+			if (index < column) {
+				if (testParsedValues && !filters[index].accept(parsedValues[index])) {
+					return true;
+				}
+			} else if (!filters[index].accept(nullValue)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Gets all values parsed in the {@link ParserOutput#parsedValues} array
 	 *
@@ -160,7 +347,19 @@ public class ParserOutput {
 					column = 0;
 					this.appender = appenders[0];
 					return null;
-				} else if (!columnsReordered && selectedIndexes != null) {
+				} else if (isRecordRejected(true)) {
+					discardValues();
+					return null;
+				}
+				if (valueCaches != null) {
+					//values of the first record were parsed before the caches were initialized.
+					for (int i = 0; i < column && i < valueCaches.length; i++) {
+						if (valueCaches[i] != null) {
+							parsedValues[i] = valueCaches[i].get(parsedValues[i]);
+						}
+					}
+				}
+				if (!columnsReordered && selectedIndexes != null) {
 					String[] out = new String[column];
 					for(int i = 0; i < selectedIndexes.length; i++){
 						int index = selectedIndexes[i];
@@ -170,6 +369,9 @@ public class ParserOutput {
 					}
 					return out;
 				}
+			} else if (isRecordRejected(false)) {
+				discardValues();
+				return null;
 			}
 
 			currentRecord++;
@@ -197,6 +399,10 @@ public class ParserOutput {
 			if (!columnsToExtractInitialized) {
 				initializeHeaders();
 			}
+			if (isRecordRejected(false)) {
+				discardValues();
+				return null;
+			}
 
 			currentRecord++;
 
@@ -212,6 +418,109 @@ public class ParserOutput {
 		return null;
 	}
 
+	/**
+	 * Gets all values parsed in the current record. If field views are enabled (see {@link #isFieldViewActive()}), values are
+	 * returned as {@link CharSequence} views that are only valid until the next record is parsed. Otherwise the result of
+	 * {@link #rowParsed()} is returned.
+	 *
+	 * @return the sequence of parsed values in a record.
+	 */
+	CharSequence[] valuesParsed() {
+		if (!viewing) {
+			return rowParsed();
+		}
+		viewLength = 0;
+		if (isRecordRejected(false)) {
+			discardValues();
+			return null;
+		}
+		if (column > 0) {
+			currentRecord++;
+			CharSequence[] out;
+			if (columnsReordered) {
+				out = viewRow(selectedIndexes.length);
+				for (int i = 0; i < selectedIndexes.length; i++) {
+					int index = selectedIndexes[i];
+					if (index >= column || index == -1) {
+						out[i] = nullValue;
+					} else {
+						out[i] = parsedViews[index];
+					}
+				}
+			} else {
+				out = viewRow(column);
+				System.arraycopy(parsedViews, 0, out, 0, column);
+			}
+			column = 0;
+			this.appender = appenders[0];
+			return out;
+		} else if (!skipEmptyLines) {
+			currentRecord++;
+			if (columnsReordered) {
+				CharSequence[] out = viewRow(selectedIndexes.length);
+				Arrays.fill(out, nullValue);
+				return out;
+			}
+			return ArgumentUtils.EMPTY_STRING_ARRAY;
+		}
+		return null;
+	}
+
+	private CharSequence[] viewRow(int length) {
+		if (viewRow.length != length) {
+			viewRow = new CharSequence[length];
+		}
+		return viewRow;
+	}
+
+	/**
+	 * Enables or disables the production of records with {@link CharSequence} views over the parsed values, instead of {@link String}s.
+	 * Takes effect once the headers of the input have been processed.
+	 *
+	 * @param fieldViewsEnabled flag indicating whether field views should be produced.
+	 */
+	void setFieldViewsEnabled(boolean fieldViewsEnabled) {
+		this.fieldViewsEnabled = fieldViewsEnabled;
+		if (fieldViewsEnabled && parsedViews == null) {
+			parsedViews = new CharSequence[parsedValues.length];
+			views = new FieldView[parsedValues.length];
+			viewChars = new char[1024];
+		}
+		this.viewing = fieldViewsEnabled && columnsToExtractInitialized;
+	}
+
+	/**
+	 * Indicates whether values of the current record are being collected as {@link CharSequence} views. Parsers should avoid
+	 * creating {@link String}s for values sent to {@link #valueParsed(String)} when this is {@code true}.
+	 *
+	 * @return {@code true} if the values of the current record are collected as views over a reusable buffer, otherwise {@code false}
+	 */
+	public final boolean isFieldViewActive() {
+		return viewing;
+	}
+
+	private CharSequence viewOf(CharAppender appender) {
+		int length = appender.length();
+		if (length <= 0) { //no allocation here: returns the empty value or null
+			return appender.getAndReset();
+		}
+
+		if (viewLength + length > viewChars.length) {
+			viewChars = Arrays.copyOf(viewChars, Math.max(viewChars.length * 2, viewLength + length));
+		}
+		System.arraycopy(appender.getChars(), 0, viewChars, viewLength, length);
+		appender.reset();
+
+		FieldView view = views[column];
+		if (view == null) {
+			view = new FieldView();
+			views[column] = view;
+		}
+		view.set(viewChars, viewLength, length);
+		viewLength += length;
+		return view;
+	}
+
 	FieldSelector getFieldSelector() {
 		return settings.getFieldSelector();
 	}
@@ -290,8 +599,15 @@ public class ParserOutput {
 	 * Adds a nullValue (as specified in {@link CommonSettings#getNullValue()}) to the output and prepares the next position in the record to receive more values.
 	 */
 	public void emptyParsed() {
-		this.parsedValues[column++] = nullValue;
-		this.appender = appenders[column];
+		if (filters != null && !rejected && filters[column] != null && discardFilteredValue(nullValue)) {
+			return;
+		}
+		if (viewing) {
+			this.parsedViews[column++] = nullValue;
+		} else {
+			this.parsedValues[column++] = nullValue;
+		}
+		this.appender = activeAppenders[column];
 	}
 
 	/**
@@ -301,8 +617,25 @@ public class ParserOutput {
 		if (trim) {
 			appender.updateWhitespace();
 		}
-		this.parsedValues[column++] = appender.getAndReset();
-		this.appender = appenders[column];
+		if (filters != null && !rejected && filters[column] != null && discardFilteredValue(appender.length() > 0 ? appender : appender.getAndReset())) {
+			return;
+		}
+		if (viewing) {
+			this.parsedViews[column] = viewOf(appender);
+			column++;
+		} else if (isDeduplicatingValue()) {
+			int length = appender.length();
+			if (length <= 0) {
+				this.parsedValues[column] = appender.getAndReset();
+			} else {
+				this.parsedValues[column] = valueCaches[column].get(appender.getChars(), 0, length);
+				appender.reset();
+			}
+			column++;
+		} else {
+			this.parsedValues[column++] = appender.getAndReset();
+		}
+		this.appender = activeAppenders[column];
 	}
 
 	/**
@@ -311,8 +644,18 @@ public class ParserOutput {
 	 * @param value the value to be added to the current record position.
 	 */
 	public void valueParsed(String value) {
-		this.parsedValues[column++] = value;
-		this.appender = appenders[column];
+		if (filters != null && !rejected && filters[column] != null && discardFilteredValue(value)) {
+			return;
+		}
+		if (viewing) {
+			this.parsedViews[column++] = value;
+		} else if (isDeduplicatingValue()) {
+			this.parsedValues[column] = valueCaches[column].get(value);
+			column++;
+		} else {
+			this.parsedValues[column++] = value;
+		}
+		this.appender = activeAppenders[column];
 	}
 
 	/**
@@ -329,16 +672,60 @@ public class ParserOutput {
 	 */
 	public final void discardValues() {
 		column = 0;
+		rejected = false;
+		activeAppenders = appenders;
 		this.appender = appenders[0];
 	}
 
+	/**
+	 * Prepares this output to receive records of an input whose parsing is being resumed from a {@link Checkpoint}.
+	 *
+	 * @param parsedHeaders the headers parsed from the beginning of the input, which are processed as if the header row had just been parsed.
+	 *                      {@code null} if no headers were parsed.
+	 * @param currentRecord the number of records parsed before the parsing process was interrupted.
+	 */
+	final void resume(String[] parsedHeaders, long currentRecord) {
+		if (parsedHeaders != null && parsedHeaders.length > 0 && !columnsToExtractInitialized) {
+			System.arraycopy(parsedHeaders, 0, parsedValues, 0, parsedHeaders.length);
+			column = parsedHeaders.length;
+			initializeHeaders();
+			Arrays.fill(parsedValues, 0, column, null);
+			column = 0;
+			this.appender = appenders[0];
+		}
+		this.currentRecord = currentRecord;
+	}
+
+	/**
+	 * Returns the buffers leased from the {@link BufferPool} defined in {@link CommonSettings#getBufferPool()}, if any. They are leased again
+	 * by {@link #reset()} when a new parsing process starts.
+	 */
+	final void releaseBuffers() {
+		if (appenderInstance instanceof DefaultCharAppender) {
+			((DefaultCharAppender) appenderInstance).releaseBuffer();
+		}
+	}
+
 	/**
 	 * Resets the parser output and prepares for a new parsing process.
 	 */
 	final void reset() {
+		if (appenderInstance instanceof DefaultCharAppender) {
+			((DefaultCharAppender) appenderInstance).acquireBuffer();
+		}
 		this.columnsToExtractInitialized = false;
 		this.currentRecord = 0;
 		this.column = 0;
 		this.headers = null;
+		this.parsedHeaders = null;
+		this.selectedIndexes = null;
+		this.columnsReordered = false;
+		this.filters = null;
+		this.valueCaches = null;
+		this.rejected = false;
+		this.appender = appenderInstance;
+		Arrays.fill(appenders, appenderInstance);
+		this.activeAppenders = appenders;
+		setFieldViewsEnabled(false);
 	}
 }
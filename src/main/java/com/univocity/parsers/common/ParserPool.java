@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A pool of fully initialized parsers, for applications that parse many small inputs. Parsers are created by {@link #createParser()}
+ * only when no idle parser is available, and are {@link AbstractParser#reset() reset} when returned to the pool, so the cost of
+ * creating parsers from their settings is paid only once.
+ *
+ * <p> This class is thread-safe. Each parser acquired from the pool must only be used by one thread at a time, until it is released.</p>
+ *
+ * @param <P> the type of parser kept by this pool.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractParser#reset()
+ */
+public abstract class ParserPool<P extends AbstractParser<?>> {
+
+	private final int maxIdleParsers;
+	private final LinkedList<P> idleParsers = new LinkedList<P>();
+
+	/**
+	 * Creates a pool that keeps up to 8 idle parsers.
+	 */
+	public ParserPool() {
+		this(8);
+	}
+
+	/**
+	 * Creates a pool that keeps up to the given number of idle parsers. Parsers released when this limit is reached are discarded.
+	 *
+	 * @param maxIdleParsers the maximum number of idle parsers to keep.
+	 */
+	public ParserPool(int maxIdleParsers) {
+		if (maxIdleParsers <= 0) {
+			throw new IllegalArgumentException("Maximum number of idle parsers must be positive");
+		}
+		this.maxIdleParsers = maxIdleParsers;
+	}
+
+	/**
+	 * Creates a new parser to be managed by this pool. All parsers created must have the same configuration.
+	 *
+	 * @return a new parser instance.
+	 */
+	protected abstract P createParser();
+
+	/**
+	 * Acquires a parser from this pool. The parser must be given back to the pool with {@link #release(AbstractParser)} once it's not
+	 * used anymore.
+	 *
+	 * @return an idle parser, or a new parser if no idle parser is available.
+	 */
+	public final P acquire() {
+		synchronized (idleParsers) {
+			if (!idleParsers.isEmpty()) {
+				return idleParsers.removeLast();
+			}
+		}
+		return createParser();
+	}
+
+	/**
+	 * Returns a parser to this pool. Any parsing process in progress is stopped, and all state associated with the last input parsed is cleared.
+	 *
+	 * @param parser a parser obtained from {@link #acquire()}. It must not be used after it is released.
+	 */
+	public final void release(P parser) {
+		if (parser == null) {
+			return;
+		}
+		parser.reset();
+		synchronized (idleParsers) {
+			if (idleParsers.size() < maxIdleParsers) {
+				idleParsers.add(parser);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of idle parsers currently kept by this pool.
+	 *
+	 * @return the number of parsers that can be acquired without being created.
+	 */
+	public final int getIdleParserCount() {
+		synchronized (idleParsers) {
+			return idleParsers.size();
+		}
+	}
+
+	/**
+	 * Parses all records of a given input with a parser acquired from this pool, and releases it afterwards.
+	 *
+	 * @param reader the input to be parsed
+	 *
+	 * @return the list of all records parsed from the input.
+	 */
+	public final List<String[]> parseAll(Reader reader) {
+		P parser = acquire();
+		try {
+			return parser.parseAll(reader);
+		} finally {
+			release(parser);
+		}
+	}
+
+	/**
+	 * Parses the entirety of a given input with a parser acquired from this pool, and releases it afterwards. Each parsed row is delegated to
+	 * the {@link com.univocity.parsers.common.processor.core.Processor} defined in the settings of the parser.
+	 *
+	 * @param reader the input to be parsed
+	 */
+	public final void parse(Reader reader) {
+		P parser = acquire();
+		try {
+			parser.parse(reader);
+		} finally {
+			release(parser);
+		}
+	}
+}
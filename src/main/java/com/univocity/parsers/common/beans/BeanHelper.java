@@ -47,6 +47,7 @@ public final class BeanHelper {
 	static Method PROPERTY_NAME_METHOD = getMethod("getName", propertyDescriptorMethod, true);
 
 	private static final Map<Class<?>, WeakReference<PropertyWrapper[]>> descriptors = new ConcurrentHashMap<Class<?>, WeakReference<PropertyWrapper[]>>();
+	private static final Map<Class<?>, WeakReference<Constructor<?>>> constructors = new ConcurrentHashMap<Class<?>, WeakReference<Constructor<?>>>();
 
 	private BeanHelper() {
 
@@ -86,6 +87,40 @@ public final class BeanHelper {
 		return out;
 	}
 
+	/**
+	 * Returns the constructor without arguments of a given class, with access checks disabled so that new instances can be
+	 * created repeatedly without the overhead of {@link Class#newInstance()}.
+	 *
+	 * @param beanClass the class whose default constructor should be returned
+	 * @param <T>       the type of the class
+	 *
+	 * @return the constructor without arguments of the given class, or {@code null} if the class doesn't have one.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Constructor<T> getDefaultConstructor(Class<T> beanClass) {
+		Constructor<?> out = null;
+		WeakReference<Constructor<?>> reference = constructors.get(beanClass);
+		if (reference != null) {
+			out = reference.get();
+		}
+
+		if (out == null) {
+			try {
+				out = beanClass.getDeclaredConstructor();
+			} catch (Exception ex) {
+				return null;
+			}
+			try {
+				out.setAccessible(true);
+			} catch (SecurityException ex) {
+				//access will be validated on each call.
+			}
+			constructors.put(beanClass, new WeakReference<Constructor<?>>(out));
+		}
+
+		return (Constructor<T>) out;
+	}
+
 	private static Class<?> findIntrospectorImplementationClass() {
 		try {
 			return Class.forName("com.googlecode.openbeans.Introspector");
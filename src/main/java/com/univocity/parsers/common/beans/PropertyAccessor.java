@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.beans;
+
+import java.lang.ref.*;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Reads and writes the value of a property of a java bean, through a {@link Field} or accessor {@link Method}.
+ *
+ * <p> Accessors are resolved once for each member and cached: access checks are disabled when the accessor is created, and each
+ * read or write is a single call against the underlying {@link Field} or {@link Method}, without re-checking accessibility or
+ * allocating argument arrays for getters.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see com.univocity.parsers.annotations.helpers.FieldMapping
+ */
+public abstract class PropertyAccessor {
+
+	private static final Object[] NO_ARGS = new Object[0];
+
+	private static final Map<AnnotatedElement, WeakReference<PropertyAccessor>> accessors = new ConcurrentHashMap<AnnotatedElement, WeakReference<PropertyAccessor>>();
+
+	private PropertyAccessor() {
+
+	}
+
+	/**
+	 * Reads the value of the property from a given bean
+	 *
+	 * @param bean the object whose property will be read
+	 *
+	 * @return the value of the property
+	 *
+	 * @throws Exception if the value could not be read.
+	 */
+	public abstract Object get(Object bean) throws Exception;
+
+	/**
+	 * Writes a value to the property of a given bean
+	 *
+	 * @param bean  the object whose property will be modified
+	 * @param value the value to write
+	 *
+	 * @throws Exception if the value could not be written.
+	 */
+	public abstract void set(Object bean, Object value) throws Exception;
+
+	/**
+	 * Returns the accessor of a given field or method, creating it if required.
+	 *
+	 * @param member a {@link Field}, or a getter or setter {@link Method}.
+	 *
+	 * @return the accessor of the given member.
+	 */
+	public static PropertyAccessor getAccessor(AnnotatedElement member) {
+		PropertyAccessor out = null;
+		WeakReference<PropertyAccessor> reference = accessors.get(member);
+		if (reference != null) {
+			out = reference.get();
+		}
+
+		if (out == null) {
+			if (member instanceof Field) {
+				out = new FieldAccessor((Field) member);
+			} else if (member instanceof Method) {
+				out = new MethodAccessor((Method) member);
+			} else {
+				throw new IllegalArgumentException("Cannot access properties using " + member);
+			}
+			accessors.put(member, new WeakReference<PropertyAccessor>(out));
+		}
+		return out;
+	}
+
+	private static void makeAccessible(AccessibleObject member) {
+		try {
+			member.setAccessible(true);
+		} catch (SecurityException e) {
+			//access will be validated by the JVM on each call.
+		}
+	}
+
+	private static final class FieldAccessor extends PropertyAccessor {
+		private final Field field;
+
+		FieldAccessor(Field field) {
+			makeAccessible(field);
+			this.field = field;
+		}
+
+		@Override
+		public Object get(Object bean) throws Exception {
+			return field.get(bean);
+		}
+
+		@Override
+		public void set(Object bean, Object value) throws Exception {
+			field.set(bean, value);
+		}
+	}
+
+	private static final class MethodAccessor extends PropertyAccessor {
+		private final Method method;
+
+		MethodAccessor(Method method) {
+			makeAccessible(method);
+			this.method = method;
+		}
+
+		@Override
+		public Object get(Object bean) throws Exception {
+			return method.invoke(bean, NO_ARGS);
+		}
+
+		@Override
+		public void set(Object bean, Object value) throws Exception {
+			method.invoke(bean, value);
+		}
+	}
+}
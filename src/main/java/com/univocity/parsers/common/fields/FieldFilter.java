@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.fields;
+
+/**
+ * A predicate applied by the parser over the value of a column, as soon as the value is parsed, to decide whether the current record should be
+ * kept or discarded. Filters are added to the parser configuration with
+ * {@link com.univocity.parsers.common.CommonParserSettings#addFieldFilter(int, FieldFilter)} or
+ * {@link com.univocity.parsers.common.CommonParserSettings#addFieldFilter(String, FieldFilter)}.
+ *
+ * <p> When a record is rejected, the remaining values of the record are parsed without being collected, and the record is not sent to the
+ * {@link com.univocity.parsers.common.processor.core.Processor}.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ */
+public interface FieldFilter {
+
+	/**
+	 * Tests the value parsed for a column.
+	 *
+	 * @param value the characters of the value, which may be backed by the parser's internal buffers: they should not be retained after this method
+	 *              returns. Null and empty values, as well as values of columns absent from the record, are represented by the
+	 *              null or empty values defined in the parser settings (e.g. {@link com.univocity.parsers.common.CommonSettings#getNullValue()}),
+	 *              and may be {@code null}.
+	 *
+	 * @return {@code true} to keep the record, or {@code false} to discard it.
+	 */
+	boolean accept(CharSequence value);
+}
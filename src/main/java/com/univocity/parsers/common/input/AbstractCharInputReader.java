@@ -66,6 +66,7 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 	public int length = -1;
 	private boolean incrementLineCount;
 	private boolean normalizeLineEndings = true;
+	private boolean reloadOnDemand = false;
 
 	/**
 	 * Creates a new instance that attempts to detect the newlines used in the input automatically.
@@ -162,6 +163,31 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 	public final void start(Reader reader) {
 		stop();
 		setReader(reader);
+		startReading();
+	}
+
+	/**
+	 * Clears all state associated with the input read previously, so this reader can be started again with another input
+	 * without being recreated.
+	 */
+	public void reset() {
+		charCount = 0;
+		lineCount = 0;
+		i = 0;
+		length = -1;
+		recordStart = 0;
+		ch = '\0';
+		incrementLineCount = false;
+		inputAnalysisProcesses = null;
+		tmp.reset();
+	}
+
+	/**
+	 * Resets the line count and loads the first batch of characters from the input assigned to the extending class.
+	 * Implementations that read from sources other than a {@link java.io.Reader} (such as {@link MappedCharInputReader})
+	 * must invoke this method once their input is ready to be read.
+	 */
+	protected final void startReading() {
 		lineCount = 0;
 
 		lineSeparatorDetected = false;
@@ -231,15 +257,31 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 		throw new EOFException();
 	}
 
+	/**
+	 * Defines whether the buffer should only be reloaded when a character is requested after all characters in the buffer have been read.
+	 * By default, the buffer is reloaded as soon as its last character is read. When reloading blocks until more input is available
+	 * (e.g. when following a growing file), this ensures the last character available can be read without waiting for the next one.
+	 *
+	 * @param reloadOnDemand flag indicating whether the buffer should only be reloaded when more characters are required.
+	 */
+	public final void setReloadOnDemand(boolean reloadOnDemand) {
+		this.reloadOnDemand = reloadOnDemand;
+	}
+
 	@Override
 	public final char nextChar() {
-		if (length == -1) {
-			throwEOFException();
+		if (i >= length) {
+			if (length != -1) {
+				updateBuffer();
+			}
+			if (length == -1) {
+				throwEOFException();
+			}
 		}
 
 		ch = buffer[i++];
 
-		if (i >= length) {
+		if (i >= length && (!reloadOnDemand || lineSeparator1 == ch && lineSeparator2 != '\0')) {
 			updateBuffer();
 		}
 
@@ -251,10 +293,10 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 					return ch;
 				}
 				if (++i >= length) {
-					if (length != -1) {
-						updateBuffer();
-					} else {
+					if (length == -1) {
 						throwEOFException();
+					} else if (!reloadOnDemand) {
+						updateBuffer();
 					}
 				}
 			}
@@ -263,6 +305,51 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 		return ch;
 	}
 
+	/**
+	 * Appends characters to a {@link DefaultCharAppender} until one of the given stop characters is found, with the same effect of
+	 * appending the given character and the ones returned by {@link #nextChar()} one by one. Runs of characters that require no special
+	 * handling are found by scanning the buffer directly and are copied into the appender at once, leaving only stop characters and line
+	 * separators to {@link #nextChar()}.
+	 *
+	 * <p>If the appender is full, characters are copied up to its limit, and the next character is stored as an individual append would,
+	 * so the resulting {@code ArrayIndexOutOfBoundsException} can be handled as usual.</p>
+	 *
+	 * @param ch       the current character, to be appended if it is not a stop character.
+	 * @param appender the appender that will receive the characters
+	 * @param stop1    the first stop character
+	 * @param stop2    the second stop character
+	 * @param stop3    the third stop character
+	 *
+	 * @return the stop character found.
+	 */
+	final char appendUntil(char ch, DefaultCharAppender appender, char stop1, char stop2, char stop3) {
+		final char lineSeparator1 = this.lineSeparator1;
+		while (ch != stop1 && ch != stop2 && ch != stop3) {
+			appender.chars[appender.index++] = ch;
+
+			final char[] buffer = this.buffer;
+			final int start = i;
+			int end = appender.chars.length - appender.index;
+			end = end < length - start ? start + end : length;
+
+			int pos = start;
+			while (pos < end) {
+				char c = buffer[pos];
+				if (c == stop1 || c == stop2 || c == stop3 || c == lineSeparator1) {
+					break;
+				}
+				pos++;
+			}
+			if (pos > start) {
+				System.arraycopy(buffer, start, appender.chars, appender.index, pos - start);
+				appender.index += pos - start;
+				i = pos;
+			}
+			ch = nextChar();
+		}
+		return ch;
+	}
+
 	@Override
 	public final char getChar() {
 		return ch;
@@ -322,6 +409,18 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 		return charCount + i;
 	}
 
+	/**
+	 * Adds offsets to the character and line counts of this reader. Used when the input being read is the remainder of a
+	 * larger input, whose initial part has already been processed, so counts reflect positions in the larger input.
+	 *
+	 * @param charOffset the number of characters that precede the input being read.
+	 * @param lineOffset the number of lines that precede the input being read.
+	 */
+	public final void offsetCounts(long charOffset, long lineOffset) {
+		charCount += charOffset;
+		lineCount += lineOffset;
+	}
+
 	@Override
 	public final void enableNormalizeLineEndings(boolean normalizeLineEndings) {
 		this.normalizeLineEndings = normalizeLineEndings;
@@ -346,6 +445,9 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 
 	@Override
 	public final String currentParsedContent() {
+		if (buffer == null) {
+			return tmp.length() == 0 ? null : tmp.getAndReset();
+		}
 		if (tmp.length() == 0) {
 			if (i > recordStart) {
 				return new String(buffer, recordStart, i - recordStart);
@@ -362,7 +464,7 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 	@Override
 	public final void markRecordStart() {
 		tmp.reset();
-		recordStart = i % length;
+		recordStart = length < 0 ? 0 : i;
 	}
 
 	@Override
@@ -375,7 +477,7 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 			if (i >= length) {
 				return null;
 			}
-			if (lineSeparator1 == ch && (lineSeparator2 == '\0' || lineSeparator2 == buffer[i])) {
+			if (ch == normalizedLineSeparator || lineSeparator1 == ch && (lineSeparator2 == '\0' || lineSeparator2 == buffer[i])) {
 				break;
 			}
 		}
@@ -386,16 +488,20 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 			return null;
 		}
 
-		this.i = i - 1;
-
 		if (trim) {
-			i = i - 2;
-			while (buffer[i] <= ' ' && whitespaceRangeStart < buffer[i]) {
+			int end = i - 2;
+			while (len > 0 && buffer[end] <= ' ' && whitespaceRangeStart < buffer[end]) {
 				len--;
-				i--;
+				end--;
 			}
 		}
 
+		if (len <= 0 && nullValue == null) { //a null result would be taken as a request to collect the value character by character
+			return null;
+		}
+
+		this.i = i - 1;
+
 		String out;
 		if (len <= 0) {
 			out = nullValue;
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+/**
+ * A pool of character buffers that can be shared among parsers, so buffers are reused instead of being allocated for every new parser
+ * or input. Parsers lease buffers when they start processing an input and release them when the parsing process is stopped.
+ *
+ * <p> Implementations must be thread-safe if the pool is shared among parsers running on different threads.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see DefaultBufferPool
+ * @see com.univocity.parsers.common.CommonSettings#setBufferPool(BufferPool)
+ */
+public interface BufferPool {
+
+	/**
+	 * Leases a buffer from this pool. The contents of the buffer returned are unspecified.
+	 *
+	 * @param length the length of the buffer required.
+	 *
+	 * @return a buffer whose length is exactly the given length.
+	 */
+	char[] lease(int length);
+
+	/**
+	 * Returns a buffer obtained from {@link #lease(int)} to this pool. The buffer must not be used after it is released.
+	 *
+	 * @param buffer the buffer to return to the pool.
+	 */
+	void release(char[] buffer);
+}
@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import com.univocity.parsers.common.*;
+
+import java.io.*;
+import java.nio.charset.*;
+
+/**
+ * A CharInputReader that reads raw bytes from an {@link InputStream} and decodes US-ASCII and UTF-8 content inline, without
+ * the {@link CharsetDecoder} used by a {@link java.io.InputStreamReader}.
+ *
+ * <p> Sequences of ASCII bytes, which make up the vast majority of most inputs, are simply widened to characters. Multi-byte UTF-8
+ * sequences are decoded only when found. Malformed input is replaced by the replacement character {@code U+FFFD} exactly as a {@link java.io.InputStreamReader}
+ * would do: one replacement for each malformed unit, as determined by the JDK's UTF-8 {@link CharsetDecoder}.
+ * US-ASCII input is decoded by the same process, except that any byte outside of the ASCII range is replaced by {@code U+FFFD}.
+ * <p> Use {@link #isSupported(Charset)} to determine whether the encoding of an input can be handled by this class.
+ * Any other input provided through {@link #start(Reader)} is read exactly as done by {@link DefaultCharInputReader}.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see DefaultCharInputReader
+ */
+public class ByteInputReader extends AbstractCharInputReader {
+
+	private static final char REPLACEMENT = '\uFFFD';
+
+	private Reader reader;
+	private InputStream input;
+
+	private final byte[] bytes;
+	private int pending;
+	private boolean endOfInput;
+	private boolean ascii;
+
+	/**
+	 * Creates a new instance with the mandatory characters for handling newlines transparently. Line separators will be detected automatically.
+	 *
+	 * @param normalizedLineSeparator the normalized newline character (as defined in {@link Format#getNormalizedNewline()}) that is used to replace any lineSeparator sequence found in the input.
+	 * @param bufferSize              the buffer size used to store characters read from the input.
+	 * @param whitespaceRangeStart    starting range of characters considered to be whitespace.
+	 */
+	public ByteInputReader(char normalizedLineSeparator, int bufferSize, int whitespaceRangeStart) {
+		super(normalizedLineSeparator, whitespaceRangeStart);
+		super.buffer = new char[bufferSize];
+		this.bytes = newByteArray(bufferSize);
+	}
+
+	/**
+	 * Creates a new instance with the mandatory characters for handling newlines transparently.
+	 *
+	 * @param lineSeparator           the sequence of characters that represent a newline, as defined in {@link Format#getLineSeparator()}
+	 * @param normalizedLineSeparator the normalized newline character (as defined in {@link Format#getNormalizedNewline()}) that is used to replace any lineSeparator sequence found in the input.
+	 * @param bufferSize              the buffer size used to store characters read from the input.
+	 * @param whitespaceRangeStart    starting range of characters considered to be whitespace.
+	 */
+	public ByteInputReader(char[] lineSeparator, char normalizedLineSeparator, int bufferSize, int whitespaceRangeStart) {
+		super(lineSeparator, normalizedLineSeparator, whitespaceRangeStart);
+		super.buffer = new char[bufferSize];
+		this.bytes = newByteArray(bufferSize);
+	}
+
+	private static byte[] newByteArray(int bufferSize) {
+		if (bufferSize < 4) { //must be able to hold the longest UTF-8 sequence
+			throw new IllegalArgumentException("Buffer size must be at least 4. Got " + bufferSize);
+		}
+		return new byte[bufferSize];
+	}
+
+	/**
+	 * Tests whether the given encoding can be decoded by this class.
+	 *
+	 * @param encoding the encoding of an input
+	 *
+	 * @return {@code true} if the encoding is UTF-8 or US-ASCII, otherwise {@code false}.
+	 */
+	public static boolean isSupported(Charset encoding) {
+		if (encoding == null) {
+			return false;
+		}
+		String name = encoding.name();
+		return "UTF-8".equals(name) || "US-ASCII".equals(name);
+	}
+
+	/**
+	 * Initializes this CharInputReader to decode the bytes of an {@link InputStream} whose content is encoded in UTF-8.
+	 *
+	 * @param input the input stream to be read.
+	 */
+	public final void start(InputStream input) {
+		start(input, null);
+	}
+
+	/**
+	 * Initializes this CharInputReader to decode the bytes of an {@link InputStream} whose content is encoded in UTF-8 or US-ASCII.
+	 *
+	 * @param input    the input stream to be read.
+	 * @param encoding the encoding of the input stream. If {@code null}, UTF-8 will be used.
+	 */
+	public final void start(InputStream input, Charset encoding) {
+		if (encoding != null && !isSupported(encoding)) {
+			throw new IllegalArgumentException("Encoding '" + encoding + "' is not supported. Only UTF-8 and US-ASCII inputs can be decoded by " + getClass().getSimpleName());
+		}
+		stop();
+		this.input = input;
+		this.ascii = encoding != null && "US-ASCII".equals(encoding.name());
+		this.pending = 0;
+		this.endOfInput = false;
+		startReading();
+	}
+
+	@Override
+	public void stop() {
+		try {
+			if (reader != null) {
+				reader.close();
+			}
+			if (input != null) {
+				input.close();
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Error closing input", e);
+		} finally {
+			reader = null;
+			input = null;
+		}
+	}
+
+	@Override
+	protected void setReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Decodes the next batch of bytes read from the input (or reads characters from the {@link java.io.Reader} provided in {@link #start(Reader)})
+	 * into the {@link ByteInputReader#buffer}, and updates the {@link ByteInputReader#length} to the number of characters read.
+	 */
+	@Override
+	protected void reloadBuffer() {
+		if (reader != null) {
+			try {
+				super.length = reader.read(buffer, 0, buffer.length);
+			} catch (IOException e) {
+				throw new IllegalStateException("Error reading from input", e);
+			} catch (BomInput.BytesProcessedNotification notification) {
+				stop();
+				unwrapInputStream(notification);
+			}
+			return;
+		}
+
+		if (input == null) {
+			super.length = -1;
+			return;
+		}
+
+		int decoded;
+		do {
+			if (!endOfInput) {
+				fill();
+			}
+			decoded = decode();
+		} while (decoded == 0 && !endOfInput);
+
+		super.length = decoded == 0 ? -1 : decoded;
+	}
+
+	private void fill() {
+		try {
+			int read;
+			do {
+				try {
+					read = input.read(bytes, pending, bytes.length - pending);
+				} catch (BomInput.BytesProcessedNotification notification) {
+					//all bytes stored by the BomInput wrapper were consumed. Keeps reading from the original input stream.
+					input = notification.input;
+					read = 0;
+				}
+			} while (read == 0);
+
+			if (read == -1) {
+				endOfInput = true;
+			} else {
+				pending += read;
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Error reading from input", e);
+		}
+	}
+
+	/**
+	 * Decodes the pending bytes into the character buffer. Bytes of an incomplete sequence at the end of the
+	 * pending bytes are moved to the start of the byte array, to be decoded once the next bytes are read.
+	 *
+	 * @return the number of characters decoded.
+	 */
+	private int decode() {
+		final byte[] bytes = this.bytes;
+		final char[] chars = this.buffer;
+		final int end = pending;
+
+		int i = 0;
+		int o = 0;
+		while (i < end) {
+			int b = bytes[i];
+			if (b >= 0) {
+				chars[o++] = (char) b;
+				i++;
+				continue;
+			}
+
+			if (ascii) {
+				chars[o++] = REPLACEMENT;
+				i++;
+				continue;
+			}
+
+			b &= 0xFF;
+			int length;
+			if (b >= 0xC2 && b <= 0xDF) {
+				length = 2;
+			} else if (b >= 0xE0 && b <= 0xEF) {
+				length = 3;
+			} else if (b >= 0xF0 && b <= 0xF4) {
+				length = 4;
+			} else { //continuation byte, overlong 2-byte lead (C0, C1) or lead of a sequence beyond U+10FFFF (F5 to FF)
+				chars[o++] = REPLACEMENT;
+				i++;
+				continue;
+			}
+
+			int available = end - i;
+			int malformed = malformedLength(bytes, i, b, available < length ? available : length);
+			if (malformed > 0) {
+				chars[o++] = REPLACEMENT;
+				i += malformed;
+				continue;
+			}
+
+			if (available < length) {
+				if (!endOfInput) {
+					break; //incomplete sequence. Waits for more bytes.
+				}
+				//truncated sequence at the end of the input is replaced as a whole
+				chars[o++] = REPLACEMENT;
+				i = end;
+				continue;
+			}
+
+			if (length == 2) {
+				chars[o++] = (char) (((b & 0x1F) << 6) | (bytes[i + 1] & 0x3F));
+			} else if (length == 3) {
+				char ch = (char) (((b & 0x0F) << 12) | ((bytes[i + 1] & 0x3F) << 6) | (bytes[i + 2] & 0x3F));
+				chars[o++] = ch >= Character.MIN_SURROGATE && ch <= Character.MAX_SURROGATE ? REPLACEMENT : ch;
+			} else {
+				int codePoint = ((b & 0x07) << 18) | ((bytes[i + 1] & 0x3F) << 12) | ((bytes[i + 2] & 0x3F) << 6) | (bytes[i + 3] & 0x3F);
+				codePoint -= Character.MIN_SUPPLEMENTARY_CODE_POINT;
+				chars[o++] = (char) ((codePoint >>> 10) + Character.MIN_HIGH_SURROGATE);
+				chars[o++] = (char) ((codePoint & 0x3FF) + Character.MIN_LOW_SURROGATE);
+			}
+			i += length;
+		}
+
+		pending = end - i;
+		if (pending > 0) {
+			System.arraycopy(bytes, i, bytes, 0, pending);
+		}
+
+		return o;
+	}
+
+	/**
+	 * Validates the bytes available after the lead byte of a multi-byte sequence, rejecting overlong encodings and code points
+	 * beyond {@code U+10FFFF} as early as the JDK's UTF-8 {@link CharsetDecoder} does.
+	 *
+	 * @param bytes     the pending bytes
+	 * @param i         position of the lead byte
+	 * @param lead      the lead byte, between {@code 0xC2} and {@code 0xF4}
+	 * @param available number of bytes of the sequence available for validation, including the lead byte
+	 *
+	 * @return the number of bytes to be replaced by a single {@code U+FFFD}, or {@code 0} if the available bytes are valid.
+	 */
+	private static int malformedLength(byte[] bytes, int i, int lead, int available) {
+		if (available > 1) {
+			int b2 = bytes[i + 1] & 0xFF;
+			if ((b2 & 0xC0) != 0x80 || lead == 0xE0 && b2 < 0xA0 || lead == 0xF0 && b2 < 0x90 || lead == 0xF4 && b2 > 0x8F) {
+				return 1;
+			}
+			if (available > 2 && (bytes[i + 2] & 0xC0) != 0x80) {
+				return 2;
+			}
+			if (available > 3 && (bytes[i + 3] & 0xC0) != 0x80) {
+				return 3;
+			}
+		}
+		return 0;
+	}
+}
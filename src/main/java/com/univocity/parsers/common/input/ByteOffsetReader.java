@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+
+/**
+ * A {@link Reader} that decodes an {@link InputStream} and is able to determine the position, in bytes, of any character after the
+ * last position requested, by encoding again the characters read since then.
+ *
+ * <p> Positions must be requested in ascending order. Characters before the last requested position are discarded. Malformed
+ * input that is decoded into replacement characters produces incorrect positions.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see com.univocity.parsers.common.routine.RowOffsetIndex
+ * @see com.univocity.parsers.common.Checkpoint
+ */
+public class ByteOffsetReader extends Reader {
+
+	private static final int UTF_8 = 0;
+	private static final int SINGLE_BYTE = 1;
+	private static final int UTF_16 = 2;
+	private static final int UTF_32 = 3;
+	private static final int OTHER = 4;
+
+	private final Reader reader;
+	private final int encodingType;
+	private final CharsetEncoder encoder;
+	private ByteBuffer encoded;
+
+	private char[] window = new char[8192];
+	private int windowStart;
+	private int windowLength;
+	private long windowChar;
+	private long windowByte;
+
+	/**
+	 * Creates a reader of the given input
+	 *
+	 * @param input      the input stream to be read.
+	 * @param encoding   the encoding of the input
+	 * @param byteOffset the position of the first byte of the input stream, which is added to all positions returned by {@link #byteOffset(long)}
+	 * @param charOffset the position of the first character of the input stream, from which positions given to {@link #byteOffset(long)} are counted.
+	 */
+	public ByteOffsetReader(InputStream input, Charset encoding, long byteOffset, long charOffset) {
+		this.reader = new InputStreamReader(input, encoding);
+		this.windowByte = byteOffset;
+		this.windowChar = charOffset;
+
+		String name = encoding.name();
+		CharsetEncoder encoder = null;
+		if ("UTF-8".equals(name)) {
+			encodingType = UTF_8;
+		} else if (name.startsWith("UTF-16")) {
+			encodingType = UTF_16;
+		} else if (name.startsWith("UTF-32")) {
+			encodingType = UTF_32;
+		} else {
+			encoder = encoding.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+			encodingType = encoder.maxBytesPerChar() == 1.0f ? SINGLE_BYTE : OTHER;
+		}
+		this.encoder = encoder;
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		int read = reader.read(cbuf, off, len);
+		if (read > 0) {
+			if (windowStart + windowLength + read > window.length) {
+				char[] tmp = window;
+				if (windowLength + read > window.length) {
+					tmp = new char[Math.max(window.length * 2, windowLength + read)];
+				}
+				System.arraycopy(window, windowStart, tmp, 0, windowLength);
+				window = tmp;
+				windowStart = 0;
+			}
+			System.arraycopy(cbuf, off, window, windowStart + windowLength, read);
+			windowLength += read;
+		}
+		return read;
+	}
+
+	/**
+	 * Returns the position, in bytes, of a character read from the input. Characters before the given position are discarded.
+	 *
+	 * @param charOffset the position of a character, which must not be lower than any position given previously, nor higher than the number
+	 *                   of characters read so far.
+	 *
+	 * @return the position of the first byte of the character at the given position.
+	 */
+	public long byteOffset(long charOffset) {
+		long distance = charOffset - windowChar;
+		if (distance < 0 || distance > windowLength) {
+			throw new IllegalStateException("Character position " + charOffset + " is out of the range of characters available (" + windowChar + " to " + (windowChar + windowLength) + ")");
+		}
+		int length = (int) distance;
+		if (length > 0) {
+			windowByte += countBytes(windowStart, windowStart + length);
+			windowChar = charOffset;
+			windowStart += length;
+			windowLength -= length;
+		}
+		return windowByte;
+	}
+
+	private long countBytes(int from, int to) {
+		final char[] chars = this.window;
+		switch (encodingType) {
+			case SINGLE_BYTE:
+				return to - from;
+			case UTF_16:
+				return (to - from) * 2L;
+			case UTF_32: {
+				long bytes = 0;
+				for (int i = from; i < to; i++) {
+					bytes += isSurrogate(chars[i]) ? 2 : 4;
+				}
+				return bytes;
+			}
+			case UTF_8: {
+				long bytes = 0;
+				for (int i = from; i < to; i++) {
+					char ch = chars[i];
+					if (ch < 0x80) {
+						bytes++;
+					} else if (ch < 0x800 || isSurrogate(ch)) {
+						bytes += 2;
+					} else {
+						bytes += 3;
+					}
+				}
+				return bytes;
+			}
+			default:
+				return encode(from, to);
+		}
+	}
+
+	private static boolean isSurrogate(char ch) {
+		return ch >= Character.MIN_SURROGATE && ch <= Character.MAX_SURROGATE;
+	}
+
+	private long encode(int from, int to) {
+		if (encoded == null) {
+			encoded = ByteBuffer.allocate(8192);
+		}
+		CharBuffer chars = CharBuffer.wrap(window, from, to - from);
+		long bytes = 0;
+		CoderResult result;
+		do {
+			encoded.clear();
+			result = encoder.encode(chars, encoded, false);
+			bytes += encoded.position();
+		} while (result.isOverflow());
+		return bytes;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
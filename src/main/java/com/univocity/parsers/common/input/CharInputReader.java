@@ -128,7 +128,7 @@ public interface CharInputReader extends CharInput{
 
 	/**
 	 * Attempts to collect a {@code String} from the current position until a stop character is found on the input,
-	 * or a line ending is reached. If the {@code String} can be obtained, the current position of the parser will be updated to
+	 * or a line ending (or the normalized newline character) is reached. If the {@code String} can be obtained, the current position of the parser will be updated to
 	 * the last consumed character. If the internal buffer needs to be reloaded, this method will return {@code null}
 	 * and the current position of the buffer will remain unchanged.
 	 *
@@ -138,7 +138,8 @@ public interface CharInputReader extends CharInput{
 	 * @param nullValue value to return when the length of the content to be returned is {@code 0}.
 	 * @param maxLength the maximum length of the {@code String} to be returned. If the length exceeds this limit, {@code null} will be returned
 	 *
-	 * @return the {@code String} found on the input, or {@code null} if the buffer needs to reloaded or the maximum length has been exceeded.
+	 * @return the {@code String} found on the input, or {@code null} if the buffer needs to reloaded, the maximum length has been exceeded,
+	 * or if the content is empty and the {@code nullValue} is {@code null}.
 	 */
 	String getString(char ch, char stop, boolean trim, String nullValue, int maxLength);
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import java.util.*;
+
+/**
+ * A thread-safe {@link BufferPool} that keeps a limited number of released buffers of each length, and allocates new buffers when
+ * none is available.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ */
+public class DefaultBufferPool implements BufferPool {
+
+	private final int maxBuffersPerLength;
+	private final Map<Integer, LinkedList<char[]>> buffers = new HashMap<Integer, LinkedList<char[]>>();
+
+	/**
+	 * Creates a pool that keeps up to 16 buffers of each length.
+	 */
+	public DefaultBufferPool() {
+		this(16);
+	}
+
+	/**
+	 * Creates a pool that keeps up to the given number of buffers of each length. Buffers released when this limit is reached are discarded.
+	 *
+	 * @param maxBuffersPerLength the maximum number of released buffers of each length to keep.
+	 */
+	public DefaultBufferPool(int maxBuffersPerLength) {
+		if (maxBuffersPerLength <= 0) {
+			throw new IllegalArgumentException("Maximum number of buffers per length must be positive");
+		}
+		this.maxBuffersPerLength = maxBuffersPerLength;
+	}
+
+	@Override
+	public char[] lease(int length) {
+		synchronized (buffers) {
+			LinkedList<char[]> available = buffers.get(length);
+			if (available != null && !available.isEmpty()) {
+				return available.removeLast();
+			}
+		}
+		return new char[length];
+	}
+
+	@Override
+	public void release(char[] buffer) {
+		if (buffer == null) {
+			return;
+		}
+		synchronized (buffers) {
+			LinkedList<char[]> available = buffers.get(buffer.length);
+			if (available == null) {
+				available = new LinkedList<char[]>();
+				buffers.put(buffer.length, available);
+			}
+			if (available.size() < maxBuffersPerLength) {
+				available.add(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of released buffers currently kept by this pool.
+	 *
+	 * @return the number of buffers available to be leased without allocation.
+	 */
+	public int getAvailableBuffers() {
+		int out = 0;
+		synchronized (buffers) {
+			for (LinkedList<char[]> available : buffers.values()) {
+				out += available.size();
+			}
+		}
+		return out;
+	}
+}
@@ -26,6 +26,8 @@ public class DefaultCharAppender implements CharAppender {
 	int index;
 	final String emptyValue; // default value to return when no characters have been accumulated
 	int whitespaceCount;
+	private final BufferPool bufferPool;
+	private final int bufferLength;
 
 	/**
 	 * Creates a DefaultCharAppender with a maximum limit of characters to append and the default value to return when no characters have been accumulated.
@@ -36,8 +38,24 @@ public class DefaultCharAppender implements CharAppender {
 	 * @param whitespaceRangeStart starting range of characters considered to be whitespace.
 	 */
 	public DefaultCharAppender(int maxLength, String emptyValue, int whitespaceRangeStart) {
+		this(maxLength, emptyValue, whitespaceRangeStart, null);
+	}
+
+	/**
+	 * Creates a DefaultCharAppender with a maximum limit of characters to append and the default value to return when no characters have been accumulated.
+	 * The padding character is defaulted to a whitespace character ' '.
+	 *
+	 * @param maxLength            maximum limit of characters to append
+	 * @param emptyValue           default value to return when no characters have been accumulated
+	 * @param whitespaceRangeStart starting range of characters considered to be whitespace.
+	 * @param bufferPool           the pool from which the internal buffer of this appender is leased, as defined by {@link #acquireBuffer()}
+	 *                             and {@link #releaseBuffer()}. If {@code null} the buffer is allocated.
+	 */
+	public DefaultCharAppender(int maxLength, String emptyValue, int whitespaceRangeStart, BufferPool bufferPool) {
 		this.whitespaceRangeStart = whitespaceRangeStart;
-		this.chars = new char[maxLength];
+		this.bufferPool = bufferPool;
+		this.chars = bufferPool == null ? new char[maxLength] : bufferPool.lease(maxLength);
+		this.bufferLength = maxLength;
 		this.emptyValue = emptyValue;
 
 		if (emptyValue == null) {
@@ -234,6 +252,9 @@ public class DefaultCharAppender implements CharAppender {
 	}
 
 	public char appendUntil(char ch, CharInput input, char stop) {
+		if (input instanceof AbstractCharInputReader) {
+			return ((AbstractCharInputReader) input).appendUntil(ch, this, stop, stop, stop);
+		}
 		for (; ch != stop; ch = input.nextChar()) {
 			chars[index++] = ch;
 		}
@@ -241,6 +262,9 @@ public class DefaultCharAppender implements CharAppender {
 	}
 
 	public char appendUntil(char ch, CharInput input, char stop1, char stop2) {
+		if (input instanceof AbstractCharInputReader) {
+			return ((AbstractCharInputReader) input).appendUntil(ch, this, stop1, stop2, stop2);
+		}
 		for (; ch != stop1 && ch != stop2; ch = input.nextChar()) {
 			chars[index++] = ch;
 		}
@@ -248,6 +272,9 @@ public class DefaultCharAppender implements CharAppender {
 	}
 
 	public char appendUntil(char ch, CharInput input, char stop1, char stop2, char stop3) {
+		if (input instanceof AbstractCharInputReader) {
+			return ((AbstractCharInputReader) input).appendUntil(ch, this, stop1, stop2, stop3);
+		}
 		for (; ch != stop1 && ch != stop2 && ch != stop3; ch = input.nextChar()) {
 			chars[index++] = ch;
 		}
@@ -284,4 +311,23 @@ public class DefaultCharAppender implements CharAppender {
 	public final String subSequence(int from, int to) {
 		return new String(chars, from, to - from);
 	}
+
+	/**
+	 * Leases the internal buffer of this appender from its {@link BufferPool} again, if it has been released with {@link #releaseBuffer()}.
+	 */
+	public final void acquireBuffer() {
+		if (chars == null) {
+			chars = bufferPool.lease(bufferLength);
+		}
+	}
+
+	/**
+	 * Returns the internal buffer of this appender to its {@link BufferPool}, if any. The appender can't be used until {@link #acquireBuffer()} is invoked.
+	 */
+	public final void releaseBuffer() {
+		if (bufferPool != null && chars != null) {
+			bufferPool.release(chars);
+			chars = null;
+		}
+	}
 }
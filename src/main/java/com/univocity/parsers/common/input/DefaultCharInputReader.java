@@ -27,6 +27,8 @@ import java.io.*;
 public class DefaultCharInputReader extends AbstractCharInputReader {
 
 	private Reader reader;
+	private final int bufferSize;
+	private BufferPool bufferPool;
 
 	/**
 	 * Creates a new instance with the mandatory characters for handling newlines transparently. Line separators will be detected automatically.
@@ -37,7 +39,7 @@ public class DefaultCharInputReader extends AbstractCharInputReader {
 	 */
 	public DefaultCharInputReader(char normalizedLineSeparator, int bufferSize, int whitespaceRangeStart) {
 		super(normalizedLineSeparator, whitespaceRangeStart);
-		super.buffer = new char[bufferSize];
+		this.bufferSize = bufferSize;
 	}
 
 	/**
@@ -50,7 +52,17 @@ public class DefaultCharInputReader extends AbstractCharInputReader {
 	 */
 	public DefaultCharInputReader(char[] lineSeparator, char normalizedLineSeparator, int bufferSize, int whitespaceRangeStart) {
 		super(lineSeparator, normalizedLineSeparator, whitespaceRangeStart);
-		super.buffer = new char[bufferSize];
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Defines a {@link BufferPool} from which the buffer of this reader is leased when reading starts. The buffer is returned to the pool
+	 * when this reader is stopped.
+	 *
+	 * @param bufferPool the pool of buffers to use, or {@code null} to allocate the buffer of this reader.
+	 */
+	public final void setBufferPool(BufferPool bufferPool) {
+		this.bufferPool = bufferPool;
 	}
 
 	@Override
@@ -61,12 +73,26 @@ public class DefaultCharInputReader extends AbstractCharInputReader {
 			}
 		} catch (IOException e) {
 			throw new IllegalStateException("Error closing input", e);
+		} finally {
+			if (bufferPool != null && buffer != null) {
+				bufferPool.release(buffer);
+				buffer = null;
+			}
 		}
 	}
 
+	@Override
+	public void reset() {
+		super.reset();
+		reader = null;
+	}
+
 	@Override
 	protected void setReader(Reader reader) {
 		this.reader = reader;
+		if (buffer == null) {
+			buffer = bufferPool == null ? new char[bufferSize] : bufferPool.lease(bufferSize);
+		}
 	}
 
 	/**
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import java.io.*;
+import java.nio.channels.*;
+
+/**
+ * An {@link InputStream} over a file that is still being written to. When the end of the file is reached, reading blocks until the
+ * file grows, instead of reporting the end of the input.
+ *
+ * <p> The end of the input is only reported when:
+ * <ul>
+ * <li>the file does not grow for longer than the given timeout;</li>
+ * <li>the file becomes smaller than the number of bytes read from it (i.e. it was truncated or replaced);</li>
+ * <li>{@link #stopFollowing()} is invoked, possibly from another thread;</li>
+ * <li>the thread reading from this stream is interrupted.</li>
+ * </ul>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see com.univocity.parsers.common.CommonParserSettings#isFileFollowingEnabled()
+ */
+public class FollowingInputStream extends InputStream {
+
+	private final FileInputStream input;
+	private final FileChannel channel;
+	private final long pollInterval;
+	private final long timeout;
+	private volatile boolean following = true;
+
+	/**
+	 * Creates a stream that follows the contents of a file.
+	 *
+	 * @param input        the stream of the file to follow, positioned where reading should start.
+	 * @param pollInterval the time, in milliseconds, to wait before checking again whether the file grew.
+	 * @param timeout      the time, in milliseconds, to wait for the file to grow before reporting the end of the input. A negative value
+	 *                     means the file is followed until {@link #stopFollowing()} is invoked.
+	 */
+	public FollowingInputStream(FileInputStream input, long pollInterval, long timeout) {
+		if (pollInterval <= 0) {
+			throw new IllegalArgumentException("Poll interval must be positive");
+		}
+		this.input = input;
+		this.channel = input.getChannel();
+		this.pollInterval = pollInterval;
+		this.timeout = timeout;
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte[] tmp = new byte[1];
+		int read = read(tmp, 0, 1);
+		return read == -1 ? -1 : tmp[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		long waitingSince = -1L;
+		while (true) {
+			int read = input.read(b, off, len);
+			if (read > 0) {
+				return read;
+			}
+			if (!following || channel.size() < channel.position()) {
+				return -1;
+			}
+			long now = System.currentTimeMillis();
+			if (waitingSince == -1L) {
+				waitingSince = now;
+			} else if (timeout >= 0 && now - waitingSince >= timeout) {
+				return -1;
+			}
+			try {
+				Thread.sleep(timeout >= 0 ? Math.min(pollInterval, Math.max(1L, timeout - (now - waitingSince))) : pollInterval);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return -1;
+			}
+		}
+	}
+
+	@Override
+	public int available() throws IOException {
+		return input.available();
+	}
+
+	/**
+	 * Stops waiting for the file to grow, so that the end of the input is reported once the bytes available are consumed.
+	 * This method is thread-safe.
+	 */
+	public void stopFollowing() {
+		following = false;
+	}
+
+	@Override
+	public void close() throws IOException {
+		following = false;
+		input.close();
+	}
+}
@@ -111,6 +111,26 @@ public class LookaheadCharInputReader implements CharInputReader {
 		return new String(lookahead, start, length);
 	}
 
+	/**
+	 * Copies the current character, followed by the characters in the lookahead buffer, into a given array.
+	 *
+	 * @param current the current character obtained by the parser, which will be copied to the first position of the array
+	 * @param out     the array to receive the characters. Characters that don't fit in the array are not copied.
+	 *
+	 * @return the number of characters available in the lookahead buffer after the current character.
+	 */
+	public int copyLookahead(char current, char[] out) {
+		int available = length - start;
+		if (available < 0) {
+			available = 0;
+		}
+		if (out.length > 0) {
+			out[0] = current;
+			System.arraycopy(lookahead, start, out, 1, Math.min(out.length - 1, available));
+		}
+		return available;
+	}
+
 	/**
 	 * Returns the lookahead value prepended with the current character
 	 *
@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import com.univocity.parsers.common.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.channels.FileChannel.*;
+import java.nio.charset.*;
+
+/**
+ * A CharInputReader that maps windows of a {@link File} into memory with {@link FileChannel#map(MapMode, long, long)} and decodes
+ * its bytes directly into the {@link AbstractCharInputReader#buffer}.
+ *
+ * <p> Files are read through {@link #start(File, Charset)}, which avoids the intermediate byte buffer and the system call performed
+ * by a {@link java.io.InputStreamReader} every time its internal buffer is exhausted. This yields better throughput when processing large files.
+ * <p> Any other input provided through {@link #start(Reader)} is read exactly as done by {@link DefaultCharInputReader}.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see DefaultCharInputReader
+ */
+public class MappedCharInputReader extends AbstractCharInputReader {
+
+	/**
+	 * The default number of bytes of a file mapped into memory at any given time.
+	 */
+	public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+	private final int windowSize;
+
+	private Reader reader;
+
+	private RandomAccessFile file;
+	private FileChannel channel;
+	private MappedByteBuffer window;
+	private CharsetDecoder decoder;
+	private final CharBuffer charBuffer;
+	private long windowStart;
+	private long fileSize;
+	private boolean lastWindow;
+	private boolean finished;
+
+	/**
+	 * Creates a new instance with the mandatory characters for handling newlines transparently. Line separators will be detected automatically.
+	 *
+	 * @param normalizedLineSeparator the normalized newline character (as defined in {@link Format#getNormalizedNewline()}) that is used to replace any lineSeparator sequence found in the input.
+	 * @param bufferSize              the buffer size used to store characters read from the input.
+	 * @param whitespaceRangeStart    starting range of characters considered to be whitespace.
+	 */
+	public MappedCharInputReader(char normalizedLineSeparator, int bufferSize, int whitespaceRangeStart) {
+		this(null, normalizedLineSeparator, bufferSize, DEFAULT_WINDOW_SIZE, whitespaceRangeStart);
+	}
+
+	/**
+	 * Creates a new instance with the mandatory characters for handling newlines transparently.
+	 *
+	 * @param lineSeparator           the sequence of characters that represent a newline, as defined in {@link Format#getLineSeparator()}
+	 * @param normalizedLineSeparator the normalized newline character (as defined in {@link Format#getNormalizedNewline()}) that is used to replace any lineSeparator sequence found in the input.
+	 * @param bufferSize              the buffer size used to store characters read from the input.
+	 * @param whitespaceRangeStart    starting range of characters considered to be whitespace.
+	 */
+	public MappedCharInputReader(char[] lineSeparator, char normalizedLineSeparator, int bufferSize, int whitespaceRangeStart) {
+		this(lineSeparator, normalizedLineSeparator, bufferSize, DEFAULT_WINDOW_SIZE, whitespaceRangeStart);
+	}
+
+	/**
+	 * Creates a new instance with the mandatory characters for handling newlines transparently.
+	 *
+	 * @param lineSeparator           the sequence of characters that represent a newline, as defined in {@link Format#getLineSeparator()}.
+	 *                                If {@code null}, line separators will be detected automatically.
+	 * @param normalizedLineSeparator the normalized newline character (as defined in {@link Format#getNormalizedNewline()}) that is used to replace any lineSeparator sequence found in the input.
+	 * @param bufferSize              the buffer size used to store characters read from the input.
+	 * @param windowSize              the maximum number of bytes of the file mapped into memory at any given time.
+	 * @param whitespaceRangeStart    starting range of characters considered to be whitespace.
+	 */
+	public MappedCharInputReader(char[] lineSeparator, char normalizedLineSeparator, int bufferSize, int windowSize, int whitespaceRangeStart) {
+		super(lineSeparator, normalizedLineSeparator, whitespaceRangeStart);
+		if (windowSize < 4) {
+			throw new IllegalArgumentException("Window size must be at least 4 bytes. Got " + windowSize);
+		}
+		super.buffer = new char[bufferSize];
+		this.charBuffer = CharBuffer.wrap(buffer);
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * Initializes this CharInputReader to read characters from a file mapped into memory.
+	 *
+	 * @param file     the file to be read.
+	 * @param encoding the encoding of the file. If {@code null}, the encoding will be determined from the Byte Order Mark (BOM) of the file,
+	 *                 if available, or the default encoding of the JVM will be used.
+	 */
+	public final void start(File file, Charset encoding) {
+		stop();
+		try {
+			this.file = new RandomAccessFile(file, "r");
+			this.channel = this.file.getChannel();
+			this.fileSize = channel.size();
+			this.windowStart = 0L;
+			this.finished = false;
+			mapWindow();
+		} catch (IOException e) {
+			stop();
+			throw new IllegalArgumentException("Unable to map file '" + file.getAbsolutePath() + "' into memory", e);
+		}
+
+		if (encoding == null) {
+			encoding = detectEncoding();
+		}
+
+		this.decoder = encoding.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+		startReading();
+	}
+
+	private Charset detectEncoding() {
+		Charset out = null;
+		if (matchesBom(BomInput.UTF_8_BOM)) {
+			out = Charset.forName("UTF-8");
+		} else if (matchesBom(BomInput.UTF_32LE_BOM)) {
+			out = Charset.forName("UTF-32LE");
+		} else if (matchesBom(BomInput.UTF_32BE_BOM)) {
+			out = Charset.forName("UTF-32BE");
+		} else if (matchesBom(BomInput.UTF_16LE_BOM)) {
+			out = Charset.forName("UTF-16LE");
+		} else if (matchesBom(BomInput.UTF_16BE_BOM)) {
+			out = Charset.forName("UTF-16BE");
+		}
+
+		if (out == null) {
+			return Charset.defaultCharset();
+		}
+		return out;
+	}
+
+	private boolean matchesBom(byte[] bom) {
+		if (window.remaining() < bom.length) {
+			return false;
+		}
+		for (int i = 0; i < bom.length; i++) {
+			if (window.get(i) != bom[i]) {
+				return false;
+			}
+		}
+		//discards the BOM bytes
+		window.position(bom.length);
+		return true;
+	}
+
+	private void mapWindow() throws IOException {
+		long size = fileSize - windowStart;
+		if (size > windowSize) {
+			size = windowSize;
+			lastWindow = false;
+		} else {
+			lastWindow = true;
+		}
+		//mapped buffers are only unmapped once garbage collected. Releases the previous window so it can be reclaimed
+		//if the JVM runs out of address space while mapping the next one.
+		window = null;
+		window = channel.map(MapMode.READ_ONLY, windowStart, size);
+	}
+
+	/**
+	 * Closes the file and releases the current window. Mapped windows are not unmapped explicitly as another thread may still
+	 * be decoding from it when {@link AbstractParser#stopParsing()} is invoked, which would crash the JVM.
+	 */
+	@Override
+	public void stop() {
+		window = null;
+		decoder = null;
+		try {
+			if (reader != null) {
+				reader.close();
+			}
+			if (file != null) {
+				file.close();
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Error closing input", e);
+		} finally {
+			reader = null;
+			file = null;
+			channel = null;
+		}
+	}
+
+	@Override
+	protected void setReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Decodes the bytes of the mapped file (or reads characters from the {@link java.io.Reader} provided in {@link #start(Reader)}) into the
+	 * {@link MappedCharInputReader#buffer}, and updates the {@link MappedCharInputReader#length} to the number of characters read.
+	 */
+	@Override
+	protected void reloadBuffer() {
+		if (reader != null) {
+			try {
+				super.length = reader.read(buffer, 0, buffer.length);
+			} catch (IOException e) {
+				throw new IllegalStateException("Error reading from input", e);
+			} catch (BomInput.BytesProcessedNotification notification) {
+				stop();
+				unwrapInputStream(notification);
+			}
+			return;
+		}
+
+		if (finished || decoder == null) {
+			super.length = -1;
+			return;
+		}
+
+		try {
+			charBuffer.clear();
+			while (true) {
+				CoderResult result = decoder.decode(window, charBuffer, lastWindow);
+				if (result.isOverflow()) {
+					break;
+				}
+				if (result.isError()) {
+					result.throwException();
+				}
+				if (lastWindow) {
+					if (decoder.flush(charBuffer).isOverflow()) {
+						//buffer is full. Flushing resumes on the next reload.
+						break;
+					}
+					finished = true;
+					window = null;
+					break;
+				}
+				//bytes of an incomplete character may be left in the window. These will be decoded from the start of next window.
+				windowStart += window.position();
+				mapWindow();
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Error reading from input", e);
+		}
+
+		int read = charBuffer.position();
+		super.length = read == 0 && finished ? -1 : read;
+	}
+}
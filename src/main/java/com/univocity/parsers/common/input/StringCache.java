@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+/**
+ * A bounded cache of canonical {@link String} instances, used to deduplicate values of low-cardinality columns
+ * (e.g. country codes or status flags) so that repeated occurrences of a value share a single {@link String}.
+ *
+ * <p> Lookups are made directly over the characters accumulated by a {@link CharAppender}, so no {@link String}
+ * is allocated when the value is already cached. The cache holds at most the configured number of distinct values.
+ * Once full, values that are not cached replace the entries they collide with. If most lookups miss the cache,
+ * the column is deemed to be high-cardinality: the cache is discarded and subsequent lookups simply create new
+ * {@link String}s.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see com.univocity.parsers.common.CommonParserSettings#deduplicateValuesOf(String...)
+ */
+public final class StringCache {
+
+	private static final int MAX_PROBES = 4;
+	private static final int SAMPLE_SIZE = 1024;
+
+	private String[] values;
+	private int[] hashes;
+	private final int mask;
+	private final int maxSize;
+	private int size;
+
+	private int lookups;
+	private int misses;
+
+	/**
+	 * Creates a cache to hold a limited number of distinct values
+	 *
+	 * @param maxSize the maximum number of distinct values to keep in the cache.
+	 */
+	public StringCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Maximum cache size must be positive. Got " + maxSize);
+		}
+		int capacity = Integer.highestOneBit(maxSize) << 2;
+		this.values = new String[capacity];
+		this.hashes = new int[capacity];
+		this.mask = capacity - 1;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns a canonical {@link String} with the given characters, creating and caching a new one if required.
+	 *
+	 * @param chars  the characters of the value
+	 * @param offset the position of the first character of the value
+	 * @param length the number of characters in the value
+	 *
+	 * @return a {@link String} with the given characters
+	 */
+	public String get(char[] chars, int offset, int length) {
+		if (values == null) {
+			return new String(chars, offset, length);
+		}
+		int hash = 0;
+		final int end = offset + length;
+		for (int i = offset; i < end; i++) {
+			hash = 31 * hash + chars[i];
+		}
+
+		int slot = spread(hash);
+		int free = -1;
+		for (int probe = 0; probe < MAX_PROBES; probe++) {
+			int i = (slot + probe) & mask;
+			String value = values[i];
+			if (value == null) {
+				free = i;
+				break;
+			}
+			if (hashes[i] == hash && matches(value, chars, offset, length)) {
+				count(false);
+				return value;
+			}
+		}
+
+		String value = new String(chars, offset, length);
+		store(value, hash, slot, free);
+		return value;
+	}
+
+	/**
+	 * Returns a canonical {@link String} equal to the given value, caching the given value if an equal {@link String} is not available.
+	 *
+	 * @param value the value to deduplicate
+	 *
+	 * @return a {@link String} equal to the given value.
+	 */
+	public String get(String value) {
+		if (values == null || value == null) {
+			return value;
+		}
+		int hash = value.hashCode();
+		int slot = spread(hash);
+		int free = -1;
+		for (int probe = 0; probe < MAX_PROBES; probe++) {
+			int i = (slot + probe) & mask;
+			String cached = values[i];
+			if (cached == null) {
+				free = i;
+				break;
+			}
+			if (hashes[i] == hash && cached.equals(value)) {
+				count(false);
+				return cached;
+			}
+		}
+		store(value, hash, slot, free);
+		return value;
+	}
+
+	private int spread(int hash) {
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	private static boolean matches(String value, char[] chars, int offset, int length) {
+		if (value.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (value.charAt(i) != chars[offset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void store(String value, int hash, int slot, int free) {
+		if (free != -1 && size < maxSize) {
+			size++;
+			slot = free;
+		} else if (values[slot] == null) {
+			// cache is full: replace the value in the slot of the new value, if there's one.
+			count(true);
+			return;
+		}
+		values[slot] = value;
+		hashes[slot] = hash;
+		count(true);
+	}
+
+	private void count(boolean miss) {
+		if (miss) {
+			misses++;
+		}
+		if (++lookups == SAMPLE_SIZE) {
+			if (misses > SAMPLE_SIZE / 2) {
+				//high-cardinality column: stop caching
+				values = null;
+				hashes = null;
+			}
+			lookups = 0;
+			misses = 0;
+		}
+	}
+
+	/**
+	 * Indicates whether this cache is still in use, i.e. whether it didn't give up caching values of a high-cardinality column.
+	 *
+	 * @return {@code true} if values are being cached, {@code false} otherwise.
+	 */
+	public boolean isEnabled() {
+		return values != null;
+	}
+
+	/**
+	 * Returns the number of distinct values currently held by this cache
+	 *
+	 * @return the number of cached values
+	 */
+	public int size() {
+		return values == null ? 0 : size;
+	}
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input.concurrent;
+
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * A lock-free ring of recycled {@link CharBucket} instances, shared by exactly one producer thread, which fills buckets with characters
+ * read from the input, and one consumer thread, which processes them.
+ *
+ * <p> The producer {@link #claim()}s the next free bucket, fills it and then {@link #publish()}es it. The consumer takes published buckets with
+ * {@link #next()}. A bucket taken by the consumer remains in use until the following call to {@link #next()}, which releases it for reuse.
+ *
+ * <p> Each side only writes to its own sequence counter, and reads the counter of the other side to determine whether it can proceed.
+ * Counters are padded to occupy distinct cache lines, so updates made by one thread do not invalidate the cached counter of the other.
+ * When a side can't proceed it spins briefly, then yields and finally parks for short periods until the other side catches up.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see ConcurrentCharLoader
+ * @see CharBucket
+ */
+class CharBucketRing {
+
+	private static final int SPINS = 100;
+	private static final int YIELDS = 100;
+	private static final long PARK_NANOS = 50000L;
+
+	private final CharBucket[] buckets;
+	private final int bucketSize;
+
+	/**
+	 * Number of buckets published by the producer. Written only by the producer.
+	 */
+	private final Sequence published = new Sequence();
+
+	/**
+	 * Number of buckets released by the consumer. Written only by the consumer.
+	 */
+	private final Sequence released = new Sequence();
+
+	private volatile boolean closed;
+
+	// local to the consumer thread
+	private long taken;
+
+	/**
+	 * Creates a ring of buckets. Buckets are created on demand, when first claimed by the producer.
+	 *
+	 * @param bucketSize     the size of each individual {@link CharBucket}
+	 * @param bucketQuantity the maximum number of {@link CharBucket} instances in the ring.
+	 */
+	CharBucketRing(int bucketSize, int bucketQuantity) {
+		if (bucketQuantity < 1) {
+			throw new IllegalArgumentException("Bucket quantity must be at least 1. Got " + bucketQuantity);
+		}
+		this.buckets = new CharBucket[bucketQuantity];
+		this.bucketSize = bucketSize;
+	}
+
+	/**
+	 * Returns the next free bucket to be filled by the producer. Waits until a bucket is released by the consumer if all buckets are in use.
+	 *
+	 * @return the next free bucket, or {@code null} if the ring was closed.
+	 */
+	CharBucket claim() {
+		long sequence = published.get();
+		long wrapPoint = sequence - buckets.length;
+		for (int attempt = 0; wrapPoint >= released.get(); attempt++) {
+			if (closed) {
+				return null;
+			}
+			idle(attempt);
+		}
+
+		int index = (int) (sequence % buckets.length);
+		CharBucket bucket = buckets[index];
+		if (bucket == null) {
+			bucket = new CharBucket(bucketSize);
+			buckets[index] = bucket;
+		}
+		return bucket;
+	}
+
+	/**
+	 * Makes the last bucket returned by {@link #claim()} available to the consumer.
+	 */
+	void publish() {
+		published.lazySet(published.get() + 1);
+	}
+
+	/**
+	 * Releases the bucket previously returned by this method, and returns the next bucket published by the producer. Waits until a bucket
+	 * is published if none is available.
+	 *
+	 * @return the next published bucket, or {@code null} if the ring was closed and all published buckets were consumed,
+	 * or the consumer thread was interrupted.
+	 */
+	CharBucket next() {
+		long sequence = taken;
+		released.lazySet(sequence);
+
+		for (int attempt = 0; sequence >= published.get(); attempt++) {
+			if (closed) {
+				if (sequence >= published.get()) {
+					return null;
+				}
+				break;
+			}
+			if (Thread.currentThread().isInterrupted()) {
+				return null;
+			}
+			idle(attempt);
+		}
+
+		taken = sequence + 1;
+		return buckets[(int) (sequence % buckets.length)];
+	}
+
+	/**
+	 * Closes this ring. Buckets published so far remain available to the consumer. A producer waiting for a free bucket will stop waiting.
+	 */
+	void close() {
+		closed = true;
+	}
+
+	private static void idle(int attempt) {
+		if (attempt < SPINS) {
+			return;
+		}
+		if (attempt < SPINS + YIELDS) {
+			Thread.yield();
+		} else {
+			LockSupport.parkNanos(PARK_NANOS);
+		}
+	}
+
+	/**
+	 * Padding placed before the value of a {@link Sequence}
+	 */
+	@SuppressWarnings("unused")
+	private static class LeftPadding {
+		long p1, p2, p3, p4, p5, p6, p7;
+	}
+
+	/**
+	 * The value of a {@link Sequence}
+	 */
+	private static class Value extends LeftPadding {
+		static final AtomicLongFieldUpdater<Value> updater = AtomicLongFieldUpdater.newUpdater(Value.class, "value");
+		volatile long value;
+	}
+
+	/**
+	 * A sequence counter padded on both sides to prevent false sharing with other frequently updated fields.
+	 */
+	@SuppressWarnings("unused")
+	private static final class Sequence extends Value {
+		long p9, p10, p11, p12, p13, p14, p15;
+
+		long get() {
+			return value;
+		}
+
+		void lazySet(long value) {
+			updater.lazySet(this, value);
+		}
+	}
+}
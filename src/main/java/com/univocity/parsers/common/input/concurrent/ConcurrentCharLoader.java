@@ -19,32 +19,28 @@ import com.univocity.parsers.common.*;
 import com.univocity.parsers.common.input.*;
 
 import java.io.*;
-import java.util.concurrent.*;
 
 /**
- * A concurrent character loader for loading a pool of {@link CharBucket} instances using a {@link java.io.Reader} in a separate thread
+ * A concurrent character loader for loading a ring of {@link CharBucket} instances using a {@link java.io.Reader} in a separate thread
  *
  * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
  * @see ConcurrentCharInputReader
  * @see CharBucket
- * @see Entry
+ * @see CharBucketRing
  */
 class ConcurrentCharLoader implements Runnable {
-	private final ArrayBlockingQueue<Object> buckets;
+	private final CharBucketRing buckets;
 	private final CharBucket end;
-	private final FixedInstancePool<CharBucket> instances;
-
-	private Entry<CharBucket> currentBucket;
 
 	private boolean finished = false;
-	private boolean active;
+	private volatile boolean active;
 	private final Reader reader;
 	private final Thread activeExecution;
-	private Exception error;
-	BomInput.BytesProcessedNotification notification;
+	private volatile Exception error;
+	volatile BomInput.BytesProcessedNotification notification;
 
 	/**
-	 * Creates a {@link FixedInstancePool} with a given amount of {@link CharBucket} instances and starts a thread to fill each one.
+	 * Creates a {@link CharBucketRing} with a given amount of {@link CharBucket} instances and starts a thread to fill each one.
 	 *
 	 * @param reader         The source of characters to extract and fill {@link CharBucket} instances
 	 * @param bucketSize     The size of each individual {@link CharBucket}
@@ -52,17 +48,10 @@ class ConcurrentCharLoader implements Runnable {
 	 */
 	public ConcurrentCharLoader(Reader reader, final int bucketSize, int bucketQuantity) {
 		this.end = new CharBucket(-1);
-		this.buckets = new ArrayBlockingQueue<Object>(bucketQuantity);
+		this.buckets = new CharBucketRing(bucketSize, bucketQuantity);
 
 		this.reader = reader;
 
-		this.instances = new FixedInstancePool<CharBucket>(bucketQuantity) {
-			@Override
-			protected CharBucket newInstance() {
-				return new CharBucket(bucketSize);
-			}
-		};
-
 		finished = false;
 		active = true;
 		activeExecution = new Thread(this, "unVocity-parsers input reading thread");
@@ -80,60 +69,42 @@ class ConcurrentCharLoader implements Runnable {
 			try {
 				int length;
 				do {
-					Entry<CharBucket> bucket = instances.allocate();
-					length = bucket.get().fill(reader);
+					CharBucket bucket = buckets.claim();
+					if (bucket == null) {
+						break;
+					}
+					length = bucket.fill(reader);
 					if (length != -1) {
-						buckets.put(bucket);
-					} else {
-						instances.release(bucket);
+						buckets.publish();
 					}
 				} while (active && length != -1);
 			} finally {
-				buckets.put(end);
+				buckets.close();
 			}
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
 		} catch (BomInput.BytesProcessedNotification e) {
-			finished = true;
 			notification = e;
 		} catch (Exception e) {
-			finished = true;
 			error = e;
 		} finally {
 			stopReading();
 		}
 	}
 
-
-
 	/**
-	 * Returns the next available bucket. Blocks until a bucket is made available or the reading process stops.
+	 * Returns the next available bucket. Waits until a bucket is made available or the reading process stops.
 	 *
 	 * @return the next available bucket.
 	 */
-	@SuppressWarnings("unchecked")
-	public synchronized CharBucket nextBucket() {
-		try {
-			if (finished) {
-				return end;
-			}
-			if (currentBucket != null) {
-				instances.release(currentBucket);
-			}
-
-			Object element = buckets.take();
-			if (element == end) {
-				finished = true;
-				return end;
-			} else {
-				currentBucket = (Entry<CharBucket>) element;
-			}
-			return currentBucket.get();
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
+	public CharBucket nextBucket() {
+		if (finished) {
+			return end;
+		}
+		CharBucket bucket = buckets.next();
+		if (bucket == null) {
 			finished = true;
 			return end;
 		}
+		return bucket;
 	}
 
 	/**
@@ -141,6 +112,7 @@ class ConcurrentCharLoader implements Runnable {
 	 */
 	public void stopReading() {
 		active = false;
+		buckets.close();
 		try {
 			reader.close();
 		} catch (IOException e) {
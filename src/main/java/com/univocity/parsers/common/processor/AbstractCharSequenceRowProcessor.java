@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+
+/**
+ * A {@link CharSequenceRowProcessor} implementation that just implements all methods defined by the interface. Rows of {@link String}
+ * are sent to {@link #rowProcessed(CharSequence[], ParsingContext)}.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ */
+public class AbstractCharSequenceRowProcessor extends AbstractRowProcessor implements CharSequenceRowProcessor {
+
+	@Override
+	public final void rowProcessed(String[] row, ParsingContext context) {
+		rowProcessed((CharSequence[]) row, context);
+	}
+
+	@Override
+	public void rowProcessed(CharSequence[] row, ParsingContext context) {
+	}
+}
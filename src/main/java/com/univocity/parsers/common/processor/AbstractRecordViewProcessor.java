@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+
+/**
+ * A {@link CharSequenceRowProcessor} that provides each record as a {@link RecordView}, whose values can be decoded into primitives
+ * without creating intermediate {@link String} instances.
+ *
+ * <p> <b>Important: </b> the {@link RecordView} is reused for every record and its values are only valid until the next record is parsed.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see RecordView
+ */
+public abstract class AbstractRecordViewProcessor extends AbstractCharSequenceRowProcessor {
+
+	private final RecordView view = new RecordView();
+
+	@Override
+	public final void rowProcessed(CharSequence[] row, ParsingContext context) {
+		view.set(row);
+		recordProcessed(view, context);
+	}
+
+	/**
+	 * Invoked by the parser after all values of a valid record have been processed.
+	 *
+	 * @param record  a view over the values of the record, only valid until the next record is parsed.
+	 * @param context A contextual object with information and controls over the current state of the parsing process
+	 */
+	public abstract void recordProcessed(RecordView record, ParsingContext context);
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.processor.core.*;
+
+import java.io.*;
+
+/**
+ * A {@link RowProcessor} implementation that writes the parsed rows to an <a href="https://arrow.apache.org/">Apache Arrow</a>
+ * IPC stream, with one Arrow record batch for each batch of rows processed.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractParser
+ * @see RowProcessor
+ * @see AbstractArrowStreamProcessor
+ */
+public class ArrowStreamProcessor extends AbstractArrowStreamProcessor<ParsingContext> implements RowProcessor {
+
+	/**
+	 * Creates a processor that writes an Arrow IPC stream to a given output
+	 *
+	 * @param output       the output that will receive the Arrow stream.
+	 * @param rowsPerBatch the number of rows in each Arrow record batch.
+	 */
+	public ArrowStreamProcessor(OutputStream output, int rowsPerBatch) {
+		super(output, rowsPerBatch);
+	}
+
+	/**
+	 * Creates a processor that writes an Arrow IPC stream to a given file
+	 *
+	 * @param file         the file that will receive the Arrow stream.
+	 * @param rowsPerBatch the number of rows in each Arrow record batch.
+	 */
+	public ArrowStreamProcessor(File file, int rowsPerBatch) {
+		super(file, rowsPerBatch);
+	}
+}
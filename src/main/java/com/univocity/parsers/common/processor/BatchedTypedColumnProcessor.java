@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.processor.core.*;
+
+/**
+ * A {@link RowProcessor} implementation that stores values of columns in batches of primitive arrays. Use this implementation in favor of
+ * {@link BatchedColumnProcessor} when processing large inputs with numeric data, as values are not kept in lists of {@code String}s.
+ *
+ * <p> Each column is held in a {@link TypedColumn} whose {@link ColumnType} can be declared or inferred from the values parsed.</p>
+ * <p> During the execution of the process, the {@link #batchProcessed(int)} method will be invoked after a given number of rows has been processed.</p>
+ * <p> After {@link #batchProcessed(int)} is invoked, all values will be discarded and the next batch of column values will be accumulated.
+ * This process will repeat until there's no more rows in the input.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractParser
+ * @see RowProcessor
+ * @see AbstractBatchedTypedColumnProcessor
+ */
+public abstract class BatchedTypedColumnProcessor extends AbstractBatchedTypedColumnProcessor<ParsingContext> implements RowProcessor {
+
+	/**
+	 * Constructs a batched typed column processor configured to invoke the {@link #batchProcessed} method after a given number of rows has been processed.
+	 *
+	 * @param rowsPerBatch the number of rows to process in each batch.
+	 */
+	public BatchedTypedColumnProcessor(int rowsPerBatch) {
+		super(rowsPerBatch);
+	}
+}
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+
+/**
+ * A {@link RowProcessor} that receives the values of each record as {@link CharSequence}s instead of {@link String}s.
+ *
+ * <p> When a parser is run with one of its {@code parse} methods, values of each record are copied into a buffer that is reused for every
+ * record, and exposed through reusable {@link CharSequence} views instead of new {@link String} instances. Use this processor when most
+ * values parsed from the input are discarded, to avoid allocating a {@link String} for each one of them.</p>
+ *
+ * <p> <b>Important: </b> the views received in {@link #rowProcessed(CharSequence[], ParsingContext)}, and the array holding them,
+ * are only valid until the next record is parsed. Invoke {@code toString()} on any value that must be retained.</p>
+ *
+ * <p> Some values, such as the {@link CommonSettings#getNullValue()}, headers and values parsed before the headers of the input are known, may
+ * still be sent as {@link String}s. {@link #rowProcessed(String[], ParsingContext)} is invoked instead when the parser is used to produce
+ * {@link String} rows, e.g. through {@link AbstractParser#parseNext()}.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractCharSequenceRowProcessor
+ */
+public interface CharSequenceRowProcessor extends RowProcessor {
+
+	/**
+	 * Invoked by the parser after all values of a valid record have been processed.
+	 *
+	 * @param row     views over the values extracted by the parser for an individual record. Only valid until the next record is parsed.
+	 * @param context A contextual object with information and controls over the current state of the parsing process
+	 */
+	void rowProcessed(CharSequence[] row, ParsingContext context);
+}
@@ -0,0 +1,333 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+
+/**
+ * A view over the values of a record parsed from the input, provided to implementations of {@link AbstractRecordViewProcessor}.
+ *
+ * <p> Values can be read as {@code int}, {@code long}, {@code double} and {@code boolean} primitives, which are decoded directly from the characters
+ * of each value, without creating any intermediate {@link String} or boxed number.</p>
+ *
+ * <p> <b>Important: </b> a {@code RecordView} is reused for every record and its values are only valid until the next record is parsed.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractRecordViewProcessor
+ * @see CharSequenceRowProcessor
+ */
+public final class RecordView {
+
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+			1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/**
+	 * Maximum number of significant digits that can be represented exactly by a double
+	 */
+	private static final int MAX_EXACT_DIGITS = 15;
+
+	private CharSequence[] values = ArgumentUtils.EMPTY_STRING_ARRAY;
+
+	RecordView() {
+	}
+
+	void set(CharSequence[] values) {
+		this.values = values;
+	}
+
+	/**
+	 * Returns the number of values in this record
+	 *
+	 * @return the number of values in this record
+	 */
+	public int getColumnCount() {
+		return values.length;
+	}
+
+	/**
+	 * Returns the value of a given column, which is only valid until the next record is parsed.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the value of the given column, or {@code null} if the value is null or the record has no such column.
+	 */
+	public CharSequence getValue(int column) {
+		if (column < 0 || column >= values.length) {
+			return null;
+		}
+		return values[column];
+	}
+
+	/**
+	 * Returns the value of a given column as a {@link String}
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the value of the given column, or {@code null} if the value is null or the record has no such column.
+	 */
+	public String getString(int column) {
+		CharSequence value = getValue(column);
+		return value == null ? null : value.toString();
+	}
+
+	/**
+	 * Tests whether the value of a given column is {@code null}.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return {@code true} if the value is null or the record has no such column, otherwise {@code false}
+	 */
+	public boolean isNull(int column) {
+		return getValue(column) == null;
+	}
+
+	/**
+	 * Decodes the value of a given column as an {@code int}. Only an optional sign followed by decimal digits is accepted.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the {@code int} represented by the value of the given column
+	 *
+	 * @throws DataProcessingException if the value is null or is not a valid {@code int}
+	 */
+	public int getInt(int column) {
+		CharSequence value = getNonNullValue(column, "int");
+		int length = value.length();
+		int i = 0;
+		boolean negative = false;
+		int limit = -Integer.MAX_VALUE;
+		if (length > 0) {
+			char ch = value.charAt(0);
+			if (ch == '-') {
+				negative = true;
+				limit = Integer.MIN_VALUE;
+				i++;
+			} else if (ch == '+') {
+				i++;
+			}
+		}
+		if (i == length) {
+			throw conversionError(value, column, "int");
+		}
+
+		int multiplicationLimit = limit / 10;
+		int result = 0;
+		for (; i < length; i++) {
+			int digit = value.charAt(i) - '0';
+			if (digit < 0 || digit > 9 || result < multiplicationLimit) {
+				throw conversionError(value, column, "int");
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				throw conversionError(value, column, "int");
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	/**
+	 * Decodes the value of a given column as a {@code long}. Only an optional sign followed by decimal digits is accepted.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the {@code long} represented by the value of the given column
+	 *
+	 * @throws DataProcessingException if the value is null or is not a valid {@code long}
+	 */
+	public long getLong(int column) {
+		CharSequence value = getNonNullValue(column, "long");
+		int length = value.length();
+		int i = 0;
+		boolean negative = false;
+		long limit = -Long.MAX_VALUE;
+		if (length > 0) {
+			char ch = value.charAt(0);
+			if (ch == '-') {
+				negative = true;
+				limit = Long.MIN_VALUE;
+				i++;
+			} else if (ch == '+') {
+				i++;
+			}
+		}
+		if (i == length) {
+			throw conversionError(value, column, "long");
+		}
+
+		long multiplicationLimit = limit / 10;
+		long result = 0;
+		for (; i < length; i++) {
+			int digit = value.charAt(i) - '0';
+			if (digit < 0 || digit > 9 || result < multiplicationLimit) {
+				throw conversionError(value, column, "long");
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				throw conversionError(value, column, "long");
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	/**
+	 * Decodes the value of a given column as a {@code double}. Values with up to 15 significant digits, in decimal or scientific notation,
+	 * are decoded without allocating memory. Any other value is decoded with {@link Double#parseDouble(String)}.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the {@code double} represented by the value of the given column
+	 *
+	 * @throws DataProcessingException if the value is null or is not a valid {@code double}
+	 */
+	public double getDouble(int column) {
+		CharSequence value = getNonNullValue(column, "double");
+		int length = value.length();
+		int i = 0;
+		boolean negative = false;
+		if (length > 0) {
+			char ch = value.charAt(0);
+			if (ch == '-') {
+				negative = true;
+				i++;
+			} else if (ch == '+') {
+				i++;
+			}
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		int exponent = 0;
+		boolean hasDigits = false;
+		boolean decimalPoint = false;
+		for (; i < length; i++) {
+			char ch = value.charAt(i);
+			if (ch >= '0' && ch <= '9') {
+				hasDigits = true;
+				if (mantissa != 0 || ch != '0') {
+					if (++digits > MAX_EXACT_DIGITS) {
+						return parseDouble(value, column);
+					}
+					mantissa = mantissa * 10 + (ch - '0');
+				}
+				if (decimalPoint) {
+					exponent--;
+				}
+			} else if (ch == '.' && !decimalPoint) {
+				decimalPoint = true;
+			} else {
+				break;
+			}
+		}
+
+		if (!hasDigits) {
+			return parseDouble(value, column);
+		}
+
+		if (i < length) {
+			char ch = value.charAt(i);
+			if (ch != 'e' && ch != 'E' || ++i == length) {
+				return parseDouble(value, column);
+			}
+			ch = value.charAt(i);
+			boolean negativeExponent = ch == '-';
+			if (ch == '-' || ch == '+') {
+				if (++i == length) {
+					return parseDouble(value, column);
+				}
+			}
+			int e = 0;
+			for (; i < length; i++) {
+				ch = value.charAt(i);
+				if (ch < '0' || ch > '9' || e > 1000) {
+					return parseDouble(value, column);
+				}
+				e = e * 10 + (ch - '0');
+			}
+			exponent += negativeExponent ? -e : e;
+		}
+
+		double result = mantissa;
+		if (mantissa != 0) {
+			if (exponent < 0 && exponent >= -22) {
+				result /= POWERS_OF_TEN[-exponent];
+			} else if (exponent > 0 && exponent <= 22) {
+				result *= POWERS_OF_TEN[exponent];
+			} else if (exponent != 0) {
+				return parseDouble(value, column);
+			}
+		}
+		return negative ? -result : result;
+	}
+
+	/**
+	 * Decodes the value of a given column as a {@code boolean}. Accepts "true" and "false", ignoring case.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the {@code boolean} represented by the value of the given column
+	 *
+	 * @throws DataProcessingException if the value is null or is not a valid {@code boolean}
+	 */
+	public boolean getBoolean(int column) {
+		CharSequence value = getNonNullValue(column, "boolean");
+		if (matches(value, "true")) {
+			return true;
+		}
+		if (matches(value, "false")) {
+			return false;
+		}
+		throw conversionError(value, column, "boolean");
+	}
+
+	private static boolean matches(CharSequence value, String expected) {
+		int length = expected.length();
+		if (value.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (Character.toLowerCase(value.charAt(i)) != expected.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private double parseDouble(CharSequence value, int column) {
+		try {
+			return Double.parseDouble(value.toString());
+		} catch (NumberFormatException e) {
+			throw conversionError(value, column, "double");
+		}
+	}
+
+	private CharSequence getNonNullValue(int column, String type) {
+		CharSequence value = getValue(column);
+		if (value == null) {
+			throw new DataProcessingException("Null value at column " + column + " cannot be converted to " + type);
+		}
+		return value;
+	}
+
+	private DataProcessingException conversionError(CharSequence value, int column, String type) {
+		DataProcessingException exception = new DataProcessingException("Unable to convert '{value}' at column " + column + " to " + type);
+		exception.setValue(value.toString());
+		return exception;
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import com.univocity.parsers.common.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A {@link Processor} implementation that writes the parsed rows to an <a href="https://arrow.apache.org/">Apache Arrow</a>
+ * IPC stream, with one Arrow record batch for each batch of rows processed.
+ *
+ * <p> Values are collected in typed primitive arrays, as in {@link AbstractBatchedTypedColumnProcessor}, and written to the
+ * output without further conversion. The type of each column can be declared with {@link #setColumnType(int, ColumnType)},
+ * {@link #setColumnType(String, ColumnType)} or derived from a class annotated with {@link com.univocity.parsers.annotations.Parsed}
+ * using {@link #setColumnTypes(Class)}. Columns without a declared type are written as UTF-8 strings.</p>
+ *
+ * <p> The Arrow schema is written along with the first batch, and can't change afterwards: rows with more columns than those
+ * in the schema produce a {@link DataProcessingException}. If the default column type is set to {@code null}, column types
+ * are inferred from the first batch, and any values that would widen the type of a column in subsequent batches will produce
+ * a {@link DataProcessingException} as well.</p>
+ *
+ * <p> The output is closed at the end of the parsing process.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractBatchedTypedColumnProcessor
+ * @see Processor
+ */
+public abstract class AbstractArrowStreamProcessor<T extends Context> extends AbstractBatchedTypedColumnProcessor<T> {
+
+	private final File file;
+	private final OutputStream output;
+	private OutputStream out;
+	private ArrowStreamWriter writer;
+
+	/**
+	 * Creates a processor that writes an Arrow IPC stream to a given output
+	 *
+	 * @param output       the output that will receive the Arrow stream.
+	 * @param rowsPerBatch the number of rows in each Arrow record batch.
+	 */
+	public AbstractArrowStreamProcessor(OutputStream output, int rowsPerBatch) {
+		super(rowsPerBatch);
+		ArgumentUtils.noNulls("Output stream", output);
+		this.output = output;
+		this.file = null;
+		setDefaultColumnType(ColumnType.STRING);
+	}
+
+	/**
+	 * Creates a processor that writes an Arrow IPC stream to a given file
+	 *
+	 * @param file         the file that will receive the Arrow stream.
+	 * @param rowsPerBatch the number of rows in each Arrow record batch.
+	 */
+	public AbstractArrowStreamProcessor(File file, int rowsPerBatch) {
+		super(rowsPerBatch);
+		ArgumentUtils.noNulls("Output file", file);
+		this.file = file;
+		this.output = null;
+		setDefaultColumnType(ColumnType.STRING);
+	}
+
+	@Override
+	public void processStarted(T context) {
+		super.processStarted(context);
+		OutputStream out = output;
+		if (file != null) {
+			try {
+				out = new BufferedOutputStream(new FileOutputStream(file));
+			} catch (IOException e) {
+				throw new IllegalStateException("Error opening file '" + file.getAbsolutePath() + "'", e);
+			}
+		}
+		writer = new ArrowStreamWriter(out);
+		this.out = out;
+	}
+
+	private void writeSchema() throws IOException {
+		List<TypedColumn> columns = getColumns();
+		String[] headers = getHeaders();
+		String[] names = new String[columns.size()];
+		ColumnType[] types = new ColumnType[columns.size()];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = headers != null && i < headers.length && headers[i] != null ? headers[i] : "column_" + i;
+			types[i] = columns.get(i).getType();
+		}
+		writer.writeSchema(names, types);
+	}
+
+	@Override
+	public final void batchProcessed(int rowsInThisBatch) {
+		try {
+			if (writer.getTypes() == null) {
+				writeSchema();
+			}
+			List<TypedColumn> columns = getColumns();
+			ColumnType[] types = writer.getTypes();
+			if (columns.size() != types.length) {
+				throw new DataProcessingException("Unable to write batch of " + rowsInThisBatch + " rows with " + columns.size() + " columns to Arrow stream. Schema defines " + types.length + " columns.");
+			}
+			for (int i = 0; i < types.length; i++) {
+				if (columns.get(i).getType() != types[i]) {
+					throw new DataProcessingException("Unable to write values of column at index '" + i + "' to Arrow stream. Schema defines column as " + types[i] + " but batch has " + columns.get(i).getType() + " values.", i);
+				}
+			}
+			writer.writeBatch(columns, rowsInThisBatch);
+			batchWritten(rowsInThisBatch);
+		} catch (IOException e) {
+			throw new IllegalStateException("Error writing Arrow record batch", e);
+		}
+	}
+
+	/**
+	 * Callback invoked after each batch of rows has been written to the Arrow stream. Does nothing by default.
+	 *
+	 * @param rowsInThisBatch the number of rows written in the batch.
+	 */
+	protected void batchWritten(int rowsInThisBatch) {
+
+	}
+
+	@Override
+	public void processEnded(T context) {
+		boolean closed = false;
+		try {
+			super.processEnded(context);
+			if (writer.getTypes() == null) {
+				writeSchema();
+			}
+			writer.writeEndOfStream();
+			closed = true;
+			out.close();
+		} catch (IOException e) {
+			throw new IllegalStateException("Error writing Arrow stream", e);
+		} finally {
+			if (!closed) {
+				try {
+					out.close();
+				} catch (IOException e) {
+					//ignore and let the original error propagate
+				}
+			}
+		}
+	}
+}
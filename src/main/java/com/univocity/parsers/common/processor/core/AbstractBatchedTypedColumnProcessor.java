@@ -0,0 +1,329 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import com.univocity.parsers.annotations.*;
+import com.univocity.parsers.annotations.helpers.*;
+import com.univocity.parsers.common.*;
+
+import java.util.*;
+
+/**
+ * A {@link Processor} implementation that stores values of columns in batches of primitive arrays. Use this implementation
+ * in favor of {@link AbstractBatchedColumnProcessor} when processing large inputs with numeric data, as values are not kept
+ * in lists of {@code String}s or boxed objects.
+ *
+ * <p> Each column is held in a {@link TypedColumn}: {@link ColumnType#INT}, {@link ColumnType#LONG} and {@link ColumnType#DOUBLE}
+ * values are stored in {@code int[]}, {@code long[]} and {@code double[]}, with nulls tracked in a bitmap, while
+ * {@link ColumnType#STRING} values are dictionary-encoded. The type of each column can be declared with
+ * {@link #setColumnType(int, ColumnType)} or {@link #setColumnType(String, ColumnType)}. Columns without a declared type
+ * have their type inferred from the values parsed.</p>
+ *
+ * <p> During the execution of the process, the {@link #batchProcessed(int)} method will be invoked after a given number of rows has been processed.
+ * The user can access the columns of the batch using {@link #getColumns()}, {@link #getColumn(int)} and {@link #getColumn(String)}.</p>
+ * <p> After {@link #batchProcessed(int)} is invoked, all values will be discarded and the next batch of column values will be accumulated
+ * in the same arrays. This process will repeat until there's no more rows in the input.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractParser
+ * @see TypedColumn
+ * @see Processor
+ */
+public abstract class AbstractBatchedTypedColumnProcessor<T extends Context> implements Processor<T> {
+
+	private final int rowsPerBatch;
+	private final Map<Integer, ColumnType> typesByIndex = new HashMap<Integer, ColumnType>();
+	private final Map<String, ColumnType> typesByName = new HashMap<String, ColumnType>();
+	private ColumnType defaultColumnType;
+
+	private String[] headers;
+	private List<TypedColumn> columns;
+	private List<TypedColumn> unmodifiableColumns;
+	private int batchCount;
+	private int batchesProcessed;
+
+	/**
+	 * Constructs a batched typed column processor configured to invoke the {@link #batchProcessed} method after a given number of rows has been processed.
+	 *
+	 * @param rowsPerBatch the number of rows to process in each batch.
+	 */
+	public AbstractBatchedTypedColumnProcessor(int rowsPerBatch) {
+		if (rowsPerBatch <= 0) {
+			throw new IllegalArgumentException("Number of rows per batch must be positive");
+		}
+		this.rowsPerBatch = rowsPerBatch;
+	}
+
+	/**
+	 * Declares the type of a column. Values that can't be converted to the given type will produce a {@link DataProcessingException}.
+	 *
+	 * @param columnIndex the position of the column in the input (0-based).
+	 * @param type        the type of the values in the given column.
+	 */
+	public void setColumnType(int columnIndex, ColumnType type) {
+		if (columnIndex < 0) {
+			throw new IllegalArgumentException("Column index must be positive");
+		}
+		ArgumentUtils.noNulls("Column type", type);
+		typesByIndex.put(columnIndex, type);
+	}
+
+	/**
+	 * Declares the type of a column. Values that can't be converted to the given type will produce a {@link DataProcessingException}.
+	 *
+	 * @param columnName the name of the column, as defined in the headers of the input.
+	 * @param type       the type of the values in the given column.
+	 */
+	public void setColumnType(String columnName, ColumnType type) {
+		ArgumentUtils.noNulls("Column name", columnName);
+		ArgumentUtils.noNulls("Column type", type);
+		typesByName.put(columnName, type);
+	}
+
+	/**
+	 * Declares the type of each column based on the types of the fields and methods of a java bean annotated with {@link Parsed}.
+	 * Columns mapped to {@code int}, {@code short} and {@code byte} (and their wrappers) are declared as {@link ColumnType#INT},
+	 * {@code long} as {@link ColumnType#LONG}, {@code double} and {@code float} as {@link ColumnType#DOUBLE}, and any other
+	 * type as {@link ColumnType#STRING}.
+	 *
+	 * @param beanClass the annotated class whose fields will be used to determine the type of each column.
+	 */
+	public void setColumnTypes(Class<?> beanClass) {
+		ArgumentUtils.noNulls("Bean class", beanClass);
+		List<TransformedHeader> fields = AnnotationHelper.getFieldSequence(beanClass, true, null, MethodFilter.ONLY_SETTERS);
+		for (TransformedHeader field : fields) {
+			if (field == null) {
+				continue;
+			}
+			ColumnType type = getColumnType(AnnotationHelper.getType(field.getTarget()));
+			if (field.getHeaderIndex() >= 0) {
+				setColumnType(field.getHeaderIndex(), type);
+			} else {
+				setColumnType(field.getHeaderName(), type);
+			}
+		}
+	}
+
+	private static ColumnType getColumnType(Class<?> fieldType) {
+		if (fieldType == int.class || fieldType == Integer.class || fieldType == short.class || fieldType == Short.class || fieldType == byte.class || fieldType == Byte.class) {
+			return ColumnType.INT;
+		}
+		if (fieldType == long.class || fieldType == Long.class) {
+			return ColumnType.LONG;
+		}
+		if (fieldType == double.class || fieldType == Double.class || fieldType == float.class || fieldType == Float.class) {
+			return ColumnType.DOUBLE;
+		}
+		return ColumnType.STRING;
+	}
+
+	/**
+	 * Defines the type of columns whose type has not been declared with {@link #setColumnType(int, ColumnType)} or
+	 * {@link #setColumnType(String, ColumnType)}.
+	 *
+	 * @param defaultColumnType the type of columns without a declared type, or {@code null} if their type should be inferred from the values parsed (the default).
+	 */
+	public void setDefaultColumnType(ColumnType defaultColumnType) {
+		this.defaultColumnType = defaultColumnType;
+	}
+
+	/**
+	 * Returns the type of columns whose type has not been declared with {@link #setColumnType(int, ColumnType)} or
+	 * {@link #setColumnType(String, ColumnType)}.
+	 *
+	 * @return the type of columns without a declared type, or {@code null} if their type is inferred from the values parsed.
+	 */
+	public ColumnType getDefaultColumnType() {
+		return defaultColumnType;
+	}
+
+	@Override
+	public void processStarted(T context) {
+		headers = null;
+		columns = null;
+		unmodifiableColumns = null;
+		batchCount = 0;
+		batchesProcessed = 0;
+	}
+
+	private void initialize(Context context) {
+		String[] allHeaders = context.headers();
+		if (allHeaders == null) {
+			headers = ArgumentUtils.EMPTY_STRING_ARRAY;
+		} else if (!context.columnsReordered()) {
+			headers = allHeaders;
+		} else {
+			int[] selectedIndexes = context.extractedFieldIndexes();
+			final int last = Math.min(allHeaders.length, selectedIndexes.length);
+			headers = new String[selectedIndexes.length];
+			for (int i = 0; i < last; i++) {
+				headers[i] = allHeaders[selectedIndexes[i]];
+			}
+		}
+
+		columns = new ArrayList<TypedColumn>(headers.length > 0 ? headers.length : 10);
+		unmodifiableColumns = Collections.unmodifiableList(columns);
+		for (int i = 0; i < headers.length; i++) {
+			addColumn();
+		}
+	}
+
+	private void addColumn() {
+		int index = columns.size();
+		ColumnType type = typesByIndex.get(index);
+		if (type == null && index < headers.length && headers[index] != null) {
+			for (Map.Entry<String, ColumnType> e : typesByName.entrySet()) {
+				if (e.getKey().equalsIgnoreCase(headers[index].trim())) {
+					type = e.getValue();
+					break;
+				}
+			}
+		}
+		if (type == null) {
+			type = defaultColumnType;
+		}
+		TypedColumn column = new TypedColumn(type, rowsPerBatch);
+		//adding nulls to the values of a new column found after other rows have been processed.
+		//this ensures all columns will have the same number of values.
+		for (int i = 0; i < batchCount; i++) {
+			column.addNull();
+		}
+		columns.add(column);
+	}
+
+	@Override
+	public void rowProcessed(String[] row, T context) {
+		if (columns == null) {
+			initialize(context);
+		}
+		while (columns.size() < row.length) {
+			addColumn();
+		}
+
+		for (int i = 0; i < columns.size(); i++) {
+			String value = i < row.length ? row[i] : null;
+			TypedColumn column = columns.get(i);
+			try {
+				column.add(value);
+			} catch (NumberFormatException e) {
+				DataProcessingException ex = new DataProcessingException("Unable to convert '{value}' to " + column.getType() + " in column at index '" + i + "'", i, row, e);
+				ex.setValue(value);
+				throw ex;
+			}
+		}
+		batchCount++;
+
+		if (batchCount >= rowsPerBatch) {
+			batchProcessed(batchCount);
+			batchCount = 0;
+			for (int i = 0; i < columns.size(); i++) {
+				columns.get(i).clear();
+			}
+			batchesProcessed++;
+		}
+	}
+
+	@Override
+	public void processEnded(T context) {
+		if (batchCount > 0) {
+			batchProcessed(batchCount);
+		} else if (columns == null && context.headers() != null) {
+			//no rows parsed: makes the columns of the input available with their declared types.
+			initialize(context);
+		}
+	}
+
+	/**
+	 * Returns the column headers. This can be either the headers defined in {@link CommonSettings#getHeaders()}
+	 * or the headers parsed in the input when {@link CommonSettings#getHeaders()}  equals to {@code true}
+	 *
+	 * @return the headers of all column parsed.
+	 */
+	public final String[] getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * Returns the columns of the current batch, in the order they appear in the parsed rows.
+	 *
+	 * @return an unmodifiable list with the columns of the current batch.
+	 */
+	public final List<TypedColumn> getColumns() {
+		if (unmodifiableColumns == null) {
+			return Collections.emptyList();
+		}
+		return unmodifiableColumns;
+	}
+
+	/**
+	 * Returns a column of the current batch.
+	 *
+	 * @param columnIndex the position of the column in the input (0-based).
+	 *
+	 * @return the column at the given position.
+	 */
+	public final TypedColumn getColumn(int columnIndex) {
+		if (columnIndex < 0) {
+			throw new IllegalArgumentException("Column index must be positive");
+		}
+		List<TypedColumn> columns = getColumns();
+		if (columnIndex >= columns.size()) {
+			throw new IllegalArgumentException("Column index must be less than " + columns.size() + ". Got " + columnIndex);
+		}
+		return columns.get(columnIndex);
+	}
+
+	/**
+	 * Returns a column of the current batch.
+	 *
+	 * @param columnName the name of the column in the input.
+	 *
+	 * @return the column with the given name.
+	 */
+	public final TypedColumn getColumn(String columnName) {
+		int index = headers == null ? -1 : ArgumentUtils.indexOf(headers, columnName);
+		if (index == -1) {
+			throw new IllegalArgumentException("No column named '" + columnName + "' has been found. Available column headers: " + Arrays.toString(headers));
+		}
+		return getColumn(index);
+	}
+
+	/**
+	 * Returns the number of rows processed in each batch
+	 *
+	 * @return the number of rows per batch
+	 */
+	public final int getRowsPerBatch() {
+		return rowsPerBatch;
+	}
+
+	/**
+	 * Returns the number of batches already processed
+	 *
+	 * @return the number of batches already processed
+	 */
+	public final int getBatchesProcessed() {
+		return batchesProcessed;
+	}
+
+	/**
+	 * Callback to the user, where the columns of the current batch can be read.
+	 * After this method returns, the values of all columns are discarded and the next batch will be accumulated.
+	 *
+	 * @param rowsInThisBatch the number of rows processed in the current batch. This corresponds to the number of values of each column.
+	 */
+	public abstract void batchProcessed(int rowsInThisBatch);
+}
@@ -17,13 +17,26 @@ package com.univocity.parsers.common.processor.core;
 
 import com.univocity.parsers.common.*;
 
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 /**
  * A {@link Processor} implementation to perform row processing tasks in parallel. The {@code ConcurrentRowProcessor}
  * wraps another {@link Processor}, and collects rows read from the input.
  * The actual row processing is performed in by wrapped {@link Processor} in a separate thread.
  *
+ * <p> Rows are handed over to the processing thread in batches of {@link #getBatchSize()} rows. With the default single worker
+ * thread each row is handed over as soon as it is parsed. Multiple worker threads can be used with {@link #setWorkerCount(int)}:
+ *
+ * <ul>
+ * <li>if the wrapped processor is a {@link ParallelizableProcessor}, the workers invoke {@link ParallelizableProcessor#prepareRow(String[], Context)}
+ * in parallel, and a sequencing thread sends the results to {@link ParallelizableProcessor#rowPrepared(Object, Context)} in the original
+ * order of the rows (or in the order they become available if {@link #isOrderPreserved()} is {@code false}).</li>
+ * <li>any other processor is invoked concurrently by the workers only if {@link #isOrderPreserved()} is {@code false}, in which case it must be
+ * thread-safe. Otherwise a single worker thread is used.</li>
+ * </ul>
+ *
  * <i>Note: </i> by default the {@link Context} object passed on to the wrapped {@link Processor} will <b>not</b> reflect the
  * state of the parser at the time the row as generated, but the current state of the parser instead. You can enable the
  * {@link #contextCopyingEnabled} flag to generate copies of the {@link Context} at the time each row was generated.
@@ -31,37 +44,49 @@ import java.util.concurrent.*;
  * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
  * @see AbstractParser
  * @see Processor
+ * @see ParallelizableProcessor
  */
 public abstract class AbstractConcurrentProcessor<T extends Context> implements Processor<T> {
 
-	private final Processor processor;
-
-	private boolean ended = false;
+	private static final int DEFAULT_BATCH_SIZE = 128;
 
-	private static class Node<T> {
-		public Node(String[] row, T context) {
-			this.row = row;
-			this.context = context;
-		}
+	private final Processor processor;
+	private final int limit;
+	private boolean contextCopyingEnabled = false;
+	private int workerCount = 1;
+	private int batchSize = -1;
+	private boolean orderPreserved = true;
 
-		public final T context;
-		public final String[] row;
-		public Node next;
-	}
+	private final AtomicLong rowCount = new AtomicLong();
+	private final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
 
-	private final ExecutorService executor = Executors.newSingleThreadExecutor();
-	private volatile long rowCount;
+	private T currentContext;
+	private ExecutorService executor;
+	private Semaphore permits;
+	private boolean prepareInParallel;
+	private int effectiveBatchSize;
+	private Batch batch;
+	private long batchCount;
 
-	private Future<Void> process;
+	private BlockingQueue<Batch> preparedBatches;
+	private Future<?> sequencer;
 
-	private T currentContext;
-	private Node<T> inputQueue;
-	private volatile Node<T> outputQueue;
-	private final int limit;
-	private volatile long input;
-	private volatile long output;
-	private final Object lock;
-	private boolean contextCopyingEnabled = false;
+	/**
+	 * A sequence of rows handed over to a worker thread.
+	 */
+	private static final class Batch {
+		final long sequence;
+		final Object[] rows;
+		final Object[] contexts;
+		int size;
+		boolean prepared;
+
+		Batch(long sequence, int capacity) {
+			this.sequence = sequence;
+			this.rows = new Object[capacity];
+			this.contexts = new Object[capacity];
+		}
+	}
 
 	/**
 	 * Creates a non-blocking {@code AbstractConcurrentProcessor}, to perform processing of rows parsed from the input in a separate thread.
@@ -83,9 +108,6 @@ public abstract class AbstractConcurrentProcessor<T extends Context> implements
 			throw new IllegalArgumentException("Row processor cannot be null");
 		}
 		this.processor = processor;
-		input = 0;
-		output = 0;
-		lock = new Object();
 		this.limit = limit;
 	}
 
@@ -117,6 +139,87 @@ public abstract class AbstractConcurrentProcessor<T extends Context> implements
 		this.contextCopyingEnabled = contextCopyingEnabled;
 	}
 
+	/**
+	 * Returns the number of worker threads used to process rows.
+	 *
+	 * Defaults to {@code 1}
+	 *
+	 * @return the number of worker threads used to process rows.
+	 */
+	public int getWorkerCount() {
+		return workerCount;
+	}
+
+	/**
+	 * Defines the number of worker threads used to process rows. Refer to the documentation of this class to understand how
+	 * rows are distributed among workers.
+	 *
+	 * Defaults to {@code 1}
+	 *
+	 * @param workerCount the number of worker threads used to process rows.
+	 */
+	public void setWorkerCount(int workerCount) {
+		if (workerCount < 1) {
+			throw new IllegalArgumentException("Number of worker threads must be at least 1. Got " + workerCount);
+		}
+		this.workerCount = workerCount;
+	}
+
+	/**
+	 * Returns the number of rows collected from the parser before they are handed over to a worker thread. If a limit of rows to
+	 * be kept in memory was provided in the constructor of this class, batches will not be larger than this limit.
+	 *
+	 * Defaults to {@code 1} when a single worker thread is used, and to {@code 128} otherwise.
+	 *
+	 * @return the number of rows sent to a worker thread at once.
+	 */
+	public int getBatchSize() {
+		if (batchSize == -1) {
+			return workerCount == 1 ? 1 : DEFAULT_BATCH_SIZE;
+		}
+		return batchSize;
+	}
+
+	/**
+	 * Defines the number of rows collected from the parser before they are handed over to a worker thread. If a limit of rows to
+	 * be kept in memory was provided in the constructor of this class, batches will not be larger than this limit.
+	 *
+	 * Defaults to {@code 1} when a single worker thread is used, and to {@code 128} otherwise.
+	 *
+	 * @param batchSize the number of rows sent to a worker thread at once.
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be at least 1. Got " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Indicates whether rows must be delivered to the wrapped {@link Processor} in the same order they were parsed
+	 * when multiple worker threads are used.
+	 *
+	 * Defaults to {@code true}
+	 *
+	 * @return a flag indicating whether the original order of the rows is preserved.
+	 */
+	public boolean isOrderPreserved() {
+		return orderPreserved;
+	}
+
+	/**
+	 * Defines whether rows must be delivered to the wrapped {@link Processor} in the same order they were parsed
+	 * when multiple worker threads are used. If disabled, a wrapped processor that is not a {@link ParallelizableProcessor}
+	 * will be invoked by multiple threads at the same time.
+	 *
+	 * Defaults to {@code true}
+	 *
+	 * @param orderPreserved a flag indicating whether the original order of the rows should be preserved.
+	 */
+	public void setOrderPreserved(boolean orderPreserved) {
+		this.orderPreserved = orderPreserved;
+	}
+
 	@Override
 	public final void processStarted(T context) {
 		currentContext = wrapContext(context);
@@ -127,96 +230,184 @@ public abstract class AbstractConcurrentProcessor<T extends Context> implements
 	}
 
 	private void startProcess() {
-		ended = false;
-		rowCount = 0;
+		rowCount.set(0);
+		error.set(null);
+		batch = null;
+		batchCount = 0;
+
+		int threads = workerCount;
+		prepareInParallel = workerCount > 1 && processor instanceof ParallelizableProcessor;
+		if (!prepareInParallel && orderPreserved) {
+			threads = 1;
+		}
 
-		process = executor.submit(new Callable<Void>() {
+		effectiveBatchSize = getBatchSize();
+		if (limit > 1) {
+			permits = new Semaphore(limit);
+			if (effectiveBatchSize > limit) {
+				effectiveBatchSize = limit;
+			}
+		} else {
+			permits = null;
+		}
 
+		executor = Executors.newFixedThreadPool(prepareInParallel ? threads + 1 : threads, new ThreadFactory() {
 			@Override
-			public Void call() {
-				while (outputQueue == null && !ended) {
-					Thread.yield();
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "unVocity-parsers processing thread");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		if (prepareInParallel) {
+			preparedBatches = new LinkedBlockingQueue<Batch>();
+			sequencer = executor.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws InterruptedException {
+					sequenceBatches();
+					return null;
 				}
+			});
+		} else {
+			preparedBatches = null;
+			sequencer = null;
+		}
+	}
 
-				while (!ended) {
-					rowCount++;
+	@Override
+	public final void rowProcessed(String[] row, T context) {
+		if (permits != null) {
+			try {
+				permits.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
 
+		if (batch == null) {
+			batch = new Batch(batchCount, effectiveBatchSize);
+		}
+		batch.rows[batch.size] = row;
+		batch.contexts[batch.size] = grabContext(context);
+		batch.size++;
 
-					processor.rowProcessed(outputQueue.row, outputQueue.context);
-					while (outputQueue.next == null) {
-						if (ended && outputQueue.next == null) {
-							return null;
-						}
-						Thread.yield();
-					}
-					outputQueue = outputQueue.next;
-					output++;
-					if (limit > 1) {
-						synchronized (lock) {
-							lock.notify();
-						}
-					}
-				}
+		if (batch.size == effectiveBatchSize) {
+			submitBatch();
+		}
+	}
 
-				while (outputQueue != null) {
-					rowCount++;
-					processor.rowProcessed(outputQueue.row, outputQueue.context);
-					outputQueue = outputQueue.next;
-				}
+	private void submitBatch() {
+		if (batch == null) {
+			return;
+		}
+		final Batch toProcess = batch;
+		batch = null;
+		batchCount++;
 
-				return null;
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				processBatch(toProcess);
 			}
-
 		});
 	}
 
-	@Override
-	public final void rowProcessed(String[] row, T context) {
-		if (inputQueue == null) {
-			inputQueue = new Node(row, grabContext(context));
-			outputQueue = inputQueue;
-		} else {
-			if (limit > 1) {
-				synchronized (lock) {
-					try {
-						if (input - output >= limit) {
-							lock.wait();
-						}
-					} catch (InterruptedException e) {
-						ended = true;
-						Thread.currentThread().interrupt();
-						return;
-					}
+	@SuppressWarnings("unchecked")
+	private void processBatch(Batch batch) {
+		if (!prepareInParallel) {
+			deliver(batch);
+			return;
+		}
+		try {
+			if (error.get() == null) {
+				ParallelizableProcessor<T> parallelizable = (ParallelizableProcessor<T>) processor;
+				for (int i = 0; i < batch.size; i++) {
+					batch.rows[i] = parallelizable.prepareRow((String[]) batch.rows[i], (T) batch.contexts[i]);
 				}
+				batch.prepared = true;
 			}
-			inputQueue.next = new Node(row, grabContext(context));
-			inputQueue = inputQueue.next;
+		} catch (Throwable e) {
+			error.compareAndSet(null, e);
+		} finally {
+			preparedBatches.add(batch);
 		}
-		input++;
 	}
 
-	@Override
-	public final void processEnded(T context) {
-		ended = true;
-		if (limit > 1) {
-			synchronized (lock) {
-				lock.notify();
+	private void sequenceBatches() throws InterruptedException {
+		Map<Long, Batch> pending = new HashMap<Long, Batch>();
+		long next = 0;
+		long total = -1;
+
+		while (total == -1 || next < total) {
+			Batch batch = preparedBatches.take();
+			if (batch.rows.length == 0) { //end marker, its sequence is the total number of batches
+				total = batch.sequence;
+			} else if (orderPreserved) {
+				pending.put(batch.sequence, batch);
+				while ((batch = pending.remove(next)) != null) {
+					deliver(batch);
+					next++;
+				}
+			} else {
+				deliver(batch);
+				next++;
 			}
 		}
+	}
 
+	@SuppressWarnings("unchecked")
+	private void deliver(Batch batch) {
 		try {
-			process.get();
+			if (error.get() != null) {
+				return;
+			}
+			for (int i = 0; i < batch.size; i++) {
+				rowCount.incrementAndGet();
+				if (batch.prepared) {
+					if (batch.rows[i] != null) {
+						((ParallelizableProcessor<T>) processor).rowPrepared(batch.rows[i], (T) batch.contexts[i]);
+					}
+				} else {
+					processor.rowProcessed((String[]) batch.rows[i], (T) batch.contexts[i]);
+				}
+			}
+		} catch (Throwable e) {
+			error.compareAndSet(null, e);
+		} finally {
+			if (permits != null) {
+				permits.release(batch.size);
+			}
+		}
+	}
+
+	@Override
+	public final void processEnded(T context) {
+		try {
+			submitBatch();
+			if (sequencer != null) {
+				preparedBatches.add(new Batch(batchCount, 0));
+				sequencer.get();
+			}
+			executor.shutdown();
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
 		} catch (ExecutionException e) {
 			throw new DataProcessingException("Error executing process", e);
 		} catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
 		} finally {
 			try {
+				executor.shutdownNow();
 				processor.processEnded(grabContext(context));
-			} finally{
-				executor.shutdown();
+			} finally {
+				permits = null;
 			}
 		}
+		Throwable e = error.get();
+		if (e != null) {
+			throw new DataProcessingException("Error executing process", e);
+		}
 	}
 
 	private T grabContext(T context) {
@@ -227,8 +418,8 @@ public abstract class AbstractConcurrentProcessor<T extends Context> implements
 
 	}
 
-	protected final long getRowCount(){
-		return rowCount;
+	protected final long getRowCount() {
+		return rowCount.get();
 	}
 
 	protected abstract T copyContext(T context);
@@ -49,6 +49,9 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 
 	private Comparator<String> comparator = caseInsensitiveComparator;
 
+	private Map<String, Integer> valueIndex;
+	private int[] matcherPositions;
+
 	/**
 	 * Creates a switch that will analyze the first column of rows found in the input to determine which
 	 * {@link Processor} to use for each parsed row
@@ -91,6 +94,7 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 	 */
 	public void setCaseSensitive(boolean caseSensitive) {
 		this.comparator = caseSensitive ? caseSensitiveComparator : caseInsensitiveComparator;
+		this.valueIndex = null;
 	}
 
 	/**
@@ -103,6 +107,7 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 			throw new IllegalArgumentException("Comparator must not be null");
 		}
 		this.comparator = comparator;
+		this.valueIndex = null;
 	}
 
 	/**
@@ -150,8 +155,7 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 	 * @param processor the processor implementation when the given value matches with the contents in the column provided in the constructor of this class.
 	 */
 	public void addSwitchForValue(String value, Processor<T> processor) {
-		switches = Arrays.copyOf(switches, switches.length + 1);
-		switches[switches.length - 1] = new Switch(processor, null, null, value, null);
+		addSwitch(new Switch(processor, null, null, value, null));
 	}
 
 	/**
@@ -162,8 +166,7 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 	 * @param headersToUse the (optional) sequence of headers to assign to the {@link ParsingContext} of the given processor
 	 */
 	public void addSwitchForValue(String value, Processor<T> processor, String... headersToUse) {
-		switches = Arrays.copyOf(switches, switches.length + 1);
-		switches[switches.length - 1] = new Switch(processor, headersToUse, null, value, null);
+		addSwitch(new Switch(processor, headersToUse, null, value, null));
 	}
 
 
@@ -174,8 +177,7 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 	 * @param processor the processor implementation when the given value matches with the contents in the column provided in the constructor of this class.
 	 */
 	public void addSwitchForValue(CustomMatcher matcher, Processor<T> processor) {
-		switches = Arrays.copyOf(switches, switches.length + 1);
-		switches[switches.length - 1] = new Switch(processor, null, null, null, matcher);
+		addSwitch(new Switch(processor, null, null, null, matcher));
 	}
 
 	/**
@@ -186,8 +188,7 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 	 * @param headersToUse the (optional) sequence of headers to assign to the {@link ParsingContext} of the given processor
 	 */
 	public void addSwitchForValue(CustomMatcher matcher, Processor<T> processor, String... headersToUse) {
-		switches = Arrays.copyOf(switches, switches.length + 1);
-		switches[switches.length - 1] = new Switch(processor, headersToUse, null, null, matcher);
+		addSwitch(new Switch(processor, headersToUse, null, null, matcher));
 	}
 
 	/**
@@ -198,8 +199,7 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 	 * @param indexesToUse the (optional) sequence of column indexes to assign to the {@link ParsingContext} of the given  processor
 	 */
 	public void addSwitchForValue(String value, Processor<T> processor, int... indexesToUse) {
-		switches = Arrays.copyOf(switches, switches.length + 1);
-		switches[switches.length - 1] = new Switch(processor, null, indexesToUse, value, null);
+		addSwitch(new Switch(processor, null, indexesToUse, value, null));
 	}
 
 	/**
@@ -210,10 +210,14 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 	 * @param indexesToUse the (optional) sequence of column indexes to assign to the {@link ParsingContext} of the given processor
 	 */
 	public void addSwitchForValue(CustomMatcher matcher, Processor<T> processor, int... indexesToUse) {
-		switches = Arrays.copyOf(switches, switches.length + 1);
-		switches[switches.length - 1] = new Switch(processor, null, indexesToUse, null, matcher);
+		addSwitch(new Switch(processor, null, indexesToUse, null, matcher));
 	}
 
+	private void addSwitch(Switch s) {
+		switches = Arrays.copyOf(switches, switches.length + 1);
+		switches[switches.length - 1] = s;
+		valueIndex = null;
+	}
 
 	@Override
 	public String[] getHeaders() {
@@ -241,6 +245,27 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 		if (columnIndex < row.length) {
 			String valueToMatch = row[columnIndex];
 
+			if (valueToMatch != null && (comparator == caseSensitiveComparator || comparator == caseInsensitiveComparator)) {
+				if (valueIndex == null) {
+					buildIndex();
+				}
+				Integer position = valueIndex.get(comparator == caseSensitiveComparator ? valueToMatch : foldCase(valueToMatch));
+				int limit = position == null ? switches.length : position;
+				for (int i = 0; i < matcherPositions.length && matcherPositions[i] < limit; i++) {
+					Switch s = switches[matcherPositions[i]];
+					if (s.matcher.matches(valueToMatch)) {
+						return s.processor;
+					}
+				}
+				if (position != null) {
+					Switch s = switches[position];
+					headers = s.headers;
+					indexes = s.indexes;
+					return s.processor;
+				}
+				return defaultProcessor(row);
+			}
+
 			for (int i = 0; i < switches.length; i++) {
 				Switch s = switches[i];
 				if (s.matcher != null && s.matcher.matches(valueToMatch)) {
@@ -252,6 +277,10 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 				}
 			}
 		}
+		return defaultProcessor(row);
+	}
+
+	private Processor<T> defaultProcessor(String[] row) {
 		if (defaultSwitch != null) {
 			headers = defaultSwitch.headers;
 			indexes = defaultSwitch.indexes;
@@ -262,6 +291,53 @@ public abstract class AbstractInputValueSwitch<T extends Context> extends Abstra
 		throw new DataProcessingException("Unable to process input row. No switches activated and no default switch defined.", columnIndex, row, null);
 	}
 
+	/**
+	 * Indexes the values of all switches so that rows can be dispatched with a single hash lookup instead of comparing the
+	 * input value against each switch. Only used with the built-in comparators. Custom matchers can't be indexed, so their
+	 * positions are kept to be evaluated in the order they were added, before any indexed value switch added after them.
+	 */
+	private void buildIndex() {
+		Map<String, Integer> index = new HashMap<String, Integer>();
+		int[] matchers = new int[switches.length];
+		int matcherCount = 0;
+		for (int i = 0; i < switches.length; i++) {
+			Switch s = switches[i];
+			if (s.matcher != null) {
+				matchers[matcherCount++] = i;
+			} else if (s.value != null) {
+				String key = comparator == caseSensitiveComparator ? s.value : foldCase(s.value);
+				if (!index.containsKey(key)) {
+					index.put(key, i);
+				}
+			}
+		}
+		matcherPositions = Arrays.copyOf(matchers, matcherCount);
+		valueIndex = index;
+	}
+
+	/**
+	 * Folds the case of a value so that two strings produce the same result if, and only if, {@link String#equalsIgnoreCase(String)}
+	 * considers them equal.
+	 *
+	 * @param value the value to fold
+	 *
+	 * @return the case-folded value, or the value itself if no character had to be changed.
+	 */
+	private static String foldCase(String value) {
+		char[] chars = null;
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			char folded = Character.toLowerCase(Character.toUpperCase(ch));
+			if (folded != ch) {
+				if (chars == null) {
+					chars = value.toCharArray();
+				}
+				chars[i] = folded;
+			}
+		}
+		return chars == null ? value : new String(chars);
+	}
+
 	private static class Switch<T extends Context> {
 		final Processor<T> processor;
 		final String[] headers;
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * Writes batches of {@link TypedColumn}s to an {@link OutputStream} using the
+ * <a href="https://arrow.apache.org/docs/format/Columnar.html#ipc-streaming-format">Arrow IPC streaming format</a>.
+ *
+ * <p> The stream starts with a schema message, followed by one record batch message per batch of rows, and is terminated
+ * by an end-of-stream marker. {@link ColumnType#INT} and {@link ColumnType#LONG} columns are written as signed 32 and
+ * 64-bit integers, {@link ColumnType#DOUBLE} as double precision floating point numbers and {@link ColumnType#STRING}
+ * as UTF-8 strings. All fields are nullable.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractArrowStreamProcessor
+ */
+final class ArrowStreamWriter {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final byte[] PADDING = new byte[8];
+
+	private static final short METADATA_V5 = 4;
+
+	private static final byte HEADER_SCHEMA = 1;
+	private static final byte HEADER_RECORD_BATCH = 3;
+
+	private static final byte TYPE_INT = 2;
+	private static final byte TYPE_FLOATING_POINT = 3;
+	private static final byte TYPE_UTF8 = 5;
+
+	private static final short PRECISION_DOUBLE = 2;
+
+	private final OutputStream out;
+	private final byte[] prefix = new byte[8];
+	private ColumnType[] types;
+	private byte[] body = new byte[0];
+
+	/**
+	 * Creates a writer of Arrow IPC streams
+	 *
+	 * @param out the output that will receive the stream.
+	 */
+	ArrowStreamWriter(OutputStream out) {
+		this.out = out;
+	}
+
+	/**
+	 * Returns the types of the fields in the schema written to the output
+	 *
+	 * @return the type of each field, or {@code null} if the schema has not been written yet.
+	 */
+	ColumnType[] getTypes() {
+		return types;
+	}
+
+	/**
+	 * Writes the schema message
+	 *
+	 * @param names the name of each field
+	 * @param types the type of each field
+	 *
+	 * @throws IOException if an error occurs writing to the output.
+	 */
+	void writeSchema(String[] names, ColumnType[] types) throws IOException {
+		this.types = types.clone();
+		FlatBufferBuilder builder = new FlatBufferBuilder();
+
+		int[] fields = new int[types.length];
+		for (int i = 0; i < types.length; i++) {
+			int name = builder.createString(names[i] == null ? "" : names[i]);
+			int children = builder.createOffsetVector(new int[0]);
+			byte typeType;
+			switch (types[i]) {
+				case INT:
+				case LONG:
+					typeType = TYPE_INT;
+					builder.startTable(2);
+					builder.addInt(0, types[i] == ColumnType.INT ? 32 : 64);
+					builder.addByte(1, 1);
+					break;
+				case DOUBLE:
+					typeType = TYPE_FLOATING_POINT;
+					builder.startTable(1);
+					builder.addShort(0, PRECISION_DOUBLE);
+					break;
+				default:
+					typeType = TYPE_UTF8;
+					builder.startTable(0);
+			}
+			int type = builder.endTable();
+
+			builder.startTable(7);
+			builder.addOffset(0, name);
+			builder.addOffset(3, type);
+			builder.addOffset(5, children);
+			builder.addByte(1, 1);
+			builder.addByte(2, typeType);
+			fields[i] = builder.endTable();
+		}
+		int fieldVector = builder.createOffsetVector(fields);
+
+		builder.startTable(4);
+		builder.addOffset(1, fieldVector);
+		builder.addShort(0, 0);
+		int schema = builder.endTable();
+
+		writeMessage(builder, HEADER_SCHEMA, schema, 0);
+	}
+
+	/**
+	 * Writes a record batch message with the values of a batch of rows
+	 *
+	 * @param columns the columns of the batch, matching the fields of the schema
+	 * @param rows    the number of rows in the batch
+	 *
+	 * @throws IOException if an error occurs writing to the output.
+	 */
+	void writeBatch(List<TypedColumn> columns, int rows) throws IOException {
+		int columnCount = columns.size();
+		long[] nodes = new long[columnCount * 2];
+		long[] buffers = new long[columnCount * 6];
+		int bufferCount = 0;
+		byte[][][] dictionaries = new byte[columnCount][][];
+
+		int bodyLength = 0;
+		for (int c = 0; c < columnCount; c++) {
+			TypedColumn column = columns.get(c);
+			nodes[c * 2] = rows;
+			nodes[c * 2 + 1] = column.getNullCount();
+
+			int validityLength = column.getNullCount() > 0 ? (rows + 7) >> 3 : 0;
+			buffers[bufferCount++] = bodyLength;
+			buffers[bufferCount++] = validityLength;
+			bodyLength += align(validityLength);
+
+			if (types[c] == ColumnType.STRING) {
+				String[] dictionary = column.getDictionary();
+				byte[][] encoded = new byte[dictionary.length][];
+				for (int i = 0; i < dictionary.length; i++) {
+					encoded[i] = dictionary[i].getBytes(UTF_8);
+				}
+				dictionaries[c] = encoded;
+
+				int[] codes = column.getDictionaryCodes();
+				int dataLength = 0;
+				for (int i = 0; i < rows; i++) {
+					if (codes[i] >= 0) {
+						dataLength += encoded[codes[i]].length;
+					}
+				}
+				buffers[bufferCount++] = bodyLength;
+				buffers[bufferCount++] = (rows + 1) * 4;
+				bodyLength += align((rows + 1) * 4);
+				buffers[bufferCount++] = bodyLength;
+				buffers[bufferCount++] = dataLength;
+				bodyLength += align(dataLength);
+			} else {
+				int dataLength = rows * (types[c] == ColumnType.INT ? 4 : 8);
+				buffers[bufferCount++] = bodyLength;
+				buffers[bufferCount++] = dataLength;
+				bodyLength += align(dataLength);
+			}
+		}
+
+		if (body.length < bodyLength) {
+			body = new byte[bodyLength];
+		} else {
+			Arrays.fill(body, 0, bodyLength, (byte) 0);
+		}
+		ByteBuffer data = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+
+		int b = 0;
+		for (int c = 0; c < columnCount; c++) {
+			TypedColumn column = columns.get(c);
+			if (buffers[b + 1] > 0) {
+				writeValidity(data, (int) buffers[b], column.getNullBitmap(), rows);
+			}
+			b += 2;
+
+			data.position((int) buffers[b]);
+			switch (types[c]) {
+				case INT:
+					data.asIntBuffer().put(column.getInts(), 0, rows);
+					break;
+				case LONG:
+					data.asLongBuffer().put(column.getLongs(), 0, rows);
+					break;
+				case DOUBLE:
+					data.asDoubleBuffer().put(column.getDoubles(), 0, rows);
+					break;
+				default:
+					byte[][] dictionary = dictionaries[c];
+					int[] codes = column.getDictionaryCodes();
+					int offsetPosition = (int) buffers[b];
+					int dataPosition = (int) buffers[b + 2];
+					int offset = 0;
+					data.putInt(offsetPosition, 0);
+					for (int i = 0; i < rows; i++) {
+						if (codes[i] >= 0) {
+							byte[] value = dictionary[codes[i]];
+							System.arraycopy(value, 0, body, dataPosition + offset, value.length);
+							offset += value.length;
+						}
+						data.putInt(offsetPosition + (i + 1) * 4, offset);
+					}
+					b += 2;
+			}
+			b += 2;
+		}
+
+		FlatBufferBuilder builder = new FlatBufferBuilder();
+		int buffersVector = builder.createLongPairVector(Arrays.copyOf(buffers, bufferCount));
+		int nodesVector = builder.createLongPairVector(nodes);
+		builder.startTable(3);
+		builder.addLong(0, rows);
+		builder.addOffset(1, nodesVector);
+		builder.addOffset(2, buffersVector);
+		int recordBatch = builder.endTable();
+
+		writeMessage(builder, HEADER_RECORD_BATCH, recordBatch, bodyLength);
+		out.write(body, 0, bodyLength);
+	}
+
+	private static void writeValidity(ByteBuffer data, int position, long[] nulls, int rows) {
+		int bytes = (rows + 7) >> 3;
+		for (int i = 0; i < bytes; i++) {
+			int valid = (int) ~(nulls[i >> 3] >>> ((i & 7) << 3)) & 0xFF;
+			int remaining = rows - (i << 3);
+			if (remaining < 8) {
+				valid &= (1 << remaining) - 1;
+			}
+			data.put(position + i, (byte) valid);
+		}
+	}
+
+	private static int align(int length) {
+		return (length + 7) & ~7;
+	}
+
+	private void writeMessage(FlatBufferBuilder builder, byte headerType, int header, long bodyLength) throws IOException {
+		builder.startTable(5);
+		builder.addLong(3, bodyLength);
+		builder.addOffset(2, header);
+		builder.addShort(0, METADATA_V5);
+		builder.addByte(1, headerType);
+		byte[] metadata = builder.finish(builder.endTable());
+
+		int metadataLength = align(metadata.length + 8) - 8;
+		writePrefix(metadataLength);
+		out.write(metadata);
+		out.write(PADDING, 0, metadataLength - metadata.length);
+	}
+
+	private void writePrefix(int length) throws IOException {
+		prefix[0] = prefix[1] = prefix[2] = prefix[3] = (byte) 0xFF;
+		prefix[4] = (byte) length;
+		prefix[5] = (byte) (length >> 8);
+		prefix[6] = (byte) (length >> 16);
+		prefix[7] = (byte) (length >> 24);
+		out.write(prefix);
+	}
+
+	/**
+	 * Writes the end-of-stream marker
+	 *
+	 * @throws IOException if an error occurs writing to the output.
+	 */
+	void writeEndOfStream() throws IOException {
+		writePrefix(0);
+		out.flush();
+	}
+}
@@ -29,6 +29,7 @@ import java.util.*;
 public class BeanConversionProcessor<T> extends DefaultConversionProcessor {
 
 	final Class<T> beanClass;
+	private Constructor<T> constructor;
 	protected final Set<FieldMapping> parsedFields = new LinkedHashSet<FieldMapping>();
 	private int lastFieldIndexMapped = -1;
 	private FieldMapping[] readOrder;
@@ -501,7 +502,12 @@ public class BeanConversionProcessor<T> extends DefaultConversionProcessor {
 
 		T instance;
 		try {
-			instance = beanClass.newInstance();
+			if (constructor == null) {
+				constructor = BeanHelper.getDefaultConstructor(beanClass);
+			}
+			instance = constructor == null ? beanClass.newInstance() : constructor.newInstance();
+		} catch (InvocationTargetException e) {
+			throw new DataProcessingException("Unable to instantiate class '" + beanClass.getName() + '\'', row, e.getCause());
 		} catch (Throwable e) {
 			throw new DataProcessingException("Unable to instantiate class '" + beanClass.getName() + '\'', row, e);
 		}
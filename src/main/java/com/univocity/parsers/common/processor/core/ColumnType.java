@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2014 uniVocity Software Pty Ltd
+ * Copyright 2017 uniVocity Software Pty Ltd
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,37 +13,31 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  ******************************************************************************/
-package com.univocity.parsers.common.input.concurrent;
+package com.univocity.parsers.common.processor.core;
 
 /**
- * An entry used by the {@link FixedInstancePool}
-
- * @param <T> the type of this entry.
- *
- * @see FixedInstancePool
+ * The types of data that can be stored in a {@link TypedColumn}.
  *
  * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
- *
+ * @see TypedColumn
+ * @see AbstractBatchedTypedColumnProcessor
  */
-class Entry<T> {
-	final T entry;
-	final int index;
-
+public enum ColumnType {
 	/**
-	 * Creates a new entry with an object and its position in the {@link FixedInstancePool}
-	 * @param entry the value in this entry
-	 * @param index the position of this entry in the {@link FixedInstancePool}
+	 * Values stored in an {@code int[]}
 	 */
-	Entry(T entry, int index) {
-		this.entry = entry;
-		this.index = index;
-	}
-
+	INT,
+	/**
+	 * Values stored in a {@code long[]}
+	 */
+	LONG,
+	/**
+	 * Values stored in a {@code double[]}
+	 */
+	DOUBLE,
 	/**
-	 * Returns the object stored in this  {@link FixedInstancePool} entry.
-	 * @return the object stored in this  {@link FixedInstancePool} entry.
+	 * Dictionary-encoded {@code String} values: each distinct value is stored once and rows hold an {@code int} code
+	 * pointing to it.
 	 */
-	public T get() {
-		return this.entry;
-	}
+	STRING
 }
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * A minimal builder of <a href="https://google.github.io/flatbuffers/">FlatBuffers</a>, with just enough functionality
+ * to produce the metadata of Arrow IPC messages written by {@link ArrowStreamWriter}.
+ *
+ * <p> As in the reference implementation, the buffer is built back to front: objects referenced by a table must be
+ * created before the table itself, and all offsets returned by this class are measured from the end of the buffer.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see ArrowStreamWriter
+ */
+final class FlatBufferBuilder {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private byte[] buffer = new byte[1024];
+	private int space = buffer.length;
+	private int minAlign = 1;
+
+	private int[] vtable;
+	private int objectStart;
+
+	/**
+	 * Returns the current offset, measured from the end of the buffer
+	 *
+	 * @return the offset of the last object written.
+	 */
+	int offset() {
+		return buffer.length - space;
+	}
+
+	private void grow(int needed) {
+		int length = buffer.length;
+		int newLength = length * 2;
+		while (newLength - length + space < needed) {
+			newLength *= 2;
+		}
+		byte[] tmp = new byte[newLength];
+		System.arraycopy(buffer, space, tmp, newLength - length + space, length - space);
+		space += newLength - length;
+		buffer = tmp;
+	}
+
+	/**
+	 * Adds padding so that, after {@code additionalBytes} are written, the next value of {@code size} bytes is aligned.
+	 */
+	private void prep(int size, int additionalBytes) {
+		if (size > minAlign) {
+			minAlign = size;
+		}
+		int alignSize = (-(offset() + additionalBytes)) & (size - 1);
+		if (space < alignSize + size + additionalBytes) {
+			grow(alignSize + size + additionalBytes);
+		}
+		while (alignSize-- > 0) {
+			buffer[--space] = 0;
+		}
+	}
+
+	private void putByte(int value) {
+		buffer[--space] = (byte) value;
+	}
+
+	private void putShort(int value) {
+		buffer[--space] = (byte) (value >> 8);
+		buffer[--space] = (byte) value;
+	}
+
+	private void putInt(int value) {
+		buffer[--space] = (byte) (value >> 24);
+		buffer[--space] = (byte) (value >> 16);
+		buffer[--space] = (byte) (value >> 8);
+		buffer[--space] = (byte) value;
+	}
+
+	private void putLong(long value) {
+		putInt((int) (value >> 32));
+		putInt((int) value);
+	}
+
+	private void putOffset(int offset) {
+		prep(4, 0);
+		putInt(offset() - offset + 4);
+	}
+
+	/**
+	 * Writes a UTF-8 string
+	 *
+	 * @param value the string to write
+	 *
+	 * @return the offset of the string
+	 */
+	int createString(String value) {
+		byte[] bytes = value.getBytes(UTF_8);
+		prep(4, bytes.length + 1);
+		putByte(0);
+		space -= bytes.length;
+		System.arraycopy(bytes, 0, buffer, space, bytes.length);
+		putInt(bytes.length);
+		return offset();
+	}
+
+	/**
+	 * Writes a vector of offsets to previously created objects
+	 *
+	 * @param offsets the offsets of the elements of the vector
+	 *
+	 * @return the offset of the vector
+	 */
+	int createOffsetVector(int[] offsets) {
+		prep(4, offsets.length * 4);
+		for (int i = offsets.length - 1; i >= 0; i--) {
+			putOffset(offsets[i]);
+		}
+		putInt(offsets.length);
+		return offset();
+	}
+
+	/**
+	 * Writes a vector of structs made of two {@code long} fields each, such as Arrow's {@code FieldNode} and {@code Buffer}.
+	 *
+	 * @param values pairs of values, where the first element of each pair is the first field of the struct.
+	 *
+	 * @return the offset of the vector
+	 */
+	int createLongPairVector(long[] values) {
+		int count = values.length / 2;
+		prep(4, values.length * 8);
+		prep(8, values.length * 8);
+		for (int i = values.length - 1; i >= 0; i--) {
+			putLong(values[i]);
+		}
+		putInt(count);
+		return offset();
+	}
+
+	/**
+	 * Starts a new table
+	 *
+	 * @param fieldCount the number of fields defined for the table in its schema.
+	 */
+	void startTable(int fieldCount) {
+		vtable = new int[fieldCount];
+		objectStart = offset();
+	}
+
+	void addByte(int field, int value) {
+		prep(1, 0);
+		putByte(value);
+		vtable[field] = offset();
+	}
+
+	void addShort(int field, int value) {
+		prep(2, 0);
+		putShort(value);
+		vtable[field] = offset();
+	}
+
+	void addInt(int field, int value) {
+		prep(4, 0);
+		putInt(value);
+		vtable[field] = offset();
+	}
+
+	void addLong(int field, long value) {
+		prep(8, 0);
+		putLong(value);
+		vtable[field] = offset();
+	}
+
+	void addOffset(int field, int offset) {
+		putOffset(offset);
+		vtable[field] = offset();
+	}
+
+	/**
+	 * Finishes the current table, writing its vtable.
+	 *
+	 * @return the offset of the table.
+	 */
+	int endTable() {
+		prep(4, 0);
+		putInt(0);
+		int tableOffset = offset();
+
+		int fieldCount = vtable.length;
+		while (fieldCount > 0 && vtable[fieldCount - 1] == 0) {
+			fieldCount--;
+		}
+		for (int i = fieldCount - 1; i >= 0; i--) {
+			putShort(vtable[i] == 0 ? 0 : tableOffset - vtable[i]);
+		}
+		putShort(tableOffset - objectStart);
+		putShort((fieldCount + 2) * 2);
+
+		int vtableOffset = offset();
+		int position = buffer.length - tableOffset;
+		int value = vtableOffset - tableOffset;
+		buffer[position] = (byte) value;
+		buffer[position + 1] = (byte) (value >> 8);
+		buffer[position + 2] = (byte) (value >> 16);
+		buffer[position + 3] = (byte) (value >> 24);
+
+		vtable = null;
+		return tableOffset;
+	}
+
+	/**
+	 * Finishes the buffer with a reference to its root table
+	 *
+	 * @param rootTable the offset of the root table
+	 *
+	 * @return the finished buffer.
+	 */
+	byte[] finish(int rootTable) {
+		prep(minAlign, 4);
+		putOffset(rootTable);
+		return Arrays.copyOfRange(buffer, space, buffer.length);
+	}
+}
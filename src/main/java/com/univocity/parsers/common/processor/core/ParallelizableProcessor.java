@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import com.univocity.parsers.common.*;
+
+/**
+ * A {@link Processor} whose work on each row is split in two stages, so that the expensive part of the processing can be executed
+ * by multiple threads of an {@link AbstractConcurrentProcessor}:
+ *
+ * <ol>
+ * <li>{@link #prepareRow(String[], Context)} transforms a parsed row into some result (e.g. a converted row or a java bean).
+ * It may be invoked by multiple threads at the same time and must be thread-safe.</li>
+ * <li>{@link #rowPrepared(Object, Context)} receives each result. It is invoked by one thread at a time, in the original order
+ * of the rows unless the {@link AbstractConcurrentProcessor} has been configured otherwise.</li>
+ * </ol>
+ *
+ * <p> When used on its own, {@link #rowProcessed(String[], Context)} is expected to produce the same effect of
+ * {@code rowPrepared(prepareRow(row, context), context)}.
+ *
+ * @param <T> the context type supported by this processor.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractConcurrentProcessor
+ */
+public interface ParallelizableProcessor<T extends Context> extends Processor<T> {
+
+	/**
+	 * Transforms a parsed row into a result to be sent to {@link #rowPrepared(Object, Context)}. Invoked concurrently by the worker threads
+	 * of an {@link AbstractConcurrentProcessor}.
+	 *
+	 * @param row     the data extracted by the parser for an individual record.
+	 * @param context A contextual object with information about the state of the parsing process when the record was produced
+	 *
+	 * @return the result of processing the given row, or {@code null} if the row should be discarded.
+	 */
+	Object prepareRow(String[] row, T context);
+
+	/**
+	 * Receives the result produced by {@link #prepareRow(String[], Context)} for a row. Never invoked by two threads at the same time.
+	 *
+	 * @param preparedRow the result produced for a row by {@link #prepareRow(String[], Context)}. Never {@code null}.
+	 * @param context     A contextual object with information about the state of the parsing process when the record was produced
+	 */
+	void rowPrepared(Object preparedRow, T context);
+}
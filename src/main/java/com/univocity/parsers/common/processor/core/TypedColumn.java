@@ -0,0 +1,447 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import java.util.*;
+
+/**
+ * Holds the values of a column parsed in a batch of rows, stored in a primitive array according to its {@link ColumnType}.
+ * Nulls are tracked in a bitmap, and {@link ColumnType#STRING} values are dictionary-encoded.
+ *
+ * <p> Columns without a declared type are inferred: they start as {@link ColumnType#INT} and are widened to
+ * {@link ColumnType#LONG}, {@link ColumnType#DOUBLE} and finally {@link ColumnType#STRING} whenever a value can't
+ * be stored with the current type. Values already collected are converted to the new type, and numbers converted to
+ * {@code String} take their canonical textual representation (e.g. {@code "007"} becomes {@code "7"}). Once widened,
+ * the column keeps its type in subsequent batches.</p>
+ *
+ * <p> Instances are reused across batches: all values are discarded after each batch is processed.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractBatchedTypedColumnProcessor
+ * @see ColumnType
+ */
+public final class TypedColumn {
+
+	private final boolean declared;
+	private ColumnType type;
+	private int size;
+	private int nullCount;
+
+	private long[] nulls;
+	private int[] ints;
+	private long[] longs;
+	private double[] doubles;
+	private int[] codes;
+
+	private final List<String> dictionary = new ArrayList<String>();
+	private final Map<String, Integer> dictionaryCodes = new HashMap<String, Integer>();
+
+	/**
+	 * Creates a column to hold values of a given type
+	 *
+	 * @param type     the type of the column, or {@code null} if the type should be inferred from the values.
+	 * @param capacity the number of values expected in each batch.
+	 */
+	TypedColumn(ColumnType type, int capacity) {
+		this.declared = type != null;
+		this.type = declared ? type : ColumnType.INT;
+		this.nulls = new long[(capacity >> 6) + 1];
+		allocate(capacity);
+	}
+
+	private void allocate(int capacity) {
+		switch (type) {
+			case INT:
+				ints = new int[capacity];
+				break;
+			case LONG:
+				longs = new long[capacity];
+				break;
+			case DOUBLE:
+				doubles = new double[capacity];
+				break;
+			default:
+				codes = new int[capacity];
+		}
+	}
+
+	private int capacity() {
+		switch (type) {
+			case INT:
+				return ints.length;
+			case LONG:
+				return longs.length;
+			case DOUBLE:
+				return doubles.length;
+			default:
+				return codes.length;
+		}
+	}
+
+	private void ensureCapacity() {
+		int capacity = capacity();
+		if (size < capacity) {
+			return;
+		}
+		capacity = capacity < 8 ? 16 : capacity * 2;
+		switch (type) {
+			case INT:
+				ints = Arrays.copyOf(ints, capacity);
+				break;
+			case LONG:
+				longs = Arrays.copyOf(longs, capacity);
+				break;
+			case DOUBLE:
+				doubles = Arrays.copyOf(doubles, capacity);
+				break;
+			default:
+				codes = Arrays.copyOf(codes, capacity);
+		}
+		if ((capacity >> 6) >= nulls.length) {
+			nulls = Arrays.copyOf(nulls, (capacity >> 6) + 1);
+		}
+	}
+
+	/**
+	 * Discards all values stored in this column.
+	 */
+	void clear() {
+		Arrays.fill(nulls, 0, (size >> 6) + 1, 0L);
+		size = 0;
+		nullCount = 0;
+		dictionary.clear();
+		dictionaryCodes.clear();
+	}
+
+	/**
+	 * Adds a null to this column.
+	 */
+	void addNull() {
+		ensureCapacity();
+		nulls[size >> 6] |= 1L << size;
+		nullCount++;
+		switch (type) {
+			case INT:
+				ints[size] = 0;
+				break;
+			case LONG:
+				longs[size] = 0L;
+				break;
+			case DOUBLE:
+				doubles[size] = 0.0;
+				break;
+			default:
+				codes[size] = -1;
+		}
+		size++;
+	}
+
+	/**
+	 * Converts and adds a value to this column, widening its type if required and allowed.
+	 *
+	 * @param value the value to add. {@code null} values are stored as nulls.
+	 *
+	 * @throws NumberFormatException if the value can't be converted to the declared type of this column.
+	 */
+	void add(String value) {
+		if (value == null) {
+			addNull();
+			return;
+		}
+		ensureCapacity();
+		switch (type) {
+			case INT:
+				addInt(value);
+				break;
+			case LONG:
+				addLong(value);
+				break;
+			case DOUBLE:
+				addDouble(value);
+				break;
+			default:
+				addString(value);
+		}
+		size++;
+	}
+
+	private void addInt(String value) {
+		try {
+			ints[size] = Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			if (declared) {
+				throw e;
+			}
+			widen(ColumnType.LONG);
+			addLong(value);
+		}
+	}
+
+	private void addLong(String value) {
+		try {
+			longs[size] = Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			if (declared) {
+				throw e;
+			}
+			widen(ColumnType.DOUBLE);
+			addDouble(value);
+		}
+	}
+
+	private void addDouble(String value) {
+		try {
+			doubles[size] = Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			if (declared) {
+				throw e;
+			}
+			widen(ColumnType.STRING);
+			addString(value);
+		}
+	}
+
+	private void addString(String value) {
+		codes[size] = encode(value);
+	}
+
+	private int encode(String value) {
+		Integer code = dictionaryCodes.get(value);
+		if (code == null) {
+			code = dictionary.size();
+			dictionary.add(value);
+			dictionaryCodes.put(value, code);
+		}
+		return code;
+	}
+
+	private void widen(ColumnType newType) {
+		ColumnType oldType = type;
+		int capacity = capacity();
+		type = newType;
+		allocate(capacity);
+
+		for (int i = 0; i < size; i++) {
+			switch (newType) {
+				case LONG:
+					longs[i] = ints[i];
+					break;
+				case DOUBLE:
+					doubles[i] = oldType == ColumnType.INT ? ints[i] : longs[i];
+					break;
+				default:
+					if (isNull(i)) {
+						codes[i] = -1;
+					} else if (oldType == ColumnType.INT) {
+						codes[i] = encode(String.valueOf(ints[i]));
+					} else if (oldType == ColumnType.LONG) {
+						codes[i] = encode(String.valueOf(longs[i]));
+					} else {
+						codes[i] = encode(String.valueOf(doubles[i]));
+					}
+			}
+		}
+		ints = null;
+		if (newType != ColumnType.LONG) {
+			longs = null;
+		}
+		if (newType != ColumnType.DOUBLE) {
+			doubles = null;
+		}
+	}
+
+	/**
+	 * Returns the type of this column
+	 *
+	 * @return the type of the values stored in this column.
+	 */
+	public ColumnType getType() {
+		return type;
+	}
+
+	/**
+	 * Indicates whether the type of this column has been declared by the user, or inferred from the values parsed.
+	 *
+	 * @return {@code true} if the type was declared, {@code false} if it is inferred.
+	 */
+	public boolean isTypeDeclared() {
+		return declared;
+	}
+
+	/**
+	 * Returns the number of values stored in this column
+	 *
+	 * @return the number of values in the current batch.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of null values stored in this column
+	 *
+	 * @return the number of nulls in the current batch.
+	 */
+	public int getNullCount() {
+		return nullCount;
+	}
+
+	/**
+	 * Indicates whether the value at a given row is null
+	 *
+	 * @param row the index of the row in the current batch
+	 *
+	 * @return {@code true} if the value is null, otherwise {@code false}
+	 */
+	public boolean isNull(int row) {
+		return (nulls[row >> 6] & (1L << row)) != 0;
+	}
+
+	/**
+	 * Returns the value of a given row in a {@link ColumnType#INT} column.
+	 *
+	 * @param row the index of the row in the current batch
+	 *
+	 * @return the value at the given row, or {@code 0} if it is null.
+	 */
+	public int getInt(int row) {
+		validateType(ColumnType.INT);
+		return ints[row];
+	}
+
+	/**
+	 * Returns the value of a given row in a {@link ColumnType#INT} or {@link ColumnType#LONG} column.
+	 *
+	 * @param row the index of the row in the current batch
+	 *
+	 * @return the value at the given row, or {@code 0} if it is null.
+	 */
+	public long getLong(int row) {
+		if (type == ColumnType.INT) {
+			return ints[row];
+		}
+		validateType(ColumnType.LONG);
+		return longs[row];
+	}
+
+	/**
+	 * Returns the value of a given row in a numeric column.
+	 *
+	 * @param row the index of the row in the current batch
+	 *
+	 * @return the value at the given row, or {@code 0} if it is null.
+	 */
+	public double getDouble(int row) {
+		if (type == ColumnType.INT) {
+			return ints[row];
+		}
+		if (type == ColumnType.LONG) {
+			return longs[row];
+		}
+		validateType(ColumnType.DOUBLE);
+		return doubles[row];
+	}
+
+	/**
+	 * Returns the value of a given row as a {@code String}. Numeric values are converted using {@code String.valueOf}.
+	 *
+	 * @param row the index of the row in the current batch
+	 *
+	 * @return the value at the given row, or {@code null} if it is null.
+	 */
+	public String getString(int row) {
+		if (isNull(row)) {
+			return null;
+		}
+		switch (type) {
+			case INT:
+				return String.valueOf(ints[row]);
+			case LONG:
+				return String.valueOf(longs[row]);
+			case DOUBLE:
+				return String.valueOf(doubles[row]);
+			default:
+				return dictionary.get(codes[row]);
+		}
+	}
+
+	private void validateType(ColumnType expected) {
+		if (type != expected) {
+			throw new IllegalStateException("Column of type " + type + " can't be read as " + expected);
+		}
+	}
+
+	/**
+	 * Returns the array backing a {@link ColumnType#INT} column. Only the first {@link #size()} elements are valid.
+	 *
+	 * @return the values of this column.
+	 */
+	public int[] getInts() {
+		validateType(ColumnType.INT);
+		return ints;
+	}
+
+	/**
+	 * Returns the array backing a {@link ColumnType#LONG} column. Only the first {@link #size()} elements are valid.
+	 *
+	 * @return the values of this column.
+	 */
+	public long[] getLongs() {
+		validateType(ColumnType.LONG);
+		return longs;
+	}
+
+	/**
+	 * Returns the array backing a {@link ColumnType#DOUBLE} column. Only the first {@link #size()} elements are valid.
+	 *
+	 * @return the values of this column.
+	 */
+	public double[] getDoubles() {
+		validateType(ColumnType.DOUBLE);
+		return doubles;
+	}
+
+	/**
+	 * Returns the dictionary codes of each row in a {@link ColumnType#STRING} column. Each code is the index of the value
+	 * in {@link #getDictionary()}, or {@code -1} for nulls. Only the first {@link #size()} elements are valid.
+	 *
+	 * @return the dictionary codes of this column.
+	 */
+	public int[] getDictionaryCodes() {
+		validateType(ColumnType.STRING);
+		return codes;
+	}
+
+	/**
+	 * Returns the distinct values of a {@link ColumnType#STRING} column, in the order they were first found.
+	 *
+	 * @return the dictionary of values of this column.
+	 */
+	public String[] getDictionary() {
+		validateType(ColumnType.STRING);
+		return dictionary.toArray(new String[dictionary.size()]);
+	}
+
+	/**
+	 * Returns the bitmap of null values in this column. The value at row {@code i} is null when the bit
+	 * {@code (bitmap[i >> 6] >> i) & 1} is set. Only the bits of the first {@link #size()} rows are valid.
+	 *
+	 * @return the null bitmap of this column.
+	 */
+	public long[] getNullBitmap() {
+		return nulls;
+	}
+}
@@ -16,7 +16,9 @@
 package com.univocity.parsers.common.routine;
 
 import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.input.*;
 import com.univocity.parsers.common.processor.*;
+import com.univocity.parsers.common.processor.core.*;
 
 import java.io.*;
 import java.nio.charset.*;
@@ -841,6 +843,256 @@ public abstract class AbstractRoutines<P extends CommonParserSettings<?>, W exte
 		return out;
 	}
 
+	/**
+	 * Parses a file once to create a {@link RowOffsetIndex} of the positions where its records start, sampled every {@code interval} records.
+	 * The index allows {@link #parseRange(File, RowOffsetIndex, long, long)} to parse any range of records without processing the records before it.
+	 * The file is decoded using the encoding identified by its Byte Order Mark (BOM), or with the default encoding if no BOM is available.
+	 *
+	 * @param input    the file to be indexed
+	 * @param interval the number of records between consecutive entries of the index. Parsing a range of records requires parsing up to
+	 *                 {@code interval - 1} records before the range.
+	 *
+	 * @return an index of the given file, which can be stored in a side-car file with {@link RowOffsetIndex#save(File)}.
+	 */
+	public RowOffsetIndex createIndex(File input, int interval) {
+		return createIndex(input, (Charset) null, interval);
+	}
+
+	/**
+	 * Parses a file once to create a {@link RowOffsetIndex} of the positions where its records start, sampled every {@code interval} records.
+	 * The index allows {@link #parseRange(File, RowOffsetIndex, long, long)} to parse any range of records without processing the records before it.
+	 *
+	 * @param input    the file to be indexed
+	 * @param encoding encoding of the given file
+	 * @param interval the number of records between consecutive entries of the index. Parsing a range of records requires parsing up to
+	 *                 {@code interval - 1} records before the range.
+	 *
+	 * @return an index of the given file, which can be stored in a side-car file with {@link RowOffsetIndex#save(File)}.
+	 */
+	public RowOffsetIndex createIndex(File input, String encoding, int interval) {
+		return createIndex(input, Charset.forName(encoding), interval);
+	}
+
+	/**
+	 * Parses a file once to create a {@link RowOffsetIndex} of the positions where its records start, sampled every {@code interval} records.
+	 * The index allows {@link #parseRange(File, RowOffsetIndex, long, long)} to parse any range of records without processing the records before it.
+	 *
+	 * <p> The file is parsed with the parser configuration of this routine object. Any {@link com.univocity.parsers.common.fields.FieldFilter} applies: only records accepted by
+	 * the filters are indexed, and the same filters must be used when parsing ranges of the file.</p>
+	 *
+	 * @param input    the file to be indexed
+	 * @param encoding encoding of the given file. If {@code null} the encoding will be determined from the Byte Order Mark (BOM) of the file,
+	 *                 or the default encoding will be used.
+	 * @param interval the number of records between consecutive entries of the index. Parsing a range of records requires parsing up to
+	 *                 {@code interval - 1} records before the range.
+	 *
+	 * @return an index of the given file, which can be stored in a side-car file with {@link RowOffsetIndex#save(File)}.
+	 */
+	public RowOffsetIndex createIndex(File input, Charset encoding, int interval) {
+		ArgumentUtils.noNulls("File to index", input);
+		if (interval < 1) {
+			throw new IllegalArgumentException("Index interval must be at least 1. Got " + interval);
+		}
+		validateParserSettings();
+
+		Charset bomEncoding = getBomEncoding(input);
+		int bomLength = 0;
+		if (bomEncoding != null && (encoding == null || bomEncoding.name().startsWith(encoding.name()))) {
+			encoding = bomEncoding;
+			bomLength = bomEncoding.name().startsWith("UTF-8") ? 3 : bomEncoding.name().startsWith("UTF-16") ? 2 : 4;
+		} else if (encoding == null) {
+			encoding = Charset.defaultCharset();
+		}
+
+		P settings = copyParserSettings();
+		settings.setReadInputOnSeparateThread(false);
+		settings.setNumberOfRecordsToRead(-1);
+
+		ByteOffsetReader reader = new ByteOffsetReader(openInput(input, bomLength), encoding, bomLength, 0L);
+		IndexingProcessor processor = new IndexingProcessor(reader, interval);
+		settings.setProcessor(processor);
+
+		AbstractParser<P> parser = createParser(settings);
+		parser.parse(reader);
+
+		long[] offsets = processor.offsets;
+		int entries = (int) Math.min(processor.entries, (processor.records + interval - 1) / interval);
+		if (entries == 0) {
+			entries = 1;
+		}
+		if (entries < offsets.length) {
+			offsets = Arrays.copyOf(offsets, entries);
+		}
+
+		return new RowOffsetIndex(interval, processor.records, encoding, processor.headers, processor.lineSeparator, parser.getDetectedFormat(), offsets);
+	}
+
+	/**
+	 * Parses a range of records of a file, starting from the position of the closest preceding record stored in a {@link RowOffsetIndex}
+	 * of the file, which must have been created by {@link #createIndex(File, Charset, int)} with the same parser configuration.
+	 *
+	 * <p> The records are parsed with the parser configuration of this routine object. Headers, line separators and any format detected
+	 * from the beginning of the file are obtained from the index. The {@link Processor} of the configuration is not used.</p>
+	 *
+	 * @param input      the indexed file
+	 * @param index      the index of the given file
+	 * @param fromRecord the index of the first record to be returned, where {@code 0} is the first record of the file.
+	 * @param count      the maximum number of records to return.
+	 *
+	 * @return the records in the given range. Less records than requested are returned if the end of the file is reached.
+	 */
+	public List<String[]> parseRange(File input, RowOffsetIndex index, long fromRecord, long count) {
+		ArgumentUtils.noNulls("File to parse", input);
+		ArgumentUtils.noNulls("Row offset index", index);
+		if (fromRecord < 0) {
+			throw new IllegalArgumentException("Index of first record to parse cannot be negative. Got " + fromRecord);
+		}
+		if (count < 0) {
+			throw new IllegalArgumentException("Number of records to parse cannot be negative. Got " + count);
+		}
+
+		List<String[]> out = new ArrayList<String[]>((int) Math.min(count, 10000L));
+		if (count == 0 || fromRecord >= index.getRecordCount()) {
+			return out;
+		}
+		validateParserSettings();
+
+		P settings = copyParserSettings();
+		settings.setProcessor(NoopProcessor.instance);
+		settings.setNumberOfRecordsToRead(-1);
+
+		int entry = (int) Math.min(fromRecord / index.getInterval(), index.getEntryCount() - 1);
+		long recordsToSkip = fromRecord - (long) entry * index.getInterval();
+
+		AbstractParser<P> parser;
+		if (entry == 0) {
+			parser = createParser(settings);
+			parser.beginParsing(input, index.getEncoding());
+		} else {
+			settings.setNumberOfRowsToSkip(0);
+			settings.setHeaderExtractionEnabled(false);
+			if (settings.getHeaders() == null) {
+				settings.setHeaders(index.getHeaders());
+			}
+			char[] lineSeparator = index.getLineSeparator();
+			if (settings.isLineSeparatorDetectionEnabled() && lineSeparator != null && lineSeparator.length > 0 && lineSeparator[0] != '\0') {
+				//a detected line separator is always normalized to the default normalized newline.
+				char normalizedNewline = settings.getFormat().getNormalizedNewline();
+				settings.setLineSeparatorDetectionEnabled(false);
+				settings.getFormat().setLineSeparator(lineSeparator);
+				settings.getFormat().setNormalizedNewline(normalizedNewline);
+			}
+			if (index.getDetectedFormat() != null) {
+				applyDetectedFormat(settings, index.getDetectedFormat());
+			}
+			parser = createParser(settings);
+			parser.beginParsing(openInput(input, index.getOffset(entry)), index.getEncoding());
+		}
+
+		try {
+			while (recordsToSkip-- > 0 && parser.parseNext() != null) ;
+
+			String[] row;
+			while (out.size() < count && (row = parser.parseNext()) != null) {
+				out.add(row);
+			}
+		} finally {
+			parser.stopParsing();
+		}
+		return out;
+	}
+
+	/**
+	 * Configures a parser to use a format detected previously by {@link AbstractParser#getDetectedFormat()}, disabling the detection
+	 * process. Used to parse a part of an input whose format can't be detected from the beginning of the input.
+	 *
+	 * @param parserSettings the parser configuration to be modified.
+	 * @param detectedFormat the format detected from the beginning of the input.
+	 */
+	protected void applyDetectedFormat(P parserSettings, Format detectedFormat) {
+
+	}
+
+	/**
+	 * Copies the parser configuration, so that the adjustments made for indexing or for parsing a range of records don't
+	 * affect it. {@link CommonParserSettings#clone()} is not visible from this package, so the public {@code clone()} of
+	 * the concrete settings class (e.g. {@code CsvParserSettings.clone()}) is used.
+	 *
+	 * @return a copy of the current parser configuration
+	 */
+	@SuppressWarnings("unchecked")
+	private P copyParserSettings() {
+		try {
+			return (P) parserSettings.getClass().getMethod("clone").invoke(parserSettings);
+		} catch (Exception e) {
+			throw new IllegalStateException("Unable to copy parser settings of type " + parserSettings.getClass().getName() + ". A public clone() method is required.", e);
+		}
+	}
+
+	private static Charset getBomEncoding(File input) {
+		BomInput bomInput = new BomInput(ArgumentUtils.newInputStream(input));
+		try {
+			return bomInput.getCharset();
+		} finally {
+			try {
+				bomInput.close();
+			} catch (IOException e) {
+				//ignore
+			}
+		}
+	}
+
+	private static InputStream openInput(File input, long position) {
+		try {
+			FileInputStream in = new FileInputStream(input);
+			if (position > 0) {
+				in.getChannel().position(position);
+			}
+			return in;
+		} catch (IOException e) {
+			throw new IllegalStateException("Error reading file '" + input.getAbsolutePath() + "'", e);
+		}
+	}
+
+	/**
+	 * Collects the position of every {@code interval} records parsed from a {@link ByteOffsetReader}, along with the headers and line
+	 * separator of the input.
+	 */
+	private static final class IndexingProcessor extends AbstractProcessor<ParsingContext> {
+		private final ByteOffsetReader reader;
+		private final int interval;
+
+		private long[] offsets = new long[1024];
+		private int entries = 1;
+		private long records;
+		private String[] headers;
+		private char[] lineSeparator;
+
+		IndexingProcessor(ByteOffsetReader reader, int interval) {
+			this.reader = reader;
+			this.interval = interval;
+		}
+
+		@Override
+		public void rowProcessed(String[] row, ParsingContext context) {
+			//the record has been fully parsed, so the current character is the first character of the next record.
+			long offset = reader.byteOffset(context.currentChar());
+			if (context.currentRecord() % interval == 0) {
+				if (entries == offsets.length) {
+					offsets = Arrays.copyOf(offsets, offsets.length * 2);
+				}
+				offsets[entries++] = offset;
+			}
+		}
+
+		@Override
+		public void processEnded(ParsingContext context) {
+			records = context.currentRecord();
+			headers = context.headers();
+			lineSeparator = context.lineSeparator();
+		}
+	}
+
 	/**
 	 * Returns a flag indicating whether resources used for writing should be kept open after being
 	 * used by the routines available from this object, when applicable.
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.routine;
+
+import com.univocity.parsers.common.*;
+
+import java.io.*;
+import java.nio.charset.*;
+
+/**
+ * An index of the positions, in bytes, where the records of a file start, sampled at a fixed interval of records. Created with
+ * {@link AbstractRoutines#createIndex(File, Charset, int)} and used by {@link AbstractRoutines#parseRange(File, RowOffsetIndex, long, long)}
+ * to start parsing near any given record without processing the records before it.
+ *
+ * <p> The index also holds the details about the input that are only available at its beginning, such as its headers, and the line separator and
+ * format detected automatically, if any. It can be stored in a side-car file with {@link #save(File)} and restored with {@link #load(File)}.
+ * Positions are written as variable-length differences between consecutive entries, so each entry usually takes 2 to 4 bytes.</p>
+ *
+ * <p> An index is only valid for the file it was created from, and for parsers configured in the same way as the parser used to create it.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractRoutines
+ */
+public final class RowOffsetIndex implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int interval;
+	private final long recordCount;
+	private final String encoding;
+	private final String[] headers;
+	private final char[] lineSeparator;
+	private final Format detectedFormat;
+
+	private transient long[] offsets;
+
+	RowOffsetIndex(int interval, long recordCount, Charset encoding, String[] headers, char[] lineSeparator, Format detectedFormat, long[] offsets) {
+		this.interval = interval;
+		this.recordCount = recordCount;
+		this.encoding = encoding.name();
+		this.headers = headers;
+		this.lineSeparator = lineSeparator;
+		this.detectedFormat = detectedFormat;
+		this.offsets = offsets;
+	}
+
+	/**
+	 * Returns the number of records between consecutive entries of this index.
+	 *
+	 * @return the sampling interval of this index.
+	 */
+	public int getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Returns the total number of records found in the indexed file.
+	 *
+	 * @return the number of records of the indexed file.
+	 */
+	public long getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Returns the number of entries of this index. The first entry represents the beginning of the file.
+	 *
+	 * @return the number of positions stored in this index.
+	 */
+	public int getEntryCount() {
+		return offsets.length;
+	}
+
+	/**
+	 * Returns the position, in bytes, of the first record of an entry of this index, i.e. the record at {@code entry * getInterval()}, where {@code 0} is
+	 * the first record of the file. The position of the first entry is always {@code 0}, which is the beginning of the file, and not of its first record.
+	 *
+	 * @param entry the index of an entry, from {@code 0} to {@code getEntryCount() - 1}
+	 *
+	 * @return the position where the record of the given entry starts.
+	 */
+	public long getOffset(int entry) {
+		return offsets[entry];
+	}
+
+	/**
+	 * Returns the encoding of the indexed file.
+	 *
+	 * @return the encoding used to read the indexed file.
+	 */
+	public Charset getEncoding() {
+		return Charset.forName(encoding);
+	}
+
+	/**
+	 * Returns the headers of the indexed file, if any.
+	 *
+	 * @return the headers of the indexed file, or {@code null} if no headers were available.
+	 */
+	public String[] getHeaders() {
+		return headers == null ? null : headers.clone();
+	}
+
+	/**
+	 * Returns the line separator used in the indexed file
+	 *
+	 * @return the line separator sequence of the indexed file.
+	 */
+	public char[] getLineSeparator() {
+		return lineSeparator == null ? null : lineSeparator.clone();
+	}
+
+	/**
+	 * Returns the format detected automatically by the parser used to create this index, if any.
+	 *
+	 * @return the format detected in the indexed file, or {@code null} if the parser did not detect any format.
+	 */
+	Format getDetectedFormat() {
+		return detectedFormat;
+	}
+
+	/**
+	 * Writes this index to a file.
+	 *
+	 * @param file the file where the index should be written to.
+	 */
+	public void save(File file) {
+		ArgumentUtils.noNulls("Index file", file);
+		try {
+			ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+			try {
+				out.writeObject(this);
+			} finally {
+				out.close();
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Error writing index to file '" + file.getAbsolutePath() + "'", e);
+		}
+	}
+
+	/**
+	 * Reads an index from a file written with {@link #save(File)}
+	 *
+	 * @param file the file that contains the index.
+	 *
+	 * @return the index stored in the given file.
+	 */
+	public static RowOffsetIndex load(File file) {
+		ArgumentUtils.noNulls("Index file", file);
+		try {
+			ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				return (RowOffsetIndex) in.readObject();
+			} finally {
+				in.close();
+			}
+		} catch (ClassCastException e) {
+			throw new IllegalArgumentException("File '" + file.getAbsolutePath() + "' does not contain a row offset index", e);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalArgumentException("File '" + file.getAbsolutePath() + "' does not contain a row offset index", e);
+		} catch (IOException e) {
+			throw new IllegalStateException("Error reading index from file '" + file.getAbsolutePath() + "'", e);
+		}
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeInt(offsets.length);
+		long previous = 0L;
+		for (int i = 0; i < offsets.length; i++) {
+			long delta = offsets[i] - previous;
+			previous = offsets[i];
+			while ((delta & ~0x7FL) != 0L) {
+				out.writeByte((int) ((delta & 0x7F) | 0x80));
+				delta >>>= 7;
+			}
+			out.writeByte((int) delta);
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		offsets = new long[in.readInt()];
+		long previous = 0L;
+		for (int i = 0; i < offsets.length; i++) {
+			long delta = 0L;
+			int shift = 0;
+			int b;
+			do {
+				b = in.readUnsignedByte();
+				delta |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			previous += delta;
+			offsets[i] = previous;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Row offset index with " + offsets.length + " entries every " + interval + " records of " + recordCount + " records";
+	}
+}
@@ -37,6 +37,9 @@ import java.util.*;
  * @see com.univocity.parsers.common.Format
  */
 public class CsvFormat extends Format {
+
+	private static final long serialVersionUID = 1L;
+
 	private char quote = '"';
 	private char quoteEscape = '"';
 	private char delimiter = ',';
@@ -54,12 +54,29 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 	private final String nullValue;
 	private final int maxColumnLength;
 
+	private static final int GENERIC_LOOP = 0;
+	private static final int SKIP_LEADING_WHITESPACE_LOOP = 1;
+	private static final int KEEP_LEADING_WHITESPACE_LOOP = 2;
+
+	private final int parseLoop;
+
 	/**
 	 * The CsvParser supports all settings provided by {@link CsvParserSettings}, and requires this configuration to be properly initialized.
 	 *
 	 * @param settings the parser configuration
 	 */
 	public CsvParser(CsvParserSettings settings) {
+		this(settings, true);
+	}
+
+	/**
+	 * Creates a CSV parser, optionally disabling the specialized parsing loops selected by {@link #selectParseLoop(boolean)}.
+	 *
+	 * @param settings   the parser configuration
+	 * @param specialize flag indicating whether a parsing loop specialized for the given configuration can be used
+	 *                   instead of the generic one.
+	 */
+	CsvParser(CsvParserSettings settings, boolean specialize) {
 		super(settings);
 		ignoreTrailingWhitespace = settings.getIgnoreTrailingWhitespaces();
 		ignoreLeadingWhitespace = settings.getIgnoreLeadingWhitespaces();
@@ -97,11 +114,152 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 			parseUnescapedQuotesUntilDelimiter = quoteHandling == STOP_AT_DELIMITER || quoteHandling == SKIP_VALUE;
 			parseUnescapedQuotes = quoteHandling != RAISE_ERROR;
 		}
+
+		parseLoop = selectParseLoop(specialize);
 	}
 
+	/**
+	 * Selects the parsing loop to use for the current configuration. The common RFC 4180 style configuration (i.e. quotes
+	 * escaped by doubling them, values not escaped outside of quotes, line endings normalized, quotes and escape sequences
+	 * discarded) is handled by smaller loops that don't re-check these flags for every value or character.
+	 * Everything else goes through the generic loop.
+	 *
+	 * @param specialize flag indicating whether a specialized loop can be selected.
+	 *
+	 * @return the identifier of the loop to be used by {@link #parseRecord()}
+	 */
+	private int selectParseLoop(boolean specialize) {
+		if (!specialize || !doNotEscapeUnquotedValues || !normalizeLineEndingsInQuotes || keepQuotes || keepEscape) {
+			return GENERIC_LOOP;
+		}
+		//the quote may change after the input is analyzed
+		if (settings.isQuoteDetectionEnabled() || quoteEscape != quote || (escapeEscape != '\0' && escapeEscape != quote)) {
+			return GENERIC_LOOP;
+		}
+		return ignoreLeadingWhitespace ? SKIP_LEADING_WHITESPACE_LOOP : KEEP_LEADING_WHITESPACE_LOOP;
+	}
 
 	@Override
 	protected final void parseRecord() {
+		switch (parseLoop) {
+			case SKIP_LEADING_WHITESPACE_LOOP:
+				parseRecordSkippingLeadingWhitespace();
+				break;
+			case KEEP_LEADING_WHITESPACE_LOOP:
+				parseRecordKeepingLeadingWhitespace();
+				break;
+			default:
+				parseRecordGeneric();
+		}
+	}
+
+	private void parseRecordSkippingLeadingWhitespace() {
+		if (ch <= ' ' && whitespaceRangeStart < ch) {
+			ch = input.skipWhitespace(ch, delimiter, quote);
+		}
+
+		while (ch != newLine) {
+			if (ch <= ' ' && whitespaceRangeStart < ch) {
+				ch = input.skipWhitespace(ch, delimiter, quote);
+			}
+
+			if (ch == delimiter || ch == newLine) {
+				output.emptyParsed();
+			} else {
+				unescaped = false;
+				prev = '\0';
+				if (ch == quote) {
+					output.trim = false;
+					parseDoubledQuoteValue();
+					output.valueParsed();
+				} else {
+					parseUnquotedValue();
+				}
+			}
+			if (ch != newLine) {
+				ch = input.nextChar();
+				if (ch == newLine) {
+					output.emptyParsed();
+				}
+			}
+		}
+	}
+
+	private void parseRecordKeepingLeadingWhitespace() {
+		while (ch != newLine) {
+			if (ch == delimiter) {
+				output.emptyParsed();
+			} else {
+				unescaped = false;
+				prev = '\0';
+				if (ch == quote) {
+					output.trim = false;
+					parseDoubledQuoteValue();
+					output.valueParsed();
+				} else {
+					parseUnquotedValue();
+				}
+			}
+			if (ch != newLine) {
+				ch = input.nextChar();
+				if (ch == newLine) {
+					output.emptyParsed();
+				}
+			}
+		}
+	}
+
+	private void parseUnquotedValue() {
+		String value = null;
+		if (output.appender.length() == 0 && !output.isFieldViewActive() && !output.isDeduplicatingValue()) {
+			value = input.getString(ch, delimiter, ignoreTrailingWhitespace, nullValue, maxColumnLength);
+		}
+		if (value != null) {
+			output.valueParsed(value);
+			ch = input.getChar();
+		} else {
+			output.trim = ignoreTrailingWhitespace;
+			ch = output.appender.appendUntil(ch, input, delimiter, newLine);
+			output.valueParsed();
+		}
+	}
+
+	/**
+	 * Parses a quoted value where quotes are escaped by doubling them, and neither quotes nor escape sequences are kept.
+	 * Anything other than a delimiter, line ending or another quote after a quote (i.e. whitespace or an unescaped quote)
+	 * is handed over to {@link #parseQuotedValueContent()}, which handles the remainder as the generic loop would.
+	 */
+	private void parseDoubledQuoteValue() {
+		ch = input.nextChar();
+		while (true) {
+			if (ch != quote) {
+				ch = output.appender.appendUntil(ch, input, quote, escapeEscape);
+				if (ch != quote) { //the generic loop discards the '\0' character
+					ch = input.nextChar();
+					continue;
+				}
+			}
+			prev = quote;
+			ch = input.nextChar();
+			if (ch == delimiter || ch == newLine) {
+				return;
+			}
+			if (ch != quote) {
+				parseQuotedValueContent();
+				return;
+			}
+			output.appender.append(quote);
+			//same state the generic loop leaves behind after an escaped quote, in case the input ends here.
+			prev = '\0';
+			ch = '\0';
+			ch = input.nextChar();
+			if (ch == newLine) {
+				return;
+			}
+		}
+	}
+
+	private void parseRecordGeneric() {
 		if (ch <= ' ' && ignoreLeadingWhitespace && whitespaceRangeStart < ch) {
 			ch = input.skipWhitespace(ch, delimiter, quote);
 		}
@@ -128,7 +286,7 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 					output.valueParsed();
 				} else if (doNotEscapeUnquotedValues) {
 					String value = null;
-					if (output.appender.length() == 0) {
+					if (output.appender.length() == 0 && !output.isFieldViewActive() && !output.isDeduplicatingValue()) {
 						value = input.getString(ch, delimiter, ignoreTrailingWhitespace, nullValue, maxColumnLength);
 					}
 					if (value != null) {
@@ -257,74 +415,78 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 				output.appender.append(quote);
 			}
 			ch = input.nextChar();
-			while (true) {
-				if (prev == quote && (ch <= ' ' && whitespaceRangeStart < ch || ch == delimiter || ch == newLine)) {
-					break;
-				}
+			parseQuotedValueContent();
+		}
+	}
 
-				if (ch != quote && ch != quoteEscape) {
-					if (prev == quote) { //unescaped quote detected
-						if (handleUnescapedQuote()) {
-							break;
-						} else {
-							return;
-						}
-					}
-					if (prev == quoteEscape && quoteEscape != '\0') {
-						output.appender.append(quoteEscape);
-					}
-					ch = output.appender.appendUntil(ch, input, quote, quoteEscape, escapeEscape);
-					prev = ch;
-					ch = input.nextChar();
-				} else {
-					processQuoteEscape();
-					prev = ch;
-					ch = input.nextChar();
-					if(unescaped && ch == delimiter || ch == newLine){
+	private void parseQuotedValueContent() {
+		while (true) {
+			if (prev == quote && (ch <= ' ' && whitespaceRangeStart < ch || ch == delimiter || ch == newLine)) {
+				break;
+			}
+
+			if (ch != quote && ch != quoteEscape) {
+				if (prev == quote) { //unescaped quote detected
+					if (handleUnescapedQuote()) {
+						break;
+					} else {
 						return;
 					}
 				}
+				if (prev == quoteEscape && quoteEscape != '\0') {
+					output.appender.append(quoteEscape);
+				}
+				ch = output.appender.appendUntil(ch, input, quote, quoteEscape, escapeEscape);
+				prev = ch;
+				ch = input.nextChar();
+			} else {
+				processQuoteEscape();
+				prev = ch;
+				ch = input.nextChar();
+				if(unescaped && ch == delimiter || ch == newLine){
+					return;
+				}
 			}
+		}
 
-			// handles whitespaces after quoted value: whitespaces are ignored. Content after whitespaces may be parsed if 'parseUnescapedQuotes' is enabled.
-			if (ch != delimiter && ch != newLine && ch <= ' ' && whitespaceRangeStart < ch) {
-				whitespaceAppender.reset();
-				do {
-					//saves whitespaces after value
-					whitespaceAppender.append(ch);
-					ch = input.nextChar();
-					//found a new line, go to next record.
-					if (ch == newLine) {
-						return;
-					}
-				} while (ch <= ' ' && whitespaceRangeStart < ch);
-
-				//there's more stuff after the quoted value, not only empty spaces.
-				if (ch != delimiter && parseUnescapedQuotes) {
-					if (output.appender instanceof DefaultCharAppender) {
-						//puts the quote before whitespaces back, then restores the whitespaces
-						output.appender.append(quote);
-						((DefaultCharAppender) output.appender).append(whitespaceAppender);
-					}
-					//the next character is not the escape character, put it there
-					if (parseUnescapedQuotesUntilDelimiter || ch != quote && ch != quoteEscape) {
-						output.appender.append(ch);
-					}
+		// handles whitespaces after quoted value: whitespaces are ignored. Content after whitespaces may be parsed if 'parseUnescapedQuotes' is enabled.
+		if (ch != delimiter && ch != newLine && ch <= ' ' && whitespaceRangeStart < ch) {
+			whitespaceAppender.reset();
+			do {
+				//saves whitespaces after value
+				whitespaceAppender.append(ch);
+				ch = input.nextChar();
+				//found a new line, go to next record.
+				if (ch == newLine) {
+					return;
+				}
+			} while (ch <= ' ' && whitespaceRangeStart < ch);
 
-					//sets this character as the previous character (may be escaping)
-					//calls recursively to keep parsing potentially quoted content
-					prev = ch;
-					parseQuotedValue();
-				} else if (keepQuotes) {
+			//there's more stuff after the quoted value, not only empty spaces.
+			if (ch != delimiter && parseUnescapedQuotes) {
+				if (output.appender instanceof DefaultCharAppender) {
+					//puts the quote before whitespaces back, then restores the whitespaces
 					output.appender.append(quote);
+					((DefaultCharAppender) output.appender).append(whitespaceAppender);
+				}
+				//the next character is not the escape character, put it there
+				if (parseUnescapedQuotesUntilDelimiter || ch != quote && ch != quoteEscape) {
+					output.appender.append(ch);
 				}
+
+				//sets this character as the previous character (may be escaping)
+				//calls recursively to keep parsing potentially quoted content
+				prev = ch;
+				parseQuotedValue();
 			} else if (keepQuotes) {
 				output.appender.append(quote);
 			}
+		} else if (keepQuotes) {
+			output.appender.append(quote);
+		}
 
-			if (ch != delimiter && ch != newLine) {
-				throw new TextParsingException(context, "Unexpected character '" + ch + "' following quoted value of CSV field. Expecting '" + delimiter + "'. Cannot parse CSV input.");
-			}
+		if (ch != delimiter && ch != newLine) {
+			throw new TextParsingException(context, "Unexpected character '" + ch + "' following quoted value of CSV field. Expecting '" + delimiter + "'. Cannot parse CSV input.");
 		}
 	}
 
@@ -360,6 +522,7 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 	 *
 	 * @return the detected CSV format, or {@code null} if no detection has been enabled or if the parsing process has not been started yet.
 	 */
+	@Override
 	public final CsvFormat getDetectedFormat() {
 		CsvFormat out = null;
 		if (settings.isDelimiterDetectionEnabled()) {
@@ -378,6 +541,18 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 		return out;
 	}
 
+	@Override
+	protected final void applyDetectedFormat(Format detectedFormat) {
+		CsvFormat format = (CsvFormat) detectedFormat;
+		if (settings.isDelimiterDetectionEnabled()) {
+			this.delimiter = format.getDelimiter();
+		}
+		if (settings.isQuoteDetectionEnabled()) {
+			this.quote = format.getQuote();
+			this.quoteEscape = format.getQuoteEscape();
+		}
+	}
+
 	@Override
 	protected final boolean consumeValueOnEOF() {
 		if (ch == quote) {
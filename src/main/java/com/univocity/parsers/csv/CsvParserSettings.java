@@ -82,7 +82,7 @@ public class CsvParserSettings extends CommonParserSettings<CsvFormat> {
 	protected CharAppender newCharAppender() {
 		int chars = getMaxCharsPerColumn();
 		if (chars != -1) {
-			return new DefaultCharAppender(chars, emptyValue, getWhitespaceRangeStart());
+			return new DefaultCharAppender(chars, emptyValue, getWhitespaceRangeStart(), getBufferPool());
 		} else {
 			return new ExpandingCharAppender(emptyValue, getWhitespaceRangeStart());
 		}
@@ -323,6 +323,24 @@ public class CsvParserSettings extends CommonParserSettings<CsvFormat> {
 		return this.unescapedQuoteHandling;
 	}
 
+	/**
+	 * Returns the method of handling values with unescaped quotes that is actually applied by the parser: the one given in
+	 * {@link #setUnescapedQuoteHandling(UnescapedQuoteHandling)}, or the one equivalent to the flags configured through the deprecated
+	 * methods {@link #setParseUnescapedQuotes(boolean)} and {@link #setParseUnescapedQuotesUntilDelimiter(boolean)} if not set.
+	 *
+	 * @return the handling method used when unescaped quotes are found in the input.
+	 */
+	UnescapedQuoteHandling getEffectiveUnescapedQuoteHandling() {
+		UnescapedQuoteHandling quoteHandling = getUnescapedQuoteHandling();
+		if (quoteHandling != null) {
+			return quoteHandling;
+		}
+		if (!parseUnescapedQuotes) {
+			return UnescapedQuoteHandling.RAISE_ERROR;
+		}
+		return parseUnescapedQuotesUntilDelimiter ? UnescapedQuoteHandling.STOP_AT_DELIMITER : UnescapedQuoteHandling.STOP_AT_CLOSING_QUOTE;
+	}
+
 
 	/**
 	 * Flag indicating whether the parser should keep enclosing quote characters in the values parsed from the input.
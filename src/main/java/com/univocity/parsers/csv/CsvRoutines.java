@@ -16,6 +16,7 @@
 
 package com.univocity.parsers.csv;
 
+import com.univocity.parsers.common.*;
 import com.univocity.parsers.common.routine.*;
 
 import java.io.*;
@@ -79,4 +80,18 @@ public class CsvRoutines extends AbstractRoutines<CsvParserSettings, CsvWriterSe
 	protected CsvWriterSettings createDefaultWriterSettings() {
 		return new CsvWriterSettings();
 	}
+
+	@Override
+	protected void applyDetectedFormat(CsvParserSettings parserSettings, Format detectedFormat) {
+		CsvFormat format = (CsvFormat) detectedFormat;
+		if (parserSettings.isDelimiterDetectionEnabled()) {
+			parserSettings.getFormat().setDelimiter(format.getDelimiter());
+			parserSettings.setDelimiterDetectionEnabled(false);
+		}
+		if (parserSettings.isQuoteDetectionEnabled()) {
+			parserSettings.getFormat().setQuote(format.getQuote());
+			parserSettings.getFormat().setQuoteEscape(format.getQuoteEscape());
+			parserSettings.setQuoteDetectionEnabled(false);
+		}
+	}
 }
@@ -0,0 +1,480 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.csv;
+
+import com.univocity.parsers.common.input.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Finds the positions where records start in chunks of a CSV file, taking into account line separators that appear within quoted values.
+ *
+ * <p> The state of the parser (i.e. whether it is inside a quoted value or not) at the beginning of a chunk depends on the entire input
+ * that precedes the chunk. To allow all chunks to be scanned in parallel, each chunk is scanned speculatively under every possible starting state.
+ * Once scanned, the chunks are stitched together in order: the first chunk starts outside of quotes, and the state at the end of each chunk
+ * determines which of the speculative results applies to the next one.</p>
+ *
+ * <p> Only two of these speculative scans run across the entire chunk: the one that starts outside of quotes, and the one that starts inside
+ * quotes. The remaining starting states (such as after a quote that may be escaping another quote) converge with one of these two within
+ * a few bytes, after which their scan is discarded.</p>
+ *
+ * <p> The states and transitions reproduce how the {@link CsvParser} handles quotes, unescaped quotes and line separators, so the chunks start
+ * exactly where the {@link CsvParser} would start a new record when parsing the entire input. This is only possible if quotes are escaped
+ * by another quote: with a different quote escape character, an unescaped quote followed by the escape character makes the {@link CsvParser}
+ * resume the quoted value after the next delimiter or line separator, any number of times over, and its state can't be tracked with a fixed
+ * number of states.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see ParallelCsvParser
+ */
+final class CsvSplitResolver {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	// parser states outside of quotes. Line separators are normalized
+	private static final int VALUE_START = 0; // at the beginning of a value
+	private static final int VALUE = 1; // inside an unquoted value
+
+	// parser states inside quotes. Line separators are not normalized if normalizeLineEndingsInQuotes is disabled
+	private static final int OPEN = 2; // after the opening quote
+	private static final int QUOTED = 3; // after a regular character
+	private static final int QUOTE = 4; // after a quote that may close the value or escape another quote
+	private static final int ESCAPED = 5; // after an escaped quote. A line separator ends the record
+	private static final int WHITESPACE = 6; // after whitespace following a quote that closed the value
+	private static final int UNESCAPED_QUOTED = 7; // same as QUOTED, after an unescaped quote was found in the value
+	private static final int UNESCAPED_QUOTE = 8; // same as QUOTE, after an unescaped quote was found in the value
+	private static final int UNESCAPED_ESCAPED = 9; // same as ESCAPED, but a delimiter also ends the value
+	private static final int UNESCAPED_WHITESPACE = 10; // same as WHITESPACE, after an unescaped quote was found in the value
+	private static final int UNQUOTED_REMAINDER = 11; // after an unescaped quote, reading the rest of the value up to a delimiter or line separator
+
+	private static final int STATES = 12;
+	private static final int RECORD_END = -1;
+
+	private final int delimiter;
+	private final int quote;
+	private final int normalizedNewline;
+	private final int lineSeparator1;
+	private final int lineSeparator2;
+	private final boolean ignoreLeadingWhitespace;
+	private final int whitespaceRangeStart;
+	private final boolean stopAtClosingQuote;
+	private final boolean normalizeLineEndingsInQuotes;
+
+	private CsvSplitResolver(CsvParserSettings settings, byte[] lineSeparator) {
+		CsvFormat format = settings.getFormat();
+		this.delimiter = format.getDelimiter();
+		this.quote = format.getQuote();
+		this.normalizedNewline = format.getNormalizedNewline() < 128 ? format.getNormalizedNewline() : -1;
+		if (lineSeparator.length == 1) {
+			this.lineSeparator1 = -1;
+			this.lineSeparator2 = lineSeparator[0] & 0xFF;
+		} else {
+			this.lineSeparator1 = lineSeparator[0] & 0xFF;
+			this.lineSeparator2 = lineSeparator[1] & 0xFF;
+		}
+		this.ignoreLeadingWhitespace = settings.getIgnoreLeadingWhitespaces();
+		this.whitespaceRangeStart = settings.getSkipBitsAsWhitespace() ? -1 : 1;
+		this.normalizeLineEndingsInQuotes = settings.isNormalizeLineEndingsWithinQuotes();
+		this.stopAtClosingQuote = settings.getEffectiveUnescapedQuoteHandling() == UnescapedQuoteHandling.STOP_AT_CLOSING_QUOTE;
+	}
+
+	/**
+	 * Creates a resolver for the given configuration, if possible. The delimiter and quote characters must be ASCII characters so they
+	 * can be identified in any ASCII-compatible encoding without decoding the input, and quotes must be escaped by another quote.
+	 *
+	 * @param settings      the configuration of the parsers that will process each chunk of the input.
+	 * @param lineSeparator the bytes of the line separator of the input.
+	 *
+	 * @return a new resolver, or {@code null} if the format can't be handled
+	 */
+	static CsvSplitResolver newResolver(CsvParserSettings settings, byte[] lineSeparator) {
+		CsvFormat format = settings.getFormat();
+		char escapeEscape = format.getCharToEscapeQuoteEscaping();
+		if (format.getDelimiter() >= 128 || format.getQuote() >= 128 || format.getQuoteEscape() != format.getQuote() || lineSeparator.length > 2
+				|| (escapeEscape != '\0' && escapeEscape != format.getQuote())) {
+			return null;
+		}
+		return new CsvSplitResolver(settings, lineSeparator);
+	}
+
+	/**
+	 * Realigns the positions where the input is split to the beginning of a record.
+	 *
+	 * @param file     the input file
+	 * @param splits   the approximate positions where the input is split, in ascending order, starting from the position of the first record
+	 *                 and followed by the length of the file.
+	 * @param executor the thread pool used to scan chunks in parallel.
+	 *
+	 * @return the positions where each chunk of the input starts, in ascending order and without duplicates, followed by the length of the file.
+	 *
+	 * @throws IOException if the file can't be read
+	 */
+	long[] findRecordBoundaries(File file, long[] splits, ExecutorService executor) throws IOException {
+		RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			final FileChannel channel = input.getChannel();
+
+			List<Future<ChunkScan>> scans = new ArrayList<Future<ChunkScan>>(splits.length - 1);
+			for (int i = 0; i < splits.length - 1; i++) {
+				final long start = splits[i];
+				final long end = splits[i + 1];
+				scans.add(executor.submit(new Callable<ChunkScan>() {
+					@Override
+					public ChunkScan call() throws IOException {
+						return scan(channel, start, end);
+					}
+				}));
+			}
+
+			long fileSize = splits[splits.length - 1];
+			long[] boundaries = new long[splits.length];
+			boundaries[0] = splits[0];
+			int count = 1;
+
+			int state = VALUE_START;
+			for (int i = 0; i < scans.size(); i++) {
+				ChunkScan scan = getScan(scans.get(i));
+				long boundary = scan.firstRecord[state];
+				if (i > 0 && boundary > boundaries[count - 1] && boundary < fileSize) {
+					boundaries[count++] = boundary;
+				}
+				state = scan.endState[state];
+			}
+			boundaries[count++] = fileSize;
+			return Arrays.copyOf(boundaries, count);
+		} finally {
+			input.close();
+		}
+	}
+
+	private static ChunkScan getScan(Future<ChunkScan> scan) throws IOException {
+		try {
+			return scan.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Scanning of input interrupted", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException("Error scanning input", cause);
+		}
+	}
+
+	/**
+	 * The result of scanning a chunk under every possible starting state.
+	 */
+	private static final class ChunkScan {
+		/**
+		 * The position following the first line separator that ends a record, per starting state. {@code -1} if no record starts in the chunk.
+		 */
+		final long[] firstRecord = new long[STATES];
+
+		/**
+		 * The state of the parser at the end of the chunk, per starting state.
+		 */
+		final int[] endState = new int[STATES];
+
+		/**
+		 * The scan whose results apply to each starting state. Scans that converge with one of the two main scans are discarded.
+		 */
+		final int[] follows = new int[STATES];
+
+		final int[] state = new int[STATES];
+		final int[] active = new int[STATES];
+		int activeCount;
+
+		ChunkScan() {
+			for (int i = 0; i < STATES; i++) {
+				state[i] = i;
+				firstRecord[i] = -1L;
+				follows[i] = i;
+				active[i] = i;
+			}
+			activeCount = STATES;
+		}
+
+		void recordEnded(int scan, long position) {
+			if (firstRecord[scan] == -1L) {
+				firstRecord[scan] = position;
+			}
+			if (scan == VALUE_START || scan == QUOTED) {
+				// discarded scans that converged before finding a record get the next record found by the scan they follow.
+				for (int i = 0; i < STATES; i++) {
+					if (follows[i] == scan && firstRecord[i] == -1L) {
+						firstRecord[i] = position;
+					}
+				}
+			}
+		}
+
+		void discardConverged() {
+			for (int i = 0; i < activeCount; i++) {
+				int scan = active[i];
+				if (scan == VALUE_START || scan == QUOTED) {
+					continue;
+				}
+				int main;
+				if (state[scan] == state[VALUE_START]) {
+					main = VALUE_START;
+				} else if (state[scan] == state[QUOTED]) {
+					main = QUOTED;
+				} else {
+					continue;
+				}
+				follows[scan] = main;
+				active[i--] = active[--activeCount];
+			}
+		}
+
+		void finish() {
+			for (int i = 0; i < STATES; i++) {
+				endState[i] = state[follows[i]];
+			}
+		}
+	}
+
+	private ChunkScan scan(FileChannel channel, long start, long end) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		byte[] bytes = buffer.array();
+
+		// the first byte of a two-byte line separator is only processed once the next byte is known.
+		boolean pending = false;
+		if (start > 0) {
+			if (lineSeparator1 != -1 && channel.read(ByteBuffer.wrap(bytes, 0, 1), start - 1) == 1) {
+				pending = (bytes[0] & 0xFF) == lineSeparator1;
+			}
+		} else {
+			start = skipBom(channel, start, end, buffer);
+		}
+
+		ChunkScan scan = new ChunkScan();
+		long position = start;
+		while (position < end) {
+			buffer.clear();
+			if (end - position < buffer.capacity()) {
+				buffer.limit((int) (end - position));
+			}
+			int read = channel.read(buffer, position);
+			if (read <= 0) {
+				break;
+			}
+
+			for (int i = 0; i < read; i++) {
+				int ch = bytes[i] & 0xFF;
+				long next = position + i + 1;
+				if (pending) {
+					pending = false;
+					if (ch == lineSeparator2) {
+						process(scan, -1, true, next);
+						continue;
+					}
+					process(scan, lineSeparator1, false, next - 1);
+				}
+				if (ch == lineSeparator1) {
+					pending = true;
+				} else {
+					process(scan, ch, lineSeparator1 == -1 && ch == lineSeparator2, next);
+				}
+			}
+			position += read;
+		}
+
+		scan.finish();
+		return scan;
+	}
+
+	/**
+	 * Updates all active scans with the next character of the input.
+	 *
+	 * @param scan      the chunk scan
+	 * @param ch        the next character, or {@code -1} if a two-byte line separator was found.
+	 * @param separator flag indicating whether the character is the line separator of the input.
+	 * @param position  the position following the character.
+	 */
+	private void process(ChunkScan scan, int ch, boolean separator, long position) {
+		int[] state = scan.state;
+		int[] active = scan.active;
+		for (int i = 0; i < scan.activeCount; i++) {
+			int s = active[i];
+			int next;
+			if (ch == -1 && !normalizeLineEndingsInQuotes && state[s] >= OPEN) {
+				//line endings are not normalized within quotes: the parser will read the two characters of the line separator
+				next = nextState(state[s], lineSeparator1, false);
+				if (next != RECORD_END) {
+					next = nextState(next, lineSeparator2, false);
+				}
+			} else {
+				next = nextState(state[s], ch, separator);
+			}
+			if (next == RECORD_END) {
+				next = VALUE_START;
+				scan.recordEnded(s, position);
+			}
+			state[s] = next;
+		}
+		scan.discardConverged();
+	}
+
+	private static long skipBom(FileChannel channel, long start, long end, ByteBuffer buffer) throws IOException {
+		byte[] bom = BomInput.UTF_8_BOM;
+		if (end - start < bom.length) {
+			return start;
+		}
+		buffer.clear();
+		buffer.limit(bom.length);
+		if (channel.read(buffer, start) != bom.length) {
+			return start;
+		}
+		for (int i = 0; i < bom.length; i++) {
+			if (buffer.get(i) != bom[i]) {
+				return start;
+			}
+		}
+		return start + bom.length;
+	}
+
+	private boolean isWhitespace(int ch) {
+		return ch <= ' ' && whitespaceRangeStart < ch;
+	}
+
+	/**
+	 * Returns the state of the parser after the given character.
+	 *
+	 * @param state     the current state
+	 * @param ch        the next character, or {@code -1} if a two-byte line separator was found.
+	 * @param separator flag indicating whether the character is the line separator of the input. The {@link CsvParser} compares
+	 *                  characters against the normalized newline character, which is also matched when that character appears
+	 *                  on its own, except inside unquoted values.
+	 *
+	 * @return the next state, or {@link #RECORD_END} if the record ends with the given character.
+	 */
+	private int nextState(int state, int ch, boolean separator) {
+		boolean newLine = separator || ch == normalizedNewline;
+		switch (state) {
+			case VALUE_START:
+				if (newLine) {
+					return RECORD_END;
+				}
+				if (ch == delimiter) {
+					return VALUE_START;
+				}
+				if (ch == quote) {
+					return OPEN;
+				}
+				if (ignoreLeadingWhitespace && isWhitespace(ch)) {
+					return VALUE_START;
+				}
+				return VALUE;
+			case VALUE:
+			case UNQUOTED_REMAINDER:
+				if (newLine) {
+					return RECORD_END;
+				}
+				return ch == delimiter ? VALUE_START : state;
+			case OPEN:
+			case QUOTED:
+				return ch == quote ? QUOTE : QUOTED;
+			case UNESCAPED_QUOTED:
+				return ch == quote ? UNESCAPED_QUOTE : UNESCAPED_QUOTED;
+			case QUOTE:
+				return afterQuote(ch, newLine, false);
+			case UNESCAPED_QUOTE:
+				return afterQuote(ch, newLine, true);
+			case ESCAPED:
+				if (newLine) {
+					return RECORD_END;
+				}
+				return ch == quote ? QUOTE : QUOTED;
+			case UNESCAPED_ESCAPED:
+				if (newLine) {
+					return RECORD_END;
+				}
+				if (ch == delimiter) {
+					return VALUE_START;
+				}
+				return ch == quote ? UNESCAPED_QUOTE : UNESCAPED_QUOTED;
+			case WHITESPACE:
+				return afterWhitespace(ch, newLine, false);
+			case UNESCAPED_WHITESPACE:
+				return afterWhitespace(ch, newLine, true);
+			default:
+				throw new IllegalStateException("Unknown state " + state);
+		}
+	}
+
+	/**
+	 * Returns the state of the parser after the character that follows a quote inside a quoted value.
+	 *
+	 * @param ch        the next character
+	 * @param newLine   flag indicating whether the character ends the record
+	 * @param unescaped flag indicating whether an unescaped quote was found in the current value
+	 *
+	 * @return the next state, or {@link #RECORD_END} if the record ends with the given character.
+	 */
+	private int afterQuote(int ch, boolean newLine, boolean unescaped) {
+		if (newLine) {
+			return RECORD_END;
+		}
+		if (ch == delimiter) {
+			return VALUE_START;
+		}
+		if (isWhitespace(ch)) {
+			return unescaped ? UNESCAPED_WHITESPACE : WHITESPACE;
+		}
+		if (ch == quote) {
+			return unescaped ? UNESCAPED_ESCAPED : ESCAPED;
+		}
+		return stopAtClosingQuote ? UNESCAPED_QUOTED : UNQUOTED_REMAINDER; //unescaped quote
+	}
+
+	/**
+	 * Returns the state of the parser after a character that follows whitespace after a quoted value.
+	 *
+	 * @param ch        the next character
+	 * @param newLine   flag indicating whether the character ends the record
+	 * @param unescaped flag indicating whether an unescaped quote was found in the current value
+	 *
+	 * @return the next state, or {@link #RECORD_END} if the record ends with the given character.
+	 */
+	private int afterWhitespace(int ch, boolean newLine, boolean unescaped) {
+		if (newLine) {
+			return RECORD_END;
+		}
+		if (isWhitespace(ch)) {
+			return unescaped ? UNESCAPED_WHITESPACE : WHITESPACE;
+		}
+		if (ch == delimiter) {
+			return VALUE_START;
+		}
+		if (!stopAtClosingQuote) {
+			return UNQUOTED_REMAINDER;
+		}
+		if (ch == quote) {
+			return unescaped ? UNESCAPED_QUOTE : QUOTE;
+		}
+		return unescaped ? UNESCAPED_QUOTED : QUOTED; // the quoted value continues after the whitespace
+	}
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.csv;
+
+import com.univocity.parsers.common.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.concurrent.*;
+
+/**
+ * A CSV parser that splits a single file into chunks and parses them in parallel, each chunk with an independent {@link CsvParser}.
+ *
+ * <p> Chunks are split at line separators found outside of quoted values, which are identified by scanning all chunks in parallel
+ * before parsing. Any format details detected automatically (as enabled by {@link CsvParserSettings#detectFormatAutomatically()})
+ * are identified at the beginning of the file and used to parse all chunks.</p>
+ *
+ * <p> If the delimiter or quote characters are not ASCII characters, or if quotes are escaped by a character other than the quote itself,
+ * the input is parsed by a single parser.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see CsvParser
+ * @see AbstractParallelParser
+ */
+public final class ParallelCsvParser extends AbstractParallelParser<CsvParserSettings> {
+
+	/**
+	 * Creates a parallel CSV parser that uses one thread per available processor.
+	 *
+	 * @param settings the parser configuration
+	 */
+	public ParallelCsvParser(CsvParserSettings settings) {
+		super(settings);
+	}
+
+	/**
+	 * Creates a parallel CSV parser that uses the given number of threads.
+	 *
+	 * @param settings    the parser configuration
+	 * @param threadCount the number of threads used to parse chunks of the input in parallel.
+	 */
+	public ParallelCsvParser(CsvParserSettings settings, int threadCount) {
+		super(settings, threadCount);
+	}
+
+	@Override
+	protected AbstractParser<CsvParserSettings> createParser(CsvParserSettings settings) {
+		return new CsvParser(settings);
+	}
+
+	@Override
+	protected void initializeChunkSettings(CsvParserSettings settings, AbstractParser<CsvParserSettings> parser) {
+		if (settings.isDelimiterDetectionEnabled() || settings.isQuoteDetectionEnabled()) {
+			CsvFormat format = ((CsvParser) parser).getDetectedFormat();
+			if (format != null) {
+				settings.getFormat().setDelimiter(format.getDelimiter());
+				settings.getFormat().setQuote(format.getQuote());
+				settings.getFormat().setQuoteEscape(format.getQuoteEscape());
+			}
+			settings.setDelimiterDetectionEnabled(false);
+			settings.setQuoteDetectionEnabled(false);
+		}
+	}
+
+	@Override
+	protected long[] findRecordBoundaries(File file, Charset encoding, long[] splits, byte[] lineSeparator, CsvParserSettings settings, ExecutorService executor) throws IOException {
+		CsvSplitResolver resolver = CsvSplitResolver.newResolver(settings, lineSeparator);
+		if (resolver == null) {
+			return new long[]{splits[0], splits[splits.length - 1]};
+		}
+		return resolver.findRecordBoundaries(file, splits, executor);
+	}
+}
@@ -33,6 +33,8 @@ import java.util.*;
  */
 public class FixedWidthFormat extends Format {
 
+	private static final long serialVersionUID = 1L;
+
 	private char padding = ' ';
 	private char lookupWildcard = '?';
 
@@ -44,6 +44,9 @@ public class FixedWidthParser extends AbstractParser<FixedWidthParserSettings> {
 
 	private final Lookup[] lookaheadFormats;
 	private final Lookup[] lookbehindFormats;
+	private final LookupTrie lookaheadTrie;
+	private final LookupTrie lookbehindTrie;
+	private char[] lookupChars;
 	private Lookup lookupFormat;
 	private Lookup lookbehindFormat;
 	private int maxLookupLength;
@@ -63,7 +66,6 @@ public class FixedWidthParser extends AbstractParser<FixedWidthParserSettings> {
 	private int length;
 	private boolean initializeLookaheadInput = false;
 	private LookaheadCharInputReader lookaheadInput;
-	private final char wildcard;
 
 	/**
 	 * The FixedWidthParser supports all settings provided by {@link FixedWidthParserSettings}, and requires this configuration to be properly initialized.
@@ -84,7 +86,9 @@ public class FixedWidthParser extends AbstractParser<FixedWidthParserSettings> {
 
 		lookaheadFormats = settings.getLookaheadFormats();
 		lookbehindFormats = settings.getLookbehindFormats();
-		wildcard = settings.getFormat().getLookupWildcard();
+		char wildcard = settings.getFormat().getLookupWildcard();
+		lookaheadTrie = lookaheadFormats == null ? null : new LookupTrie(lookaheadFormats, wildcard);
+		lookbehindTrie = lookbehindFormats == null ? null : new LookupTrie(lookbehindFormats, wildcard);
 
 		if (lookaheadFormats != null || lookbehindFormats != null) {
 			initializeLookaheadInput = true;
@@ -93,6 +97,7 @@ public class FixedWidthParser extends AbstractParser<FixedWidthParserSettings> {
 			rootPaddings = paddings;
 			rootIgnore = ignore;
 			maxLookupLength = Lookup.calculateMaxLookupLength(lookaheadFormats, lookbehindFormats);
+			lookupChars = new char[maxLookupLength];
 
 			this.context = new ParsingContextWrapper(context) {
 				@Override
@@ -124,35 +129,27 @@ public class FixedWidthParser extends AbstractParser<FixedWidthParserSettings> {
 			}
 
 			lookaheadInput.lookahead(maxLookupLength);
+			int available = lookaheadInput.copyLookahead(ch, lookupChars);
 
 			if (lookaheadFormats != null) {
-				for (int i = 0; i < lookaheadFormats.length; i++) {
-					if (lookaheadInput.matches(ch, lookaheadFormats[i].value, wildcard)) {
-						lengths = lookaheadFormats[i].lengths;
-						ignore = lookaheadFormats[i].ignore;
-						lookupFormat = lookaheadFormats[i];
-						matched = true;
-						break;
-					}
+				int i = lookaheadTrie.match(lookupChars, available);
+				if (i != -1) {
+					lengths = lookaheadFormats[i].lengths;
+					ignore = lookaheadFormats[i].ignore;
+					lookupFormat = lookaheadFormats[i];
+					matched = true;
 				}
 				if (lookbehindFormats != null && matched) {
-					lookbehindFormat = null;
-					for (int i = 0; i < lookbehindFormats.length; i++) {
-						if (lookaheadInput.matches(ch, lookbehindFormats[i].value, wildcard)) {
-							lookbehindFormat = lookbehindFormats[i];
-							break;
-						}
-					}
+					i = lookbehindTrie.match(lookupChars, available);
+					lookbehindFormat = i == -1 ? null : lookbehindFormats[i];
 				}
 			} else {
-				for (int i = 0; i < lookbehindFormats.length; i++) {
-					if (lookaheadInput.matches(ch, lookbehindFormats[i].value, wildcard)) {
-						lookbehindFormat = lookbehindFormats[i];
-						matched = true;
-						lengths = rootLengths;
-						ignore = rootIgnore;
-						break;
-					}
+				int i = lookbehindTrie.match(lookupChars, available);
+				if (i != -1) {
+					lookbehindFormat = lookbehindFormats[i];
+					matched = true;
+					lengths = rootLengths;
+					ignore = rootIgnore;
 				}
 			}
 
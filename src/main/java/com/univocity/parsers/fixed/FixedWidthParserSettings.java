@@ -205,7 +205,7 @@ public class FixedWidthParserSettings extends CommonParserSettings<FixedWidthFor
 	 */
 	@Override
 	protected CharAppender newCharAppender() {
-		return new DefaultCharAppender(getMaxCharsPerColumn(), getNullValue(), getWhitespaceRangeStart());
+		return new DefaultCharAppender(getMaxCharsPerColumn(), getNullValue(), getWhitespaceRangeStart(), getBufferPool());
 	}
 
 	/**
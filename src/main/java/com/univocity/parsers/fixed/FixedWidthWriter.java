@@ -44,6 +44,8 @@ public class FixedWidthWriter extends AbstractWriter<FixedWidthWriterSettings> {
 
 	private Lookup[] lookaheadFormats;
 	private Lookup[] lookbehindFormats;
+	private LookupTrie lookaheadTrie;
+	private LookupTrie lookbehindTrie;
 	private char[] lookupChars;
 	private Lookup lookbehindFormat;
 	private int[] rootLengths;
@@ -175,6 +177,9 @@ public class FixedWidthWriter extends AbstractWriter<FixedWidthWriterSettings> {
 
 		if (lookaheadFormats != null || lookbehindFormats != null) {
 			lookupChars = new char[Lookup.calculateMaxLookupLength(lookaheadFormats, lookbehindFormats)];
+			char wildcard = settings.getFormat().getLookupWildcard();
+			lookaheadTrie = lookaheadFormats == null ? null : new LookupTrie(lookaheadFormats, wildcard);
+			lookbehindTrie = lookbehindFormats == null ? null : new LookupTrie(lookbehindFormats, wildcard);
 			rootLengths = fieldLengths;
 			rootAlignments = fieldAlignments;
 			rootPaddings = fieldPaddings;
@@ -210,36 +215,27 @@ public class FixedWidthWriter extends AbstractWriter<FixedWidthWriterSettings> {
 
 			boolean matched = false;
 			if (lookaheadFormats != null) {
-				for (int i = 0; i < lookaheadFormats.length; i++) {
-					if (lookaheadFormats[i].matches(lookupChars)) {
-						fieldLengths = lookaheadFormats[i].lengths;
-						fieldAlignments = lookaheadFormats[i].alignments;
-						fieldPaddings = lookaheadFormats[i].paddings;
-						ignore = lookaheadFormats[i].ignore;
-						matched = true;
-						break;
-					}
+				int i = lookaheadTrie.match(lookupChars, lookupChars.length);
+				if (i != -1) {
+					fieldLengths = lookaheadFormats[i].lengths;
+					fieldAlignments = lookaheadFormats[i].alignments;
+					fieldPaddings = lookaheadFormats[i].paddings;
+					ignore = lookaheadFormats[i].ignore;
+					matched = true;
 				}
 				if (lookbehindFormats != null && matched) {
-					lookbehindFormat = null;
-					for (int i = 0; i < lookbehindFormats.length; i++) {
-						if (lookbehindFormats[i].matches(lookupChars)) {
-							lookbehindFormat = lookbehindFormats[i];
-							break;
-						}
-					}
+					i = lookbehindTrie.match(lookupChars, lookupChars.length);
+					lookbehindFormat = i == -1 ? null : lookbehindFormats[i];
 				}
 			} else {
-				for (int i = 0; i < lookbehindFormats.length; i++) {
-					if (lookbehindFormats[i].matches(lookupChars)) {
-						lookbehindFormat = lookbehindFormats[i];
-						matched = true;
-						fieldLengths = rootLengths;
-						fieldAlignments = rootAlignments;
-						fieldPaddings = rootPaddings;
-						ignore = rootIgnore;
-						break;
-					}
+				int i = lookbehindTrie.match(lookupChars, lookupChars.length);
+				if (i != -1) {
+					lookbehindFormat = lookbehindFormats[i];
+					matched = true;
+					fieldLengths = rootLengths;
+					fieldAlignments = rootAlignments;
+					fieldPaddings = rootPaddings;
+					ignore = rootIgnore;
 				}
 			}
 
@@ -26,7 +26,6 @@ class Lookup {
 	final boolean[] ignore;
 	final char[] paddings;
 	final String[] fieldNames;
-	final char wildcard;
 
 	Lookup(String value, FixedWidthFields config, FixedWidthFormat format) {
 		this.value = value.toCharArray();
@@ -34,23 +33,9 @@ class Lookup {
 		this.alignments = config.getFieldAlignments();
 		this.fieldNames = config.getFieldNames();
 		this.paddings = config.getFieldPaddings(format);
-		this.wildcard = format.getLookupWildcard();
 		this.ignore = config.getFieldsToIgnore();
 	}
 
-	boolean matches(char[] lookup) {
-		if (value.length > lookup.length) {
-			return false;
-		}
-		for (int i = 0; i < value.length; i++) {
-			char ch = value[i];
-			if (ch != wildcard && ch != lookup[i]) {
-				return false;
-			}
-		}
-		return true;
-	}
-
 	static void registerLookahead(String lookup, FixedWidthFields lengths, Map<String, FixedWidthFields> map) {
 		registerLookup("ahead", lookup, lengths, map);
 	}
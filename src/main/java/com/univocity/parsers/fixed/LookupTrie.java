@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.fixed;
+
+import java.util.*;
+
+/**
+ * A character trie built from the values of a set of {@link Lookup} formats, used to find which format matches
+ * an input sequence without comparing the input against each lookup value.
+ *
+ * Wildcard characters in the lookup values are stored in a dedicated branch of each node, so the trie only has to visit
+ * more than one path when wildcards are involved. If more than one lookup value matches the input, the one that appears
+ * first in the array of formats given to the constructor is selected, exactly as a sequential scan would do.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ */
+final class LookupTrie {
+
+	private static final char[] NO_KEYS = new char[0];
+	private static final Node[] NO_CHILDREN = new Node[0];
+
+	private final Node root = new Node();
+
+	/**
+	 * Builds a trie with the values of the given lookup formats
+	 *
+	 * @param lookups  the lookup formats, in order of precedence.
+	 * @param wildcard the character used in lookup values to match any character.
+	 */
+	LookupTrie(Lookup[] lookups, char wildcard) {
+		for (int i = 0; i < lookups.length; i++) {
+			Node node = root;
+			node.minRank = Math.min(node.minRank, i);
+			for (char ch : lookups[i].value) {
+				node = node.getOrCreateChild(ch, wildcard);
+				node.minRank = Math.min(node.minRank, i);
+			}
+			if (node.rank == -1) {
+				node.rank = i;
+			}
+		}
+	}
+
+	/**
+	 * Finds the lookup format whose value matches the beginning of a sequence of characters.
+	 *
+	 * @param chars     the characters to match
+	 * @param available the maximum length of a lookup value that can be matched against the given characters
+	 *
+	 * @return the position of the matching format in the array of lookups used to build this trie, or {@code -1} if no value matches.
+	 */
+	int match(char[] chars, int available) {
+		int best = match(root, chars, 0, available, Integer.MAX_VALUE);
+		return best == Integer.MAX_VALUE ? -1 : best;
+	}
+
+	private int match(Node node, char[] chars, int depth, int available, int best) {
+		if (node.minRank >= best) {
+			return best;
+		}
+		if (node.rank != -1 && node.rank < best) {
+			best = node.rank;
+		}
+		if (depth < available) {
+			char ch = chars[depth];
+			depth++;
+			Node child = node.getChild(ch);
+			if (child != null) {
+				best = match(child, chars, depth, available, best);
+			}
+			if (node.wildcard != null) {
+				best = match(node.wildcard, chars, depth, available, best);
+			}
+		}
+		return best;
+	}
+
+	private static final class Node {
+		char[] keys = NO_KEYS;
+		Node[] children = NO_CHILDREN;
+		Node wildcard;
+		int rank = -1;
+		int minRank = Integer.MAX_VALUE;
+
+		Node getChild(char ch) {
+			int i = Arrays.binarySearch(keys, ch);
+			return i < 0 ? null : children[i];
+		}
+
+		Node getOrCreateChild(char ch, char wildcardChar) {
+			if (ch == wildcardChar) {
+				if (wildcard == null) {
+					wildcard = new Node();
+				}
+				return wildcard;
+			}
+
+			int i = Arrays.binarySearch(keys, ch);
+			if (i >= 0) {
+				return children[i];
+			}
+			i = -(i + 1);
+
+			char[] newKeys = new char[keys.length + 1];
+			Node[] newChildren = new Node[children.length + 1];
+			System.arraycopy(keys, 0, newKeys, 0, i);
+			System.arraycopy(children, 0, newChildren, 0, i);
+			System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+			System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+
+			Node child = new Node();
+			newKeys[i] = ch;
+			newChildren[i] = child;
+			keys = newKeys;
+			children = newChildren;
+			return child;
+		}
+	}
+}
@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.fixed;
+
+import com.univocity.parsers.common.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A fixed-width parser that splits a single file into chunks and parses them in parallel, each chunk with an independent {@link FixedWidthParser}.
+ *
+ * <p> If all records of the input have the same length, the position of each record in the file can be calculated from its index, and
+ * the file is split directly at record boundaries without scanning its contents. This is the case when:</p>
+ * <ul>
+ * <li>no lookahead or lookbehind formats are defined, i.e. all records use the same {@link FixedWidthFields}; and</li>
+ * <li>the encoding of the file represents each character with a single byte (e.g. US-ASCII, ISO-8859-1 or EBCDIC); and</li>
+ * <li>records are not separated by line separators, or every record is followed by a line separator (except possibly the last one)</li>
+ * </ul>
+ *
+ * <p>Any other input is split at line separators, as done by {@link AbstractParallelParser}. Records of constant length can
+ * also be accessed randomly with {@link #parseRecordAt(File, Charset, long)}.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see FixedWidthParser
+ * @see AbstractParallelParser
+ */
+public final class ParallelFixedWidthParser extends AbstractParallelParser<FixedWidthParserSettings> {
+
+	private RecordLayout layout;
+
+	/**
+	 * Creates a parallel fixed-width parser that uses one thread per available processor.
+	 *
+	 * @param settings the parser configuration
+	 */
+	public ParallelFixedWidthParser(FixedWidthParserSettings settings) {
+		super(settings);
+	}
+
+	/**
+	 * Creates a parallel fixed-width parser that uses the given number of threads.
+	 *
+	 * @param settings    the parser configuration
+	 * @param threadCount the number of threads used to parse chunks of the input in parallel.
+	 */
+	public ParallelFixedWidthParser(FixedWidthParserSettings settings, int threadCount) {
+		super(settings, threadCount);
+	}
+
+	@Override
+	protected AbstractParser<FixedWidthParserSettings> createParser(FixedWidthParserSettings settings) {
+		return new FixedWidthParser(settings);
+	}
+
+	@Override
+	protected long[] findRecordBoundaries(File file, Charset encoding, long[] splits, byte[] lineSeparator, FixedWidthParserSettings settings, ExecutorService executor) throws IOException {
+		RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			long stride = getRecordStride(input, encoding, lineSeparator);
+			if (stride > 0) {
+				long[] boundaries = alignToRecords(input, splits, stride, lineSeparator);
+				if (boundaries != null) {
+					return boundaries;
+				}
+			}
+		} finally {
+			input.close();
+		}
+		return super.findRecordBoundaries(file, encoding, splits, lineSeparator, settings, executor);
+	}
+
+	/**
+	 * Moves each split position to the start of the next record. If the records are followed by line separators, the separator
+	 * before each new split position is verified to ensure the input really consists of records of the same length.
+	 *
+	 * @return the aligned positions, or {@code null} if the input is not formed by records of the same length.
+	 */
+	private long[] alignToRecords(RandomAccessFile input, long[] splits, long stride, byte[] lineSeparator) throws IOException {
+		long fileSize = splits[splits.length - 1];
+		long firstRecord = getFirstRecordOffset(stride);
+		boolean separated = stride > getRecordLength();
+		byte[] buffer = new byte[lineSeparator.length];
+
+		long[] boundaries = new long[splits.length];
+		boundaries[0] = splits[0];
+		int count = 1;
+		for (int i = 1; i < splits.length - 1; i++) {
+			long boundary = Math.max(firstRecord, ((splits[i] + stride - 1) / stride) * stride);
+			if (boundary <= boundaries[count - 1]) {
+				continue;
+			}
+			if (boundary >= fileSize) {
+				break;
+			}
+			if (separated) {
+				input.seek(boundary - lineSeparator.length);
+				input.readFully(buffer);
+				if (!Arrays.equals(buffer, lineSeparator)) {
+					return null;
+				}
+			}
+			boundaries[count++] = boundary;
+		}
+		boundaries[count++] = fileSize;
+		return Arrays.copyOf(boundaries, count);
+	}
+
+	/**
+	 * Determines the number of bytes between the start of consecutive records of the input.
+	 *
+	 * @return the number of bytes occupied by each record, including its line separator if any, or {@code -1} if the records of the
+	 * input can't be located from their index.
+	 */
+	private long getRecordStride(RandomAccessFile input, Charset encoding, byte[] lineSeparator) throws IOException {
+		if (settings.getLookaheadFormats() != null || settings.getLookbehindFormats() != null) {
+			return -1L;
+		}
+		if (encoding.newEncoder().maxBytesPerChar() != 1.0f) {
+			return -1L;
+		}
+
+		long recordLength = getRecordLength();
+		if (recordLength <= 0) {
+			return -1L;
+		}
+
+		long fileSize = input.length();
+		long stride = recordLength;
+		if (fileSize >= recordLength + lineSeparator.length) {
+			byte[] buffer = new byte[lineSeparator.length];
+			input.seek(recordLength);
+			input.readFully(buffer);
+			if (Arrays.equals(buffer, lineSeparator)) {
+				stride += lineSeparator.length;
+			}
+		}
+
+		if (stride == recordLength && settings.getSkipTrailingCharsUntilNewline()) {
+			return -1L;
+		}
+
+		long remainder = fileSize % stride;
+		if (remainder == 0 || remainder == recordLength) {
+			return stride;
+		}
+		return -1L;
+	}
+
+	private long getRecordLength() {
+		int[] lengths = settings.getAllLengths();
+		long out = 0;
+		if (lengths != null) {
+			for (int length : lengths) {
+				out += length;
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Returns the position of the first record of the input, after any rows to skip and the header row.
+	 */
+	private long getFirstRecordOffset(long stride) {
+		long records = settings.getNumberOfRowsToSkip();
+		if (settings.isHeaderExtractionEnabled()) {
+			records++;
+		}
+		return records * stride;
+	}
+
+	/**
+	 * Parses the record at the given index of a file whose records have the same length, without reading any other record.
+	 * The encoding of the file will be determined from its Byte Order Mark (BOM), if available, or the default encoding of the JVM will be used.
+	 *
+	 * @param file  the file to read
+	 * @param index the index of the record to parse.
+	 *
+	 * @return the parsed record, or {@code null} if the file has no record at the given index.
+	 *
+	 * @see #parseRecordAt(File, Charset, long)
+	 */
+	public String[] parseRecordAt(File file, long index) {
+		return parseRecordAt(file, (Charset) null, index);
+	}
+
+	/**
+	 * Parses the record at the given index of a file whose records have the same length, without reading any other record.
+	 *
+	 * @param file     the file to read
+	 * @param encoding the encoding of the file
+	 * @param index    the index of the record to parse.
+	 *
+	 * @return the parsed record, or {@code null} if the file has no record at the given index.
+	 *
+	 * @see #parseRecordAt(File, Charset, long)
+	 */
+	public String[] parseRecordAt(File file, String encoding, long index) {
+		return parseRecordAt(file, encoding == null ? null : Charset.forName(encoding), index);
+	}
+
+	/**
+	 * Parses the record at the given index of a file whose records have the same length, without reading any other record.
+	 *
+	 * <p> The index is relative to the first record of the input after any rows to skip (as defined by {@link CommonParserSettings#getNumberOfRowsToSkip()})
+	 * and the header row, if header extraction is enabled. The layout of the file is determined on the first call and reused while the file
+	 * remains unchanged. The {@link com.univocity.parsers.common.processor.core.Processor} defined in the parser settings is not invoked.</p>
+	 *
+	 * @param file     the file to read
+	 * @param encoding the encoding of the file. If {@code null} the encoding will be determined from the Byte Order Mark (BOM) of the file, if available.
+	 * @param index    the index of the record to parse.
+	 *
+	 * @return the parsed record, or {@code null} if the file has no record at the given index.
+	 *
+	 * @throws IllegalStateException if the file is not formed by records of the same length.
+	 */
+	public synchronized String[] parseRecordAt(File file, Charset encoding, long index) {
+		ArgumentUtils.noNulls("File to parse", file);
+		if (index < 0) {
+			throw new IllegalArgumentException("Record index must be positive. Got " + index);
+		}
+		if (encoding == null) {
+			encoding = detectEncoding(file);
+		}
+		try {
+			if (layout == null || !layout.isValidFor(file, encoding)) {
+				layout = new RecordLayout(file, encoding);
+			}
+			return layout.parseRecord(index);
+		} catch (IOException e) {
+			throw new IllegalStateException("Error reading file '" + file.getAbsolutePath() + "'", e);
+		}
+	}
+
+	/**
+	 * The positions of the records of a file with records of the same length, along with a parser to process them individually.
+	 */
+	private final class RecordLayout {
+		private final File file;
+		private final Charset encoding;
+		private final long lastModified;
+		private final long fileSize;
+		private final long stride;
+		private final long firstRecord;
+		private final byte[] record;
+		private final FixedWidthParser parser;
+
+		RecordLayout(File file, Charset encoding) throws IOException {
+			this.file = file;
+			this.encoding = encoding;
+			this.lastModified = file.lastModified();
+			this.fileSize = file.length();
+
+			FixedWidthParserSettings chunkSettings = getChunkSettings(file, encoding);
+			String lineSeparator = chunkSettings.getFormat().getLineSeparatorString();
+
+			RandomAccessFile input = new RandomAccessFile(file, "r");
+			try {
+				this.stride = getRecordStride(input, encoding, lineSeparator.getBytes(encoding));
+			} finally {
+				input.close();
+			}
+			if (stride <= 0) {
+				throw new IllegalStateException("Unable to access records of file '" + file.getAbsolutePath() + "' by index. Input is not formed by records of the same length.");
+			}
+
+			this.firstRecord = getFirstRecordOffset(stride);
+			this.record = new byte[(int) getRecordLength()];
+			this.parser = new FixedWidthParser(chunkSettings);
+		}
+
+		boolean isValidFor(File file, Charset encoding) {
+			return this.file.equals(file) && this.encoding.equals(encoding) && lastModified == file.lastModified() && fileSize == file.length();
+		}
+
+		String[] parseRecord(long index) throws IOException {
+			long position = firstRecord + index * stride;
+			if (position < firstRecord || position >= fileSize) { //position overflows with very large indexes
+				return null;
+			}
+
+			RandomAccessFile input = new RandomAccessFile(file, "r");
+			try {
+				input.seek(position);
+				input.readFully(record);
+			} finally {
+				input.close();
+			}
+			return parser.parseLine(new String(record, encoding));
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.tsv;
+
+import com.univocity.parsers.common.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A TSV parser that splits a single file into chunks and parses them in parallel, each chunk with an independent {@link TsvParser}.
+ *
+ * <p> As TSV represents special characters with escape sequences, a line separator always ends a record and the input can be
+ * split at any line separator without scanning it. The only exception is when line joining is enabled
+ * (see {@link TsvParserSettings#isLineJoiningEnabled()}): line separators preceded by an unescaped escape character continue the
+ * current record in the next line, and are not used to split the input.</p>
+ *
+ * <p> If line joining is enabled and the escape character is not an ASCII character, the input is parsed by a single parser.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see TsvParser
+ * @see AbstractParallelParser
+ */
+public final class ParallelTsvParser extends AbstractParallelParser<TsvParserSettings> {
+
+	private static final int SCAN_BUFFER_SIZE = 8192;
+
+	/**
+	 * Creates a parallel TSV parser that uses one thread per available processor.
+	 *
+	 * @param settings the parser configuration
+	 */
+	public ParallelTsvParser(TsvParserSettings settings) {
+		super(settings);
+	}
+
+	/**
+	 * Creates a parallel TSV parser that uses the given number of threads.
+	 *
+	 * @param settings    the parser configuration
+	 * @param threadCount the number of threads used to parse chunks of the input in parallel.
+	 */
+	public ParallelTsvParser(TsvParserSettings settings, int threadCount) {
+		super(settings, threadCount);
+	}
+
+	@Override
+	protected AbstractParser<TsvParserSettings> createParser(TsvParserSettings settings) {
+		return new TsvParser(settings);
+	}
+
+	@Override
+	protected long[] findRecordBoundaries(File file, Charset encoding, long[] splits, byte[] lineSeparator, TsvParserSettings settings, ExecutorService executor) throws IOException {
+		if (!settings.isLineJoiningEnabled()) {
+			return super.findRecordBoundaries(file, encoding, splits, lineSeparator, settings, executor);
+		}
+
+		long fileSize = splits[splits.length - 1];
+		char escapeChar = settings.getFormat().getEscapeChar();
+		if (escapeChar > 127) {
+			return new long[]{splits[0], fileSize};
+		}
+		byte escape = (byte) escapeChar;
+
+		long[] boundaries = new long[splits.length];
+		boundaries[0] = splits[0];
+		int count = 1;
+
+		RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+			for (int i = 1; i < splits.length - 1; i++) {
+				long position = Math.max(splits[i], boundaries[count - 1] + 1);
+				if (position >= fileSize) {
+					break;
+				}
+				long boundary = nextLineStart(input, position, lineSeparator, buffer);
+				while (boundary < fileSize && isEscaped(input, boundary - lineSeparator.length, escape)) {
+					boundary = nextLineStart(input, boundary + 1, lineSeparator, buffer);
+				}
+				if (boundary < fileSize) {
+					boundaries[count++] = boundary;
+				}
+			}
+		} finally {
+			input.close();
+		}
+		boundaries[count++] = fileSize;
+		return Arrays.copyOf(boundaries, count);
+	}
+
+	/**
+	 * Verifies whether the byte at a given position is preceded by an odd number of escape characters, i.e. whether the
+	 * last escape character escapes what comes next instead of being escaped itself.
+	 */
+	private static boolean isEscaped(RandomAccessFile input, long position, byte escape) throws IOException {
+		int escapes = 0;
+		while (--position >= 0) {
+			input.seek(position);
+			if ((byte) input.read() != escape) {
+				break;
+			}
+			escapes++;
+		}
+		return (escapes & 1) == 1;
+	}
+}
@@ -15,8 +15,10 @@
  ******************************************************************************/
 package com.univocity.parsers.annotations;
 
-import com.univocity.parsers.annotations.helpers.AnnotationHelper;
-import java.lang.reflect.Constructor;
+import com.univocity.parsers.annotations.helpers.*;
+import com.univocity.parsers.common.beans.*;
+import java.lang.reflect.*;
+import java.util.*;
 
 import org.testng.annotations.*;
 import static org.testng.Assert.*;
@@ -32,4 +34,41 @@ public class AnnotationHelperTest {
         assertNotNull(helper);
     }
 
+    static class CachedBean {
+        @Parsed
+        @Trim
+        private String name;
+
+        @Parsed(index = 1)
+        private int amount;
+
+        @Parsed
+        public void setCode(String code) {
+        }
+    }
+
+    @Test
+    public void shouldReuseMetadataAcrossCalls() throws Exception {
+        Map<Field, PropertyWrapper> fields = AnnotationHelper.getAllFields(CachedBean.class);
+        fields.clear();
+        assertEquals(AnnotationHelper.getAllFields(CachedBean.class).size(), 2);
+
+        List<Method> methods = AnnotationHelper.getAnnotatedMethods(CachedBean.class, MethodFilter.ONLY_SETTERS);
+        assertEquals(methods.size(), 1);
+        methods.clear();
+        assertEquals(AnnotationHelper.getAnnotatedMethods(CachedBean.class, MethodFilter.ONLY_SETTERS).size(), 1);
+
+        List<TransformedHeader> sequence = AnnotationHelper.getFieldSequence(CachedBean.class, true, null, MethodFilter.ONLY_SETTERS);
+        assertEquals(sequence, AnnotationHelper.getFieldSequence(CachedBean.class, true, null, MethodFilter.ONLY_SETTERS));
+        assertNotSame(sequence, AnnotationHelper.getFieldSequence(CachedBean.class, true, null, MethodFilter.ONLY_SETTERS));
+
+        Field name = CachedBean.class.getDeclaredField("name");
+        Parsed parsed = AnnotationHelper.findAnnotation(name, Parsed.class);
+        assertNotNull(parsed);
+        assertSame(AnnotationHelper.findAnnotation(name, Parsed.class), parsed);
+        assertNotNull(AnnotationHelper.findAnnotation(name, Trim.class));
+        assertNull(AnnotationHelper.findAnnotation(name, LowerCase.class));
+        assertNull(AnnotationHelper.findAnnotation(name, LowerCase.class));
+    }
+
 }
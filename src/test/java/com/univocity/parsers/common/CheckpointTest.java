@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.tsv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class CheckpointTest {
+
+	private File writeFile(String content, String encoding, byte[] bom) throws IOException {
+		File file = File.createTempFile("checkpoint", ".txt");
+		file.deleteOnExit();
+		OutputStream out = new FileOutputStream(file);
+		try {
+			if (bom != null) {
+				out.write(bom);
+			}
+			out.write(content.getBytes(encoding));
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	private String csvContent(String lineSeparator, int rows) {
+		StringBuilder out = new StringBuilder("id;name;notes").append(lineSeparator);
+		for (int i = 0; i < rows; i++) {
+			out.append(i).append(";'ção ").append(i).append("';");
+			if (i % 3 == 0) {
+				out.append("'multi").append(lineSeparator).append("line; ''").append(i).append("'' 😀'");
+			} else {
+				out.append("plain €").append(i);
+			}
+			out.append(lineSeparator);
+		}
+		return out.toString();
+	}
+
+	private Checkpoint copy(Checkpoint checkpoint) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(checkpoint);
+		out.close();
+		return (Checkpoint) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+	}
+
+	private List<Object[]> parseAll(AbstractParser<?> parser, File file, Charset encoding) {
+		List<Object[]> out = new ArrayList<Object[]>();
+		parser.beginParsing(file, encoding);
+		String[] row;
+		while ((row = parser.parseNext()) != null) {
+			out.add(new Object[]{row, parser.getContext().currentRecord(), parser.getContext().currentLine()});
+		}
+		return out;
+	}
+
+	private void assertResumed(AbstractParser<?> first, AbstractParser<?> second, File file, Charset encoding, List<Object[]> expected) throws Exception {
+		int[] stops = {0, 1, 2, 3, 7, expected.size() - 1, expected.size()};
+		for (int stop : stops) {
+			first.beginParsing(file, encoding, null);
+			for (int i = 0; i < stop; i++) {
+				assertEquals(first.parseNext(), expected.get(i)[0], "row " + i);
+			}
+			Checkpoint checkpoint = copy(first.checkpoint());
+			first.stopParsing();
+			assertEquals(checkpoint.getRecordCount(), stop);
+
+			second.beginParsing(file, null, checkpoint);
+			int i = stop;
+			String[] row;
+			while ((row = second.parseNext()) != null) {
+				Object[] e = expected.get(i++);
+				assertEquals(row, e[0], "resumed at " + stop + ", row " + i);
+				assertEquals(second.getContext().currentRecord(), e[1], "resumed at " + stop + ", row " + i);
+				assertEquals(second.getContext().currentLine(), e[2], "resumed at " + stop + ", row " + i);
+			}
+			assertEquals(i, expected.size(), "resumed at " + stop);
+		}
+	}
+
+	@DataProvider
+	private Object[][] getCsvInputs() {
+		return new Object[][]{
+				{"\n", "UTF-8", null},
+				{"\r\n", "UTF-8", new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}},
+				{"\r", "ISO-8859-1", null},
+				{"\r\n", "UTF-16LE", new byte[]{(byte) 0xFF, (byte) 0xFE}},
+		};
+	}
+
+	@Test(dataProvider = "getCsvInputs")
+	public void testResumeCsvWithDetectedFormat(String lineSeparator, String encoding, byte[] bom) throws Exception {
+		File file = writeFile(csvContent(lineSeparator, 40), encoding, bom);
+		Charset charset = bom == null ? Charset.forName(encoding) : null;
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setLineSeparatorDetectionEnabled(true);
+		settings.detectFormatAutomatically();
+		settings.selectFields("notes", "id");
+
+		List<Object[]> expected = parseAll(new CsvParser(settings), file, Charset.forName(encoding));
+		assertEquals(expected.size(), 40);
+		assertEquals(((String[]) expected.get(3)[0])[0], "multi\nline; '3' 😀".replace("😀", encoding.equals("ISO-8859-1") ? "?" : "😀"));
+
+		assertResumed(new CsvParser(settings), new CsvParser(settings), file, charset, expected);
+	}
+
+	@Test
+	public void testResumeTsvWithoutHeaders() throws Exception {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 30; i++) {
+			content.append(i).append("\tvalue\\n").append(i).append("\tção\n");
+			if (i % 5 == 0) {
+				content.append('\n');
+			}
+		}
+		File file = writeFile(content.toString(), "UTF-8", null);
+		Charset charset = Charset.forName("UTF-8");
+
+		TsvParserSettings settings = new TsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setNumberOfRowsToSkip(2);
+
+		List<Object[]> expected = parseAll(new TsvParser(settings), file, charset);
+		assertEquals(expected.size(), 29);
+		assertResumed(new TsvParser(settings), new TsvParser(settings), file, charset, expected);
+	}
+
+	@Test
+	public void testCheckpointOfResumedParsing() throws Exception {
+		File file = writeFile(csvContent("\n", 20), "UTF-8", null);
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.detectFormatAutomatically();
+		CsvParser parser = new CsvParser(settings);
+
+		List<Object[]> expected = parseAll(parser, file, Charset.forName("UTF-8"));
+
+		Checkpoint checkpoint = null;
+		List<String[]> rows = new ArrayList<String[]>();
+		for (int i = 0; i < 10; i++) {
+			parser.beginParsing(file, checkpoint);
+			for (int j = 0; j < 2; j++) {
+				rows.add(parser.parseNext());
+			}
+			checkpoint = parser.checkpoint();
+			parser.stopParsing();
+		}
+		assertEquals(checkpoint.getRecordCount(), 20);
+		assertEquals(checkpoint.getHeaders(), new String[]{"id", "name", "notes"});
+		assertEquals(((CsvFormat) checkpoint.getDetectedFormat()).getDelimiter(), ';');
+
+		for (int i = 0; i < rows.size(); i++) {
+			assertEquals(rows.get(i), expected.get(i)[0]);
+		}
+		parser.beginParsing(file, checkpoint);
+		assertNull(parser.parseNext());
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void testCheckpointUnavailable() {
+		CsvParser parser = new CsvParser(new CsvParserSettings());
+		parser.beginParsing(new StringReader("a,b\nc,d"));
+		parser.parseNext();
+		parser.checkpoint();
+	}
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.common.processor.*;
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class ParserPoolTest {
+
+	private static class CsvParserPool extends ParserPool<CsvParser> {
+		final CsvParserSettings settings;
+		int created;
+
+		CsvParserPool(CsvParserSettings settings) {
+			super(2);
+			this.settings = settings;
+		}
+
+		@Override
+		protected CsvParser createParser() {
+			created++;
+			return new CsvParser(settings);
+		}
+	}
+
+	private CsvParserSettings newSettings() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setReadInputOnSeparateThread(false);
+		settings.setHeaderExtractionEnabled(true);
+		settings.setLineSeparatorDetectionEnabled(true);
+		settings.selectFields("b", "a");
+		return settings;
+	}
+
+	@Test
+	public void testParsersReused() {
+		CsvParserPool pool = new CsvParserPool(newSettings());
+
+		List<String[]> rows = pool.parseAll(new StringReader("a,b,c\r\n1,2,3\r\n4,5,6\r\n"));
+		assertEquals(rows.size(), 2);
+		assertEquals(rows.get(0), new String[]{"2", "1"});
+
+		rows = pool.parseAll(new StringReader("c,b,a\n1,2,3\n"));
+		assertEquals(rows.size(), 1);
+		assertEquals(rows.get(0), new String[]{"2", "3"});
+
+		assertEquals(pool.created, 1);
+		assertEquals(pool.getIdleParserCount(), 1);
+
+		CsvParser first = pool.acquire();
+		CsvParser second = pool.acquire();
+		CsvParser third = pool.acquire();
+		assertEquals(pool.created, 3);
+		pool.release(first);
+		pool.release(second);
+		pool.release(third);
+		assertEquals(pool.getIdleParserCount(), 2);
+	}
+
+	@Test
+	public void testResetInterruptedParsing() {
+		CsvParserSettings settings = newSettings();
+		RowListProcessor processor = new RowListProcessor();
+		settings.setProcessor(processor);
+		CsvParser parser = new CsvParser(settings);
+
+		parser.beginParsing(new StringReader("a,b\n1,\"unfinished\n2,3\n4,5\n"));
+		parser.parseNext();
+		parser.reset();
+
+		try {
+			parser.parseNext();
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			//expected
+		}
+
+		parser.beginParsing(new StringReader("b,x,a\r1,2,3\r4,5,6"));
+		assertEquals(parser.parseNext(), new String[]{"1", "3"});
+		assertEquals(parser.getContext().currentLine(), 2);
+		assertEquals(parser.getContext().currentChar(), 12);
+		assertEquals(parser.getContext().headers(), new String[]{"b", "x", "a"});
+		assertEquals(parser.parseNext(), new String[]{"4", "6"});
+		assertNull(parser.parseNext());
+		assertEquals(processor.getRows().size(), 2);
+		assertEquals(processor.getHeaders(), new String[]{"b", "x", "a"});
+	}
+}
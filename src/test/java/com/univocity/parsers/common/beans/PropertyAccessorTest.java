@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.beans;
+
+import org.testng.annotations.*;
+
+import java.lang.reflect.*;
+
+import static org.testng.Assert.*;
+
+public class PropertyAccessorTest {
+
+	static class Bean {
+		private int count;
+		private String name;
+
+		private Bean() {
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = "set:" + name;
+		}
+	}
+
+	@Test
+	public void testFieldAndMethodAccessors() throws Exception {
+		Field count = Bean.class.getDeclaredField("count");
+		PropertyAccessor countAccessor = PropertyAccessor.getAccessor(count);
+		assertSame(PropertyAccessor.getAccessor(Bean.class.getDeclaredField("count")), countAccessor);
+
+		Constructor<Bean> constructor = BeanHelper.getDefaultConstructor(Bean.class);
+		assertSame(BeanHelper.getDefaultConstructor(Bean.class), constructor);
+		Bean bean = constructor.newInstance();
+
+		countAccessor.set(bean, 10);
+		assertEquals(countAccessor.get(bean), 10);
+
+		PropertyAccessor setter = PropertyAccessor.getAccessor(Bean.class.getMethod("setName", String.class));
+		PropertyAccessor getter = PropertyAccessor.getAccessor(Bean.class.getMethod("getName"));
+		setter.set(bean, "x");
+		assertEquals(getter.get(bean), "set:x");
+	}
+
+	@Test
+	public void testNoDefaultConstructor() {
+		assertNull(BeanHelper.getDefaultConstructor(Integer.class));
+	}
+}
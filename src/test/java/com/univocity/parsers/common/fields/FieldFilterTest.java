@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.fields;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.processor.*;
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.fixed.*;
+import com.univocity.parsers.tsv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class FieldFilterTest {
+
+	private static final String CSV = "" +
+			"id,name,status\n" +
+			"1,\"first\nline\",ACTIVE\n" +
+			"2,\"second, \"\"quoted\"\" value\nnext\",INACTIVE\n" +
+			"3,third,ACTIVE\n" +
+			"4,fourth\n" +
+			"5,\"fifth\",\"ACTIVE\"\n";
+
+	private static FieldFilter equalTo(final String expected) {
+		return new FieldFilter() {
+			@Override
+			public boolean accept(CharSequence value) {
+				return value != null && expected.contentEquals(value);
+			}
+		};
+	}
+
+	private static FieldFilter startsWith(final String prefix) {
+		return new FieldFilter() {
+			@Override
+			public boolean accept(CharSequence value) {
+				if (value == null || value.length() < prefix.length()) {
+					return false;
+				}
+				for (int i = 0; i < prefix.length(); i++) {
+					if (value.charAt(i) != prefix.charAt(i)) {
+						return false;
+					}
+				}
+				return true;
+			}
+		};
+	}
+
+	private List<String[]> parseCsv(CsvParserSettings settings, String input) {
+		settings.getFormat().setLineSeparator("\n");
+		return new CsvParser(settings).parseAll(new StringReader(input));
+	}
+
+	private void assertRows(List<String[]> rows, String[]... expected) {
+		assertEquals(rows.size(), expected.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(rows.get(i), expected[i]);
+		}
+	}
+
+	@Test
+	public void testFilterByHeaderName() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.addFieldFilter("Status", equalTo("ACTIVE"));
+
+		assertRows(parseCsv(settings, CSV),
+				new String[]{"1", "first\nline", "ACTIVE"},
+				new String[]{"3", "third", "ACTIVE"},
+				new String[]{"5", "fifth", "ACTIVE"});
+	}
+
+	@Test
+	public void testMultipleFiltersAndRecordCount() {
+		final List<Long> recordNumbers = new ArrayList<Long>();
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.addFieldFilter(2, equalTo("ACTIVE"));
+		settings.addFieldFilter("id", new FieldFilter() {
+			@Override
+			public boolean accept(CharSequence value) {
+				return !"1".contentEquals(value);
+			}
+		});
+		settings.setProcessor(new AbstractRowProcessor() {
+			@Override
+			public void rowProcessed(String[] row, ParsingContext context) {
+				recordNumbers.add(context.currentRecord());
+			}
+		});
+
+		parseCsv(settings, CSV);
+		assertEquals(recordNumbers, Arrays.asList(1L, 2L));
+	}
+
+	@Test
+	public void testFilterOnColumnThatIsNotSelected() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.selectFields("name", "id");
+		settings.addFieldFilter("status", equalTo("ACTIVE"));
+
+		assertRows(parseCsv(settings, CSV),
+				new String[]{"first\nline", "1"},
+				new String[]{"third", "3"},
+				new String[]{"fifth", "5"});
+
+		settings.setColumnReorderingEnabled(false);
+		assertRows(parseCsv(settings, CSV),
+				new String[]{"1", "first\nline", null},
+				new String[]{"3", "third", null},
+				new String[]{"5", "fifth", null});
+	}
+
+	@Test
+	public void testFirstRecordFilteredWithoutHeaders() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.addFieldFilter(0, startsWith("a"));
+
+		assertRows(parseCsv(settings, "b1,x\nab,y\nb2,z\nabc\n"),
+				new String[]{"ab", "y"},
+				new String[]{"abc"});
+
+		assertRows(parseCsv(settings, "ab,x\nb1,y\n"),
+				new String[]{"ab", "x"});
+	}
+
+	@Test
+	public void testAbsentValuesAreFiltered() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.addFieldFilter(2, new FieldFilter() {
+			@Override
+			public boolean accept(CharSequence value) {
+				return value == null;
+			}
+		});
+
+		assertRows(parseCsv(settings, CSV), new String[]{"4", "fourth"});
+	}
+
+	@Test(expectedExceptions = TextParsingException.class)
+	public void testUnknownHeaderName() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.addFieldFilter("unknown", equalTo("x"));
+		parseCsv(settings, CSV);
+	}
+
+	@Test
+	public void testFilterWithFieldViews() {
+		final List<String> names = new ArrayList<String>();
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.addFieldFilter(2, equalTo("ACTIVE"));
+		settings.setProcessor(new AbstractCharSequenceRowProcessor() {
+			@Override
+			public void rowProcessed(CharSequence[] row, ParsingContext context) {
+				names.add(row[1].toString());
+			}
+		});
+		parseCsv(settings, CSV);
+
+		assertEquals(names, Arrays.asList("first\nline", "third", "fifth"));
+	}
+
+	@Test
+	public void testTsvAndFixedWidthFilters() {
+		TsvParserSettings tsvSettings = new TsvParserSettings();
+		tsvSettings.getFormat().setLineSeparator("\n");
+		tsvSettings.addFieldFilter(1, equalTo("keep"));
+		List<String[]> rows = new TsvParser(tsvSettings).parseAll(new StringReader("a\tkeep\tx\nb\tdrop\ty\\tz\nc\tkeep\n"));
+		assertRows(rows, new String[]{"a", "keep", "x"}, new String[]{"c", "keep"});
+
+		FixedWidthParserSettings fixedSettings = new FixedWidthParserSettings(new FixedWidthFields(3, 5, 2));
+		fixedSettings.getFormat().setLineSeparator("\n");
+		fixedSettings.addFieldFilter(0, startsWith("A"));
+		rows = new FixedWidthParser(fixedSettings).parseAll(new StringReader("A1 hello01\nB2 world02\nA3 again03\n"));
+		assertRows(rows, new String[]{"A1", "hello", "01"}, new String[]{"A3", "again", "03"});
+	}
+}
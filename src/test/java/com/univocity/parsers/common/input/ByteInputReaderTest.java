@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class ByteInputReaderTest {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private String readAll(ByteInputReader reader) {
+		StringBuilder out = new StringBuilder();
+		try {
+			while (true) {
+				out.append(reader.nextChar());
+			}
+		} catch (EOFException ex) {
+			//pass
+		}
+		return out.toString();
+	}
+
+	@DataProvider
+	private Object[][] getBufferSizes() {
+		return new Object[][]{
+				{4},
+				{5},
+				{7},
+				{1024},
+		};
+	}
+
+	@Test(dataProvider = "getBufferSizes")
+	public void testDecoding(int bufferSize) throws Exception {
+		String content = "ação\n€€,中文\n😀z";
+
+		ByteInputReader reader = new ByteInputReader("\n".toCharArray(), '\n', bufferSize, -1);
+		reader.start(new ByteArrayInputStream(content.getBytes(UTF_8)));
+		assertEquals(readAll(reader), content);
+		assertEquals(reader.lineCount(), 3);
+	}
+
+	@Test
+	public void testMalformedInput() throws Exception {
+		byte[] input = new byte[]{'a', (byte) 0xC3, 'b', (byte) 0xFF, 'c', (byte) 0xE2, (byte) 0x82};
+
+		ByteInputReader reader = new ByteInputReader("\n".toCharArray(), '\n', 16, -1);
+		reader.start(new ByteArrayInputStream(input));
+		assertEquals(readAll(reader), "a�b�c�");
+	}
+
+	private static String decodeWithReader(byte[] input) throws IOException {
+		Reader reader = new InputStreamReader(new ByteArrayInputStream(input), UTF_8);
+		StringBuilder out = new StringBuilder();
+		char[] chars = new char[64];
+		for (int read = reader.read(chars); read != -1; read = reader.read(chars)) {
+			out.append(chars, 0, read);
+		}
+		return out.toString();
+	}
+
+	@Test
+	public void testMalformedSequencesMatchInputStreamReader() throws Exception {
+		byte[][] inputs = new byte[][]{
+				{(byte) 0xC0, (byte) 0xAF, 'a'},
+				{(byte) 0xE0, (byte) 0x80, (byte) 0xAF, 'a'},
+				{(byte) 0xF0, (byte) 0x80, (byte) 0x80, (byte) 0xAF, 'a'},
+				{(byte) 0xF5, (byte) 0x80, (byte) 0x80, (byte) 0x80, 'a'},
+				{(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80, 'a'},
+				{(byte) 0xED, (byte) 0xA0, (byte) 0x80, 'a'},
+				{(byte) 0xE2, (byte) 0x82, 'a', (byte) 0xF0, (byte) 0x9F, (byte) 0x98},
+		};
+		for (byte[] input : inputs) {
+			ByteInputReader reader = new ByteInputReader("\n".toCharArray(), '\n', 16, -1);
+			reader.start(new ByteArrayInputStream(input));
+			assertEquals(readAll(reader), decodeWithReader(input), Arrays.toString(input));
+		}
+	}
+
+	@Test
+	public void testRandomBytesMatchInputStreamReader() throws Exception {
+		Random random = new Random(4321);
+		int[] interesting = new int[]{'a', '\n', 0x7F, 0x80, 0x8F, 0x90, 0x9F, 0xA0, 0xBF, 0xC0, 0xC1, 0xC2, 0xDF, 0xE0, 0xE2, 0xED, 0xEF, 0xF0, 0xF4, 0xF5, 0xF7, 0xF8, 0xFF};
+
+		for (int i = 0; i < 5000; i++) {
+			byte[] input = new byte[random.nextInt(20)];
+			for (int j = 0; j < input.length; j++) {
+				input[j] = (byte) (random.nextInt(4) == 0 ? random.nextInt(256) : interesting[random.nextInt(interesting.length)]);
+			}
+
+			ByteInputReader reader = new ByteInputReader("\n".toCharArray(), '\n', 4 + random.nextInt(8), -1);
+			reader.start(new ByteArrayInputStream(input));
+			assertEquals(readAll(reader), decodeWithReader(input), Arrays.toString(input));
+		}
+	}
+
+	@Test
+	public void testHighBitBytesInAsciiInput() throws Exception {
+		byte[] input = new byte[]{'a', (byte) 0xC3, (byte) 0xA7, 'b', (byte) 0xFF, '\n', 'c'};
+		Charset ascii = Charset.forName("US-ASCII");
+
+		Reader expected = new InputStreamReader(new ByteArrayInputStream(input), ascii);
+		char[] chars = new char[16];
+		String decoded = new String(chars, 0, expected.read(chars));
+		assertEquals(decoded, "a\uFFFD\uFFFDb\uFFFD\nc");
+
+		ByteInputReader reader = new ByteInputReader("\n".toCharArray(), '\n', 4, -1);
+		reader.start(new ByteArrayInputStream(input), ascii);
+		assertEquals(readAll(reader), decoded);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setByteInputEnabled(true);
+		List<String[]> rows = new CsvParser(settings).parseAll(new ByteArrayInputStream(input), ascii);
+		assertEquals(rows.size(), 2);
+		assertEquals(rows.get(0), new String[]{"a\uFFFD\uFFFDb\uFFFD"});
+	}
+
+	@Test
+	public void testParseWithByteInput() throws Exception {
+		StringBuilder content = new StringBuilder("A,B,C\n");
+		for (int i = 0; i < 1000; i++) {
+			content.append(i).append(",\"ção ").append(i).append("\",C").append(i).append('\n');
+		}
+		byte[] bytes = content.toString().getBytes(UTF_8);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setInputBufferSize(100);
+		List<String[]> expected = new CsvParser(settings).parseAll(new ByteArrayInputStream(bytes), UTF_8);
+
+		settings.setByteInputEnabled(true);
+		List<String[]> decoded = new CsvParser(settings).parseAll(new ByteArrayInputStream(bytes), UTF_8);
+
+		assertEquals(decoded.size(), 1001);
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(decoded.get(i), expected.get(i));
+		}
+	}
+
+	@Test
+	public void testParseWithBom() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(BomInput.UTF_8_BOM);
+		out.write("a,b\nç,d".getBytes(UTF_8));
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setByteInputEnabled(true);
+		List<String[]> rows = new CsvParser(settings).parseAll(new ByteArrayInputStream(out.toByteArray()));
+
+		assertEquals(rows.size(), 2);
+		assertEquals(rows.get(0), new String[]{"a", "b"});
+		assertEquals(rows.get(1), new String[]{"ç", "d"});
+	}
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.fixed.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class DefaultBufferPoolTest {
+
+	private static class CountingBufferPool extends DefaultBufferPool {
+		int leased;
+		int released;
+		int allocated;
+
+		@Override
+		public char[] lease(int length) {
+			leased++;
+			if (getAvailableBuffers() == 0) {
+				allocated++;
+			}
+			return super.lease(length);
+		}
+
+		@Override
+		public void release(char[] buffer) {
+			released++;
+			super.release(buffer);
+		}
+	}
+
+	@Test
+	public void testLeaseAndRelease() {
+		DefaultBufferPool pool = new DefaultBufferPool(2);
+		char[] a = pool.lease(10);
+		char[] b = pool.lease(10);
+		char[] c = pool.lease(10);
+		char[] d = pool.lease(20);
+		assertEquals(a.length, 10);
+		assertEquals(d.length, 20);
+
+		pool.release(a);
+		pool.release(b);
+		pool.release(c);
+		pool.release(d);
+		assertEquals(pool.getAvailableBuffers(), 3);
+
+		assertSame(pool.lease(20), d);
+		char[] reused = pool.lease(10);
+		assertTrue(reused == a || reused == b);
+		assertEquals(pool.getAvailableBuffers(), 1);
+		assertEquals(pool.lease(5).length, 5);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testInvalidPoolSize() {
+		new DefaultBufferPool(0);
+	}
+
+	@Test
+	public void testBuffersSharedAmongParsers() {
+		CountingBufferPool pool = new CountingBufferPool();
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setReadInputOnSeparateThread(false);
+		settings.setBufferPool(pool);
+		settings.setInputBufferSize(16);
+		settings.setMaxCharsPerColumn(64);
+
+		for (int i = 0; i < 5; i++) {
+			CsvParser parser = new CsvParser(settings);
+			List<String[]> rows = parser.parseAll(new StringReader("a,\"b\nc\"\n" + i + ",some longer value to reload the buffer\n"));
+			assertEquals(rows.size(), 2);
+			assertEquals(rows.get(0), new String[]{"a", "b\nc"});
+			assertEquals(rows.get(1), new String[]{String.valueOf(i), "some longer value to reload the buffer"});
+			assertEquals(pool.leased, pool.released);
+		}
+		assertEquals(pool.leased, 10);
+		assertEquals(pool.allocated, 2);
+		assertEquals(pool.getAvailableBuffers(), 2);
+	}
+
+	@Test
+	public void testParserReusedAfterRelease() {
+		CountingBufferPool pool = new CountingBufferPool();
+
+		FixedWidthFields fields = new FixedWidthFields(3, 4);
+		FixedWidthParserSettings settings = new FixedWidthParserSettings(fields);
+		settings.getFormat().setLineSeparator("\n");
+		settings.setReadInputOnSeparateThread(false);
+		settings.setBufferPool(pool);
+
+		FixedWidthParser parser = new FixedWidthParser(settings);
+		parser.beginParsing(new StringReader("abc1234\ndef5678\n"));
+		assertEquals(parser.parseNext(), new String[]{"abc", "1234"});
+		parser.stopParsing();
+		parser.stopParsing();
+		assertEquals(pool.getAvailableBuffers(), 2);
+
+		assertEquals(parser.parseAll(new StringReader("ghi9\n")).get(0), new String[]{"ghi", "9"});
+		assertEquals(pool.leased, pool.released);
+		assertEquals(pool.getAvailableBuffers(), 2);
+	}
+}
@@ -65,4 +65,48 @@ public class DefaultCharInputReaderTest {
 		assertEquals('\n', reader.nextChar());
 		assertEOF(reader);
 	}
+
+	@Test
+	public void testAppendUntilAcrossBuffers() {
+		DefaultCharInputReader reader = new DefaultCharInputReader("\r\n".toCharArray(), '\n', 3, -1);
+		reader.start(new StringReader("abcdefg\r\nhij\rkl,mnopq\"r"));
+
+		DefaultCharAppender appender = new DefaultCharAppender(100, null, -1);
+		char ch = appender.appendUntil(reader.nextChar(), reader, ',', '"');
+		assertEquals(ch, ',');
+		assertEquals(appender.getAndReset(), "abcdefg\nhij\rkl");
+		assertEquals(reader.lineCount(), 1);
+		assertEquals(reader.charCount(), 16);
+
+		ch = appender.appendUntil(reader.nextChar(), reader, ',', '"', '\n');
+		assertEquals(ch, '"');
+		assertEquals(appender.getAndReset(), "mnopq");
+
+		try {
+			appender.appendUntil(reader.nextChar(), reader, ',');
+			fail("Expected EOFException");
+		} catch (EOFException ex) {
+			assertEquals(appender.getAndReset(), "r");
+		}
+	}
+
+	@Test
+	public void testAppendUntilExpandsAppender() {
+		DefaultCharInputReader reader = new DefaultCharInputReader("\n".toCharArray(), '\n', 16, -1);
+		reader.start(new StringReader("abcdefghijklmn,x"));
+
+		ExpandingCharAppender appender = new ExpandingCharAppender(4, null, -1);
+		assertEquals(appender.appendUntil(reader.nextChar(), reader, ','), ',');
+		assertEquals(appender.getAndReset(), "abcdefghijklmn");
+
+		DefaultCharAppender limited = new DefaultCharAppender(4, null, -1);
+		reader.start(new StringReader("abcdefghijklmn,x"));
+		try {
+			limited.appendUntil(reader.nextChar(), reader, ',');
+			fail("Expected ArrayIndexOutOfBoundsException");
+		} catch (ArrayIndexOutOfBoundsException e) {
+			assertEquals(reader.getChar(), 'e');
+			assertEquals(limited.length(), 5);
+		}
+	}
 }
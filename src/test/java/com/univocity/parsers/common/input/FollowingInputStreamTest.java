@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class FollowingInputStreamTest {
+
+	private File createFile() throws IOException {
+		File file = File.createTempFile("followed", ".csv");
+		file.deleteOnExit();
+		return file;
+	}
+
+	private static void append(File file, byte[] content) {
+		try {
+			FileOutputStream out = new FileOutputStream(file, true);
+			try {
+				out.write(content);
+			} finally {
+				out.close();
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Thread appendLater(final File file, final byte[]... parts) {
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				try {
+					for (byte[] part : parts) {
+						Thread.sleep(50);
+						append(file, part);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		thread.start();
+		return thread;
+	}
+
+	private CsvParserSettings followingSettings(long timeout) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setHeaderExtractionEnabled(true);
+		settings.setFileFollowingEnabled(true);
+		settings.setFileFollowingPollInterval(5);
+		settings.setFileFollowingTimeout(timeout);
+		return settings;
+	}
+
+	@Test
+	public void testFollowGrowingFile() throws Exception {
+		File file = createFile();
+		append(file, "id,name\n1,first\n2,\"sec".getBytes("UTF-8"));
+
+		byte[] multiByte = "ção".getBytes("UTF-8");
+		Thread writer = appendLater(file,
+				"ond\"\n3,\"multi\nline\"\n4,".getBytes("UTF-8"),
+				Arrays.copyOfRange(multiByte, 0, 2),
+				Arrays.copyOfRange(multiByte, 2, multiByte.length),
+				"\n5,unfinish".getBytes("UTF-8"));
+
+		CsvParser parser = new CsvParser(followingSettings(500));
+		parser.beginParsing(file, "UTF-8");
+
+		List<String[]> rows = new ArrayList<String[]>();
+		String[] row;
+		while ((row = parser.parseNext()) != null) {
+			rows.add(row);
+		}
+		writer.join();
+
+		assertEquals(rows.size(), 4);
+		assertEquals(rows.get(0), new String[]{"1", "first"});
+		assertEquals(rows.get(1), new String[]{"2", "second"});
+		assertEquals(rows.get(2), new String[]{"3", "multi\nline"});
+		assertEquals(rows.get(3), new String[]{"4", "ção"});
+		assertEquals(parser.getContext().headers(), new String[]{"id", "name"});
+
+		Checkpoint checkpoint = parser.checkpoint();
+		assertEquals(checkpoint.getRecordCount(), 4);
+
+		append(file, "ed\n6,last\n".getBytes("UTF-8"));
+		parser.beginParsing(file, null, checkpoint);
+		assertEquals(parser.parseNext(), new String[]{"5", "unfinished"});
+		assertEquals(parser.getContext().currentRecord(), 5);
+		assertEquals(parser.parseNext(), new String[]{"6", "last"});
+		assertNull(parser.parseNext());
+	}
+
+	@Test(timeOut = 10000)
+	public void testStopFollowing() throws Exception {
+		File file = createFile();
+		append(file, "id,name\n1,first\n".getBytes("UTF-8"));
+
+		final CsvParser parser = new CsvParser(followingSettings(-1));
+		parser.beginParsing(file);
+		assertEquals(parser.parseNext(), new String[]{"1", "first"});
+
+		Thread writer = appendLater(file, "2,second\n".getBytes("UTF-8"));
+		writer.join();
+		assertEquals(parser.parseNext(), new String[]{"2", "second"});
+
+		new Thread() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				parser.stopFollowing();
+			}
+		}.start();
+
+		assertNull(parser.parseNext());
+		assertEquals(parser.getContext().currentRecord(), 2);
+	}
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class MappedCharInputReaderTest {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private File createFile(byte[] bom, String content) throws IOException {
+		File file = File.createTempFile("mapped", ".csv");
+		file.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			if (bom != null) {
+				out.write(bom);
+			}
+			out.write(content.getBytes(UTF_8));
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	private String readAll(MappedCharInputReader reader) {
+		StringBuilder out = new StringBuilder();
+		try {
+			while (true) {
+				out.append(reader.nextChar());
+			}
+		} catch (EOFException ex) {
+			//pass
+		}
+		return out.toString();
+	}
+
+	@DataProvider
+	private Object[][] getWindowSizes() {
+		return new Object[][]{
+				{4},
+				{5},
+				{7},
+				{1024},
+		};
+	}
+
+	@Test(dataProvider = "getWindowSizes")
+	public void testMultiByteCharactersAcrossWindows(int windowSize) throws Exception {
+		String content = "ação\n€€,中文\nz";
+		File file = createFile(null, content);
+
+		MappedCharInputReader reader = new MappedCharInputReader("\n".toCharArray(), '\n', 3, windowSize, -1);
+		reader.start(file, UTF_8);
+		assertEquals(readAll(reader), content);
+		assertEquals(reader.lineCount(), 3);
+	}
+
+	@Test
+	public void testBomDetection() throws Exception {
+		File file = createFile(BomInput.UTF_8_BOM, "éa,b\n");
+
+		MappedCharInputReader reader = new MappedCharInputReader("\n".toCharArray(), '\n', 16, 8, -1);
+		reader.start(file, null);
+		assertEquals(readAll(reader), "éa,b\n");
+
+		reader.start(file, UTF_8);
+		assertEquals(readAll(reader), "éa,b\n");
+	}
+
+	@Test
+	public void testEmptyFile() throws Exception {
+		File file = createFile(null, "");
+
+		MappedCharInputReader reader = new MappedCharInputReader("\n".toCharArray(), '\n', 16, -1);
+		reader.start(file, UTF_8);
+		assertEquals(readAll(reader), "");
+	}
+
+	/**
+	 * Decodes ASCII and produces a few more characters when flushed, like stateful decoders do.
+	 */
+	private static final class FlushingCharset extends Charset {
+
+		private static final String SUFFIX = "xyz";
+
+		FlushingCharset() {
+			super("x-flushing-test", null);
+		}
+
+		@Override
+		public boolean contains(Charset cs) {
+			return false;
+		}
+
+		@Override
+		public CharsetDecoder newDecoder() {
+			return new CharsetDecoder(this, 1f, 1f) {
+				private int flushed;
+
+				@Override
+				protected CoderResult decodeLoop(ByteBuffer in, CharBuffer out) {
+					while (in.hasRemaining()) {
+						if (!out.hasRemaining()) {
+							return CoderResult.OVERFLOW;
+						}
+						out.put((char) in.get());
+					}
+					return CoderResult.UNDERFLOW;
+				}
+
+				@Override
+				protected CoderResult implFlush(CharBuffer out) {
+					while (flushed < SUFFIX.length()) {
+						if (!out.hasRemaining()) {
+							return CoderResult.OVERFLOW;
+						}
+						out.put(SUFFIX.charAt(flushed++));
+					}
+					return CoderResult.UNDERFLOW;
+				}
+
+				@Override
+				protected void implReset() {
+					flushed = 0;
+				}
+			};
+		}
+
+		@Override
+		public CharsetEncoder newEncoder() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	@Test
+	public void testFlushLargerThanBuffer() throws Exception {
+		File file = createFile(null, "ab");
+
+		MappedCharInputReader reader = new MappedCharInputReader("\n".toCharArray(), '\n', 2, 4, -1);
+		reader.start(file, new FlushingCharset());
+		assertEquals(readAll(reader), "abxyz");
+	}
+
+	@Test
+	public void testParseMappedFile() throws Exception {
+		StringBuilder content = new StringBuilder("A,B,C\n");
+		for (int i = 0; i < 1000; i++) {
+			content.append(i).append(",\"ção ").append(i).append("\",C").append(i).append('\n');
+		}
+		File file = createFile(null, content.toString());
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setInputBufferSize(100);
+		List<String[]> expected = new CsvParser(settings).parseAll(file, UTF_8);
+
+		settings.setMemoryMappedInputEnabled(true);
+		List<String[]> mapped = new CsvParser(settings).parseAll(file, UTF_8);
+
+		assertEquals(mapped.size(), 1001);
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(mapped.get(i), expected.get(i));
+		}
+		assertEquals(mapped.get(1000), new String[]{"999", "ção 999", "C999"});
+	}
+}
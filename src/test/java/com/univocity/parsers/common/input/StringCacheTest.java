@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.tsv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class StringCacheTest {
+
+	@Test
+	public void testReturnsCanonicalInstances() {
+		StringCache cache = new StringCache(4);
+		char[] chars = "xxUSAxxBRAxx".toCharArray();
+
+		String usa = cache.get(chars, 2, 3);
+		assertEquals(usa, "USA");
+		assertSame(cache.get(chars, 2, 3), usa);
+		assertSame(cache.get(new String("USA")), usa);
+
+		String bra = cache.get(new String("BRA"));
+		assertSame(cache.get(chars, 7, 3), bra);
+		assertEquals(cache.size(), 2);
+	}
+
+	@Test
+	public void testBoundedSize() {
+		StringCache cache = new StringCache(8);
+		for (int i = 0; i < 100; i++) {
+			cache.get(String.valueOf(i % 50));
+		}
+		assertTrue(cache.size() <= 8);
+		assertTrue(cache.isEnabled());
+	}
+
+	@Test
+	public void testDisabledForHighCardinality() {
+		StringCache cache = new StringCache(16);
+		for (int i = 0; i < 2048; i++) {
+			char[] value = String.valueOf(i).toCharArray();
+			assertEquals(cache.get(value, 0, value.length), String.valueOf(i));
+		}
+		assertFalse(cache.isEnabled());
+		assertEquals(cache.size(), 0);
+	}
+
+	@Test
+	public void testParsersDeduplicateSelectedColumns() {
+		StringBuilder input = new StringBuilder("id,country,name\n");
+		for (int i = 0; i < 100; i++) {
+			input.append(i).append(',').append(i % 2 == 0 ? "AU" : "\"NZ\"").append(",name").append(i % 3).append('\n');
+		}
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.deduplicateValuesOf("Country");
+		settings.deduplicateValuesOf(2);
+		List<String[]> rows = new CsvParser(settings).parseAll(new StringReader(input.toString()));
+
+		assertEquals(rows.size(), 100);
+		for (int i = 2; i < rows.size(); i++) {
+			assertEquals(rows.get(i)[1], i % 2 == 0 ? "AU" : "NZ");
+			assertSame(rows.get(i)[1], rows.get(i - 2)[1]);
+			assertEquals(rows.get(i)[2], "name" + (i % 3));
+			if (i >= 3) {
+				assertSame(rows.get(i)[2], rows.get(i - 3)[2]);
+			}
+			assertNotSame(rows.get(i)[0], rows.get(i - 2)[0]);
+		}
+
+		TsvParserSettings tsvSettings = new TsvParserSettings();
+		tsvSettings.deduplicateValuesOf(0);
+		rows = new TsvParser(tsvSettings).parseAll(new StringReader("a\tb\na\tb\n"));
+		assertSame(rows.get(0)[0], rows.get(1)[0]);
+		assertNotSame(rows.get(0)[1], rows.get(1)[1]);
+	}
+}
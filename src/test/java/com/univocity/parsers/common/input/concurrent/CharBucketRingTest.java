@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input.concurrent;
+
+import org.testng.annotations.*;
+
+import java.io.*;
+
+import static org.testng.Assert.*;
+
+public class CharBucketRingTest {
+
+	@DataProvider
+	private Object[][] getBucketQuantities() {
+		return new Object[][]{
+				{1},
+				{2},
+				{10},
+		};
+	}
+
+	@Test(dataProvider = "getBucketQuantities")
+	public void testBucketsAreConsumedInOrder(int bucketQuantity) throws Exception {
+		final int total = 20000;
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < total; i++) {
+			input.append((char) ('a' + i % 26));
+		}
+
+		final CharBucketRing ring = new CharBucketRing(7, bucketQuantity);
+		final Reader reader = new StringReader(input.toString());
+		Thread producer = new Thread() {
+			@Override
+			public void run() {
+				try {
+					CharBucket bucket;
+					while ((bucket = ring.claim()) != null && bucket.fill(reader) != -1) {
+						ring.publish();
+					}
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				} finally {
+					ring.close();
+				}
+			}
+		};
+		producer.start();
+
+		StringBuilder out = new StringBuilder();
+		CharBucket bucket;
+		while ((bucket = ring.next()) != null) {
+			out.append(bucket.data, 0, bucket.length);
+		}
+		producer.join();
+
+		assertEquals(out.toString(), input.toString());
+	}
+
+	@Test
+	public void testCloseReleasesWaitingProducer() throws Exception {
+		final CharBucketRing ring = new CharBucketRing(4, 1);
+		assertNotNull(ring.claim());
+		ring.publish();
+
+		final Object[] claimed = new Object[]{"not claimed"};
+		Thread producer = new Thread() {
+			@Override
+			public void run() {
+				claimed[0] = ring.claim();
+			}
+		};
+		producer.start();
+		ring.close();
+		producer.join(5000);
+
+		assertFalse(producer.isAlive());
+		assertNull(claimed[0]);
+		assertNotNull(ring.next());
+		assertNull(ring.next());
+	}
+}
@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.annotations.*;
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class ArrowStreamProcessorTest {
+
+	public static class Sale {
+		@Parsed
+		int id;
+
+		@Parsed
+		Long amount;
+
+		@Parsed
+		double price;
+
+		@Parsed
+		String name;
+	}
+
+	private static final String INPUT = "" +
+			"id,amount,price,name" +
+			"\n1,10,1.5,a" +
+			"\n2,,2.25," +
+			"\n3,30000000000,3,ççç";
+
+	/**
+	 * Minimal reader of Arrow IPC stream messages, used to validate the output.
+	 */
+	private static final class Message {
+		final ByteBuffer buffer;
+		final int header;
+		final int headerType;
+		final byte[] body;
+
+		Message(ByteBuffer in) {
+			assertEquals(in.getInt(), -1);
+			int length = in.getInt();
+			if (length == 0) {
+				buffer = null;
+				header = headerType = -1;
+				body = null;
+				return;
+			}
+			assertEquals((in.position() + length) % 8, 0);
+			byte[] metadata = new byte[length];
+			in.get(metadata);
+			buffer = ByteBuffer.wrap(metadata).order(ByteOrder.LITTLE_ENDIAN);
+
+			int message = buffer.getInt(0);
+			assertEquals(buffer.getShort(field(message, 0)), 4);
+			headerType = buffer.get(field(message, 1));
+			header = deref(field(message, 2));
+			long bodyLength = buffer.getLong(field(message, 3));
+			assertEquals(bodyLength % 8, 0);
+			body = new byte[(int) bodyLength];
+			in.get(body);
+		}
+
+		int field(int table, int index) {
+			int vtable = table - buffer.getInt(table);
+			int vtableLength = buffer.getShort(vtable);
+			int offset = 4 + index * 2 < vtableLength ? buffer.getShort(vtable + 4 + index * 2) : 0;
+			return offset == 0 ? -1 : table + offset;
+		}
+
+		int deref(int position) {
+			return position + buffer.getInt(position);
+		}
+
+		String string(int position) {
+			int start = deref(position);
+			byte[] bytes = new byte[buffer.getInt(start)];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = buffer.get(start + 4 + i);
+			}
+			return new String(bytes);
+		}
+
+		int vectorLength(int position) {
+			return buffer.getInt(deref(position));
+		}
+
+		int vectorElement(int position, int index, int elementSize) {
+			return deref(position) + 4 + index * elementSize;
+		}
+	}
+
+	private List<Object[]> readBatch(Message message, String[] types) {
+		assertEquals(message.headerType, 3);
+		int rows = (int) message.buffer.getLong(message.field(message.header, 0));
+		int nodes = message.field(message.header, 1);
+		int buffers = message.field(message.header, 2);
+		assertEquals(message.vectorLength(nodes), types.length);
+
+		ByteBuffer body = ByteBuffer.wrap(message.body).order(ByteOrder.LITTLE_ENDIAN);
+		List<Object[]> out = new ArrayList<Object[]>();
+		for (int i = 0; i < rows; i++) {
+			out.add(new Object[types.length]);
+		}
+
+		int b = 0;
+		for (int c = 0; c < types.length; c++) {
+			int node = message.vectorElement(nodes, c, 16);
+			assertEquals(message.buffer.getLong(node), rows);
+			long nullCount = message.buffer.getLong(node + 8);
+
+			int validity = message.vectorElement(buffers, b++, 16);
+			int validityOffset = (int) message.buffer.getLong(validity);
+			long validityLength = message.buffer.getLong(validity + 8);
+			assertEquals(validityLength == 0, nullCount == 0);
+
+			int data = (int) message.buffer.getLong(message.vectorElement(buffers, b++, 16));
+			int stringData = types[c].equals("Utf8") ? (int) message.buffer.getLong(message.vectorElement(buffers, b++, 16)) : 0;
+			assertEquals(data % 8, 0);
+
+			for (int i = 0; i < rows; i++) {
+				if (validityLength > 0 && (body.get(validityOffset + (i >> 3)) & (1 << (i & 7))) == 0) {
+					continue;
+				}
+				Object value;
+				if (types[c].equals("Int32")) {
+					value = body.getInt(data + i * 4);
+				} else if (types[c].equals("Int64")) {
+					value = body.getLong(data + i * 8);
+				} else if (types[c].equals("Double")) {
+					value = body.getDouble(data + i * 8);
+				} else {
+					int start = body.getInt(data + i * 4);
+					int end = body.getInt(data + i * 4 + 4);
+					try {
+						value = new String(message.body, stringData + start, end - start, "UTF-8");
+					} catch (UnsupportedEncodingException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+				out.get(i)[c] = value;
+			}
+		}
+		return out;
+	}
+
+	private String describeSchema(Message message) {
+		assertEquals(message.headerType, 1);
+		int fields = message.field(message.header, 1);
+		StringBuilder out = new StringBuilder();
+		for (int i = 0; i < message.vectorLength(fields); i++) {
+			int field = message.deref(message.vectorElement(fields, i, 4));
+			assertEquals(message.buffer.get(message.field(field, 1)), 1);
+			assertEquals(message.vectorLength(message.field(field, 5)), 0);
+			int typeType = message.buffer.get(message.field(field, 2));
+			int type = message.deref(message.field(field, 3));
+			String typeName;
+			if (typeType == 2) {
+				typeName = "Int" + message.buffer.getInt(message.field(type, 0));
+				assertEquals(message.buffer.get(message.field(type, 1)), 1);
+			} else if (typeType == 3) {
+				assertEquals(message.buffer.getShort(message.field(type, 0)), 2);
+				typeName = "Double";
+			} else {
+				assertEquals(typeType, 5);
+				typeName = "Utf8";
+			}
+			out.append(message.string(message.field(field, 0))).append(':').append(typeName).append(';');
+		}
+		return out.toString();
+	}
+
+	@Test
+	public void testColumnTypesFromAnnotatedClass() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ArrowStreamProcessor processor = new ArrowStreamProcessor(out, 2);
+		processor.setColumnTypes(Sale.class);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setRowProcessor(processor);
+		new CsvParser(settings).parse(new StringReader(INPUT));
+
+		ByteBuffer in = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(describeSchema(new Message(in)), "id:Int32;amount:Int64;price:Double;name:Utf8;");
+
+		String[] types = new String[]{"Int32", "Int64", "Double", "Utf8"};
+		List<Object[]> rows = readBatch(new Message(in), types);
+		assertEquals(rows.size(), 2);
+		assertEquals(rows.get(0), new Object[]{1, 10L, 1.5, "a"});
+		assertEquals(rows.get(1), new Object[]{2, null, 2.25, null});
+
+		rows = readBatch(new Message(in), types);
+		assertEquals(rows.size(), 1);
+		assertEquals(rows.get(0), new Object[]{3, 30000000000L, 3.0, "ççç"});
+
+		assertNull(new Message(in).buffer);
+		assertFalse(in.hasRemaining());
+	}
+
+	@Test
+	public void testUndeclaredColumnsWrittenAsStrings() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ArrowStreamProcessor processor = new ArrowStreamProcessor(out, 10);
+		processor.setColumnType("id", com.univocity.parsers.common.processor.core.ColumnType.INT);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setRowProcessor(processor);
+		new CsvParser(settings).parse(new StringReader(INPUT));
+
+		ByteBuffer in = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(describeSchema(new Message(in)), "id:Int32;amount:Utf8;price:Utf8;name:Utf8;");
+		List<Object[]> rows = readBatch(new Message(in), new String[]{"Int32", "Utf8", "Utf8", "Utf8"});
+		assertEquals(rows.size(), 3);
+		assertEquals(rows.get(2), new Object[]{3, "30000000000", "3", "ççç"});
+		assertNull(new Message(in).buffer);
+	}
+
+	@Test
+	public void testEmptyInput() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ArrowStreamProcessor processor = new ArrowStreamProcessor(out, 10);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setRowProcessor(processor);
+		new CsvParser(settings).parse(new StringReader("a,b\n"));
+
+		ByteBuffer in = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(describeSchema(new Message(in)), "a:Utf8;b:Utf8;");
+		assertNull(new Message(in).buffer);
+	}
+}
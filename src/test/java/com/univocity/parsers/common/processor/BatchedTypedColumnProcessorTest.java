@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.processor.core.*;
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class BatchedTypedColumnProcessorTest {
+
+	private static final String INPUT = "" +
+			"id,amount,price,name" +
+			"\n1,10,1.5,a" +
+			"\n2,,2,b" +
+			"\n3,3000000000,x,a" +
+			"\n4,40,4.25,,extra";
+
+	@Test
+	public void testInferredColumnTypes() {
+		final List<String> batches = new ArrayList<String>();
+
+		BatchedTypedColumnProcessor processor = new BatchedTypedColumnProcessor(2) {
+			@Override
+			public void batchProcessed(int rowsInThisBatch) {
+				StringBuilder out = new StringBuilder();
+				for (TypedColumn column : getColumns()) {
+					assertEquals(column.size(), rowsInThisBatch);
+					out.append(column.getType());
+					for (int i = 0; i < column.size(); i++) {
+						out.append(' ').append(column.getString(i));
+					}
+					out.append(';');
+				}
+				batches.add(out.toString());
+			}
+		};
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setRowProcessor(processor);
+		new CsvParser(settings).parse(new StringReader(INPUT));
+
+		assertEquals(batches.size(), 2);
+		assertEquals(batches.get(0), "INT 1 2;INT 10 null;DOUBLE 1.5 2.0;STRING a b;");
+		assertEquals(batches.get(1), "INT 3 4;LONG 3000000000 40;STRING x 4.25;STRING a null;STRING null extra;");
+		assertEquals(processor.getHeaders(), new String[]{"id", "amount", "price", "name"});
+	}
+
+	@Test
+	public void testDeclaredColumnTypes() {
+		final long[] sum = new long[1];
+		final int[] nulls = new int[1];
+
+		BatchedTypedColumnProcessor processor = new BatchedTypedColumnProcessor(100) {
+			@Override
+			public void batchProcessed(int rowsInThisBatch) {
+				TypedColumn column = getColumn("value");
+				assertEquals(column.getType(), ColumnType.LONG);
+				long[] values = column.getLongs();
+				int nullsInBatch = 0;
+				for (int i = 0; i < rowsInThisBatch; i++) {
+					if (column.isNull(i)) {
+						nullsInBatch++;
+					} else {
+						sum[0] += values[i];
+					}
+				}
+				assertEquals(column.getNullCount(), nullsInBatch);
+				nulls[0] += nullsInBatch;
+
+				TypedColumn label = getColumn(1);
+				assertEquals(label.getType(), ColumnType.STRING);
+				assertEquals(label.getDictionary().length, 2);
+			}
+		};
+		processor.setColumnType("VALUE", ColumnType.LONG);
+		processor.setColumnType(1, ColumnType.STRING);
+
+		StringBuilder input = new StringBuilder("value,label\n");
+		long expectedSum = 0;
+		for (int i = 0; i < 250; i++) {
+			if (i % 3 == 0) {
+				input.append(",even\n");
+			} else {
+				input.append(i).append(',').append(i % 2 == 0 ? "even" : "odd").append('\n');
+				expectedSum += i;
+			}
+		}
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setRowProcessor(processor);
+		new CsvParser(settings).parse(new StringReader(input.toString()));
+
+		assertEquals(sum[0], expectedSum);
+		assertEquals(nulls[0], 84);
+		assertEquals(processor.getBatchesProcessed(), 2);
+	}
+
+	@Test
+	public void testInvalidValueForDeclaredType() {
+		BatchedTypedColumnProcessor processor = new BatchedTypedColumnProcessor(10) {
+			@Override
+			public void batchProcessed(int rowsInThisBatch) {
+			}
+		};
+		processor.setColumnType(0, ColumnType.INT);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setRowProcessor(processor);
+		try {
+			new CsvParser(settings).parse(new StringReader("1\n2.5\n"));
+			fail("Expected exception");
+		} catch (DataProcessingException e) {
+			assertEquals(e.getColumnIndex(), 0);
+			assertEquals(e.getValue(), "2.5");
+		}
+	}
+}
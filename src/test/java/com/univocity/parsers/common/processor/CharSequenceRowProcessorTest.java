@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.fixed.*;
+import com.univocity.parsers.tsv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class CharSequenceRowProcessorTest {
+
+	private static final String CSV = "" +
+			"a,b,c,d\n" +
+			"1, two ,\"three, \"\"3\"\"\",\n" +
+			"\n" +
+			",,  ,x\n" +
+			"4,5\n" +
+			"\"6\n6\",7,8,9";
+
+	private static class CollectingProcessor extends AbstractCharSequenceRowProcessor {
+		final List<String[]> rows = new ArrayList<String[]>();
+		final Set<CharSequence> views = Collections.newSetFromMap(new IdentityHashMap<CharSequence, Boolean>());
+
+		@Override
+		public void rowProcessed(CharSequence[] row, ParsingContext context) {
+			String[] values = new String[row.length];
+			for (int i = 0; i < row.length; i++) {
+				if (row[i] != null) {
+					values[i] = row[i].toString();
+					if (!(row[i] instanceof String)) {
+						views.add(row[i]);
+					}
+				}
+			}
+			rows.add(values);
+		}
+	}
+
+	private void assertRowsEqual(List<String[]> actual, List<String[]> expected) {
+		assertEquals(actual.size(), expected.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(actual.get(i), expected.get(i), "Row " + i);
+		}
+	}
+
+	private CsvParserSettings newCsvSettings() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setNullValue("?");
+		settings.setSkipEmptyLines(false);
+		return settings;
+	}
+
+	@DataProvider
+	private Object[][] getSelections() {
+		return new Object[][]{
+				{false, false, null},
+				{true, false, null},
+				{true, true, new String[]{"d", "b"}},
+				{true, false, new String[]{"d", "b"}},
+		};
+	}
+
+	@Test(dataProvider = "getSelections")
+	public void testViewsMatchParsedStrings(boolean extractHeaders, boolean reorder, String[] selection) {
+		CsvParserSettings settings = newCsvSettings();
+		settings.setHeaderExtractionEnabled(extractHeaders);
+		settings.setColumnReorderingEnabled(reorder);
+		if (selection != null) {
+			settings.selectFields(selection);
+		}
+		List<String[]> expected = new CsvParser(settings).parseAll(new StringReader(CSV));
+
+		CollectingProcessor processor = new CollectingProcessor();
+		settings.setProcessor(processor);
+		new CsvParser(settings).parse(new StringReader(CSV));
+
+		assertRowsEqual(processor.rows, expected);
+		assertFalse(processor.views.isEmpty());
+		assertTrue(processor.views.size() <= 4); //one view per column, reused across records
+	}
+
+	@Test
+	public void testViewsWithTsvAndFixedWidth() {
+		String tsv = "a\tb\n1\\t1\t2\n\t3\n";
+		TsvParserSettings tsvSettings = new TsvParserSettings();
+		tsvSettings.getFormat().setLineSeparator("\n");
+		List<String[]> expected = new TsvParser(tsvSettings).parseAll(new StringReader(tsv));
+
+		CollectingProcessor processor = new CollectingProcessor();
+		tsvSettings.setProcessor(processor);
+		new TsvParser(tsvSettings).parse(new StringReader(tsv));
+		assertRowsEqual(processor.rows, expected);
+
+		String fixed = "ab  cd\n1   22\n333 4\n";
+		FixedWidthParserSettings fixedSettings = new FixedWidthParserSettings(new FixedWidthFields(4, 2));
+		fixedSettings.getFormat().setLineSeparator("\n");
+		expected = new FixedWidthParser(fixedSettings).parseAll(new StringReader(fixed));
+
+		processor = new CollectingProcessor();
+		fixedSettings.setProcessor(processor);
+		new FixedWidthParser(fixedSettings).parse(new StringReader(fixed));
+		assertRowsEqual(processor.rows, expected);
+	}
+
+	@Test
+	public void testViewsAreOnlyValidUntilNextRecord() {
+		final List<CharSequence> firstValues = new ArrayList<CharSequence>();
+		CsvParserSettings settings = newCsvSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setProcessor(new AbstractCharSequenceRowProcessor() {
+			@Override
+			public void rowProcessed(CharSequence[] row, ParsingContext context) {
+				firstValues.add(row[0]);
+			}
+		});
+		new CsvParser(settings).parse(new StringReader("h\nvalue\nother\n"));
+
+		assertEquals(firstValues.size(), 2);
+		assertSame(firstValues.get(0), firstValues.get(1));
+		assertEquals(firstValues.get(1).toString(), "other");
+	}
+
+	@Test
+	public void testStringRowsFromParseNext() {
+		CollectingProcessor processor = new CollectingProcessor();
+		CsvParserSettings settings = newCsvSettings();
+		settings.setProcessor(processor);
+
+		CsvParser parser = new CsvParser(settings);
+		parser.beginParsing(new StringReader("a,b\nc,d"));
+		assertEquals(parser.parseNext(), new String[]{"a", "b"});
+		assertEquals(parser.parseNext(), new String[]{"c", "d"});
+		assertNull(parser.parseNext());
+
+		assertEquals(processor.rows.size(), 2);
+		assertTrue(processor.views.isEmpty());
+	}
+
+	@Test
+	public void testErrorsHoldCopiesOfValues() {
+		CsvParserSettings settings = newCsvSettings();
+		settings.setProcessor(new AbstractCharSequenceRowProcessor() {
+			@Override
+			public void rowProcessed(CharSequence[] row, ParsingContext context) {
+				if (context.currentRecord() == 2) {
+					throw new IllegalStateException("bad row");
+				}
+			}
+		});
+		try {
+			new CsvParser(settings).parse(new StringReader("a,b\nc,d\ne,f"));
+			fail("Expecting processing error");
+		} catch (DataProcessingException e) {
+			assertEquals(e.getRow(), new Object[]{"c", "d"});
+		}
+	}
+}
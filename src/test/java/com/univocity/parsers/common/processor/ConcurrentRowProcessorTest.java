@@ -16,11 +16,13 @@
 package com.univocity.parsers.common.processor;
 
 import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.processor.core.*;
 import com.univocity.parsers.csv.*;
 import org.testng.annotations.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.testng.Assert.*;
 
@@ -119,4 +121,147 @@ public class ConcurrentRowProcessorTest {
 		CsvParser parser = new CsvParser(settings);
 		parser.parse(reader);
 	}
+
+	private static class LowerCaseProcessor extends AbstractRowProcessor implements ParallelizableProcessor<ParsingContext> {
+		final List<String> values = new ArrayList<String>();
+
+		@Override
+		public Object prepareRow(String[] row, ParsingContext context) {
+			if (row[0].endsWith("7")) {
+				return null;
+			}
+			return row[0].toLowerCase();
+		}
+
+		@Override
+		public void rowPrepared(Object preparedRow, ParsingContext context) {
+			values.add((String) preparedRow);
+		}
+
+		@Override
+		public void rowProcessed(String[] row, ParsingContext context) {
+			Object prepared = prepareRow(row, context);
+			if (prepared != null) {
+				rowPrepared(prepared, context);
+			}
+		}
+	}
+
+	private CsvParser newParser(ConcurrentRowProcessor processor) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setHeaderExtractionEnabled(true);
+		settings.setProcessor(processor);
+		return new CsvParser(settings);
+	}
+
+	@DataProvider
+	private Object[][] getWorkerConfigurations() {
+		return new Object[][]{
+				{1, 1, -1},
+				{4, 1, -1},
+				{4, 16, -1},
+				{3, 128, 10},
+				{8, 50, 100},
+		};
+	}
+
+	@Test(dataProvider = "getWorkerConfigurations")
+	public void testOrderIsRestoredWithMultipleWorkers(int workers, int batchSize, int limit) {
+		LowerCaseProcessor processor = new LowerCaseProcessor();
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(processor, limit);
+		concurrent.setWorkerCount(workers);
+		concurrent.setBatchSize(batchSize);
+
+		newParser(concurrent).parse(new StringReader(input));
+
+		List<String> expected = new ArrayList<String>();
+		for (int i = 0; i < LINES; i++) {
+			if (i % 10 != 7) {
+				expected.add("a" + i);
+			}
+		}
+		assertEquals(processor.values, expected);
+	}
+
+	@Test
+	public void testUnorderedProcessingWithMultipleWorkers() {
+		LowerCaseProcessor processor = new LowerCaseProcessor();
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(processor, 20);
+		concurrent.setWorkerCount(4);
+		concurrent.setBatchSize(7);
+		concurrent.setOrderPreserved(false);
+
+		CsvParser parser = newParser(concurrent);
+		for (int run = 0; run < 2; run++) {
+			processor.values.clear();
+			parser.parse(new StringReader(input));
+
+			assertEquals(processor.values.size(), LINES - LINES / 10);
+			assertEquals(new HashSet<String>(processor.values).size(), processor.values.size());
+		}
+	}
+
+	@Test
+	public void testThreadSafeProcessorInvokedByMultipleWorkers() {
+		final Queue<String> values = new ConcurrentLinkedQueue<String>();
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(new AbstractRowProcessor() {
+			@Override
+			public void rowProcessed(String[] row, ParsingContext context) {
+				values.add(row[1]);
+			}
+		});
+		concurrent.setWorkerCount(3);
+		concurrent.setBatchSize(10);
+		concurrent.setOrderPreserved(false);
+
+		newParser(concurrent).parse(new StringReader(input));
+
+		assertEquals(values.size(), LINES);
+		assertEquals(new HashSet<String>(values).size(), LINES);
+	}
+
+	@Test
+	public void testRowDeliveredBeforeProcessEndedWithSingleWorker() throws Exception {
+		final CountDownLatch rowReceived = new CountDownLatch(1);
+		ConcurrentRowProcessor concurrentRowProcessor = new ConcurrentRowProcessor(new AbstractRowProcessor() {
+			@Override
+			public void rowProcessed(String[] row, ParsingContext context) {
+				rowReceived.countDown();
+			}
+		});
+		assertEquals(concurrentRowProcessor.getBatchSize(), 1);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setProcessor(concurrentRowProcessor);
+		CsvParser parser = new CsvParser(settings);
+		parser.beginParsing(new StringReader("a,b\nc,d\n"));
+		try {
+			assertNotNull(parser.parseNext());
+			assertTrue(rowReceived.await(10, TimeUnit.SECONDS), "Row not delivered before the end of the process");
+		} finally {
+			parser.stopParsing();
+		}
+	}
+
+	@Test
+	public void testErrorInWorker() {
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(new LowerCaseProcessor() {
+			@Override
+			public Object prepareRow(String[] row, ParsingContext context) {
+				if (row[0].equals("A1234")) {
+					throw new IllegalStateException("boom");
+				}
+				return super.prepareRow(row, context);
+			}
+		}, 10);
+		concurrent.setWorkerCount(4);
+
+		try {
+			newParser(concurrent).parse(new StringReader(input));
+			fail("Expecting error in worker thread to be reported");
+		} catch (DataProcessingException e) {
+			assertEquals(e.getCause().getMessage(), "boom");
+		}
+	}
 }
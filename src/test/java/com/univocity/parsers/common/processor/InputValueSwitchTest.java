@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class InputValueSwitchTest {
+
+	private static final String INPUT = "" +
+			"H01,a\n" +
+			"h01,b\n" +
+			"D99,c\n" +
+			"X1,d\n" +
+			"XYZ,e\n" +
+			"Z,f\n";
+
+	private void parse(InputValueSwitch valueSwitch) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setProcessor(valueSwitch);
+		new CsvParser(settings).parse(new StringReader(INPUT));
+	}
+
+	private static String rows(RowListProcessor processor) {
+		StringBuilder out = new StringBuilder();
+		for (String[] row : processor.getRows()) {
+			out.append(row[1]);
+		}
+		return out.toString();
+	}
+
+	@Test
+	public void testIndexedDispatchKeepsDeclarationOrder() {
+		RowListProcessor header = new RowListProcessor();
+		RowListProcessor detail = new RowListProcessor();
+		RowListProcessor startsWithX = new RowListProcessor();
+		RowListProcessor xyz = new RowListProcessor();
+		RowListProcessor other = new RowListProcessor();
+
+		InputValueSwitch valueSwitch = new InputValueSwitch(0);
+		for (int i = 0; i < 150; i++) {
+			valueSwitch.addSwitchForValue("R" + i, new RowListProcessor());
+		}
+		valueSwitch.addSwitchForValue("H01", header);
+		valueSwitch.addSwitchForValue("d99", detail);
+		valueSwitch.addSwitchForValue(new CustomMatcher() {
+			@Override
+			public boolean matches(String value) {
+				return value.startsWith("X") && value.length() == 2;
+			}
+		}, startsWithX);
+		valueSwitch.addSwitchForValue("X1", other);
+		valueSwitch.addSwitchForValue("XYZ", xyz);
+		valueSwitch.addSwitchForValue("H01", other);
+		valueSwitch.setDefaultSwitch(other);
+
+		parse(valueSwitch);
+
+		assertEquals(rows(header), "ab");
+		assertEquals(rows(detail), "c");
+		assertEquals(rows(startsWithX), "d");
+		assertEquals(rows(xyz), "e");
+		assertEquals(rows(other), "f");
+	}
+
+	@Test
+	public void testCaseSensitiveAndCustomComparator() {
+		RowListProcessor header = new RowListProcessor();
+		RowListProcessor other = new RowListProcessor();
+
+		InputValueSwitch valueSwitch = new InputValueSwitch(0);
+		valueSwitch.addSwitchForValue("H01", header);
+		valueSwitch.setDefaultSwitch(other);
+		valueSwitch.setCaseSensitive(true);
+		parse(valueSwitch);
+
+		assertEquals(rows(header), "a");
+		assertEquals(rows(other), "bcdef");
+
+		header = new RowListProcessor();
+		other = new RowListProcessor();
+		valueSwitch = new InputValueSwitch(0);
+		valueSwitch.addSwitchForValue("X", header);
+		valueSwitch.setDefaultSwitch(other);
+		valueSwitch.setComparator(new Comparator<String>() {
+			@Override
+			public int compare(String o1, String o2) {
+				return o1 != null && o1.startsWith(o2) ? 0 : 1;
+			}
+		});
+		parse(valueSwitch);
+
+		assertEquals(rows(header), "de");
+		assertEquals(rows(other), "abcf");
+	}
+}
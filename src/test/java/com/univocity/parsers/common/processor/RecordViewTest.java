@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class RecordViewTest {
+
+	private RecordView view(CharSequence... values) {
+		RecordView view = new RecordView();
+		view.set(values);
+		return view;
+	}
+
+	@Test
+	public void testIntegers() {
+		String[] values = {"0", "-0", "+7", "123456789", "2147483647", "-2147483648", "-00042"};
+		RecordView view = view(values);
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(view.getInt(i), Integer.parseInt(values[i]));
+			assertEquals(view.getLong(i), Long.parseLong(values[i]));
+		}
+
+		values = new String[]{"9223372036854775807", "-9223372036854775808", "2147483648", "-2147483649"};
+		view = view(values);
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(view.getLong(i), Long.parseLong(values[i]));
+		}
+	}
+
+	@DataProvider
+	private Object[][] getInvalidIntegers() {
+		return new Object[][]{
+				{""},
+				{"-"},
+				{"+"},
+				{"1.0"},
+				{" 1"},
+				{"12a"},
+				{"2147483648"},
+				{"-2147483649"},
+				{"99999999999"},
+		};
+	}
+
+	@Test(dataProvider = "getInvalidIntegers", expectedExceptions = DataProcessingException.class)
+	public void testInvalidInt(String value) {
+		view(value).getInt(0);
+	}
+
+	@Test(expectedExceptions = DataProcessingException.class)
+	public void testLongOverflow() {
+		view("9223372036854775808").getLong(0);
+	}
+
+	@Test
+	public void testDoubles() {
+		String[] values = {"0", "-0", "1", "-1.5", ".25", "3.", "0.001", "123.456", "1e10", "1.5E-7", "-2.5e+3", "0.1", "0.3",
+				"3.141592653589793", "1234567890.12345", "9007199254740993", "1e-30", "1e300", "1e400", "NaN", "-Infinity",
+				"0.000000000000000000000000000001", "123456789012345678901234567890", "2.2250738585072014E-308", "4.9e-324", "1d"};
+		RecordView view = view(values);
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(Double.doubleToLongBits(view.getDouble(i)), Double.doubleToLongBits(Double.parseDouble(values[i])), values[i]);
+		}
+
+		Random random = new Random(42);
+		for (int i = 0; i < 10000; i++) {
+			String value;
+			switch (i % 3) {
+				case 0:
+					value = String.valueOf(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+					break;
+				case 1:
+					value = String.valueOf(random.nextInt(1000000)) + '.' + random.nextInt(1000);
+					break;
+				default:
+					value = random.nextInt(100000) + "e" + (random.nextInt(60) - 30);
+			}
+			assertEquals(view(value).getDouble(0), Double.parseDouble(value), value);
+		}
+	}
+
+	@Test(expectedExceptions = DataProcessingException.class)
+	public void testInvalidDouble() {
+		view("1.2.3").getDouble(0);
+	}
+
+	@Test
+	public void testBooleansAndNulls() {
+		RecordView view = view("true", "FALSE", "True", null, "yes");
+		assertTrue(view.getBoolean(0));
+		assertFalse(view.getBoolean(1));
+		assertTrue(view.getBoolean(2));
+		assertTrue(view.isNull(3));
+		assertTrue(view.isNull(10));
+		assertNull(view.getString(5));
+		assertEquals(view.getString(4), "yes");
+		try {
+			view.getBoolean(4);
+			fail("Expecting invalid boolean");
+		} catch (DataProcessingException e) {
+			assertEquals(e.getValue(), "yes");
+		}
+		try {
+			view.getInt(3);
+			fail("Expecting error on null value");
+		} catch (DataProcessingException e) {
+			//expected
+		}
+	}
+
+	@Test
+	public void testParseWithRecordViews() {
+		StringBuilder input = new StringBuilder("id,amount,active,count\n");
+		for (int i = 0; i < 1000; i++) {
+			input.append(i).append(',').append(i * 1.25).append(',').append(i % 2 == 0).append(',').append(i * 1000000000L).append('\n');
+		}
+
+		final long[] totals = new long[3];
+		final double[] amount = new double[1];
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setProcessor(new AbstractRecordViewProcessor() {
+			@Override
+			public void recordProcessed(RecordView record, ParsingContext context) {
+				totals[0] += record.getInt(0);
+				amount[0] += record.getDouble(1);
+				totals[1] += record.getBoolean(2) ? 1 : 0;
+				totals[2] += record.getLong(3);
+			}
+		});
+		new CsvParser(settings).parse(new StringReader(input.toString()));
+
+		assertEquals(totals[0], 499500L);
+		assertEquals(amount[0], 499500 * 1.25);
+		assertEquals(totals[1], 500L);
+		assertEquals(totals[2], 499500L * 1000000000L);
+	}
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.routine;
+
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.fixed.*;
+import com.univocity.parsers.tsv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class RowOffsetIndexTest {
+
+	private File writeFile(String content, String encoding, byte[] bom) throws IOException {
+		File file = File.createTempFile("indexed", ".txt");
+		file.deleteOnExit();
+		OutputStream out = new FileOutputStream(file);
+		try {
+			if (bom != null) {
+				out.write(bom);
+			}
+			out.write(content.getBytes(encoding));
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	private String csvContent(String lineSeparator, int rows) {
+		StringBuilder out = new StringBuilder("id,name,notes").append(lineSeparator);
+		for (int i = 0; i < rows; i++) {
+			out.append(i).append(",\"ção ").append(i).append("\",");
+			if (i % 3 == 0) {
+				out.append("\"multi").append(lineSeparator).append("line, \"\"").append(i).append("\"\" 😀\"");
+			} else {
+				out.append("plain €").append(i);
+			}
+			out.append(lineSeparator);
+			if (i % 10 == 0) {
+				out.append(lineSeparator);
+			}
+		}
+		return out.toString();
+	}
+
+	private void assertRanges(AbstractRoutines<?, ?> routines, File file, RowOffsetIndex index, List<String[]> expected) {
+		long[][] ranges = {{0, 5}, {3, 20}, {6, 1}, {7, 7}, {50, 13}, {expected.size() - 3, 10}, {expected.size(), 5}, {expected.size() - 1, 1}};
+		for (long[] range : ranges) {
+			List<String[]> rows = routines.parseRange(file, index, range[0], range[1]);
+			int from = (int) Math.min(range[0], expected.size());
+			int to = (int) Math.min(range[0] + range[1], expected.size());
+			List<String[]> expectedRows = expected.subList(from, to);
+			assertEquals(rows.size(), expectedRows.size(), "range " + Arrays.toString(range));
+			for (int i = 0; i < rows.size(); i++) {
+				assertEquals(rows.get(i), expectedRows.get(i), "range " + Arrays.toString(range) + ", row " + i);
+			}
+		}
+	}
+
+	@DataProvider
+	private Object[][] getCsvInputs() {
+		return new Object[][]{
+				{"\n", "UTF-8", null},
+				{"\r\n", "UTF-8", new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}},
+				{"\r", "ISO-8859-1", null},
+				{"\r\n", "UTF-16LE", new byte[]{(byte) 0xFF, (byte) 0xFE}},
+		};
+	}
+
+	@Test(dataProvider = "getCsvInputs")
+	public void testCsvRanges(String lineSeparator, String encoding, byte[] bom) throws Exception {
+		String content = csvContent(lineSeparator, 200);
+		if (encoding.equals("ISO-8859-1")) {
+			content = content.replaceAll("[€😀]", "?");
+		}
+		File file = writeFile(content, encoding, bom);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setLineSeparatorDetectionEnabled(true);
+		settings.setHeaderExtractionEnabled(true);
+		CsvRoutines routines = new CsvRoutines(settings);
+
+		RowOffsetIndex index = routines.createIndex(file, bom == null ? Charset.forName(encoding) : null, 7);
+		assertEquals(index.getRecordCount(), 200L);
+		assertEquals(index.getEntryCount(), 29);
+		assertEquals(index.getHeaders(), new String[]{"id", "name", "notes"});
+
+		File indexFile = File.createTempFile("indexed", ".idx");
+		indexFile.deleteOnExit();
+		index.save(indexFile);
+		RowOffsetIndex loaded = RowOffsetIndex.load(indexFile);
+		for (int i = 0; i < index.getEntryCount(); i++) {
+			assertEquals(loaded.getOffset(i), index.getOffset(i));
+		}
+
+		List<String[]> expected = new CsvParser(settings).parseAll(file, Charset.forName(encoding));
+		assertEquals(expected.size(), 200);
+		assertRanges(routines, file, loaded, expected);
+	}
+
+	@Test
+	public void testDetectedFormatAndSelection() throws Exception {
+		File file = writeFile(csvContent("\n", 100).replace(',', ';'), "UTF-8", null);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setHeaderExtractionEnabled(true);
+		settings.detectFormatAutomatically();
+		settings.selectFields("notes", "id");
+		CsvRoutines routines = new CsvRoutines(settings);
+
+		RowOffsetIndex index = routines.createIndex(file, "UTF-8", 10);
+		List<String[]> expected = new CsvParser(settings).parseAll(file, "UTF-8");
+		assertEquals(expected.get(0), new String[]{"multi\nline; \"0\" 😀", "0"});
+		assertRanges(routines, file, index, expected);
+	}
+
+	@Test
+	public void testTsvAndFixedWidthRanges() throws Exception {
+		StringBuilder tsv = new StringBuilder();
+		StringBuilder fixed = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			tsv.append(i).append("\tvalue\\t").append(i).append("\\nwith escapes\n");
+			fixed.append(String.format("%-5s%-10s", i, "ção" + i)).append("\n");
+		}
+
+		File tsvFile = writeFile(tsv.toString(), "UTF-8", null);
+		TsvParserSettings tsvSettings = new TsvParserSettings();
+		tsvSettings.getFormat().setLineSeparator("\n");
+		TsvRoutines tsvRoutines = new TsvRoutines(tsvSettings);
+		assertRanges(tsvRoutines, tsvFile, tsvRoutines.createIndex(tsvFile, "UTF-8", 4), new TsvParser(tsvSettings).parseAll(tsvFile, "UTF-8"));
+
+		File fixedFile = writeFile(fixed.toString(), "UTF-8", null);
+		FixedWidthParserSettings fixedSettings = new FixedWidthParserSettings(new FixedWidthFields(5, 10));
+		fixedSettings.getFormat().setLineSeparator("\n");
+		FixedWidthRoutines fixedRoutines = new FixedWidthRoutines(fixedSettings);
+		assertRanges(fixedRoutines, fixedFile, fixedRoutines.createIndex(fixedFile, "UTF-8", 9), new FixedWidthParser(fixedSettings).parseAll(fixedFile, "UTF-8"));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testInvalidInterval() throws Exception {
+		new CsvRoutines().createIndex(writeFile("a,b\n", "UTF-8", null), "UTF-8", 0);
+	}
+}
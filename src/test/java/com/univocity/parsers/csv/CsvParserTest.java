@@ -782,4 +782,113 @@ public class CsvParserTest extends ParserTestCase {
 			fail("Empty input, should not get here");
 		}
 	}
+
+	@Test
+	public void testNormalizedNewlineInUnquotedValueIndependentOfBuffer() {
+		String input = "ab\ncd,e\r\nf\n,g\r\n";
+		for (int bufferSize = 2; bufferSize <= 32; bufferSize++) {
+			CsvParserSettings settings = new CsvParserSettings();
+			settings.getFormat().setLineSeparator("\r\n");
+			settings.setReadInputOnSeparateThread(false);
+			settings.setInputBufferSize(bufferSize);
+
+			List<String[]> rows = new CsvParser(settings).parseAll(new StringReader(input));
+			assertEquals(rows.size(), 4, "Buffer size " + bufferSize);
+			assertEquals(rows.get(0), new String[]{"ab"});
+			assertEquals(rows.get(1), new String[]{"cd", "e"});
+			assertEquals(rows.get(2), new String[]{"f"});
+			assertEquals(rows.get(3), new String[]{null, "g"});
+		}
+	}
+
+	@Test
+	public void testWhitespaceOnlyUnquotedValues() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setIgnoreLeadingWhitespaces(false);
+
+		List<String[]> rows = new CsvParser(settings).parseAll(new StringReader("a,  ,b\n\t,c\n"));
+		assertEquals(rows.size(), 2);
+		assertEquals(rows.get(0), new String[]{"a", null, "b"});
+		assertEquals(rows.get(1), new String[]{null, "c"});
+	}
+
+	@DataProvider(name = "specializedLoopProvider")
+	public Object[][] specializedLoopProvider() {
+		return new Object[][]{
+				{true, true, null},
+				{true, false, null},
+				{false, true, null},
+				{false, false, null},
+				{false, false, UnescapedQuoteHandling.STOP_AT_CLOSING_QUOTE},
+				{true, true, UnescapedQuoteHandling.STOP_AT_DELIMITER},
+				{true, true, UnescapedQuoteHandling.SKIP_VALUE},
+		};
+	}
+
+	private static String parseWithLoop(CsvParserSettings settings, boolean specialize, String input) {
+		StringBuilder out = new StringBuilder();
+		try {
+			for (String[] row : new CsvParser(settings, specialize).parseAll(new StringReader(input))) {
+				out.append(Arrays.toString(row)).append('\n');
+			}
+		} catch (TextParsingException e) {
+			out.append("error");
+		}
+		return out.toString();
+	}
+
+	@Test(dataProvider = "specializedLoopProvider")
+	public void testSpecializedLoopMatchesGenericLoop(boolean ignoreLeading, boolean ignoreTrailing, UnescapedQuoteHandling quoteHandling) {
+		String[] inputs = new String[]{
+				"a,b,  c  ,\"d\"\n" +
+						"  \"e,f\"  ,,\" g \"\"h\"\" \",\n" +
+						"\n" +
+						"\"\",\"\"\"\",\"\"\"\"\"\"\n" +
+						"\"x\"\"\ny\",\"a\u0000b\"\n" +
+						"\t o p\t, \"\" , q",
+				"i\"j,\"k\"l\",\"m\rn\"\r\n",
+				"\"k\" l\",m\n",
+				"\"a\"\"",
+				"\"a\"",
+				"\"a",
+				"\"",
+		};
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setIgnoreLeadingWhitespaces(ignoreLeading);
+		settings.setIgnoreTrailingWhitespaces(ignoreTrailing);
+		settings.setUnescapedQuoteHandling(quoteHandling);
+
+		for (String input : inputs) {
+			assertEquals(parseWithLoop(settings, true, input), parseWithLoop(settings, false, input), "Input: " + input);
+		}
+	}
+
+	@Test
+	public void testSpecializedLoopMatchesGenericLoopOnRandomInput() {
+		Random random = new Random(4321);
+		String alphabet = "ab \t,\"\"\r\n";
+		UnescapedQuoteHandling[] handling = UnescapedQuoteHandling.values();
+
+		for (int i = 0; i < 2000; i++) {
+			StringBuilder input = new StringBuilder();
+			int length = random.nextInt(30);
+			for (int j = 0; j < length; j++) {
+				input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+
+			CsvParserSettings settings = new CsvParserSettings();
+			settings.getFormat().setLineSeparator(random.nextBoolean() ? "\n" : "\r\n");
+			settings.setIgnoreLeadingWhitespaces(random.nextBoolean());
+			settings.setIgnoreTrailingWhitespaces(random.nextBoolean());
+			settings.setUnescapedQuoteHandling(random.nextInt(5) == 0 ? null : handling[random.nextInt(handling.length)]);
+			settings.setInputBufferSize(2 + random.nextInt(16));
+			settings.setReadInputOnSeparateThread(false);
+
+			String text = input.toString();
+			assertEquals(parseWithLoop(settings, true, text), parseWithLoop(settings, false, text), "Input: " + text);
+		}
+	}
 }
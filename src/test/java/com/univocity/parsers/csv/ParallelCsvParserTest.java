@@ -0,0 +1,356 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.csv;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.processor.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class ParallelCsvParserTest {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private File createFile(String lineSeparator, int rows) throws IOException {
+		StringBuilder content = new StringBuilder("ID,Name,Value").append(lineSeparator);
+		for (int i = 0; i < rows; i++) {
+			content.append(i).append(",\"ção, ").append(i).append("\",").append(i * 3).append(lineSeparator);
+		}
+
+		File file = File.createTempFile("parallel", ".csv");
+		file.deleteOnExit();
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), UTF_8);
+		try {
+			out.write(content.toString());
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	private void assertRowsEqual(List<String[]> actual, List<String[]> expected) {
+		assertEquals(actual.size(), expected.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(actual.get(i), expected.get(i));
+		}
+	}
+
+	@DataProvider
+	private Object[][] getLineSeparators() {
+		return new Object[][]{
+				{"\n", 1},
+				{"\n", 4},
+				{"\r\n", 3},
+				{"\r", 8},
+		};
+	}
+
+	@Test(dataProvider = "getLineSeparators")
+	public void testOrderedParsing(String lineSeparator, int threads) throws Exception {
+		File file = createFile(lineSeparator, 2000);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setLineSeparatorDetectionEnabled(true);
+		List<String[]> expected = new CsvParser(settings).parseAll(file, UTF_8);
+
+		ParallelCsvParser parser = new ParallelCsvParser(settings, threads);
+		parser.setChunkSize(1000);
+		assertRowsEqual(parser.parseAll(file, UTF_8), expected);
+	}
+
+	@Test
+	public void testUnorderedParsingWithHeaders() throws Exception {
+		File file = createFile("\n", 5000);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.selectFields("Value", "ID");
+		List<String[]> expected = new CsvParser(settings).parseAll(file, UTF_8);
+
+		RowListProcessor processor = new RowListProcessor();
+		settings.setProcessor(processor);
+		ParallelCsvParser parser = new ParallelCsvParser(settings, 4);
+		parser.setOrderPreserved(false);
+		parser.setChunkSize(512);
+		parser.parse(file, UTF_8);
+
+		assertEquals(processor.getHeaders(), new String[]{"ID", "Name", "Value"});
+		List<String[]> rows = processor.getRows();
+		assertEquals(rows.size(), 5000);
+
+		Comparator<String[]> byId = new Comparator<String[]>() {
+			@Override
+			public int compare(String[] o1, String[] o2) {
+				return Integer.valueOf(o1[1]).compareTo(Integer.valueOf(o2[1]));
+			}
+		};
+		Collections.sort(rows, byId);
+		assertRowsEqual(rows, expected);
+	}
+
+	@Test
+	public void testRowsToSkipSpanningSeveralChunks() throws Exception {
+		File file = createFile("\r\n", 200);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setNumberOfRowsToSkip(50);
+		settings.setHeaderExtractionEnabled(true);
+		List<String[]> expected = new CsvParser(settings).parseAll(file, UTF_8);
+		assertEquals(expected.size(), 150);
+
+		RowListProcessor processor = new RowListProcessor();
+		settings.setProcessor(processor);
+		ParallelCsvParser parser = new ParallelCsvParser(settings, 8);
+		parser.setChunkSize(256);
+		parser.parse(file, UTF_8);
+
+		assertEquals(processor.getHeaders(), new String[]{"49", "ção, 49", "147"});
+		assertRowsEqual(processor.getRows(), expected);
+	}
+
+	@Test
+	public void testRecordLimitAndContext() throws Exception {
+		File file = createFile("\n", 1000);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setNumberOfRowsToSkip(1);
+		settings.setNumberOfRecordsToRead(300);
+
+		final List<Long> recordNumbers = new ArrayList<Long>();
+		settings.setProcessor(new AbstractRowProcessor() {
+			@Override
+			public void rowProcessed(String[] row, ParsingContext context) {
+				recordNumbers.add(context.currentRecord());
+			}
+		});
+
+		ParallelCsvParser parser = new ParallelCsvParser(settings, 3);
+		parser.setChunkSize(256);
+		List<String[]> rows = parser.parseAll(file, UTF_8);
+
+		assertEquals(rows.size(), 300);
+		assertEquals(rows.get(0), new String[]{"0", "ção, 0", "0"});
+		assertEquals(rows.get(299), new String[]{"299", "ção, 299", "897"});
+		assertEquals(recordNumbers.get(0).longValue(), 1L);
+		assertEquals(recordNumbers.get(299).longValue(), 300L);
+	}
+
+	private File writeFile(String content) throws IOException {
+		File file = File.createTempFile("parallel", ".csv");
+		file.deleteOnExit();
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), UTF_8);
+		try {
+			out.write(content);
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	@DataProvider
+	private Object[][] getChunkSizes() {
+		return new Object[][]{
+				{1L},
+				{7L},
+				{64L},
+				{1024L},
+		};
+	}
+
+	@Test(dataProvider = "getChunkSizes")
+	public void testLineSeparatorsInQuotedValues(long chunkSize) throws Exception {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			content.append(i).append(",\"line 1\nline \"\"2\"\" here\n\n\",\"a,\"\"b\"\"!\",x\n");
+			content.append(i).append(",a\"b,\"\n0,\"\" x\n\"\n");
+			content.append(i).append(",\"ends with \"\"quote\"\"\nnext\",z\n");
+		}
+		File file = writeFile(content.toString());
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		List<String[]> expected = new CsvParser(settings).parseAll(file, UTF_8);
+		assertEquals(expected.get(0), new String[]{"0", "line 1\nline \"2\" here\n\n", "a,\"b\"!", "x"});
+		assertEquals(expected.get(1), new String[]{"0", "a\"b", "\n0,\" x\n"});
+
+		ParallelCsvParser parser = new ParallelCsvParser(settings, 4);
+		parser.setChunkSize(chunkSize);
+		assertRowsEqual(parser.parseAll(file, UTF_8), expected);
+	}
+
+	@Test(dataProvider = "getChunkSizes")
+	public void testQuoteEscapeInQuotedValues(long chunkSize) throws Exception {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			content.append(i).append(";'it\\'s\r\n\\'quoted\\'';'\r\n'\r\n");
+		}
+		File file = writeFile(content.toString());
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\r\n");
+		settings.getFormat().setDelimiter(';');
+		settings.getFormat().setQuote('\'');
+		settings.getFormat().setQuoteEscape('\\');
+		List<String[]> expected = new CsvParser(settings).parseAll(file, UTF_8);
+		assertEquals(expected.size(), 300);
+		assertEquals(expected.get(0), new String[]{"0", "it's\n'quoted'", "\n"});
+
+		ParallelCsvParser parser = new ParallelCsvParser(settings, 3);
+		parser.setChunkSize(chunkSize);
+		assertRowsEqual(parser.parseAll(file, UTF_8), expected);
+	}
+
+	private static String randomValue(Random random, String alphabet) {
+		int length = random.nextInt(7);
+		StringBuilder out = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			out.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return out.toString();
+	}
+
+	private static String toString(List<String[]> rows) {
+		StringBuilder out = new StringBuilder();
+		for (String[] row : rows) {
+			out.append(Arrays.toString(row)).append('\n');
+		}
+		return out.toString();
+	}
+
+	private static String parseSequentially(File file, CsvParserSettings settings) {
+		try {
+			return toString(new CsvParser(settings).parseAll(file, UTF_8));
+		} catch (TextParsingException e) {
+			return "error";
+		}
+	}
+
+	private static String parseInParallel(File file, CsvParserSettings settings, int threads, long chunkSize) {
+		ParallelCsvParser parser = new ParallelCsvParser(settings, threads);
+		parser.setChunkSize(chunkSize);
+		try {
+			return toString(parser.parseAll(file, UTF_8));
+		} catch (TextParsingException e) {
+			return "error";
+		}
+	}
+
+	@Test
+	public void testRandomInputMatchesSequentialParsing() throws Exception {
+		Random random = new Random(1234);
+		String[] lineSeparators = {"\r\n", "\n", "\r"};
+		UnescapedQuoteHandling[] quoteHandling = UnescapedQuoteHandling.values();
+
+		for (int n = 0; n < 600; n++) {
+			String lineSeparator = lineSeparators[n % lineSeparators.length];
+			char quoteEscape = random.nextInt(4) == 0 ? '\\' : '"';
+
+			String content;
+			if (n % 3 == 0) {
+				CsvWriterSettings writerSettings = new CsvWriterSettings();
+				writerSettings.getFormat().setLineSeparator(lineSeparator);
+				writerSettings.getFormat().setQuoteEscape(quoteEscape);
+				writerSettings.setQuoteAllFields(random.nextInt(4) == 0);
+				StringWriter out = new StringWriter();
+				CsvWriter writer = new CsvWriter(out, writerSettings);
+				for (int i = 0; i < 50; i++) {
+					String[] row = new String[1 + random.nextInt(4)];
+					for (int j = 0; j < row.length; j++) {
+						row[j] = randomValue(random, "ab ,\"\\\r\n");
+					}
+					writer.writeRow((Object[]) row);
+				}
+				writer.close();
+				content = out.toString();
+			} else {
+				//raw values with unescaped quotes, whitespace and line separator characters anywhere
+				StringBuilder out = new StringBuilder();
+				for (int i = 0; i < 50; i++) {
+					int columns = 1 + random.nextInt(4);
+					for (int j = 0; j < columns; j++) {
+						if (j > 0) {
+							out.append(',');
+						}
+						out.append(randomValue(random, "ab \t,\"\"\\\r\n"));
+					}
+					out.append(lineSeparator);
+				}
+				content = out.toString();
+			}
+			File file = writeFile(content);
+
+			CsvParserSettings settings = new CsvParserSettings();
+			settings.getFormat().setLineSeparator(lineSeparator);
+			settings.getFormat().setQuoteEscape(quoteEscape);
+			settings.setUnescapedQuoteHandling(random.nextInt(5) == 0 ? null : quoteHandling[random.nextInt(quoteHandling.length)]);
+			settings.setKeepQuotes(random.nextBoolean());
+			settings.setKeepEscapeSequences(random.nextBoolean());
+			settings.setIgnoreLeadingWhitespaces(random.nextBoolean());
+			settings.setIgnoreTrailingWhitespaces(random.nextBoolean());
+			settings.setEscapeUnquotedValues(random.nextInt(4) == 0);
+			settings.setNormalizeLineEndingsWithinQuotes(random.nextInt(4) != 0);
+
+			String expected = parseSequentially(file, settings);
+			String actual = parseInParallel(file, settings, 1 + random.nextInt(4), 1 + random.nextInt(64));
+			assertEquals(actual, expected, "Input: " + content + "\nSettings: " + settings);
+		}
+	}
+
+	@Test
+	public void testUnescapedQuoteFollowedByQuoteEscape() throws Exception {
+		File file = writeFile("1,\"b\"\\'\nbbbb\n2,x\n3,y\n");
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.getFormat().setQuoteEscape('\\');
+		List<String[]> expected = new CsvParser(settings).parseAll(file, UTF_8);
+		assertEquals(expected.size(), 1);
+
+		ParallelCsvParser parser = new ParallelCsvParser(settings, 2);
+		parser.setChunkSize(8);
+		assertRowsEqual(parser.parseAll(file, UTF_8), expected);
+	}
+
+	@Test
+	public void testEmptyFile() throws Exception {
+		File file = File.createTempFile("parallel", ".csv");
+		file.deleteOnExit();
+
+		ParallelCsvParser parser = new ParallelCsvParser(new CsvParserSettings(), 2);
+		assertTrue(parser.parseAll(file, UTF_8).isEmpty());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testUnsupportedEncoding() throws Exception {
+		File file = File.createTempFile("parallel", ".csv");
+		file.deleteOnExit();
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-16BE");
+		try {
+			out.write("a,b\nc,d\n");
+		} finally {
+			out.close();
+		}
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		new ParallelCsvParser(settings, 2).parseAll(file, Charset.forName("UTF-16BE"));
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.fixed;
+
+import org.testng.annotations.*;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class LookupTrieTest {
+
+	private static int sequentialMatch(Lookup[] lookups, char[] chars, int available, char wildcard) {
+		for (int i = 0; i < lookups.length; i++) {
+			char[] value = lookups[i].value;
+			if (value.length > available) {
+				continue;
+			}
+			boolean matched = true;
+			for (int j = 0; j < value.length && matched; j++) {
+				matched = value[j] == wildcard || value[j] == chars[j];
+			}
+			if (matched) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Test
+	public void testTrieMatchesSequentialScan() {
+		Random random = new Random(42);
+		FixedWidthFormat format = new FixedWidthFormat();
+		char wildcard = format.getLookupWildcard();
+		String alphabet = "ABC" + wildcard;
+
+		Map<String, FixedWidthFields> formats = new LinkedHashMap<String, FixedWidthFields>();
+		while (formats.size() < 200) {
+			int length = 1 + random.nextInt(5);
+			StringBuilder value = new StringBuilder();
+			for (int i = 0; i < length; i++) {
+				value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			formats.put(value.toString(), new FixedWidthFields(1, 2));
+		}
+
+		Lookup[] lookups = Lookup.getLookupFormats(formats, format);
+		LookupTrie trie = new LookupTrie(lookups, wildcard);
+
+		char[] input = new char[5];
+		for (int n = 0; n < 5000; n++) {
+			for (int i = 0; i < input.length; i++) {
+				input[i] = "ABCD".charAt(random.nextInt(4));
+			}
+			int available = random.nextInt(input.length + 1);
+			assertEquals(trie.match(input, available), sequentialMatch(lookups, input, available, wildcard), new String(input) + " (" + available + ")");
+		}
+	}
+
+	@Test
+	public void testLongerValuesTakePrecedence() {
+		FixedWidthFormat format = new FixedWidthFormat();
+		Map<String, FixedWidthFields> formats = new LinkedHashMap<String, FixedWidthFields>();
+		formats.put("A", new FixedWidthFields(1));
+		formats.put("A?C", new FixedWidthFields(2));
+		formats.put("AB", new FixedWidthFields(3));
+
+		Lookup[] lookups = Lookup.getLookupFormats(formats, format);
+		LookupTrie trie = new LookupTrie(lookups, '?');
+
+		assertEquals(new String(lookups[trie.match("ABC".toCharArray(), 3)].value), "A?C");
+		assertEquals(new String(lookups[trie.match("ABD".toCharArray(), 3)].value), "AB");
+		assertEquals(new String(lookups[trie.match("AXD".toCharArray(), 3)].value), "A");
+		assertEquals(new String(lookups[trie.match("ABC".toCharArray(), 2)].value), "AB");
+		assertEquals(trie.match("XBC".toCharArray(), 3), -1);
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.fixed;
+
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class ParallelFixedWidthParserTest {
+
+	private static final Charset LATIN_1 = Charset.forName("ISO-8859-1");
+
+	private File createFile(String lineSeparator, int rows, boolean header, Charset encoding) throws IOException {
+		StringBuilder content = new StringBuilder();
+		if (header) {
+			content.append("ID    NAME      VAL ");
+			if (lineSeparator != null) {
+				content.append(lineSeparator);
+			}
+		}
+		for (int i = 0; i < rows; i++) {
+			content.append(pad(String.valueOf(i), 6)).append(pad("çã" + i, 10)).append(pad(String.valueOf(i * 3), 4));
+			if (lineSeparator != null && (i + 1 < rows || i % 2 == 0)) {
+				content.append(lineSeparator);
+			}
+		}
+
+		File file = File.createTempFile("parallel", ".txt");
+		file.deleteOnExit();
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), encoding);
+		try {
+			out.write(content.toString());
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	private static String pad(String value, int length) {
+		StringBuilder out = new StringBuilder(value);
+		while (out.length() < length) {
+			out.append(' ');
+		}
+		return out.toString();
+	}
+
+	private FixedWidthParserSettings newSettings(String lineSeparator) {
+		FixedWidthParserSettings settings = new FixedWidthParserSettings(new FixedWidthFields(6, 10, 4));
+		if (lineSeparator != null) {
+			settings.getFormat().setLineSeparator(lineSeparator);
+		}
+		return settings;
+	}
+
+	private void assertRowsEqual(List<String[]> actual, List<String[]> expected) {
+		assertEquals(actual.size(), expected.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(actual.get(i), expected.get(i));
+		}
+	}
+
+	@DataProvider
+	private Object[][] getLayouts() {
+		return new Object[][]{
+				{"\n", false, 1},
+				{"\n", true, 4},
+				{"\r\n", true, 3},
+				{null, false, 4},
+				{null, true, 2},
+		};
+	}
+
+	@Test(dataProvider = "getLayouts")
+	public void testParallelParsing(String lineSeparator, boolean header, int threads) throws Exception {
+		File file = createFile(lineSeparator, 1001, header, LATIN_1);
+
+		FixedWidthParserSettings settings = newSettings(lineSeparator);
+		settings.setHeaderExtractionEnabled(header);
+		List<String[]> expected = new FixedWidthParser(settings).parseAll(file, LATIN_1);
+		assertEquals(expected.size(), 1001);
+
+		ParallelFixedWidthParser parser = new ParallelFixedWidthParser(settings, threads);
+		parser.setChunkSize(500);
+		assertRowsEqual(parser.parseAll(file, LATIN_1), expected);
+
+		parser.setOrderPreserved(false);
+		List<String[]> unordered = parser.parseAll(file, LATIN_1);
+		assertEquals(unordered.size(), expected.size());
+	}
+
+	@Test(dataProvider = "getLayouts")
+	public void testParseRecordAt(String lineSeparator, boolean header, int threads) throws Exception {
+		File file = createFile(lineSeparator, 300, header, LATIN_1);
+
+		FixedWidthParserSettings settings = newSettings(lineSeparator);
+		settings.setHeaderExtractionEnabled(header);
+		List<String[]> expected = new FixedWidthParser(settings).parseAll(file, LATIN_1);
+
+		ParallelFixedWidthParser parser = new ParallelFixedWidthParser(settings, threads);
+		for (int i : new int[]{0, 1, 150, 299, 7}) {
+			assertEquals(parser.parseRecordAt(file, LATIN_1, i), expected.get(i));
+		}
+		assertNull(parser.parseRecordAt(file, LATIN_1, 300));
+		assertNull(parser.parseRecordAt(file, LATIN_1, Long.MAX_VALUE / 2));
+	}
+
+	@Test
+	public void testVariableLengthInputSplitAtLines() throws Exception {
+		Charset utf8 = Charset.forName("UTF-8");
+		File file = createFile("\n", 1000, true, utf8);
+
+		FixedWidthParserSettings settings = newSettings("\n");
+		settings.setHeaderExtractionEnabled(true);
+		List<String[]> expected = new FixedWidthParser(settings).parseAll(file, utf8);
+
+		ParallelFixedWidthParser parser = new ParallelFixedWidthParser(settings, 3);
+		parser.setChunkSize(700);
+		assertRowsEqual(parser.parseAll(file, utf8), expected);
+
+		try {
+			parser.parseRecordAt(file, utf8, 1);
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			//expected: UTF-8 may use more than one byte per character
+		}
+	}
+}
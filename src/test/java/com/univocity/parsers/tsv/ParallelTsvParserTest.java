@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright 2017 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.tsv;
+
+import com.univocity.parsers.common.processor.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class ParallelTsvParserTest {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private File writeFile(String content) throws IOException {
+		File file = File.createTempFile("parallel", ".tsv");
+		file.deleteOnExit();
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), UTF_8);
+		try {
+			out.write(content);
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	private File createFile(String lineSeparator, int rows) throws IOException {
+		StringBuilder content = new StringBuilder("ID\tName\tValue").append(lineSeparator);
+		for (int i = 0; i < rows; i++) {
+			content.append(i).append("\tção\\n\\t").append(i).append('\t').append(i * 3).append(lineSeparator);
+		}
+		return writeFile(content.toString());
+	}
+
+	private void assertRowsEqual(List<String[]> actual, List<String[]> expected) {
+		assertEquals(actual.size(), expected.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(actual.get(i), expected.get(i));
+		}
+	}
+
+	@DataProvider
+	private Object[][] getLineSeparators() {
+		return new Object[][]{
+				{"\n", 1},
+				{"\n", 4},
+				{"\r\n", 3},
+				{"\r", 8},
+		};
+	}
+
+	@Test(dataProvider = "getLineSeparators")
+	public void testOrderedParsing(String lineSeparator, int threads) throws Exception {
+		File file = createFile(lineSeparator, 2000);
+
+		TsvParserSettings settings = new TsvParserSettings();
+		settings.setLineSeparatorDetectionEnabled(true);
+		List<String[]> expected = new TsvParser(settings).parseAll(file, UTF_8);
+		assertEquals(expected.get(1), new String[]{"0", "ção\n\t0", "0"});
+
+		ParallelTsvParser parser = new ParallelTsvParser(settings, threads);
+		parser.setChunkSize(1000);
+		assertRowsEqual(parser.parseAll(file, UTF_8), expected);
+	}
+
+	@Test
+	public void testUnorderedParsingWithHeaders() throws Exception {
+		File file = createFile("\n", 5000);
+
+		TsvParserSettings settings = new TsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		List<String[]> expected = new TsvParser(settings).parseAll(file, UTF_8);
+
+		RowListProcessor processor = new RowListProcessor();
+		settings.setProcessor(processor);
+		ParallelTsvParser parser = new ParallelTsvParser(settings, 4);
+		parser.setOrderPreserved(false);
+		parser.setChunkSize(512);
+		parser.parse(file, UTF_8);
+
+		assertEquals(processor.getHeaders(), new String[]{"ID", "Name", "Value"});
+		List<String[]> rows = processor.getRows();
+		Collections.sort(rows, new Comparator<String[]>() {
+			@Override
+			public int compare(String[] o1, String[] o2) {
+				return Integer.valueOf(o1[0]).compareTo(Integer.valueOf(o2[0]));
+			}
+		});
+		assertRowsEqual(rows, expected);
+	}
+
+	@Test
+	public void testRowsToSkipSpanningSeveralChunks() throws Exception {
+		File file = createFile("\n", 200);
+
+		TsvParserSettings settings = new TsvParserSettings();
+		settings.setNumberOfRowsToSkip(50);
+		List<String[]> expected = new TsvParser(settings).parseAll(file, UTF_8);
+		assertEquals(expected.size(), 151);
+
+		ParallelTsvParser parser = new ParallelTsvParser(settings, 8);
+		parser.setChunkSize(128);
+		assertRowsEqual(parser.parseAll(file, UTF_8), expected);
+	}
+
+	@DataProvider
+	private Object[][] getChunkSizes() {
+		return new Object[][]{
+				{1L},
+				{7L},
+				{64L},
+				{1024L},
+		};
+	}
+
+	@Test(dataProvider = "getChunkSizes")
+	public void testJoinedLines(long chunkSize) throws Exception {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			content.append(i).append('\t');
+			switch (i % 4) {
+				case 0:
+					content.append("joined\\\nline");
+					break;
+				case 1:
+					content.append("escaped\\\\");
+					break;
+				case 2:
+					content.append("three\\\\\\\nescapes");
+					break;
+				default:
+					content.append("plain");
+			}
+			content.append('\n');
+		}
+		File file = writeFile(content.toString());
+
+		TsvParserSettings settings = new TsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setLineJoiningEnabled(true);
+		List<String[]> expected = new TsvParser(settings).parseAll(file, UTF_8);
+		assertEquals(expected.size(), 300);
+		assertEquals(expected.get(0), new String[]{"0", "joined\nline"});
+		assertEquals(expected.get(1), new String[]{"1", "escaped\\"});
+
+		ParallelTsvParser parser = new ParallelTsvParser(settings, 4);
+		parser.setChunkSize(chunkSize);
+		assertRowsEqual(parser.parseAll(file, UTF_8), expected);
+	}
+}